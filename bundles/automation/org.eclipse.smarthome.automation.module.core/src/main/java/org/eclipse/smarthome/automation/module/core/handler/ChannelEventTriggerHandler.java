@@ -64,7 +64,7 @@ public class ChannelEventTriggerHandler extends BaseTriggerModuleHandler impleme
         this.types.add("ChannelTriggeredEvent");
 
         Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        properties.put("event.topics", TOPIC);
+        properties.put(EventSubscriber.EVENT_TOPICS, TOPIC);
         eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
                 properties);
     }
@@ -72,8 +72,10 @@ public class ChannelEventTriggerHandler extends BaseTriggerModuleHandler impleme
     @Override
     public void receive(Event event) {
         if (callback != null) {
-            logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
-                    event.getTopic(), event.getType(), event.getPayload());
+            if (logger.isTraceEnabled()) {
+                logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
+                        event.getTopic(), event.getType(), event.getPayload());
+            }
 
             Map<String, Object> values = new HashMap<>();
             values.put("event", event);
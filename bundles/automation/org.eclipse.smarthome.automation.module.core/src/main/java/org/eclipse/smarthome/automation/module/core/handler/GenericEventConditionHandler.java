@@ -66,7 +66,8 @@ public class GenericEventConditionHandler extends BaseModuleHandler<Condition> i
         Event event = inputs.get("event") != null ? (Event) inputs.get("event") : null;
         if (event != null) {
             return isConfiguredAndMatches(TOPIC, event.getTopic()) && isConfiguredAndMatches(SOURCE, event.getSource())
-                    && isConfiguredAndMatches(PAYLOAD, event.getPayload())
+                    && (module.getConfiguration().get(PAYLOAD) == null
+                            || isConfiguredAndMatches(PAYLOAD, event.getPayload()))
                     && isConfiguredAndMatches(EVENTTYPE, event.getType());
         }
         return false;
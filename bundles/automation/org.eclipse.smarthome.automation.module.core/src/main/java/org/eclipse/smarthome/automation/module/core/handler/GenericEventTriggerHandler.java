@@ -75,7 +75,9 @@ public class GenericEventTriggerHandler extends BaseTriggerModuleHandler impleme
         }
         this.bundleContext = bundleContext;
         Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        properties.put("event.topics", topic);
+        if (topic != null) {
+            properties.put(EventSubscriber.EVENT_TOPICS, topic);
+        }
         eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
                 properties);
         logger.trace("Registered EventSubscriber: Topic: {} Type: {} Source: {}", topic, types, source);
@@ -94,8 +96,10 @@ public class GenericEventTriggerHandler extends BaseTriggerModuleHandler impleme
     @Override
     public void receive(Event event) {
         if (callback != null) {
-            logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
-                    event.getTopic(), event.getType(), event.getPayload());
+            if (logger.isTraceEnabled()) {
+                logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
+                        event.getTopic(), event.getType(), event.getPayload());
+            }
             if (!event.getTopic().contains(source)) {
                 return;
             }
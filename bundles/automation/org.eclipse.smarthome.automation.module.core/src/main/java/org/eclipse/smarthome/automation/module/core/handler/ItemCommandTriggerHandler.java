@@ -67,7 +67,7 @@ public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implemen
         this.bundleContext = bundleContext;
         Dictionary<String, Object> properties = new Hashtable<String, Object>();
         this.topic = "smarthome/items/" + itemName + "/command";
-        properties.put("event.topics", topic);
+        properties.put(EventSubscriber.EVENT_TOPICS, topic);
         eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
                 properties);
     }
@@ -85,8 +85,10 @@ public class ItemCommandTriggerHandler extends BaseTriggerModuleHandler implemen
     @Override
     public void receive(Event event) {
         if (callback != null) {
-            logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
-                    event.getTopic(), event.getType(), event.getPayload());
+            if (logger.isTraceEnabled()) {
+                logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
+                        event.getTopic(), event.getType(), event.getPayload());
+            }
             Map<String, Object> values = new HashMap<>();
             if (event instanceof ItemCommandEvent) {
                 Command command = ((ItemCommandEvent) event).getItemCommand();
@@ -78,7 +78,9 @@ public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements
         }
         this.bundleContext = bundleContext;
         Dictionary<String, Object> properties = new Hashtable<String, Object>();
-        properties.put("event.topics", "smarthome/items/" + itemName + "/*");
+        // the item itself as well as the item as member of a group
+        properties.put(EventSubscriber.EVENT_TOPICS, new String[] { "smarthome/items/" + itemName + "/*",
+                "smarthome/items/*/" + itemName + "/*" });
         eventSubscriberRegistration = this.bundleContext.registerService(EventSubscriber.class.getName(), this,
                 properties);
     }
@@ -96,8 +98,10 @@ public class ItemStateTriggerHandler extends BaseTriggerModuleHandler implements
     @Override
     public void receive(Event event) {
         if (callback != null) {
-            logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
-                    event.getTopic(), event.getType(), event.getPayload());
+            if (logger.isTraceEnabled()) {
+                logger.trace("Received Event: Source: {} Topic: {} Type: {}  Payload: {}", event.getSource(),
+                        event.getTopic(), event.getType(), event.getPayload());
+            }
             Map<String, Object> values = new HashMap<>();
             if (event instanceof ItemStateEvent && UPDATE_MODULE_TYPE_ID.equals(module.getTypeUID())) {
                 State state = ((ItemStateEvent) event).getItemState();
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.util.Date;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+
+/**
+ * The result of an {@link Aggregation} of the states of an item. For aggregations selecting a state, the timestamp is
+ * the one of the selected state, otherwise it is the timestamp of the earliest aggregated state.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public final class AggregatedItem implements HistoricItem {
+
+    private final String name;
+    private final DecimalType state;
+    private final Date timestamp;
+    private final Date begin;
+    private final Date end;
+    private final DecimalType lastState;
+    private final long count;
+
+    /**
+     * Creates an aggregated item.
+     *
+     * @param name the name of the item
+     * @param state the aggregated value
+     * @param timestamp the timestamp of the selected state or of the earliest aggregated state
+     * @param begin the timestamp of the earliest aggregated state
+     * @param end the timestamp of the latest aggregated state
+     * @param lastState the latest aggregated state
+     * @param count the number of aggregated states
+     */
+    public AggregatedItem(String name, DecimalType state, Date timestamp, Date begin, Date end, DecimalType lastState,
+            long count) {
+        this.name = name;
+        this.state = state;
+        this.timestamp = timestamp;
+        this.begin = begin;
+        this.end = end;
+        this.lastState = lastState;
+        this.count = count;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public DecimalType getState() {
+        return state;
+    }
+
+    @Override
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the timestamp of the earliest aggregated state.
+     *
+     * @return the timestamp of the earliest aggregated state
+     */
+    public Date getBegin() {
+        return begin;
+    }
+
+    /**
+     * Returns the timestamp of the latest aggregated state.
+     *
+     * @return the timestamp of the latest aggregated state
+     */
+    public Date getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns the latest aggregated state, so that callers needing it besides the aggregation do not have to aggregate
+     * the states a second time.
+     *
+     * @return the latest aggregated state
+     */
+    public DecimalType getLastState() {
+        return lastState;
+    }
+
+    /**
+     * Returns the number of aggregated states.
+     *
+     * @return the number of aggregated states
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + state + " (" + count + " states from " + begin + " to " + end + ")";
+    }
+}
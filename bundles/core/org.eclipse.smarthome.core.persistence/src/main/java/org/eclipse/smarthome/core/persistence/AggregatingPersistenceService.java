@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A queryable persistence service which can aggregate the states of an item itself, so that callers like the
+ * persistence extensions and charts do not need to read every single state of a time range.
+ *
+ * <p>
+ * Only states that are a {@link org.eclipse.smarthome.core.library.types.DecimalType} are aggregated. The item name,
+ * the begin and end date and the state filter of the {@link FilterCriteria} are applied, its ordering and paging are
+ * ignored.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface AggregatingPersistenceService extends QueryablePersistenceService {
+
+    /**
+     * Aggregates the states matching the given filter criteria.
+     *
+     * @param filter the filter to apply to the query
+     * @param aggregation the aggregation to compute
+     * @return the aggregated item or null if no numeric state matches the filter
+     */
+    @Nullable
+    AggregatedItem aggregate(FilterCriteria filter, Aggregation aggregation);
+
+    /**
+     * Aggregates the states matching the given filter criteria separately for consecutive buckets of the given
+     * duration. The buckets start at the begin date of the filter criteria or, if there is none, at the epoch.
+     *
+     * @param filter the filter to apply to the query
+     * @param aggregation the aggregation to compute for each bucket
+     * @param bucketSize the duration of a bucket, must be positive
+     * @return the aggregated items of all buckets containing a numeric state, in ascending order
+     */
+    List<AggregatedItem> aggregate(FilterCriteria filter, Aggregation aggregation, Duration bucketSize);
+
+    /**
+     * Computes several aggregations of the states matching the given filter criteria separately for consecutive
+     * buckets of the given duration, like {@link #aggregate(FilterCriteria, Aggregation, Duration)} does for a single
+     * aggregation. Services should override it to read the states only once, the default implementation aggregates
+     * them separately for each aggregation.
+     *
+     * @param filter the filter to apply to the query
+     * @param aggregations the aggregations to compute for each bucket
+     * @param bucketSize the duration of a bucket, must be positive
+     * @return the aggregated items of all buckets containing a numeric state in ascending order, for each aggregation
+     */
+    default Map<Aggregation, List<AggregatedItem>> aggregate(FilterCriteria filter, Set<Aggregation> aggregations,
+            Duration bucketSize) {
+        Map<Aggregation, List<AggregatedItem>> result = new EnumMap<>(Aggregation.class);
+        for (Aggregation aggregation : aggregations) {
+            result.put(aggregation, aggregate(filter, aggregation, bucketSize));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+/**
+ * The aggregations an {@link AggregatingPersistenceService} computes over the numeric states of an item.
+ *
+ * @author agent - Initial contribution
+ */
+public enum Aggregation {
+
+    /** the state with the lowest value, the earliest one if several states share it */
+    MIN,
+
+    /** the state with the highest value, the earliest one if several states share it */
+    MAX,
+
+    /** the arithmetic mean of the values */
+    AVG,
+
+    /** the sum of the values */
+    SUM,
+
+    /** the number of numeric states */
+    COUNT,
+
+    /** the earliest state */
+    FIRST,
+
+    /** the latest state */
+    LAST,
+
+    /**
+     * the average of the values weighted by time between the earliest and the latest state, where the value between
+     * two consecutive states is interpolated linearly
+     */
+    TIME_WEIGHTED_AVG;
+
+    /**
+     * Returns whether the aggregation selects one of the aggregated states, so its timestamp is the timestamp of that
+     * state.
+     *
+     * @return true for {@link #MIN}, {@link #MAX}, {@link #FIRST} and {@link #LAST}
+     */
+    public boolean isSelecting() {
+        return this == MIN || this == MAX || this == FIRST || this == LAST;
+    }
+}
@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Computes an {@link Aggregation} incrementally, so that an {@link AggregatingPersistenceService} can aggregate the
+ * states while reading them, without keeping them in memory. The states have to be added in ascending order of their
+ * timestamps, states which are no {@link DecimalType} are ignored.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Aggregator {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private final String name;
+    private final Aggregation aggregation;
+
+    private long count;
+    private long firstTimestamp;
+    private long lastTimestamp;
+    private @Nullable BigDecimal lastValue;
+
+    private @Nullable BigDecimal selectedValue;
+    private long selectedTimestamp;
+
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal area = BigDecimal.ZERO;
+
+    /**
+     * Creates an aggregator.
+     *
+     * @param name the name of the aggregated item
+     * @param aggregation the aggregation to compute
+     */
+    public Aggregator(String name, Aggregation aggregation) {
+        this.name = name;
+        this.aggregation = aggregation;
+    }
+
+    /**
+     * Adds a historic item.
+     *
+     * @param item the historic item, not older than the previously added one
+     */
+    public void add(HistoricItem item) {
+        add(item.getTimestamp().getTime(), item.getState());
+    }
+
+    /**
+     * Adds a state.
+     *
+     * @param timestamp the time of the state in milliseconds since the epoch, not before the previously added one
+     * @param state the state
+     */
+    public void add(long timestamp, State state) {
+        if (state instanceof DecimalType) {
+            add(timestamp, ((DecimalType) state).toBigDecimal());
+        }
+    }
+
+    private void add(long timestamp, BigDecimal value) {
+        BigDecimal selected = selectedValue;
+        switch (aggregation) {
+            case MIN:
+                if (selected == null || value.compareTo(selected) < 0) {
+                    select(timestamp, value);
+                }
+                break;
+            case MAX:
+                if (selected == null || value.compareTo(selected) > 0) {
+                    select(timestamp, value);
+                }
+                break;
+            case FIRST:
+                if (selected == null) {
+                    select(timestamp, value);
+                }
+                break;
+            case LAST:
+                select(timestamp, value);
+                break;
+            case TIME_WEIGHTED_AVG:
+                BigDecimal previous = lastValue;
+                if (previous != null) {
+                    BigDecimal average = value.add(previous).divide(TWO, MathContext.DECIMAL64);
+                    area = area.add(average.multiply(BigDecimal.valueOf(timestamp - lastTimestamp),
+                            MathContext.DECIMAL64));
+                }
+                sum = sum.add(value);
+                break;
+            default:
+                sum = sum.add(value);
+                break;
+        }
+        if (count == 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        lastValue = value;
+        count++;
+    }
+
+    private void select(long timestamp, BigDecimal value) {
+        selectedTimestamp = timestamp;
+        selectedValue = value;
+    }
+
+    /**
+     * Returns the aggregation computed by this aggregator.
+     *
+     * @return the aggregation
+     */
+    public Aggregation getAggregation() {
+        return aggregation;
+    }
+
+    /**
+     * Returns the number of states aggregated so far.
+     *
+     * @return the number of aggregated states
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the aggregation of the states added so far.
+     *
+     * @return the aggregated item or null if no state has been added
+     */
+    public @Nullable AggregatedItem getResult() {
+        BigDecimal last = lastValue;
+        if (last == null) {
+            return null;
+        }
+        long timestamp = firstTimestamp;
+        BigDecimal value;
+        switch (aggregation) {
+            case MIN:
+            case MAX:
+            case FIRST:
+            case LAST:
+                timestamp = selectedTimestamp;
+                value = selectedValue;
+                break;
+            case AVG:
+                value = sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+                break;
+            case COUNT:
+                value = BigDecimal.valueOf(count);
+                break;
+            case TIME_WEIGHTED_AVG:
+                if (lastTimestamp > firstTimestamp) {
+                    value = area.divide(BigDecimal.valueOf(lastTimestamp - firstTimestamp), MathContext.DECIMAL64);
+                } else {
+                    // all states share the same timestamp, so none of them has a weight
+                    value = sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64);
+                }
+                break;
+            default:
+                value = sum;
+                break;
+        }
+        return new AggregatedItem(name, new DecimalType(value), new Date(timestamp), new Date(firstTimestamp),
+                new Date(lastTimestamp), new DecimalType(last), count);
+    }
+
+    /**
+     * Aggregates historic items separately for consecutive buckets of the given duration.
+     *
+     * @param name the name of the aggregated item
+     * @param items the historic items in ascending order
+     * @param aggregation the aggregation to compute for each bucket
+     * @param begin the start of the first bucket or null to start the buckets at the epoch
+     * @param bucketSize the duration of a bucket
+     * @return the aggregated items of all buckets containing a numeric state, in ascending order
+     * @throws IllegalArgumentException if the bucket size is not positive
+     */
+    public static List<AggregatedItem> aggregate(String name, Iterable<HistoricItem> items, Aggregation aggregation,
+            @Nullable Date begin, Duration bucketSize) {
+        return aggregate(name, items, EnumSet.of(aggregation), begin, bucketSize).get(aggregation);
+    }
+
+    /**
+     * Computes several aggregations of historic items at once, separately for consecutive buckets of the given
+     * duration.
+     *
+     * @param name the name of the aggregated item
+     * @param items the historic items in ascending order
+     * @param aggregations the aggregations to compute for each bucket
+     * @param begin the start of the first bucket or null to start the buckets at the epoch
+     * @param bucketSize the duration of a bucket
+     * @return the aggregated items of all buckets containing a numeric state in ascending order, for each aggregation
+     * @throws IllegalArgumentException if the bucket size is not positive
+     */
+    public static Map<Aggregation, List<AggregatedItem>> aggregate(String name, Iterable<HistoricItem> items,
+            Set<Aggregation> aggregations, @Nullable Date begin, Duration bucketSize) {
+        BucketAggregator aggregator = new BucketAggregator(name, aggregations, begin, bucketSize);
+        for (HistoricItem item : items) {
+            aggregator.add(item);
+        }
+        return aggregator.getResults();
+    }
+
+    /**
+     * Returns the start of the bucket a timestamp belongs to.
+     *
+     * @param timestamp the timestamp in milliseconds since the epoch
+     * @param origin the start of any bucket in milliseconds since the epoch
+     * @param bucketSize the duration of a bucket in milliseconds
+     * @return the start of the bucket in milliseconds since the epoch
+     */
+    public static long getBucketStart(long timestamp, long origin, long bucketSize) {
+        return timestamp - Math.floorMod(timestamp - origin, bucketSize);
+    }
+
+    /**
+     * Returns the duration of a bucket in milliseconds.
+     *
+     * @param bucketSize the duration of a bucket
+     * @return the duration in milliseconds
+     * @throws IllegalArgumentException if the bucket size is not positive
+     */
+    public static long getBucketSize(Duration bucketSize) {
+        long size = bucketSize.toMillis();
+        if (size <= 0) {
+            throw new IllegalArgumentException("The bucket size must be positive: " + bucketSize);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Computes several {@link Aggregation}s at once, separately for consecutive buckets of a given duration, so that an
+ * {@link AggregatingPersistenceService} has to read the states only once. The states have to be added in ascending
+ * order of their timestamps, states which are no {@link DecimalType} are ignored.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BucketAggregator {
+
+    private final String name;
+    private final Set<Aggregation> aggregations;
+    private final long origin;
+    private final long bucketSize;
+
+    private final Map<Aggregation, List<AggregatedItem>> results = new EnumMap<>(Aggregation.class);
+    private final List<Aggregator> aggregators = new ArrayList<>();
+    private long bucketStart;
+
+    /**
+     * Creates a bucket aggregator.
+     *
+     * @param name the name of the aggregated item
+     * @param aggregations the aggregations to compute for each bucket
+     * @param begin the start of the first bucket or null to start the buckets at the epoch
+     * @param bucketSize the duration of a bucket
+     * @throws IllegalArgumentException if the bucket size is not positive
+     */
+    public BucketAggregator(String name, Set<Aggregation> aggregations, @Nullable Date begin, Duration bucketSize) {
+        this.name = name;
+        this.aggregations = aggregations;
+        this.origin = begin == null ? 0 : begin.getTime();
+        this.bucketSize = Aggregator.getBucketSize(bucketSize);
+        for (Aggregation aggregation : aggregations) {
+            results.put(aggregation, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a historic item.
+     *
+     * @param item the historic item, not older than the previously added one
+     */
+    public void add(HistoricItem item) {
+        add(item.getTimestamp().getTime(), item.getState());
+    }
+
+    /**
+     * Adds a state.
+     *
+     * @param timestamp the time of the state in milliseconds since the epoch, not before the previously added one
+     * @param state the state
+     */
+    public void add(long timestamp, State state) {
+        if (!(state instanceof DecimalType)) {
+            return;
+        }
+        long start = Aggregator.getBucketStart(timestamp, origin, bucketSize);
+        if (aggregators.isEmpty() || start != bucketStart) {
+            closeBucket();
+            for (Aggregation aggregation : aggregations) {
+                aggregators.add(new Aggregator(name, aggregation));
+            }
+            bucketStart = start;
+        }
+        for (Aggregator aggregator : aggregators) {
+            aggregator.add(timestamp, state);
+        }
+    }
+
+    /**
+     * Returns the aggregations of the states added so far. No states must be added afterwards.
+     *
+     * @return the aggregated items of all buckets containing a numeric state in ascending order, for each aggregation
+     */
+    public Map<Aggregation, List<AggregatedItem>> getResults() {
+        closeBucket();
+        return results;
+    }
+
+    private void closeBucket() {
+        for (Aggregator aggregator : aggregators) {
+            AggregatedItem item = aggregator.getResult();
+            if (item != null) {
+                results.get(aggregator.getAggregation()).add(item);
+            }
+        }
+        aggregators.clear();
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.persistence;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * A listener, which is notified whenever the {@link PersistenceManager} has stored the state of an item in a
+ * {@link PersistenceService}, e.g. to drop data read from the service before. Listeners are registered as OSGi
+ * services.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface PersistenceStoreListener {
+
+    /**
+     * Called after the state of an item has been stored.
+     *
+     * @param serviceId the id of the persistence service the state has been stored in
+     * @param item the item whose state has been stored
+     */
+    void stored(String serviceId, Item item);
+}
@@ -54,7 +54,7 @@ public class PersistItemsJob implements Runnable {
                     if (hasStrategy(config.getDefaults(), itemConfig, strategyName)) {
                         for (Item item : manager.getAllItems(itemConfig)) {
                             long startTime = System.nanoTime();
-                            persistenceService.store(item, itemConfig.getAlias());
+                            manager.store(persistenceService, item, itemConfig.getAlias());
                             logger.trace("Storing item '{}' with persistence service '{}' took {}ms", item.getName(),
                                     dbId, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
                         }
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.GroupItem;
@@ -35,6 +36,7 @@ import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceManager;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceConfiguration;
+import org.eclipse.smarthome.core.persistence.PersistenceStoreListener;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.persistence.SimpleItemConfiguration;
 import org.eclipse.smarthome.core.persistence.config.SimpleAllConfig;
@@ -74,6 +76,7 @@ public class PersistenceManagerImpl implements PersistenceManager, ItemRegistryC
     final Map<String, PersistenceService> persistenceServices = new HashMap<>();
     final Map<String, PersistenceServiceConfiguration> persistenceServiceConfigs = new HashMap<>();
     private final Map<String, Set<Runnable>> persistenceJobs = new HashMap<>();
+    private final Set<PersistenceStoreListener> storeListeners = new CopyOnWriteArraySet<>();
 
     public PersistenceManagerImpl() {
     }
@@ -112,6 +115,34 @@ public class PersistenceManagerImpl implements PersistenceManager, ItemRegistryC
         persistenceServices.remove(persistenceService.getId());
     }
 
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addPersistenceStoreListener(PersistenceStoreListener listener) {
+        storeListeners.add(listener);
+    }
+
+    protected void removePersistenceStoreListener(PersistenceStoreListener listener) {
+        storeListeners.remove(listener);
+    }
+
+    /**
+     * Stores the state of an item in a persistence service and notifies the {@link PersistenceStoreListener}s.
+     *
+     * @param persistenceService the persistence service
+     * @param item the item to persist
+     * @param alias the alias of the item in the persistence service or null
+     */
+    void store(PersistenceService persistenceService, Item item, String alias) {
+        persistenceService.store(item, alias);
+        for (PersistenceStoreListener listener : storeListeners) {
+            try {
+                listener.stored(persistenceService.getId(), item);
+            } catch (RuntimeException e) {
+                logger.error("Error notifying a persistence store listener about item '{}': {}", item.getName(),
+                        e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Calls all persistence services which use change or update policy for the given item
      *
@@ -128,7 +159,7 @@ public class PersistenceManagerImpl implements PersistenceManager, ItemRegistryC
                         if (hasStrategy(serviceName, itemConfig,
                                 onlyChanges ? SimpleStrategy.Globals.CHANGE : SimpleStrategy.Globals.UPDATE)) {
                             if (appliesToItem(itemConfig, item)) {
-                                persistenceServices.get(serviceName).store(item, itemConfig.getAlias());
+                                store(persistenceServices.get(serviceName), item, itemConfig.getAlias());
                             }
                         }
                     }
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the UID index of the {@link AbstractRegistry}.
+ *
+ * @author agent - Initial contribution
+ */
+public class AbstractRegistryTest {
+
+    private TestRegistry registry;
+    private TestProvider provider1;
+    private TestProvider provider2;
+
+    @Before
+    public void setUp() {
+        registry = new TestRegistry();
+        provider1 = new TestProvider();
+        provider2 = new TestProvider();
+        registry.addProvider(provider1);
+        registry.addProvider(provider2);
+    }
+
+    @Test
+    public void testGetReturnsAddedElement() {
+        TestElement element = new TestElement("a", "1");
+        provider1.add(element);
+
+        assertThat(registry.get("a"), is(sameInstance(element)));
+        assertThat(registry.getProvider(element), is(sameInstance(provider1)));
+        assertThat(registry.get("b"), is(nullValue()));
+    }
+
+    @Test
+    public void testGetReturnsUpdatedElement() {
+        TestElement element = new TestElement("a", "1");
+        TestElement updatedElement = new TestElement("a", "2");
+        provider1.add(element);
+        provider1.update(element, updatedElement);
+
+        assertThat(registry.get("a"), is(sameInstance(updatedElement)));
+        assertThat(registry.getProvider(updatedElement), is(sameInstance(provider1)));
+    }
+
+    @Test
+    public void testGetReturnsNullAfterRemoval() {
+        TestElement element = new TestElement("a", "1");
+        provider1.add(element);
+        provider1.remove(element);
+
+        assertThat(registry.get("a"), is(nullValue()));
+        assertThat(registry.getProvider(element), is(nullValue()));
+    }
+
+    @Test
+    public void testFirstElementWinsForDuplicateUIDs() {
+        TestElement element = new TestElement("a", "1");
+        TestElement duplicate = new TestElement("a", "2");
+        provider1.add(element);
+        provider2.add(duplicate);
+
+        assertThat(registry.get("a"), is(sameInstance(element)));
+        assertThat(registry.getAll().size(), is(1));
+
+        // removing the rejected duplicate must not remove the element of the first provider
+        provider2.remove(duplicate);
+        assertThat(registry.get("a"), is(sameInstance(element)));
+
+        // and removing the first element does not make the duplicate visible
+        provider1.remove(element);
+        assertThat(registry.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void testOnlyOneOfConcurrentDuplicatesIsAdded() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String uid = "uid" + i;
+            TestElement element1 = new TestElement(uid, "1");
+            TestElement element2 = new TestElement(uid, "2");
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            Thread thread = new Thread(() -> {
+                await(barrier);
+                provider2.add(element2);
+            });
+            thread.start();
+            await(barrier);
+            provider1.add(element1);
+            thread.join();
+
+            TestElement added = registry.get(uid);
+            assertThat(added, is(anyOf(sameInstance(element1), sameInstance(element2))));
+            assertThat(registry.getProvider(added), is(sameInstance(added == element1 ? provider1 : provider2)));
+            assertThat(registry.getAll().size(), is(i + 1));
+        }
+    }
+
+    @Test
+    public void testRejectedElementDoesNotClaimItsUID() {
+        TestElement rejected = new TestElement("a", TestRegistry.INVALID);
+        TestElement element = new TestElement("a", "1");
+        provider1.add(rejected);
+        assertThat(registry.get("a"), is(nullValue()));
+
+        provider2.add(element);
+        assertThat(registry.get("a"), is(sameInstance(element)));
+    }
+
+    @Test
+    public void testRemovingProviderRemovesItsElements() {
+        TestElement element1 = new TestElement("a", "1");
+        TestElement element2 = new TestElement("b", "1");
+        provider1.add(element1);
+        provider2.add(element2);
+
+        registry.removeProvider(provider1);
+
+        assertThat(registry.get("a"), is(nullValue()));
+        assertThat(registry.get("b"), is(sameInstance(element2)));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class TestElement implements Identifiable<String> {
+
+        private final String uid;
+        private final String value;
+
+        TestElement(String uid, String value) {
+            this.uid = uid;
+            this.value = value;
+        }
+
+        @Override
+        public String getUID() {
+            return uid;
+        }
+
+        @Override
+        public String toString() {
+            return uid + "=" + value;
+        }
+    }
+
+    private static class TestProvider extends AbstractProvider<TestElement> {
+
+        private final List<TestElement> elements = new ArrayList<>();
+
+        void add(TestElement element) {
+            elements.add(element);
+            notifyListenersAboutAddedElement(element);
+        }
+
+        void update(TestElement oldElement, TestElement element) {
+            elements.remove(oldElement);
+            elements.add(element);
+            notifyListenersAboutUpdatedElement(oldElement, element);
+        }
+
+        void remove(TestElement element) {
+            elements.remove(element);
+            notifyListenersAboutRemovedElement(element);
+        }
+
+        @Override
+        public Collection<TestElement> getAll() {
+            return new ArrayList<>(elements);
+        }
+    }
+
+    private static class TestRegistry extends AbstractRegistry<TestElement, String, TestProvider> {
+
+        static final String INVALID = "invalid";
+
+        TestRegistry() {
+            super(null);
+        }
+
+        @Override
+        protected void onAddElement(TestElement element) throws IllegalArgumentException {
+            if (INVALID.equals(element.value)) {
+                throw new IllegalArgumentException("invalid element " + element);
+            }
+        }
+    }
+}
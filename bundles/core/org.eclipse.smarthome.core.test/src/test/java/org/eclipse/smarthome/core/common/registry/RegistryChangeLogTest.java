@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link RegistryChangeLog}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RegistryChangeLogTest {
+
+    @Test
+    public void testVersionIsIncrementedByChanges() {
+        RegistryChangeLog<String> changeLog = new RegistryChangeLog<>();
+        long version = changeLog.getVersion();
+
+        assertThat(changeLog.changed("a"), is(version + 1));
+        assertThat(changeLog.changed("a"), is(version + 2));
+        assertThat(changeLog.getVersion(), is(version + 2));
+    }
+
+    @Test
+    public void testChangedSinceReturnsEveryChangedKeyOnce() {
+        RegistryChangeLog<String> changeLog = new RegistryChangeLog<>();
+        long version = changeLog.getVersion();
+        changeLog.changed("a");
+        long intermediateVersion = changeLog.changed("b");
+        changeLog.changed("a");
+        changeLog.changed("c");
+
+        Set<String> changed = changeLog.getChangedSince(version);
+        assertThat(changed.size(), is(3));
+        assertThat(changed.containsAll(Arrays.asList("a", "b", "c")), is(true));
+        assertThat(changeLog.getChangedSince(intermediateVersion).containsAll(Arrays.asList("a", "c")), is(true));
+        assertThat(changeLog.getChangedSince(intermediateVersion).size(), is(2));
+        assertThat(changeLog.getChangedSince(changeLog.getVersion()).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testChangedSinceUnknownVersionIsNull() {
+        RegistryChangeLog<String> changeLog = new RegistryChangeLog<>(2);
+        long version = changeLog.getVersion();
+
+        // versions of the future and of a previous run
+        assertThat(changeLog.getChangedSince(version + 1), is(nullValue()));
+        assertThat(changeLog.getChangedSince(version - 1), is(nullValue()));
+
+        changeLog.changed("a");
+        changeLog.changed("b");
+        assertThat(changeLog.getChangedSince(version).size(), is(2));
+
+        // the first change has been dropped from the log
+        changeLog.changed("c");
+        assertThat(changeLog.getChangedSince(version), is(nullValue()));
+        assertThat(changeLog.getChangedSince(version + 1).containsAll(Arrays.asList("b", "c")), is(true));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() {
+        new RegistryChangeLog<String>(0);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.events;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+/**
+ * {@link AbstractEventTest} tests the lazily serialized payload of the {@link AbstractEvent}.
+ *
+ * @author agent - Initial contribution
+ */
+public class AbstractEventTest {
+
+    private static final String EVENT_TOPIC = "smarthome/some/topic";
+    private static final String EVENT_PAYLOAD = "{\"some\":\"payload\"}";
+
+    private static class TestEvent extends AbstractEvent {
+
+        TestEvent(String payload) {
+            super(EVENT_TOPIC, payload, null);
+        }
+
+        TestEvent(Supplier<String> payloadSupplier) {
+            super(EVENT_TOPIC, payloadSupplier, null);
+        }
+
+        @Override
+        public String getType() {
+            return "TestEvent";
+        }
+    }
+
+    @Test
+    public void testHasPayloadDoesNotSerializeLazyPayload() {
+        AtomicInteger serializations = new AtomicInteger();
+        TestEvent event = new TestEvent(() -> {
+            serializations.incrementAndGet();
+            return EVENT_PAYLOAD;
+        });
+
+        assertTrue(event.hasPayload());
+        assertEquals(0, serializations.get());
+
+        assertEquals(EVENT_PAYLOAD, event.getPayload());
+        assertEquals(EVENT_PAYLOAD, event.getPayload());
+        assertEquals(1, serializations.get());
+    }
+
+    @Test
+    public void testHasPayload() {
+        assertTrue(new TestEvent(EVENT_PAYLOAD).hasPayload());
+        assertFalse(new TestEvent("").hasPayload());
+    }
+}
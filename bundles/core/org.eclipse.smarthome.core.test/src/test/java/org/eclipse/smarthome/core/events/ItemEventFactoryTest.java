@@ -21,9 +21,11 @@ import org.eclipse.smarthome.core.items.events.GroupItemStateChangedEvent;
 import org.eclipse.smarthome.core.items.events.ItemAddedEvent;
 import org.eclipse.smarthome.core.items.events.ItemCommandEvent;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
+import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
 import org.eclipse.smarthome.core.items.events.ItemStateEvent;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.RawType;
 import org.eclipse.smarthome.core.types.Command;
@@ -225,4 +227,19 @@ public class ItemEventFactoryTest {
         assertEquals(NEW_RAW_ITEM_STATE, groupItemStateChangedEvent.getItemState());
         assertEquals(RAW_ITEM_STATE, groupItemStateChangedEvent.getOldItemState());
     }
+
+    @Test
+    public void testCreateStateChangedEvent_LazyPayloadCanBeParsed() throws Exception {
+        ItemStateChangedEvent event = ItemEventFactory.createStateChangedEvent(ITEM_NAME, new DecimalType("12.5"),
+                new DecimalType(7));
+
+        String payload = event.getPayload();
+        assertSame(payload, event.getPayload());
+
+        ItemStateChangedEvent parsedEvent = (ItemStateChangedEvent) factory.createEvent(ItemStateChangedEvent.TYPE,
+                event.getTopic(), payload, null);
+        assertEquals(payload, parsedEvent.getPayload());
+        assertEquals(new DecimalType("12.5"), parsedEvent.getItemState());
+        assertEquals(new DecimalType(7), parsedEvent.getOldItemState());
+    }
 }
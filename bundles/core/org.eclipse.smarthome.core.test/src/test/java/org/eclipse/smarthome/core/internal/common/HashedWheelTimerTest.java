@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.common;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.test.java.JavaTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link HashedWheelTimer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class HashedWheelTimerTest extends JavaTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setup() {
+        // a small wheel, so the tests also cover timeouts lasting several rounds
+        timer = new HashedWheelTimer("HashedWheelTimerTest", 10, TimeUnit.MILLISECONDS, 8);
+    }
+
+    @After
+    public void tearDown() {
+        timer.stop();
+    }
+
+    @Test
+    public void testTimeoutsExpireInOrder() {
+        List<Integer> expired = new CopyOnWriteArrayList<>();
+        timer.newTimeout(() -> expired.add(3), 300, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add(1), 20, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add(2), 150, TimeUnit.MILLISECONDS);
+
+        sleep(100);
+        assertThat(expired.size(), is(1));
+
+        waitForAssert(() -> assertThat(expired.size(), is(3)));
+        assertThat(expired.get(0), is(1));
+        assertThat(expired.get(1), is(2));
+        assertThat(expired.get(2), is(3));
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> expired.add("cancelled"), 50,
+                TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add("expired"), 100, TimeUnit.MILLISECONDS);
+        timeout.cancel();
+
+        waitForAssert(() -> assertThat(expired.size(), is(1)));
+        sleep(50);
+        assertThat(expired.get(0), is("expired"));
+        assertThat(expired.size(), is(1));
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopTimer() {
+        List<String> expired = new CopyOnWriteArrayList<>();
+        timer.newTimeout(() -> {
+            throw new IllegalStateException();
+        }, 10, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add("expired"), 50, TimeUnit.MILLISECONDS);
+
+        waitForAssert(() -> assertThat(expired.size(), is(1)));
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.common;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A benchmark of watching the timeouts of safe-calls with the {@link HashedWheelTimer}, compared to the
+ * {@link ScheduledThreadPoolExecutor} the {@link SafeCallManagerImpl} used before.
+ *
+ * <p>
+ * For 1, 8 and 32 threads (or the thread counts given as arguments) every thread schedules and cancels a timeout for
+ * each of its calls, like the safe-caller does for a call ending before its timeout.
+ *
+ * <p>
+ * It is not run as part of the tests; run its main method from the IDE instead.
+ *
+ * @author agent - Initial contribution
+ */
+public class TimeoutWatcherBenchmark {
+
+    private static final int CALLS_PER_THREAD = 200_000;
+
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    public static void main(String[] args) throws Exception {
+        int[] threadCounts = args.length == 0 ? new int[] { 1, 8, 32 } : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            threadCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        HashedWheelTimer timer = new HashedWheelTimer("benchmark-timer", 10, TimeUnit.MILLISECONDS, 512);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        Runnable task = () -> {
+        };
+
+        // warm up, so the JIT has compiled both variants before they are measured
+        run(4, () -> timer.newTimeout(task, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).cancel());
+        run(4, () -> executor.schedule(task, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS).cancel(false));
+
+        for (int threads : threadCounts) {
+            System.out.println("--- " + threads + " threads ---");
+            print("hashed wheel timer", threads, run(threads, () -> {
+                HashedWheelTimer.Timeout timeout = timer.newTimeout(task, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                timeout.cancel();
+            }));
+            print("scheduled thread pool executor", threads, run(threads, () -> {
+                ScheduledFuture<?> future = executor.schedule(task, TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                future.cancel(false);
+            }));
+        }
+
+        timer.stop();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the given call {@link #CALLS_PER_THREAD} times on each of the given number of threads.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long run(int threads, Runnable call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < CALLS_PER_THREAD; j++) {
+                        call.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        return System.nanoTime() - startNanos;
+    }
+
+    private static void print(String variant, int threads, long nanos) {
+        long calls = (long) threads * CALLS_PER_THREAD;
+        System.out.println(String.format("%s: %d ms (%d ns per call, %d calls per ms)", variant,
+                TimeUnit.NANOSECONDS.toMillis(nanos), nanos / calls, calls * 1_000_000 / Math.max(1, nanos)));
+    }
+}
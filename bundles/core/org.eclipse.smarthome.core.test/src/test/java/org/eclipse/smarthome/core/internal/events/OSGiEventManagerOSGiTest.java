@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.Map;
 
 import org.eclipse.smarthome.core.events.Event;
@@ -168,6 +169,38 @@ public class OSGiEventManagerOSGiTest extends JavaOSGiTest {
         assertEventCount(subscriber4, 1);
     }
 
+    @Test
+    public void testAllEventTypesSubscriberUnregistration() throws Exception {
+        internalUnregisterService(ALL_EVENT_TYPES_SUBSCRIBER_4);
+        eventPublisher.post(createEvent(EVENT_TYPE_A));
+        Thread.sleep(100);
+
+        assertEventCount(subscriber1, 1);
+        assertEventCount(subscriber2, 1);
+        assertEventCount(subscriber3, 0);
+        assertEventCount(subscriber4, 0);
+    }
+
+    @Test
+    public void testTopicRestrictedSubscriberIsReindexedOnModifiedProperties() throws Exception {
+        EventSubscriber subscriber5 = mock(EventSubscriber.class);
+        when(subscriber5.getSubscribedEventTypes()).thenReturn(Collections.singleton(EVENT_TYPE_A));
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put(EventSubscriber.EVENT_TOPICS, "smarthome/other/*");
+        ServiceRegistration<?> registration = bundleContext.registerService(EventSubscriber.class, subscriber5,
+                properties);
+        serviceRegistrations.put("TOPIC_RESTRICTED_SUBSCRIBER_5", registration);
+
+        eventPublisher.post(createEvent(EVENT_TYPE_A));
+        Thread.sleep(100);
+        assertEventCount(subscriber5, 0);
+
+        properties.put(EventSubscriber.EVENT_TOPICS, "smarthome/some/*");
+        registration.setProperties(properties);
+        eventPublisher.post(createEvent(EVENT_TYPE_A));
+        assertEvent(subscriber5, createEvent(EVENT_TYPE_A));
+    }
+
     @Test
     public void testFactoryUnregistration() throws Exception {
         internalUnregisterService(EVENT_TYPE_FACTORY_A_B);
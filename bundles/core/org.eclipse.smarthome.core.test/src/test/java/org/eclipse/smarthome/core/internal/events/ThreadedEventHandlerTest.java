@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.smarthome.core.common.SafeCaller;
+import org.eclipse.smarthome.test.java.JavaTest;
+import org.junit.After;
+import org.junit.Test;
+import org.osgi.service.event.Event;
+
+/**
+ * Tests for the {@link ThreadedEventHandler}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ThreadedEventHandlerTest extends JavaTest {
+
+    private ThreadedEventHandler handler;
+
+    @After
+    public void tearDown() {
+        if (handler != null) {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testShardKey() {
+        assertThat(ThreadedEventHandler.getShardKey("smarthome/items/Foo/state"), is("smarthome/items/Foo"));
+        assertThat(ThreadedEventHandler.getShardKey("smarthome/items/Foo/Bar/statechanged"),
+                is("smarthome/items/Foo"));
+        assertThat(ThreadedEventHandler.getShardKey("smarthome/things/a:b:c/status"), is("smarthome/things/a:b:c"));
+        assertThat(ThreadedEventHandler.getShardKey("smarthome/inbox/added"), is("smarthome/inbox/added"));
+        assertThat(ThreadedEventHandler.getShardKey("smarthome"), is("smarthome"));
+    }
+
+    @Test
+    public void testSingleDispatchThreadByDefault() {
+        handler = new ThreadedEventHandler(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                mock(SafeCaller.class));
+        assertThat(handler.getShardCount(), is(1));
+
+        handler = new ThreadedEventHandler(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                mock(SafeCaller.class), 0);
+        assertThat(handler.getShardCount(), is(1));
+    }
+
+    @Test
+    public void testEventsOfOneEntityAreHandledBySameShard() {
+        handler = new ThreadedEventHandler(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                mock(SafeCaller.class), 4);
+        handler.open();
+
+        for (int i = 0; i < 10; i++) {
+            handler.handleEvent(createEvent("smarthome/items/Foo/state"));
+            handler.handleEvent(createEvent("smarthome/items/Foo/statechanged"));
+        }
+
+        waitForAssert(() -> {
+            List<EventDispatchStatistics> statistics = handler.getStatistics();
+            assertThat(statistics.size(), is(4));
+            long dispatched = statistics.stream().mapToLong(EventDispatchStatistics::getDispatchedEvents).sum();
+            long usedShards = statistics.stream().filter(s -> s.getDispatchedEvents() > 0).count();
+            assertThat(dispatched, is(20L));
+            assertThat(usedShards, is(1L));
+        });
+    }
+
+    @Test
+    public void testEventsAreDistributedAcrossShards() {
+        handler = new ThreadedEventHandler(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                mock(SafeCaller.class), 4);
+        handler.open();
+
+        for (int i = 0; i < 100; i++) {
+            handler.handleEvent(createEvent("smarthome/items/Item" + i + "/state"));
+        }
+
+        waitForAssert(() -> {
+            List<EventDispatchStatistics> statistics = handler.getStatistics();
+            long dispatched = statistics.stream().mapToLong(EventDispatchStatistics::getDispatchedEvents).sum();
+            long usedShards = statistics.stream().filter(s -> s.getDispatchedEvents() > 0).count();
+            assertThat(dispatched, is(100L));
+            assertThat(usedShards > 1, is(true));
+            statistics.forEach(s -> assertThat(s.getQueueSize(), is(0)));
+        });
+    }
+
+    private Event createEvent(String topic) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("type", "SomeEvent");
+        properties.put("payload", "{}");
+        properties.put("topic", topic);
+        return new Event("smarthome", properties);
+    }
+}
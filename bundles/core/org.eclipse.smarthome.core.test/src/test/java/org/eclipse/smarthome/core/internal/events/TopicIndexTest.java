@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TopicIndex}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TopicIndexTest {
+
+    private TopicIndex<String> index;
+
+    @Before
+    public void setUp() {
+        index = new TopicIndex<>();
+    }
+
+    @Test
+    public void testIsIndexable() {
+        assertThat(TopicIndex.isIndexable("smarthome/items/Foo/state"), is(true));
+        assertThat(TopicIndex.isIndexable("smarthome/items/*/state"), is(true));
+        assertThat(TopicIndex.isIndexable("smarthome/*"), is(true));
+        assertThat(TopicIndex.isIndexable("*"), is(true));
+        assertThat(TopicIndex.isIndexable("smarthome/items/Foo*"), is(false));
+        assertThat(TopicIndex.isIndexable(""), is(false));
+    }
+
+    @Test
+    public void testExactMatch() {
+        index.add("smarthome/items/Foo/command", "a");
+
+        assertThat(collect("smarthome/items/Foo/command"), is(set("a")));
+        assertThat(collect("smarthome/items/Foo/state"), is(set()));
+        assertThat(collect("smarthome/items/Foo"), is(set()));
+        assertThat(collect("smarthome/items/Foo/command/more"), is(set()));
+    }
+
+    @Test
+    public void testWildcardSegmentMatchesSingleSegment() {
+        index.add("smarthome/channels/*/triggered", "a");
+
+        assertThat(collect("smarthome/channels/a:b:c:d/triggered"), is(set("a")));
+        assertThat(collect("smarthome/channels/a/b/triggered"), is(set()));
+        assertThat(collect("smarthome/channels/a:b:c:d/state"), is(set()));
+    }
+
+    @Test
+    public void testTrailingWildcardMatchesRemainingSegments() {
+        index.add("smarthome/items/Foo/*", "a");
+        index.add("*", "b");
+
+        assertThat(collect("smarthome/items/Foo/state"), is(set("a", "b")));
+        assertThat(collect("smarthome/items/Foo/Bar/statechanged"), is(set("a", "b")));
+        assertThat(collect("smarthome/items/Foo"), is(set("b")));
+        assertThat(collect("smarthome/items/Bar/state"), is(set("b")));
+    }
+
+    @Test
+    public void testOverlappingPatterns() {
+        index.add("smarthome/items/Foo/*", "a");
+        index.add("smarthome/items/*/Foo/*", "a");
+        index.add("smarthome/items/*/state", "b");
+
+        assertThat(collect("smarthome/items/Foo/state"), is(set("a", "b")));
+        assertThat(collect("smarthome/items/Group/Foo/statechanged"), is(set("a")));
+        assertThat(collect("smarthome/items/Bar/state"), is(set("b")));
+    }
+
+    @Test
+    public void testRemove() {
+        index.add("smarthome/items/Foo/*", "a");
+        index.add("smarthome/items/*/state", "b");
+
+        index.remove("smarthome/items/Foo/*", "a");
+        assertThat(collect("smarthome/items/Foo/state"), is(set("b")));
+
+        index.remove("smarthome/items/*/state", "b");
+        assertThat(collect("smarthome/items/Foo/state"), is(set()));
+        assertThat(index.isEmpty(), is(true));
+    }
+
+    private Set<String> collect(String topic) {
+        Set<String> result = new HashSet<>();
+        index.collect(topic, result);
+        return result;
+    }
+
+    private static Set<String> set(String... values) {
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            result.add(value);
+        }
+        return result;
+    }
+}
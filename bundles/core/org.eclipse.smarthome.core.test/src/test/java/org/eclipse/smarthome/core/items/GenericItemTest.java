@@ -15,11 +15,17 @@ package org.eclipse.smarthome.core.items;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.i18n.UnitProvider;
 import org.eclipse.smarthome.core.items.events.ItemStateChangedEvent;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.PercentType;
 import org.eclipse.smarthome.core.library.types.RawType;
@@ -130,6 +136,66 @@ public class GenericItemTest {
         assertEquals(0, item.listeners.size());
     }
 
+    @Test
+    public void testListenersAreNotifiedInOrder() throws InterruptedException {
+        final int updates = 200;
+        CountDownLatch latch = new CountDownLatch(2 * updates);
+        List<State> updatedStates1 = new CopyOnWriteArrayList<>();
+        List<State> updatedStates2 = new CopyOnWriteArrayList<>();
+
+        TestItem item = new TestItem("member1");
+        item.addStateChangeListener(new RecordingStateChangeListener(updatedStates1, latch));
+        item.addStateChangeListener(new RecordingStateChangeListener(updatedStates2, latch));
+
+        List<State> expectedStates = new ArrayList<>();
+        for (int i = 0; i < updates; i++) {
+            State state = new DecimalType(i);
+            expectedStates.add(state);
+            item.setState(state);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(expectedStates, updatedStates1);
+        assertEquals(expectedStates, updatedStates2);
+    }
+
+    @Test
+    public void testRemovedListenerIsNotNotified() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<State> updatedStates = new CopyOnWriteArrayList<>();
+        StateChangeListener removedListener = mock(StateChangeListener.class);
+
+        TestItem item = new TestItem("member1");
+        item.addStateChangeListener(removedListener);
+        item.addStateChangeListener(new RecordingStateChangeListener(updatedStates, latch));
+        item.removeStateChangeListener(removedListener);
+        item.setState(OnOffType.ON);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        verifyZeroInteractions(removedListener);
+    }
+
+    private static class RecordingStateChangeListener implements StateChangeListener {
+
+        private final List<State> updatedStates;
+        private final CountDownLatch latch;
+
+        RecordingStateChangeListener(List<State> updatedStates, CountDownLatch latch) {
+            this.updatedStates = updatedStates;
+            this.latch = latch;
+        }
+
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+        }
+
+        @Override
+        public void stateUpdated(Item item, State state) {
+            updatedStates.add(state);
+            latch.countDown();
+        }
+    }
+
     /**
      * Fooling the null-analysis tooling
      *
@@ -729,6 +729,118 @@ public class GroupItemTest extends JavaOSGiTest {
         assertThat(groupItem.getState(), is(new QuantityType<Temperature>("23 °C")));
     }
 
+    @Test
+    public void assertThatIncrementalGroupFunctionsFollowMemberUpdates() {
+        GroupItem sum = new GroupItem("sum", new NumberItem("base"), new ArithmeticGroupFunction.Sum());
+        GroupItem avg = new GroupItem("avg", new NumberItem("base"), new ArithmeticGroupFunction.Avg());
+        GroupItem min = new GroupItem("min", new NumberItem("base"), new ArithmeticGroupFunction.Min());
+        GroupItem max = new GroupItem("max", new NumberItem("base"), new ArithmeticGroupFunction.Max());
+        List<GroupItem> groups = new LinkedList<>();
+        Collections.addAll(groups, sum, avg, min, max);
+
+        List<NumberItem> members = new LinkedList<>();
+        for (int i = 0; i < 3; i++) {
+            NumberItem member = new NumberItem("member" + i);
+            member.setState(new DecimalType(i + 1));
+            members.add(member);
+        }
+        for (GroupItem group : groups) {
+            group.setItemStateConverter(itemStateConverter);
+            members.forEach(group::addMember);
+        }
+
+        updateMember(groups, members.get(0), new DecimalType("1.55"));
+        assertThat(sum.getState(), is(new DecimalType("6.55")));
+        assertThat(avg.getState(), is(new DecimalType("2.18")));
+        assertThat(min.getState(), is(new DecimalType("1.55")));
+        assertThat(max.getState(), is(new DecimalType(3)));
+
+        // the scale of a removed value must not influence the average anymore
+        updateMember(groups, members.get(0), new DecimalType(1));
+        assertThat(avg.getState().toString(), is("2"));
+
+        updateMember(groups, members.get(2), UnDefType.UNDEF);
+        assertThat(sum.getState(), is(new DecimalType(3)));
+        assertThat(avg.getState().toString(), is("2"));
+        assertThat(min.getState(), is(new DecimalType(1)));
+        assertThat(max.getState(), is(new DecimalType(2)));
+
+        // membership changes are picked up by the next update
+        NumberItem newMember = new NumberItem("newMember");
+        newMember.setState(new DecimalType(10));
+        groups.forEach(group -> group.addMember(newMember));
+        groups.forEach(group -> group.removeMember(members.get(0)));
+        updateMember(groups, members.get(1), new DecimalType(4));
+        assertThat(sum.getState(), is(new DecimalType(14)));
+        assertThat(avg.getState(), is(new DecimalType(7)));
+        assertThat(min.getState(), is(new DecimalType(4)));
+        assertThat(max.getState(), is(new DecimalType(10)));
+    }
+
+    @Test
+    public void assertThatIncrementalLogicalGroupFunctionsFollowMemberUpdates() {
+        GroupItem and = new GroupItem("and", new SwitchItem("base"),
+                new ArithmeticGroupFunction.And(OnOffType.ON, OnOffType.OFF));
+        GroupItem or = new GroupItem("or", new SwitchItem("base"),
+                new ArithmeticGroupFunction.Or(OnOffType.ON, OnOffType.OFF));
+        GroupItem nor = new GroupItem("nor", new SwitchItem("base"),
+                new ArithmeticGroupFunction.NOr(OnOffType.ON, OnOffType.OFF));
+        GroupItem equality = new GroupItem("equality", new SwitchItem("base"));
+        List<GroupItem> groups = new LinkedList<>();
+        Collections.addAll(groups, and, or, nor, equality);
+
+        SwitchItem sw1 = new SwitchItem("switch1");
+        SwitchItem sw2 = new SwitchItem("switch2");
+        for (GroupItem group : groups) {
+            group.setItemStateConverter(itemStateConverter);
+            group.addMember(sw1);
+            group.addMember(sw2);
+        }
+
+        updateMember(groups, sw1, OnOffType.ON);
+        assertThat(and.getState(), is(OnOffType.OFF));
+        assertThat(or.getState(), is(OnOffType.ON));
+        assertThat(nor.getState(), is(OnOffType.OFF));
+        assertThat(equality.getState(), is(UnDefType.UNDEF));
+
+        updateMember(groups, sw2, OnOffType.ON);
+        assertThat(and.getState(), is(OnOffType.ON));
+        assertThat(equality.getState(), is(OnOffType.ON));
+
+        updateMember(groups, sw1, OnOffType.OFF);
+        updateMember(groups, sw2, OnOffType.OFF);
+        assertThat(and.getState(), is(OnOffType.OFF));
+        assertThat(or.getState(), is(OnOffType.OFF));
+        assertThat(nor.getState(), is(OnOffType.ON));
+        assertThat(equality.getState(), is(OnOffType.OFF));
+    }
+
+    @Test
+    public void assertThatGroupFunctionsIncludeMembersOfSubGroupsWithoutState() {
+        GroupItem sum = new GroupItem("sum", new NumberItem("base"), new ArithmeticGroupFunction.Sum());
+        sum.setItemStateConverter(itemStateConverter);
+        GroupItem subGroup = new GroupItem("subGroup");
+        NumberItem member = new NumberItem("member");
+        NumberItem subGroupMember = new NumberItem("subGroupMember");
+        member.setState(new DecimalType(1));
+        subGroupMember.setState(new DecimalType(2));
+        sum.addMember(member);
+        sum.addMember(subGroup);
+        subGroup.addMember(subGroupMember);
+
+        sum.stateUpdated(member, member.getState());
+        assertThat(sum.getState(), is(new DecimalType(3)));
+
+        subGroupMember.setState(new DecimalType(5));
+        sum.stateUpdated(member, member.getState());
+        assertThat(sum.getState(), is(new DecimalType(6)));
+    }
+
+    private void updateMember(List<GroupItem> groups, GenericItem member, State state) {
+        member.setState(state);
+        groups.forEach(group -> group.stateUpdated(member, state));
+    }
+
     private NumberItem createNumberItem(String name, Class<? extends Quantity<?>> dimension, State state) {
         NumberItem item = new NumberItem(CoreItemFactory.NUMBER + ":" + dimension.getSimpleName(), name);
         item.setUnitProvider(unitProvider);
@@ -108,6 +108,76 @@ public class CronExpressionTest {
         findNextWorker("0 0 * ? * *", getCalendarInstance("Europe/Berlin", 1521709942514L));
     }
 
+    @Test
+    public void compiledExpressionMatchesCandidateSearch() throws ParseException {
+        final List<String> expressions = Arrays.asList(new String[] { //
+                "* * * * * ?", //
+                "0 * * * * ?", //
+                "0 0 * ? * *", //
+                "0 0/15 * * * ?", //
+                "5/10 * * * * ?", //
+                "0 15 07 * * ?", //
+                "0 30 2 * * ?", //
+                "0 0 12 1 * ?", //
+                "0 0 12 31 * ?", //
+                "30 45 23 28-31 * ?", //
+                "0 0 12 10 2-4 ?", //
+                "0 0 8-17 ? * MON-FRI", //
+                "0 0 9 ? * FRI-MON", //
+                "0 15 10 ? * 6#3", //
+                "0 15 10 ? * 6L", //
+                "0 0 12 ? * SUN 2020-2030" //
+        });
+        // the candidate search relies on the default time zone for the day of week part
+        final TimeZone timeZone = TimeZone.getDefault();
+        // the start of 2016 (UTC), a few days before daylight saving time starts in Europe in 2018 and a date with
+        // milliseconds
+        final long[] startTimes = { 1451606400000L, 1521709942514L, 1700000000123L };
+
+        for (final String expr : expressions) {
+            for (final long startTime : startTimes) {
+                CronExpression cronExpression = new CronExpression(expr, new Date(startTime), timeZone);
+                Date curDate = new Date(startTime);
+                for (int i = 0; i < 20; i++) {
+                    Date nextDate = cronExpression.getTimeAfter(curDate);
+                    assertEquals(expr + " after " + curDate, cronExpression.getTimeAfterByCandidates(curDate),
+                            nextDate);
+                    if (nextDate == null) {
+                        break;
+                    }
+                    curDate = new Date(nextDate.getTime() + (i % 2) * 61000);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void specialDayOfMonthRules() throws ParseException {
+        final TimeZone timeZone = TimeZone.getTimeZone("UTC");
+        final Calendar cal = Calendar.getInstance(timeZone);
+        cal.clear();
+        cal.set(2016, 0, 1, 0, 0, 0); // Friday
+        final Date startDate = cal.getTime();
+
+        // January 31st 2016 is a Sunday, April 30th 2016 a Saturday
+        assertFireDays(new CronExpression("0 0 12 L * ?", startDate, timeZone), startDate, 31, 29, 31, 30);
+        assertFireDays(new CronExpression("0 0 12 L-2 * ?", startDate, timeZone), startDate, 29, 27, 29, 28);
+        assertFireDays(new CronExpression("0 0 12 LW * ?", startDate, timeZone), startDate, 29, 29, 31, 29);
+        assertFireDays(new CronExpression("0 0 12 1W * ?", startDate, timeZone), startDate, 1, 1, 1, 1, 2);
+        assertFireDays(new CronExpression("0 0 12 30W * ?", startDate, timeZone), startDate, 29, 30, 29, 30);
+    }
+
+    private void assertFireDays(final CronExpression cronExpression, final Date startDate, final int... days) {
+        final Calendar cal = Calendar.getInstance(cronExpression.getTimeZone());
+        Date curDate = startDate;
+        for (final int day : days) {
+            curDate = cronExpression.getTimeAfter(curDate);
+            cal.setTime(curDate);
+            assertEquals(cronExpression.getExpression(), day, cal.get(Calendar.DAY_OF_MONTH));
+            assertEquals(cronExpression.getExpression(), 12, cal.get(Calendar.HOUR_OF_DAY));
+        }
+    }
+
     private void findNextWorker(final String expr, final Calendar cal) throws ParseException {
         final SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
         final int TRIES = 150;
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.smarthome.core.scheduler.ExpressionThreadPoolManager.ExpressionThreadPoolExecutor;
+
+/**
+ * A benchmark of the {@link ExpressionThreadPoolExecutor} with many cron expressions.
+ *
+ * <p>
+ * For 10k and 100k expressions (or the counts given as arguments) it measures scheduling, the executions during a
+ * few seconds and removing all expressions. For comparison it also measures one pass of computing the next execution
+ * time of every expression, which the scheduler had to do each time it woke up before it used a timing wheel.
+ *
+ * <p>
+ * It is not run as part of the tests; run its main method from the IDE instead.
+ *
+ * @author agent - Initial contribution
+ */
+public class ExpressionSchedulerBenchmark {
+
+    private static final long RUN_SECONDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int[] counts = args.length == 0 ? new int[] { 10_000, 100_000 } : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            counts[i] = Integer.parseInt(args[i]);
+        }
+        for (int count : counts) {
+            run(count);
+        }
+        System.exit(0);
+    }
+
+    private static void run(int count) throws ParseException, InterruptedException {
+        System.out.println("--- " + count + " expressions ---");
+        List<Expression> expressions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // spread the expressions evenly across the seconds of a minute
+            expressions.add(new CronExpression((i % 60) + " * * * * ?"));
+        }
+
+        long start = System.nanoTime();
+        Date now = new Date();
+        for (Expression expression : expressions) {
+            expression.getTimeAfter(now);
+        }
+        print("next time of all expressions (one former monitor pass)", start, count);
+
+        ExpressionThreadPoolExecutor scheduler = new ExpressionThreadPoolExecutor("benchmark-" + count, 5);
+        AtomicLong executions = new AtomicLong();
+        List<Runnable> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(executions::incrementAndGet);
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            scheduler.schedule(tasks.get(i), expressions.get(i));
+        }
+        print("schedule", start, count);
+
+        TimeUnit.SECONDS.sleep(RUN_SECONDS);
+        System.out.println(String.format("executions in %d s: %d (expected about %d)", RUN_SECONDS,
+                executions.get(), count * RUN_SECONDS / 60));
+
+        start = System.nanoTime();
+        for (Runnable task : tasks) {
+            scheduler.remove(task);
+        }
+        print("remove", start, count);
+        scheduler.shutdown();
+    }
+
+    private static void print(String operation, long startNanos, int count) {
+        long nanos = System.nanoTime() - startNanos;
+        System.out.println(String.format("%s: %d ms (%d ns per expression)", operation,
+                TimeUnit.NANOSECONDS.toMillis(nanos), nanos / count));
+    }
+}
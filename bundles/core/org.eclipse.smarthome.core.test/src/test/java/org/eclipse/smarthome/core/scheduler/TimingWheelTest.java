@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.smarthome.core.scheduler.TimingWheel.Timeout;
+import org.junit.Test;
+
+/**
+ * Tests the {@link TimingWheel}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TimingWheelTest {
+
+    private final TimingWheel<String> wheel = new TimingWheel<>(0, 100, 4);
+
+    @Test
+    public void testValuesExpireAfterTheirDeadline() {
+        wheel.add(150, "a");
+        wheel.add(250, "b");
+        assertThat(wheel.size(), is(2));
+
+        assertThat(wheel.expire(199), is(Collections.emptyList()));
+        assertThat(wheel.expire(200), is(Arrays.asList("a")));
+        assertThat(wheel.expire(299), is(Collections.emptyList()));
+        assertThat(wheel.expire(300), is(Arrays.asList("b")));
+        assertThat(wheel.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testValuesOfLaterRoundsStayInTheWheel() {
+        // the wheel has 4 buckets of 100 ms, so both values are kept in the same bucket
+        wheel.add(200, "a");
+        wheel.add(600, "b");
+
+        assertThat(wheel.expire(200), is(Arrays.asList("a")));
+        assertThat(wheel.expire(599), is(Collections.emptyList()));
+        assertThat(wheel.expire(600), is(Arrays.asList("b")));
+    }
+
+    @Test
+    public void testAllValuesExpireAfterALongPause() {
+        wheel.add(100, "a");
+        wheel.add(250, "b");
+        wheel.add(1000, "c");
+
+        assertThat(new HashSet<>(wheel.expire(5000)), is(new HashSet<>(Arrays.asList("a", "b", "c"))));
+        assertThat(wheel.getNextTickTime(), is(5100L));
+    }
+
+    @Test
+    public void testPastDeadlinesExpireWithTheNextTick() {
+        wheel.expire(1000);
+        wheel.add(500, "a");
+
+        assertThat(wheel.expire(1099), is(Collections.emptyList()));
+        assertThat(wheel.expire(1100), is(Arrays.asList("a")));
+    }
+
+    @Test
+    public void testCancelledValuesDoNotExpire() {
+        Timeout<String> a = wheel.add(100, "a");
+        Timeout<String> b = wheel.add(100, "b");
+        wheel.add(100, "c");
+
+        assertThat(wheel.cancel(b), is(true));
+        assertThat(wheel.cancel(b), is(false));
+        assertThat(wheel.size(), is(2));
+
+        assertThat(new HashSet<>(wheel.expire(100)), is(new HashSet<>(Arrays.asList("a", "c"))));
+        assertThat(a.isPending(), is(false));
+        assertThat(wheel.cancel(a), is(false));
+    }
+}
@@ -50,6 +50,7 @@ import org.eclipse.smarthome.core.thing.binding.builder.ThingBuilder;
 import org.eclipse.smarthome.core.thing.events.ThingEventFactory;
 import org.eclipse.smarthome.core.thing.internal.profiles.SystemProfileFactory;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLinkProvider;
 import org.eclipse.smarthome.core.thing.link.ItemChannelLinkRegistry;
 import org.eclipse.smarthome.core.thing.profiles.ProfileAdvisor;
 import org.eclipse.smarthome.core.thing.profiles.ProfileCallback;
@@ -171,11 +172,12 @@ public class CommunicationManagerTest extends JavaOSGiTest {
         manager.addProfileFactory(mockProfileFactory);
         manager.addProfileAdvisor(mockProfileAdvisor);
 
+        ItemChannelLinkProvider iclProvider = mock(ItemChannelLinkProvider.class);
+        when(iclProvider.getAll()).thenReturn(
+                Arrays.asList(LINK_1_S1, LINK_1_S2, LINK_2_S2, LINK_1_T1, LINK_1_T2, LINK_2_T2, LINK_3_S3));
         ItemChannelLinkRegistry iclRegistry = new ItemChannelLinkRegistry() {
-            @Override
-            public Stream<ItemChannelLink> stream() {
-                return Arrays.asList(LINK_1_S1, LINK_1_S2, LINK_2_S2, LINK_1_T1, LINK_1_T2, LINK_2_T2, LINK_3_S3)
-                        .stream();
+            {
+                addProvider(iclProvider);
             }
         };
         manager.setItemChannelLinkRegistry(iclRegistry);
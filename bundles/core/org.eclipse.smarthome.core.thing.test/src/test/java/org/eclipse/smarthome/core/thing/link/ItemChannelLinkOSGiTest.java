@@ -121,4 +121,29 @@ public class ItemChannelLinkOSGiTest extends JavaOSGiTest {
         Set<Thing> boundThings = itemChannelLinkRegistry.getBoundThings("notExistingItem");
         assertTrue(boundThings.isEmpty());
     }
+
+    @Test
+    public void assertThatLinksAreIndexedByItemNameAndChannelUID() {
+        ChannelUID otherChannelUID = new ChannelUID(THING_UID, "other");
+        ItemChannelLink otherLink = new ItemChannelLink(ITEM, otherChannelUID);
+
+        managedItemChannelLinkProvider.add(ITEM_CHANNEL_LINK);
+        managedItemChannelLinkProvider.add(otherLink);
+
+        assertEquals(2, itemChannelLinkRegistry.getLinks(ITEM).size());
+        assertTrue(itemChannelLinkRegistry.getLinks(ITEM).contains(otherLink));
+        assertEquals(1, itemChannelLinkRegistry.getLinks(CHANNEL_UID).size());
+        assertTrue(itemChannelLinkRegistry.getLinks(CHANNEL_UID).contains(ITEM_CHANNEL_LINK));
+
+        managedItemChannelLinkProvider.remove(otherLink.getUID());
+
+        assertEquals(1, itemChannelLinkRegistry.getLinks(ITEM).size());
+        assertTrue(itemChannelLinkRegistry.getLinks(otherChannelUID).isEmpty());
+        assertFalse(itemChannelLinkRegistry.isLinked(ITEM, otherChannelUID));
+
+        managedItemChannelLinkProvider.remove(ITEM_CHANNEL_LINK.getUID());
+
+        assertTrue(itemChannelLinkRegistry.getLinks(ITEM).isEmpty());
+        assertTrue(itemChannelLinkRegistry.getLinks(CHANNEL_UID).isEmpty());
+    }
 }
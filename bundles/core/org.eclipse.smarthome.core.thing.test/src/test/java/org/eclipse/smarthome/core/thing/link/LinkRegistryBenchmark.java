@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.thing.link;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.core.common.registry.Provider;
+import org.eclipse.smarthome.core.common.registry.ProviderChangeListener;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+
+/**
+ * A benchmark of the lookups of the {@link ItemChannelLinkRegistry} by item name and channel UID.
+ *
+ * <p>
+ * For 1k, 10k and 100k links (or the counts given as arguments) it measures the indexed lookups and, for comparison,
+ * the scan over all links that the registry did for every lookup before it kept an index.
+ *
+ * <p>
+ * It is not run as part of the tests; run its main method from the IDE instead.
+ *
+ * @author agent - Initial contribution
+ */
+public class LinkRegistryBenchmark {
+
+    private static final int LOOKUPS = 10_000;
+
+    public static void main(String[] args) {
+        int[] counts = args.length == 0 ? new int[] { 1_000, 10_000, 100_000 } : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            counts[i] = Integer.parseInt(args[i]);
+        }
+        for (int count : counts) {
+            run(count);
+        }
+    }
+
+    private static void run(int count) {
+        System.out.println("--- " + count + " links ---");
+        List<ItemChannelLink> links = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            links.add(new ItemChannelLink("Item" + i, new ChannelUID("binding:type:thing" + i / 10 + ":channel" + i)));
+        }
+        BenchmarkRegistry registry = new BenchmarkRegistry();
+
+        long start = System.nanoTime();
+        registry.addProvider(new BenchmarkProvider(links));
+        print("add provider", start, count);
+
+        // warm up, so the JIT has compiled both variants before they are measured
+        lookUp(registry, links, LOOKUPS);
+        scan(registry, links, Math.min(LOOKUPS, 100));
+
+        start = System.nanoTime();
+        int found = lookUp(registry, links, LOOKUPS);
+        print("indexed lookups by channel UID and item name (" + found + " found)", start, LOOKUPS);
+
+        int scans = Math.max(1, Math.min(LOOKUPS, 10_000_000 / count));
+        start = System.nanoTime();
+        found = scan(registry, links, scans);
+        print("scanning lookups by channel UID and item name (" + found + " found)", start, scans);
+    }
+
+    private static int lookUp(ItemChannelLinkRegistry registry, List<ItemChannelLink> links, int lookups) {
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            ItemChannelLink link = links.get(i % links.size());
+            found += registry.getLinks(link.getLinkedUID()).size();
+            found += registry.getLinks(link.getItemName()).size();
+        }
+        return found;
+    }
+
+    private static int scan(ItemChannelLinkRegistry registry, List<ItemChannelLink> links, int lookups) {
+        int found = 0;
+        for (int i = 0; i < lookups; i++) {
+            ItemChannelLink link = links.get(i % links.size());
+            Set<ItemChannelLink> byUID = registry.getAll().stream()
+                    .filter(l -> l.getLinkedUID().equals(link.getLinkedUID())).collect(Collectors.toSet());
+            Set<ItemChannelLink> byItemName = registry.getAll().stream()
+                    .filter(l -> l.getItemName().equals(link.getItemName())).collect(Collectors.toSet());
+            found += byUID.size() + byItemName.size();
+        }
+        return found;
+    }
+
+    private static void print(String operation, long startNanos, int count) {
+        long nanos = System.nanoTime() - startNanos;
+        System.out.println(String.format("%s: %d ms (%d ns per operation)", operation,
+                TimeUnit.NANOSECONDS.toMillis(nanos), nanos / count));
+    }
+
+    private static class BenchmarkRegistry extends ItemChannelLinkRegistry {
+
+        @Override
+        protected void addProvider(Provider<ItemChannelLink> provider) {
+            super.addProvider(provider);
+        }
+    }
+
+    private static class BenchmarkProvider implements ItemChannelLinkProvider {
+
+        private final Collection<ItemChannelLink> links;
+
+        BenchmarkProvider(Collection<ItemChannelLink> links) {
+            this.links = links;
+        }
+
+        @Override
+        public Collection<ItemChannelLink> getAll() {
+            return links;
+        }
+
+        @Override
+        public void addProviderChangeListener(ProviderChangeListener<ItemChannelLink> listener) {
+        }
+
+        @Override
+        public void removeProviderChangeListener(ProviderChangeListener<ItemChannelLink> listener) {
+        }
+    }
+}
@@ -1134,6 +1134,10 @@ public class ThingManager implements ThingTracker, ThingTypeMigrationService, Re
         ThingStatusInfo oldStatusInfo = thingStatusInfoI18nLocalizationService.getLocalizedThingStatusInfo(thing, null);
         thing.setStatusInfo(thingStatusInfo);
         ThingStatusInfo newStatusInfo = thingStatusInfoI18nLocalizationService.getLocalizedThingStatusInfo(thing, null);
+        if (!oldStatusInfo.equals(newStatusInfo)) {
+            // the status is part of the thing as seen by clients, so they have to learn about the change
+            thingRegistry.getChangeLog().changed(thing.getUID());
+        }
         try {
             eventPublisher.post(ThingEventFactory.createStatusInfoEvent(thing.getUID(), newStatusInfo));
             if (!oldStatusInfo.equals(newStatusInfo)) {
@@ -119,10 +119,11 @@ public class ThingConsoleCommandExtension extends AbstractConsoleCommandExtensio
     }
 
     private void removeAllThings(Console console, Collection<Thing> things) {
-        int numberOfThings = things.size();
+        List<ThingUID> thingUIDs = new ArrayList<>(things.size());
         for (Thing thing : things) {
-            managedThingProvider.remove(thing.getUID());
+            thingUIDs.add(thing.getUID());
         }
+        int numberOfThings = managedThingProvider.removeAll(thingUIDs).size();
         console.println(numberOfThings + " things successfully removed.");
     }
 
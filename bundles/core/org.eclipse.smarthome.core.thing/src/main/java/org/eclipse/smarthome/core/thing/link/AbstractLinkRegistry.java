@@ -12,8 +12,12 @@
  */
 package org.eclipse.smarthome.core.thing.link;
 
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.smarthome.core.common.registry.AbstractRegistry;
 import org.eclipse.smarthome.core.common.registry.Provider;
@@ -23,6 +27,10 @@ import org.eclipse.smarthome.core.thing.UID;
  * {@link AbstractLinkRegistry} is an abstract class for link based registries,
  * which handle {@link AbstractLink}s.
  *
+ * <p>
+ * The registry keeps an index of the links by item name and by linked UID, which is updated whenever a link is added,
+ * removed or updated. Lookups by item name or linked UID therefore do not depend on the total number of links.
+ *
  * @author Dennis Nobel - Initial contribution
  *
  * @param <L>
@@ -31,10 +39,59 @@ import org.eclipse.smarthome.core.thing.UID;
 public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Provider<L>>
         extends AbstractRegistry<L, String, P> {
 
+    // item name -> links of the item
+    private final Map<String, Set<L>> itemNameToLinks = new ConcurrentHashMap<>();
+
+    // linked UID -> links of the UID
+    private final Map<UID, Set<L>> linkedUidToLinks = new ConcurrentHashMap<>();
+
     protected AbstractLinkRegistry(final Class<P> providerClazz) {
         super(providerClazz);
     }
 
+    @Override
+    protected void notifyListenersAboutAddedElement(L element) {
+        addToIndex(element);
+        super.notifyListenersAboutAddedElement(element);
+    }
+
+    @Override
+    protected void notifyListenersAboutRemovedElement(L element) {
+        removeFromIndex(element);
+        super.notifyListenersAboutRemovedElement(element);
+    }
+
+    @Override
+    protected void notifyListenersAboutUpdatedElement(L oldElement, L element) {
+        removeFromIndex(oldElement);
+        addToIndex(element);
+        super.notifyListenersAboutUpdatedElement(oldElement, element);
+    }
+
+    private void addToIndex(L link) {
+        synchronized (itemNameToLinks) {
+            itemNameToLinks.computeIfAbsent(link.getItemName(), k -> new CopyOnWriteArraySet<>()).add(link);
+            linkedUidToLinks.computeIfAbsent(link.getLinkedUID(), k -> new CopyOnWriteArraySet<>()).add(link);
+        }
+    }
+
+    private void removeFromIndex(L link) {
+        synchronized (itemNameToLinks) {
+            removeFromIndex(itemNameToLinks, link.getItemName(), link);
+            removeFromIndex(linkedUidToLinks, link.getLinkedUID(), link);
+        }
+    }
+
+    private <K> void removeFromIndex(Map<K, Set<L>> index, K key, L link) {
+        Set<L> links = index.get(key);
+        if (links != null) {
+            links.remove(link);
+            if (links.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
     /**
      * Returns if an item for a given item name is linked to a channel or thing for a
      * given UID.
@@ -44,8 +101,8 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      * @return true if linked, false otherwise
      */
     public boolean isLinked(String itemName, UID uid) {
-        for (AbstractLink link : getAll()) {
-            if (link.getLinkedUID().equals(uid) && link.getItemName().equals(itemName)) {
+        for (AbstractLink link : linkedUidToLinks.getOrDefault(uid, Collections.emptySet())) {
+            if (link.getItemName().equals(itemName)) {
                 return true;
             }
         }
@@ -61,10 +118,8 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      */
     public Set<String> getLinkedItemNames(UID uid) {
         Set<String> linkedItems = new LinkedHashSet<>();
-        for (AbstractLink link : getAll()) {
-            if (link.getLinkedUID().equals(uid)) {
-                linkedItems.add(link.getItemName());
-            }
+        for (AbstractLink link : linkedUidToLinks.getOrDefault(uid, Collections.emptySet())) {
+            linkedItems.add(link.getItemName());
         }
         return linkedItems;
     }
@@ -76,13 +131,19 @@ public abstract class AbstractLinkRegistry<L extends AbstractLink, P extends Pro
      * @return a set of links for the given UID
      */
     public Set<L> getLinks(UID uid) {
-        Set<L> links = new LinkedHashSet<>();
-        for (L link : getAll()) {
-            if (link.getLinkedUID().equals(uid)) {
-                links.add(link);
-            }
-        }
-        return links;
+        Set<L> links = linkedUidToLinks.get(uid);
+        return links == null ? new LinkedHashSet<>() : new LinkedHashSet<>(links);
+    }
+
+    /**
+     * Returns all links for a given item name.
+     *
+     * @param itemName the name of the item
+     * @return a set of links for the given item name
+     */
+    public Set<L> getLinks(String itemName) {
+        Set<L> links = itemNameToLinks.get(itemName);
+        return links == null ? new LinkedHashSet<>() : new LinkedHashSet<>(links);
     }
 
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests for the {@link TransformationCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TransformationCacheTest {
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    private String compile(String expression) {
+        compilations.incrementAndGet();
+        return "compiled " + expression;
+    }
+
+    @Test
+    public void testCompilesEachExpressionOnce() throws TransformationException {
+        TransformationCache<String> cache = new TransformationCache<>();
+
+        assertThat(cache.get("a", this::compile), is("compiled a"));
+        assertThat(cache.get("a", this::compile), is("compiled a"));
+        assertThat(cache.get("b", this::compile), is("compiled b"));
+
+        assertThat(compilations.get(), is(2));
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getHitCount(), is(1L));
+        assertThat(cache.getMissCount(), is(2L));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedExpression() throws TransformationException {
+        TransformationCache<String> cache = new TransformationCache<>(2);
+
+        cache.get("a", this::compile);
+        cache.get("b", this::compile);
+        cache.get("a", this::compile);
+        cache.get("c", this::compile);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.getEvictionCount(), is(1L));
+
+        // "b" has been evicted, "a" is still cached
+        cache.get("a", this::compile);
+        assertThat(compilations.get(), is(3));
+        cache.get("b", this::compile);
+        assertThat(compilations.get(), is(4));
+    }
+
+    @Test
+    public void testInvalidate() throws TransformationException {
+        TransformationCache<String> cache = new TransformationCache<>();
+
+        cache.get("a", this::compile);
+        cache.invalidate("a");
+        cache.get("a", this::compile);
+
+        assertThat(compilations.get(), is(2));
+    }
+
+    @Test
+    public void testCompilationFailureIsNotCached() {
+        TransformationCache<String> cache = new TransformationCache<>();
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("a", expression -> {
+                    compilations.incrementAndGet();
+                    throw new TransformationException("invalid expression " + expression);
+                });
+            } catch (TransformationException e) {
+                assertThat(e.getMessage(), is("invalid expression a"));
+            }
+        }
+
+        assertThat(cache.size(), is(0));
+        assertThat(compilations.get(), is(2));
+        assertThat(cache.getMissCount(), is(2L));
+        assertThat(cache.getHitCount(), is(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumSizeMustBePositive() {
+        new TransformationCache<String>(0);
+    }
+}
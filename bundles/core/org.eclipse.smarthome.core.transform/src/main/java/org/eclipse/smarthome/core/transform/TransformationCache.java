@@ -0,0 +1,200 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.transform;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded cache for compiled transformation expressions, like regular expressions, XPath expressions or style
+ * sheets, keyed by the expression they have been compiled from. {@link TransformationService}s can use it to avoid
+ * compiling the same expression on every transformation. If the cache is full, the least recently used entry is
+ * evicted. The numbers of cache hits, misses and evictions are counted, so the cache size can be tuned.
+ *
+ * <p>
+ * The cache is thread-safe, but the compiled expressions are shared between all callers. Compiled expressions that are
+ * not thread-safe themselves have to be guarded by the caller.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> the type of the compiled expressions
+ */
+@NonNullByDefault
+public class TransformationCache<T> {
+
+    /**
+     * Compiles an expression that is not in the cache yet.
+     *
+     * @param <T> the type of the compiled expression
+     */
+    @FunctionalInterface
+    public interface ExpressionCompiler<T> {
+
+        /**
+         * Compiles the given expression.
+         *
+         * @param expression the expression to compile
+         * @return the compiled expression
+         * @throws TransformationException if the expression cannot be compiled
+         */
+        T compile(String expression) throws TransformationException;
+    }
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(TransformationCache.class);
+
+    private final int maximumSize;
+    private final Map<String, T> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * Creates a cache holding up to {@link #DEFAULT_MAXIMUM_SIZE} compiled expressions.
+     */
+    public TransformationCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a cache holding up to the given number of compiled expressions.
+     *
+     * @param maximumSize the maximum number of compiled expressions
+     * @throws IllegalArgumentException if the maximum size is lower than one
+     */
+    public TransformationCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("The maximum size of the cache must be at least 1");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<String, T>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, T> eldest) {
+                if (size() > TransformationCache.this.maximumSize) {
+                    long evictions = evictionCount.incrementAndGet();
+                    logger.debug("Evicted compiled expression '{}' from the full transformation cache "
+                            + "(hits: {}, misses: {}, evictions: {})", eldest.getKey(), hitCount.get(),
+                            missCount.get(), evictions);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the compiled expression from the cache, compiling and adding it if it is not cached yet.
+     *
+     * <p>
+     * The expression is compiled without holding the lock of the cache, so a slow compilation does not block other
+     * callers. If two callers compile the same expression concurrently, the first result added to the cache wins.
+     *
+     * @param expression the expression
+     * @param compiler the compiler to use if the expression is not cached yet
+     * @return the compiled expression
+     * @throws TransformationException if the expression cannot be compiled
+     */
+    public T get(String expression, ExpressionCompiler<T> compiler) throws TransformationException {
+        synchronized (entries) {
+            @Nullable
+            T compiled = entries.get(expression);
+            if (compiled != null) {
+                hitCount.incrementAndGet();
+                return compiled;
+            }
+        }
+        missCount.incrementAndGet();
+
+        T compiled = compiler.compile(expression);
+        synchronized (entries) {
+            @Nullable
+            T existing = entries.putIfAbsent(expression, compiled);
+            return existing != null ? existing : compiled;
+        }
+    }
+
+    /**
+     * Removes the compiled expression from the cache, e.g. because the file it has been read from has changed.
+     *
+     * @param expression the expression
+     */
+    public void invalidate(String expression) {
+        synchronized (entries) {
+            entries.remove(expression);
+        }
+    }
+
+    /**
+     * Removes all compiled expressions from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return the number of compiled expressions in the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the maximum number of compiled expressions in the cache
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of lookups that have been answered from the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of lookups that required to compile the expression
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of compiled expressions that have been evicted because the cache was full
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    @Override
+    public String toString() {
+        synchronized (entries) {
+            return "TransformationCache [size=" + entries.size() + ", maximumSize=" + maximumSize + ", hits="
+                    + hitCount.get() + ", misses=" + missCount.get() + ", evictions=" + evictionCount.get() + "]";
+        }
+    }
+}
@@ -12,7 +12,11 @@
  */
 package org.eclipse.smarthome.core.common.registry;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -62,6 +66,32 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
         logger.debug("Added new element {} to {}.", keyAsString, this.getClass().getSimpleName());
     }
 
+    /**
+     * Adds several elements at once. The elements are written to the storage in a single bulk operation, so this is
+     * more efficient than adding them one by one.
+     *
+     * @param elements the elements to be added
+     * @throws IllegalArgumentException if an element with the same UID as one of the elements already exists (in this
+     *             case none of the elements is added)
+     */
+    public void addAll(Collection<E> elements) {
+        Map<String, PE> persistableElements = new LinkedHashMap<>();
+        for (E element : elements) {
+            String keyAsString = getKeyAsString(element);
+            if (persistableElements.containsKey(keyAsString) || storage.containsKey(keyAsString)) {
+                throw new IllegalArgumentException(
+                        "Cannot add element, because an element with same UID (" + keyAsString + ") already exists.");
+            }
+            persistableElements.put(keyAsString, toPersistableElement(element));
+        }
+
+        storage.putAll(persistableElements);
+        for (E element : elements) {
+            notifyListenersAboutAddedElement(element);
+        }
+        logger.debug("Added {} new elements to {}.", persistableElements.size(), this.getClass().getSimpleName());
+    }
+
     @Override
     public Collection<E> getAll() {
         return storage.getKeys().stream().map(key -> {
@@ -106,6 +136,35 @@ public abstract class AbstractManagedProvider<E extends Identifiable<K>, K, PE>
         return null;
     }
 
+    /**
+     * Removes several elements at once. The elements are removed from the storage in a single bulk operation, so this
+     * is more efficient than removing them one by one.
+     *
+     * @param keys the keys of the elements that should be removed
+     * @return the removed elements (keys without an element are ignored)
+     */
+    public Collection<E> removeAll(Collection<K> keys) {
+        List<String> keysAsString = new ArrayList<>(keys.size());
+        for (K key : keys) {
+            keysAsString.add(keyToString(key));
+        }
+
+        Map<String, PE> persistableElements = storage.removeAll(keysAsString);
+        List<E> elements = new ArrayList<>(persistableElements.size());
+        for (String keyAsString : keysAsString) {
+            PE persistableElement = persistableElements.remove(keyAsString);
+            if (persistableElement != null) {
+                E element = toElement(keyAsString, persistableElement);
+                if (element != null) {
+                    notifyListenersAboutRemovedElement(element);
+                    elements.add(element);
+                }
+            }
+        }
+        logger.debug("Removed {} elements from {}.", elements.size(), this.getClass().getSimpleName());
+        return elements;
+    }
+
     @Override
     public E update(E element) {
         String key = getKeyAsString(element);
@@ -14,7 +14,6 @@ package org.eclipse.smarthome.core.common.registry;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.stream.Collectors;
@@ -33,6 +32,15 @@ import org.slf4j.LoggerFactory;
  * The {@link AbstractRegistry} is an abstract implementation of the {@link Registry} interface, that can be used as
  * base class for {@link Registry} implementations.
  *
+ * <p>
+ * The registry keeps an index of all elements by their UID, so {@link #get(Object)} does not depend on the number of
+ * elements. UIDs have to be unique across all providers: the element which has been added first wins, any further
+ * element with the same UID (from the same or another provider) is rejected and logged, and it does not become
+ * visible if the first element gets removed later on.
+ *
+ * <p>
+ * All changes of the elements are recorded in the {@link #getChangeLog() change log} of the registry.
+ *
  * @author Dennis Nobel - Initial contribution
  * @author Stefan Bußweiler - Migration to new event mechanism
  * @author Victor Toni - provide elements as {@link Stream}
@@ -57,6 +65,14 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     protected Map<Provider<E>, Collection<E>> elementMap = new ConcurrentHashMap<Provider<E>, Collection<E>>();
 
+    // UID -> element, kept in sync with the elements of all providers in the element map
+    private final Map<K, E> identifierToElement = new ConcurrentHashMap<>();
+
+    // UID -> provider of the element
+    private final Map<K, Provider<E>> identifierToProvider = new ConcurrentHashMap<>();
+
+    private final RegistryChangeLog<K> changeLog = new RegistryChangeLog<>();
+
     protected Collection<RegistryChangeListener<E>> listeners = new CopyOnWriteArraySet<RegistryChangeListener<E>>();
 
     protected ManagedProvider<E, K> managedProvider;
@@ -127,16 +143,26 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
         if (elements != null) {
             try {
                 K uid = element.getUID();
-                E existingElement = get(uid);
-                if (uid != null && existingElement != null) {
+                // claim the UID atomically, so that of two providers adding the same UID concurrently only one wins
+                E existingElement = identifierToElement.putIfAbsent(uid, element);
+                if (existingElement != null) {
+                    Provider<E> existingProvider = identifierToProvider.get(uid);
                     logger.warn(
                             "{} with key '{}' already exists from provider {}! Failed to add a second with the same UID from provider {}!",
                             element.getClass().getSimpleName(), uid,
-                            getProvider(existingElement).getClass().getSimpleName(),
+                            existingProvider == null ? null : existingProvider.getClass().getSimpleName(),
                             provider.getClass().getSimpleName());
                     return;
                 }
-                onAddElement(element);
+                identifierToProvider.put(uid, provider);
+                try {
+                    onAddElement(element);
+                } catch (RuntimeException ex) {
+                    // the element has been rejected, release its UID again
+                    identifierToProvider.remove(uid, provider);
+                    identifierToElement.remove(uid, element);
+                    throw ex;
+                }
                 elements.add(element);
                 notifyListenersAboutAddedElement(element);
             } catch (Exception ex) {
@@ -169,9 +195,16 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
             try {
                 // the given "element" might not be the live instance but
                 // loaded from storage. operate on the real element:
-                E existingElement = get(element.getUID());
+                K uid = element.getUID();
+                E existingElement = get(uid);
+                if (existingElement == null || !elements.contains(existingElement)) {
+                    // unknown element or a rejected duplicate, the registered element belongs to another provider
+                    return;
+                }
                 onRemoveElement(existingElement);
                 elements.remove(existingElement);
+                identifierToElement.remove(uid, existingElement);
+                identifierToProvider.remove(uid, provider);
                 notifyListenersAboutRemovedElement(existingElement);
             } catch (Exception ex) {
                 logger.warn("Could not remove element: {}", ex.getMessage(), ex);
@@ -196,6 +229,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
                 onUpdateElement(oldElement, element);
                 elements.remove(existingElement);
                 elements.add(element);
+                identifierToElement.put(element.getUID(), element);
                 notifyListenersAboutUpdatedElement(oldElement, element);
             } catch (Exception ex) {
                 logger.warn("Could not update element: {}", ex.getMessage(), ex);
@@ -205,14 +239,12 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     @Override
     public E get(K key) {
-        for (final Map.Entry<Provider<E>, Collection<E>> entry : elementMap.entrySet()) {
-            for (final E element : entry.getValue()) {
-                if (key.equals(element.getUID())) {
-                    return element;
-                }
-            }
-        }
-        return null;
+        return identifierToElement.get(key);
+    }
+
+    @Override
+    public RegistryChangeLog<K> getChangeLog() {
+        return changeLog;
     }
 
     @Override
@@ -244,6 +276,7 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
     }
 
     protected void notifyListeners(E oldElement, E element, EventType eventType) {
+        changeLog.changed(element.getUID());
         for (RegistryChangeListener<E> listener : this.listeners) {
             try {
                 switch (eventType) {
@@ -297,12 +330,15 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
     }
 
     public Provider<E> getProvider(E element) {
-        for (Entry<Provider<E>, Collection<E>> entry : elementMap.entrySet()) {
-            if (entry.getValue().contains(element)) {
-                return entry.getKey();
-            }
+        K uid = element.getUID();
+        if (uid == null) {
+            return null;
         }
-        return null;
+        E existingElement = identifierToElement.get(uid);
+        if (existingElement == null || !existingElement.equals(element)) {
+            return null;
+        }
+        return identifierToProvider.get(uid);
     }
 
     protected void setManagedProvider(ManagedProvider<E, K> provider) {
@@ -367,7 +403,8 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
 
     protected void removeProvider(Provider<E> provider) {
         if (elementMap.containsKey(provider)) {
-            for (E element : elementMap.get(provider)) {
+            Collection<E> elements = elementMap.get(provider);
+            for (E element : elements) {
                 try {
                     onRemoveElement(element);
                     notifyListenersAboutRemovedElement(element);
@@ -377,6 +414,10 @@ public abstract class AbstractRegistry<E extends Identifiable<K>, K, P extends P
             }
 
             elementMap.remove(provider);
+            for (E element : elements) {
+                identifierToElement.remove(element.getUID(), element);
+                identifierToProvider.remove(element.getUID(), provider);
+            }
 
             provider.removeProviderChangeListener(this);
 
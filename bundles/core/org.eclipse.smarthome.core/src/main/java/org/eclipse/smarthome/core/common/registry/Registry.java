@@ -95,4 +95,14 @@ public interface Registry<E extends Identifiable<K>, K> {
      * @throws IllegalStateException if no ManagedProvider is available
      */
     public @Nullable E remove(@NonNull K key);
+
+    /**
+     * Returns the change log of the registry, which tells which elements have been changed since a certain version of
+     * the registry.
+     *
+     * @return the change log or null if the registry does not track its changes
+     */
+    default @Nullable RegistryChangeLog<K> getChangeLog() {
+        return null;
+    }
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.common.registry;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A bounded log of the changes of a registry.
+ *
+ * <p>
+ * Every change of an element increments the version of the registry by one, so clients can check whether anything
+ * has changed by comparing versions, and ask which elements have been changed since the version they know. The last
+ * changes (up to the capacity of the log) are kept. The versions start at the current time in microseconds, so they
+ * keep increasing across restarts and versions of a previous run are not mistaken for current ones.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <K> type of the element keys
+ */
+@NonNullByDefault
+public class RegistryChangeLog<K> {
+
+    /** the default number of changes kept in the log */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final @Nullable Object[] keys;
+    private final long initialVersion;
+    private volatile long version;
+
+    /**
+     * Creates a change log keeping the {@link #DEFAULT_CAPACITY default number} of changes.
+     */
+    public RegistryChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a change log.
+     *
+     * @param capacity the number of changes to keep
+     */
+    public RegistryChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive.");
+        }
+        keys = new Object[capacity];
+        initialVersion = System.currentTimeMillis() * 1000;
+        version = initialVersion;
+    }
+
+    /**
+     * Returns the current version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records a change of an element.
+     *
+     * @param key the key of the element which has been added, updated or removed
+     * @return the new version
+     */
+    public synchronized long changed(K key) {
+        long newVersion = version + 1;
+        keys[(int) (newVersion % keys.length)] = key;
+        version = newVersion;
+        return newVersion;
+    }
+
+    /**
+     * Returns the keys of the elements which have been changed since the given version.
+     *
+     * @param since the version
+     * @return the keys of the changed elements in the order of their first change, or null if the changes since the
+     *         given version are unknown (as it is too old or not a version of this log)
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized @Nullable Set<K> getChangedSince(long since) {
+        if (since < initialVersion || since > version || version - since > keys.length) {
+            return null;
+        }
+        Set<K> changed = new LinkedHashSet<>();
+        for (long v = since + 1; v <= version; v++) {
+            changed.add((K) keys[(int) (v % keys.length)]);
+        }
+        return changed;
+    }
+}
@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.events;
 
+import java.util.function.Supplier;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 
@@ -25,7 +27,9 @@ public abstract class AbstractEvent implements Event {
 
     private final String topic;
 
-    private final String payload;
+    private volatile @Nullable String payload;
+
+    private final @Nullable Supplier<String> payloadSupplier;
 
     private final @Nullable String source;
 
@@ -39,6 +43,25 @@ public abstract class AbstractEvent implements Event {
     public AbstractEvent(String topic, String payload, @Nullable String source) {
         this.topic = topic;
         this.payload = payload;
+        this.payloadSupplier = null;
+        this.source = source;
+    }
+
+    /**
+     * Must be called in subclass constructor to create a new event whose payload is serialized lazily.
+     *
+     * <p>
+     * The payload supplier is called at most once, on the first call of {@link #getPayload()}, so the payload is
+     * serialized only once however many consumers ask for it.
+     *
+     * @param topic the topic
+     * @param payloadSupplier the supplier creating the payload
+     * @param source the source
+     */
+    protected AbstractEvent(String topic, Supplier<String> payloadSupplier, @Nullable String source) {
+        this.topic = topic;
+        this.payload = null;
+        this.payloadSupplier = payloadSupplier;
         this.source = source;
     }
 
@@ -49,9 +72,26 @@ public abstract class AbstractEvent implements Event {
 
     @Override
     public String getPayload() {
+        String payload = this.payload;
+        Supplier<String> payloadSupplier = this.payloadSupplier;
+        if (payload == null && payloadSupplier != null) {
+            payload = payloadSupplier.get();
+            this.payload = payload;
+        }
         return payload;
     }
 
+    /**
+     * Determines whether this event has a payload without serializing a lazily created payload. A lazily created
+     * payload is built from the typed fields of the event, which are validated when the event is created.
+     *
+     * @return true if the payload is serialized lazily or is neither null nor empty
+     */
+    public boolean hasPayload() {
+        String payload = this.payload;
+        return payloadSupplier != null || (payload != null && !payload.isEmpty());
+    }
+
     @Override
     public @Nullable String getSource() {
         return source;
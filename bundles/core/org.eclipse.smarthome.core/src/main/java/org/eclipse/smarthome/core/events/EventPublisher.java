@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.events;
 
+import java.util.Collection;
+
 /**
  * The {@link EventPublisher} posts {@link Event}s through the Eclipse SmartHome event bus in an asynchronous way.
  * Posted events can be received by implementing the {@link EventSubscriber} callback interface.
@@ -29,4 +31,20 @@ public interface EventPublisher {
      * @throws IllegalStateException if the underlying event bus module is not available
      */
     void post(Event event) throws IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Posts several events through the event bus in an asynchronous way. The events are posted in the order of the
+     * given collection. Implementations may validate all events before posting the first one and post them at once.
+     * Posting is not atomic: if the event bus fails, the events before the failing one may already have been posted.
+     *
+     * @param events the events posted through the event bus
+     * @throws IllegalArgumentException if one of the events is null
+     * @throws IllegalArgumentException if one of the event properties type, payload or topic is null
+     * @throws IllegalStateException if the underlying event bus module is not available
+     */
+    default void postAll(Collection<? extends Event> events) throws IllegalArgumentException, IllegalStateException {
+        for (Event event : events) {
+            post(event);
+        }
+    }
 }
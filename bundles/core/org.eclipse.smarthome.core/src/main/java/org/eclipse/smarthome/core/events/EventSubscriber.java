@@ -32,6 +32,14 @@ public interface EventSubscriber {
      */
     public static String ALL_EVENT_TYPES = "ALL";
 
+    /**
+     * The optional service property {@link #EVENT_TOPICS} restricts the topics of the events that are offered to the
+     * event subscriber. Its value is a topic pattern or an array or collection of topic patterns. A pattern segment
+     * {@code *} matches a single topic segment, a trailing {@code *} matches all remaining segments. Subscribers
+     * without this property receive the events of all topics.
+     */
+    public static String EVENT_TOPICS = "event.topics";
+
     /**
      * Gets the event types to which the event subscriber is subscribed to.
      *
@@ -33,7 +33,10 @@ class Invocation implements Callable<Object> {
     private final Deque<Invocation> invocationStack = new LinkedList<>();
 
     @Nullable
-    private Thread thread;
+    private volatile Thread thread;
+
+    @Nullable
+    private volatile HashedWheelTimer.Timeout timeoutWatch;
 
     Invocation(AbstractInvocationHandler<?> invocationHandler, Method method, @Nullable Object @Nullable [] args) {
         this.method = method;
@@ -78,6 +81,15 @@ class Invocation implements Callable<Object> {
         return "invocation of '" + method.getName() + "()' on '" + invocationHandler.getTarget() + "'";
     }
 
+    @Nullable
+    HashedWheelTimer.Timeout getTimeoutWatch() {
+        return timeoutWatch;
+    }
+
+    void setTimeoutWatch(HashedWheelTimer.Timeout timeoutWatch) {
+        this.timeoutWatch = timeoutWatch;
+    }
+
     Deque<Invocation> getInvocationStack() {
         return invocationStack;
     }
@@ -12,12 +12,11 @@
  */
 package org.eclipse.smarthome.core.internal.common;
 
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -31,6 +30,9 @@ import org.slf4j.LoggerFactory;
  * It therefore tracks the executions in order to detect parallel execution and offers some helper methods for the
  * invocation handlers.
  *
+ * The tracking is done in concurrent maps and lock-free queues per identifier, so calls for different identifiers do
+ * not contend with each other. The timeouts of asynchronous calls are watched by a {@link HashedWheelTimer}.
+ *
  * @author Simon Kaufmann - initial contribution and API.
  *
  */
@@ -39,15 +41,15 @@ public class SafeCallManagerImpl implements SafeCallManager {
 
     private final Logger logger = LoggerFactory.getLogger(SafeCallManagerImpl.class);
 
-    private final Map<Object, @Nullable Queue<Invocation>> queues = new HashMap<>();
-    private final Map<Object, @Nullable Invocation> activeIdentifiers = new HashMap<>();
-    private final Map<Object, @Nullable Invocation> activeAsyncInvocations = new HashMap<>();
+    private final Map<Object, Queue<Invocation>> queues = new ConcurrentHashMap<>();
+    private final Map<Object, Invocation> activeIdentifiers = new ConcurrentHashMap<>();
+    private final Map<Object, Invocation> activeAsyncInvocations = new ConcurrentHashMap<>();
 
-    private final ScheduledExecutorService watcher;
+    private final HashedWheelTimer watcher;
     private final ExecutorService scheduler;
-    private boolean enforceSingleThreadPerIdentifier;
+    private volatile boolean enforceSingleThreadPerIdentifier;
 
-    public SafeCallManagerImpl(ScheduledExecutorService watcher, ExecutorService scheduler,
+    public SafeCallManagerImpl(HashedWheelTimer watcher, ExecutorService scheduler,
             boolean enforceSingleThreadPerIdentifier) {
         this.watcher = watcher;
         this.scheduler = scheduler;
@@ -56,15 +58,16 @@ public class SafeCallManagerImpl implements SafeCallManager {
 
     @Override
     public void recordCallStart(Invocation invocation) {
-        synchronized (activeIdentifiers) {
-            Invocation otherInvocation = activeIdentifiers.get(invocation.getIdentifier());
-            if (enforceSingleThreadPerIdentifier && otherInvocation != null) {
+        if (enforceSingleThreadPerIdentifier) {
+            Invocation otherInvocation = activeIdentifiers.putIfAbsent(invocation.getIdentifier(), invocation);
+            if (otherInvocation != null) {
                 // another call to the same identifier is (still) running,
                 // therefore queue it instead for async execution later on.
                 // Inform the caller about the timeout by means of the exception.
                 enqueue(invocation);
                 throw new DuplicateExecutionException(otherInvocation);
             }
+        } else {
             activeIdentifiers.put(invocation.getIdentifier(), invocation);
         }
         if (invocation.getInvocationHandler() instanceof InvocationHandlerAsync) {
@@ -74,49 +77,40 @@ public class SafeCallManagerImpl implements SafeCallManager {
 
     @Override
     public void recordCallEnd(Invocation invocation) {
-        synchronized (activeIdentifiers) {
-            activeIdentifiers.remove(invocation.getIdentifier());
-        }
-        synchronized (activeAsyncInvocations) {
-            activeAsyncInvocations.remove(invocation.getIdentifier());
+        HashedWheelTimer.Timeout timeout = invocation.getTimeoutWatch();
+        if (timeout != null) {
+            timeout.cancel();
         }
+        activeIdentifiers.remove(invocation.getIdentifier());
+        activeAsyncInvocations.remove(invocation.getIdentifier());
         logger.trace("Finished {}", invocation);
         trigger(invocation.getIdentifier());
     }
 
     @Override
     public void enqueue(Invocation invocation) {
-        synchronized (queues) {
-            Queue<Invocation> queue = queues.get(invocation.getIdentifier());
-            if (queue == null) {
-                queue = new LinkedList<>();
-                queues.put(invocation.getIdentifier(), queue);
-            }
-            queue.add(invocation);
-        }
+        queues.computeIfAbsent(invocation.getIdentifier(), identifier -> new ConcurrentLinkedQueue<>())
+                .add(invocation);
         trigger(invocation.getIdentifier());
     }
 
     private void trigger(Object identifier) {
         logger.trace("Triggering submissions for '{}'", identifier);
-        synchronized (activeIdentifiers) {
-            if (enforceSingleThreadPerIdentifier && activeIdentifiers.containsKey(identifier)) {
-                logger.trace("Identifier '{}' is already running", identifier);
-                return;
-            }
+        if (enforceSingleThreadPerIdentifier && activeIdentifiers.containsKey(identifier)) {
+            logger.trace("Identifier '{}' is already running", identifier);
+            return;
         }
-        synchronized (activeAsyncInvocations) {
-            if (activeAsyncInvocations.containsKey(identifier)) {
-                logger.trace("Identifier '{}' is already scheduled for asynchronous execution", identifier);
-                return;
-            }
-            Invocation next = dequeue(identifier);
-            if (next != null) {
-                logger.trace("Scheduling {} for asynchronous execution", next);
-                activeAsyncInvocations.put(identifier, next);
-                getScheduler().submit(next);
-                logger.trace("Submitted {} for asynchronous execution", next);
-            }
+        if (activeAsyncInvocations.containsKey(identifier)) {
+            logger.trace("Identifier '{}' is already scheduled for asynchronous execution", identifier);
+            return;
+        }
+        Invocation[] scheduled = new Invocation[1];
+        activeAsyncInvocations.computeIfAbsent(identifier, id -> scheduled[0] = dequeue(id));
+        Invocation next = scheduled[0];
+        if (next != null) {
+            logger.trace("Scheduling {} for asynchronous execution", next);
+            getScheduler().submit(next);
+            logger.trace("Submitted {} for asynchronous execution", next);
         }
     }
 
@@ -133,11 +127,9 @@ public class SafeCallManagerImpl implements SafeCallManager {
 
     @Nullable
     public Invocation dequeue(Object identifier) {
-        synchronized (queues) {
-            Queue<Invocation> queue = queues.get(identifier);
-            if (queue != null) {
-                return queue.poll();
-            }
+        Queue<Invocation> queue = queues.get(identifier);
+        if (queue != null) {
+            return queue.poll();
         }
         return null;
     }
@@ -145,11 +137,9 @@ public class SafeCallManagerImpl implements SafeCallManager {
     @Override
     @Nullable
     public Invocation getActiveInvocation() {
-        synchronized (activeIdentifiers) {
-            for (Invocation invocation : activeIdentifiers.values()) {
-                if (invocation.getThread() == Thread.currentThread()) {
-                    return invocation;
-                }
+        for (Invocation invocation : activeIdentifiers.values()) {
+            if (invocation.getThread() == Thread.currentThread()) {
+                return invocation;
             }
         }
         return null;
@@ -161,9 +151,9 @@ public class SafeCallManagerImpl implements SafeCallManager {
     }
 
     private void watch(Invocation invocation) {
-        watcher.schedule(() -> {
+        invocation.setTimeoutWatch(watcher.newTimeout(() -> {
             handlePotentialTimeout(invocation);
-        }, invocation.getTimeout(), TimeUnit.MILLISECONDS);
+        }, invocation.getTimeout(), TimeUnit.MILLISECONDS));
         logger.trace("Scheduling timeout watcher in {}ms", invocation.getTimeout());
     }
 
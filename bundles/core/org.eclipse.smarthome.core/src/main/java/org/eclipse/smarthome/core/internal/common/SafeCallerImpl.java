@@ -14,8 +14,7 @@ package org.eclipse.smarthome.core.internal.common;
 
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -39,15 +38,20 @@ public class SafeCallerImpl implements SafeCaller {
 
     private static final String SAFE_CALL_POOL_NAME = "safeCall";
 
+    private static final String WATCHER_THREAD_NAME = "ESH-SafeCallWatcher";
+    private static final long WATCHER_TICK_MILLIS = 10;
+    private static final int WATCHER_TICKS_PER_WHEEL = 512;
+
     @NonNullByDefault({})
-    private ScheduledExecutorService watcher;
+    private HashedWheelTimer watcher;
 
     @NonNullByDefault({})
     private SafeCallManagerImpl manager;
 
     @Activate
     public void activate(@Nullable Map<String, Object> properties) {
-        watcher = Executors.newSingleThreadScheduledExecutor();
+        watcher = new HashedWheelTimer(WATCHER_THREAD_NAME, WATCHER_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                WATCHER_TICKS_PER_WHEEL);
         manager = new SafeCallManagerImpl(watcher, getScheduler(), false);
         modified(properties);
     }
@@ -63,7 +67,7 @@ public class SafeCallerImpl implements SafeCaller {
     @Deactivate
     public void deactivate() {
         if (watcher != null) {
-            watcher.shutdownNow();
+            watcher.stop();
             watcher = null;
         }
         manager = null;
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Snapshot of the dispatch statistics of a single event dispatch shard of the {@link ThreadedEventHandler}.
+ *
+ * <p>
+ * The dispatch latency is measured from the moment an event has been enqueued until it has been handed over to all
+ * matching subscribers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EventDispatchStatistics {
+
+    private final int shard;
+    private final int queueSize;
+    private final long dispatchedEvents;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    EventDispatchStatistics(int shard, int queueSize, long dispatchedEvents, long totalLatencyNanos,
+            long maxLatencyNanos) {
+        this.shard = shard;
+        this.queueSize = queueSize;
+        this.dispatchedEvents = dispatchedEvents;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /**
+     * @return the index of the shard
+     */
+    public int getShard() {
+        return shard;
+    }
+
+    /**
+     * @return the number of events currently waiting in the queue of the shard
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * @return the number of events dispatched by the shard so far
+     */
+    public long getDispatchedEvents() {
+        return dispatchedEvents;
+    }
+
+    /**
+     * @return the average dispatch latency in microseconds, 0 if no event has been dispatched yet
+     */
+    public long getAverageLatencyMicros() {
+        return dispatchedEvents == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos / dispatchedEvents);
+    }
+
+    /**
+     * @return the maximum dispatch latency in microseconds
+     */
+    public long getMaxLatencyMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "EventDispatchStatistics [shard=" + shard + ", queueSize=" + queueSize + ", dispatchedEvents="
+                + dispatchedEvents + ", averageLatencyMicros=" + getAverageLatencyMicros() + ", maxLatencyMicros="
+                + getMaxLatencyMicros() + "]";
+    }
+}
@@ -12,8 +12,11 @@
  */
 package org.eclipse.smarthome.core.internal.events;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -38,19 +41,27 @@ public class EventHandler {
     private final Logger logger = LoggerFactory.getLogger(EventHandler.class);
 
     private final Map<String, Set<EventSubscriber>> typedEventSubscribers;
+    private final Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers;
     private final Map<String, EventFactory> typedEventFactories;
     private final SafeCaller safeCaller;
 
+    /** A buffer for the topic restricted subscribers matching an event, guarded by this handler. */
+    private final List<EventSubscriber> topicSubscribers = new ArrayList<>();
+
     /**
      * Create a new event handler.
      *
-     * @param typedEventSubscribers the event subscribers indexed by the event type
+     * @param typedEventSubscribers the event subscribers indexed by the event type, each set including the subscribers
+     *            of all event types
+     * @param typedTopicSubscribers the event subscribers restricted to certain topics indexed by the event type
      * @param typedEventFactories the event factories indexed by the event type
      * @param safeCaller the safe caller to use
      */
     public EventHandler(final Map<String, Set<EventSubscriber>> typedEventSubscribers,
+            final Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers,
             final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller) {
         this.typedEventSubscribers = typedEventSubscribers;
+        this.typedTopicSubscribers = typedTopicSubscribers;
         this.typedEventFactories = typedEventFactories;
         this.safeCaller = safeCaller;
     }
@@ -59,6 +70,12 @@ public class EventHandler {
         logger.trace("Handle OSGi event (event: {})", osgiEvent);
 
         Object typeObj = osgiEvent.getProperty("type");
+        Object eshEventObj = osgiEvent.getProperty(OSGiEventPublisher.ESH_EVENT_PROPERTY);
+        if (typeObj instanceof String && eshEventObj instanceof Event) {
+            handleEvent((String) typeObj, (Event) eshEventObj);
+            return;
+        }
+
         Object payloadObj = osgiEvent.getProperty("payload");
         Object topicObj = osgiEvent.getProperty("topic");
         Object sourceObj = osgiEvent.getProperty("source");
@@ -87,7 +104,7 @@ public class EventHandler {
             return;
         }
 
-        final Set<EventSubscriber> eventSubscribers = getEventSubscribers(type);
+        final Set<EventSubscriber> eventSubscribers = getEventSubscribers(type, topic);
         if (eventSubscribers.isEmpty()) {
             return;
         }
@@ -100,18 +117,49 @@ public class EventHandler {
         dispatchESHEvent(eventSubscribers, eshEvent);
     }
 
-    private Set<EventSubscriber> getEventSubscribers(String eventType) {
-        Set<EventSubscriber> eventTypeSubscribers = typedEventSubscribers.get(eventType);
-        Set<EventSubscriber> allEventTypeSubscribers = typedEventSubscribers.get(EventSubscriber.ALL_EVENT_TYPES);
+    private void handleEvent(final String type, final Event eshEvent) {
+        if (!typedEventFactories.containsKey(type)) {
+            logger.debug("Could not find an Event Factory for the event type '{}'.", type);
+            return;
+        }
+
+        final Set<EventSubscriber> eventSubscribers = getEventSubscribers(type, eshEvent.getTopic());
+        if (eventSubscribers.isEmpty()) {
+            return;
+        }
+
+        dispatchESHEvent(eventSubscribers, eshEvent);
+    }
+
+    private synchronized Set<EventSubscriber> getEventSubscribers(String eventType, String topic) {
+        // the sets of the type subscribers are precomputed and already contain the subscribers of all event types
+        Set<EventSubscriber> subscribers = typedEventSubscribers.get(eventType);
+        if (subscribers == null) {
+            subscribers = typedEventSubscribers.getOrDefault(EventSubscriber.ALL_EVENT_TYPES,
+                    Collections.emptySet());
+        }
 
-        Set<EventSubscriber> subscribers = new HashSet<>();
-        if (eventTypeSubscribers != null) {
-            subscribers.addAll(eventTypeSubscribers);
+        TopicIndex<EventSubscriber> eventTypeTopicSubscribers = typedTopicSubscribers.get(eventType);
+        TopicIndex<EventSubscriber> allEventTypeTopicSubscribers = typedTopicSubscribers
+                .get(EventSubscriber.ALL_EVENT_TYPES);
+        if (eventTypeTopicSubscribers == null && allEventTypeTopicSubscribers == null) {
+            return subscribers;
+        }
+        topicSubscribers.clear();
+        if (eventTypeTopicSubscribers != null) {
+            eventTypeTopicSubscribers.collect(topic, topicSubscribers);
+        }
+        if (allEventTypeTopicSubscribers != null) {
+            allEventTypeTopicSubscribers.collect(topic, topicSubscribers);
         }
-        if (allEventTypeSubscribers != null) {
-            subscribers.addAll(allEventTypeSubscribers);
+        if (topicSubscribers.isEmpty()) {
+            return subscribers;
         }
-        return subscribers;
+        // only events matching a topic restricted subscriber need a set of their own
+        Set<EventSubscriber> result = new LinkedHashSet<>(subscribers);
+        result.addAll(topicSubscribers);
+        topicSubscribers.clear();
+        return result;
     }
 
     private @Nullable Event createESHEvent(final EventFactory eventFactory, final String type, final String payload,
@@ -12,13 +12,22 @@
  */
 package org.eclipse.smarthome.core.internal.events;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.core.common.SafeCaller;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventFactory;
 import org.eclipse.smarthome.core.events.EventSubscriber;
@@ -30,6 +39,8 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * The {@link OSGiEventManager} provides an OSGi based default implementation of the Eclipse SmartHome event bus.
@@ -38,61 +49,211 @@ import org.osgi.service.event.EventHandler;
  * implementing the OSGi {@link EventHandler} interface) and dispatches the received OSGi events as ESH {@link Event}s
  * to the {@link EventSubscriber}s if the provided filter applies.
  *
+ * The number of dispatch threads can be configured by the {@value #CONFIG_DISPATCH_THREADS} property. If more than one
+ * thread is used, events are sharded by their entity (item, thing, channel...), so the events of one entity are
+ * still dispatched in order.
+ *
+ * Event subscribers registered with the {@link EventSubscriber#EVENT_TOPICS} service property are kept in a
+ * {@link TopicIndex} per event type, so they are only offered events whose topic matches one of their patterns. If
+ * the property of a registered subscriber is modified, the subscriber is re-indexed.
+ *
  * @author Stefan Bußweiler - Initial contribution
  * @author Markus Rathgeb - Return on received events as fast as possible (handle event in another thread)
  */
-@Component(immediate = true, property = { "event.topics:String=smarthome" })
+@Component(immediate = true, configurationPid = "org.eclipse.smarthome.eventmanager", property = {
+        "event.topics:String=smarthome" })
 public class OSGiEventManager implements EventHandler {
 
-    /** The event subscribers indexed by the event type. */
+    static final String CONFIG_DISPATCH_THREADS = "dispatchThreads";
+
+    private static final long STATISTICS_LOG_INTERVAL_MINUTES = 5;
+
+    private final Logger logger = LoggerFactory.getLogger(OSGiEventManager.class);
+
+    /**
+     * The immutable dispatch sets of the event subscribers indexed by the event type. Each set also contains the
+     * subscribers of all event types, so it can be handed to the event handler as is.
+     */
     // Use a concurrent hash map because the map is written and read by different threads!
     private final Map<String, Set<EventSubscriber>> typedEventSubscribers = new ConcurrentHashMap<>();
+    /** The event subscribers as registered for each event type, guarded by itself. */
+    private final Map<String, Set<EventSubscriber>> registeredEventSubscribers = new HashMap<>();
+    /** The event subscribers restricted to certain topics indexed by the event type. */
+    private final Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers = new ConcurrentHashMap<>();
+    /** The topic patterns of the event subscribers restricted to certain topics, guarded by typedTopicSubscribers. */
+    private final Map<EventSubscriber, Set<String>> subscriberTopics = new HashMap<>();
     private final Map<String, EventFactory> typedEventFactories = new ConcurrentHashMap<>();
 
     private ThreadedEventHandler eventHandler;
 
     private SafeCaller safeCaller;
 
+    private ScheduledFuture<?> statisticsJob;
+
     @Activate
     protected void activate(ComponentContext componentContext) {
-        eventHandler = new ThreadedEventHandler(typedEventSubscribers, typedEventFactories, safeCaller);
+        final int dispatchThreads = getDispatchThreads(componentContext.getProperties().get(CONFIG_DISPATCH_THREADS));
+        eventHandler = new ThreadedEventHandler(typedEventSubscribers, typedTopicSubscribers, typedEventFactories,
+                safeCaller, dispatchThreads);
         eventHandler.open();
+
+        final ScheduledExecutorService scheduler = ThreadPoolManager
+                .getScheduledPool(ThreadPoolManager.THREAD_POOL_NAME_COMMON);
+        statisticsJob = scheduler.scheduleAtFixedRate(this::logDispatchStatistics, STATISTICS_LOG_INTERVAL_MINUTES,
+                STATISTICS_LOG_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    private int getDispatchThreads(Object config) {
+        if (config instanceof Number) {
+            return Math.max(1, ((Number) config).intValue());
+        }
+        if (config instanceof String) {
+            try {
+                return Math.max(1, Integer.parseInt(((String) config).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid configuration '{}' for '{}' - value must be an integer", config,
+                        CONFIG_DISPATCH_THREADS);
+            }
+        }
+        return 1;
     }
 
     @Deactivate
     protected void deactivate(ComponentContext componentContext) {
+        if (statisticsJob != null) {
+            statisticsJob.cancel(false);
+            statisticsJob = null;
+        }
         if (eventHandler != null) {
             eventHandler.close();
             eventHandler = null;
         }
     }
 
-    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
-    protected void addEventSubscriber(final EventSubscriber eventSubscriber) {
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC, //
+            updated = "updatedEventSubscriber")
+    protected void addEventSubscriber(final EventSubscriber eventSubscriber, final Map<String, Object> properties) {
         final Set<String> subscribedEventTypes = eventSubscriber.getSubscribedEventTypes();
-        for (final String subscribedEventType : subscribedEventTypes) {
-            final Set<EventSubscriber> entries = typedEventSubscribers.get(subscribedEventType);
-            if (entries == null) {
-                // Use a copy on write array set because the set is written and read by different threads!
-                typedEventSubscribers.put(subscribedEventType,
-                        new CopyOnWriteArraySet<>(Collections.singleton(eventSubscriber)));
-            } else {
-                entries.add(eventSubscriber);
+        final Set<String> topics = getTopics(properties);
+        if (topics != null) {
+            synchronized (typedTopicSubscribers) {
+                subscriberTopics.put(eventSubscriber, topics);
+                for (final String subscribedEventType : subscribedEventTypes) {
+                    final TopicIndex<EventSubscriber> index = typedTopicSubscribers
+                            .computeIfAbsent(subscribedEventType, type -> new TopicIndex<>());
+                    topics.forEach(topic -> index.add(topic, eventSubscriber));
+                }
+            }
+            return;
+        }
+        synchronized (registeredEventSubscribers) {
+            for (final String subscribedEventType : subscribedEventTypes) {
+                registeredEventSubscribers.computeIfAbsent(subscribedEventType, type -> new LinkedHashSet<>())
+                        .add(eventSubscriber);
             }
+            updateTypedEventSubscribers(subscribedEventTypes);
         }
     }
 
-    protected void removeEventSubscriber(EventSubscriber eventSubscriber) {
+    protected void updatedEventSubscriber(final EventSubscriber eventSubscriber,
+            final Map<String, Object> properties) {
+        synchronized (typedTopicSubscribers) {
+            if (Objects.equals(getTopics(properties), subscriberTopics.get(eventSubscriber))) {
+                return;
+            }
+        }
+        // the topic patterns have changed, re-index the subscriber
+        removeEventSubscriber(eventSubscriber, properties);
+        addEventSubscriber(eventSubscriber, properties);
+    }
+
+    protected void removeEventSubscriber(EventSubscriber eventSubscriber, Map<String, Object> properties) {
         final Set<String> subscribedEventTypes = eventSubscriber.getSubscribedEventTypes();
-        for (final String subscribedEventType : subscribedEventTypes) {
-            final Set<EventSubscriber> entries = typedEventSubscribers.get(subscribedEventType);
-            if (entries != null) {
-                entries.remove(eventSubscriber);
-                if (entries.isEmpty()) {
-                    typedEventSubscribers.remove(subscribedEventType);
+        synchronized (typedTopicSubscribers) {
+            // use the topics the subscriber has been added with, its properties might have changed since then
+            final Set<String> topics = subscriberTopics.remove(eventSubscriber);
+            if (topics != null) {
+                for (final String subscribedEventType : subscribedEventTypes) {
+                    final TopicIndex<EventSubscriber> index = typedTopicSubscribers.get(subscribedEventType);
+                    if (index != null) {
+                        topics.forEach(topic -> index.remove(topic, eventSubscriber));
+                        if (index.isEmpty()) {
+                            typedTopicSubscribers.remove(subscribedEventType);
+                        }
+                    }
                 }
+                return;
             }
         }
+        synchronized (registeredEventSubscribers) {
+            for (final String subscribedEventType : subscribedEventTypes) {
+                final Set<EventSubscriber> entries = registeredEventSubscribers.get(subscribedEventType);
+                if (entries != null) {
+                    entries.remove(eventSubscriber);
+                }
+            }
+            updateTypedEventSubscribers(subscribedEventTypes);
+        }
+    }
+
+    /**
+     * Recomputes the dispatch sets of the given event types (or of all event types, if the subscribers of all event
+     * types have changed), so the event handler does not need to merge the subscribers for every event.
+     *
+     * @param changedEventTypes the event types whose subscribers have changed
+     */
+    private void updateTypedEventSubscribers(final Set<String> changedEventTypes) {
+        final Set<String> eventTypes = new HashSet<>(changedEventTypes);
+        if (changedEventTypes.contains(EventSubscriber.ALL_EVENT_TYPES)) {
+            eventTypes.addAll(registeredEventSubscribers.keySet());
+        }
+        final Set<EventSubscriber> allEventTypesSubscribers = registeredEventSubscribers
+                .getOrDefault(EventSubscriber.ALL_EVENT_TYPES, Collections.emptySet());
+        for (final String eventType : eventTypes) {
+            final Set<EventSubscriber> subscribers = registeredEventSubscribers.get(eventType);
+            if (subscribers == null || subscribers.isEmpty()) {
+                // events of this type are dispatched to the subscribers of all event types only
+                registeredEventSubscribers.remove(eventType);
+                typedEventSubscribers.remove(eventType);
+                continue;
+            }
+            final Set<EventSubscriber> dispatchSubscribers = new LinkedHashSet<>(subscribers);
+            if (!EventSubscriber.ALL_EVENT_TYPES.equals(eventType)) {
+                dispatchSubscribers.addAll(allEventTypesSubscribers);
+            }
+            typedEventSubscribers.put(eventType, Collections.unmodifiableSet(dispatchSubscribers));
+        }
+    }
+
+    /**
+     * Returns the topic patterns of the {@link EventSubscriber#EVENT_TOPICS} service property.
+     *
+     * @param properties the service properties of the event subscriber
+     * @return the topic patterns or null if the subscriber is not restricted to (indexable) topics
+     */
+    private Set<String> getTopics(Map<String, Object> properties) {
+        final Object value = properties == null ? null : properties.get(EventSubscriber.EVENT_TOPICS);
+        final Set<String> topics = new HashSet<>();
+        if (value instanceof String) {
+            topics.add((String) value);
+        } else if (value instanceof String[]) {
+            Collections.addAll(topics, (String[]) value);
+        } else if (value instanceof Collection) {
+            for (final Object topic : (Collection<?>) value) {
+                topics.add(String.valueOf(topic));
+            }
+        }
+        if (topics.isEmpty()) {
+            return null;
+        }
+        for (final String topic : topics) {
+            if (!TopicIndex.isIndexable(topic)) {
+                logger.debug("Topic pattern '{}' cannot be indexed, the subscriber receives all events of its types.",
+                        topic);
+                return null;
+            }
+        }
+        return topics;
     }
 
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
@@ -125,6 +286,27 @@ public class OSGiEventManager implements EventHandler {
         this.safeCaller = null;
     }
 
+    /**
+     * Returns a snapshot of the queue depth and dispatch latency of every dispatch thread. The statistics are also
+     * logged every {@value #STATISTICS_LOG_INTERVAL_MINUTES} minutes at debug level.
+     *
+     * @return the dispatch statistics, empty if the event manager is not active
+     */
+    public List<EventDispatchStatistics> getDispatchStatistics() {
+        final ThreadedEventHandler eventHandler = this.eventHandler;
+        return eventHandler == null ? Collections.emptyList() : eventHandler.getStatistics();
+    }
+
+    private void logDispatchStatistics() {
+        if (logger.isDebugEnabled()) {
+            for (final EventDispatchStatistics statistics : getDispatchStatistics()) {
+                logger.debug("Event dispatch shard {}: {} dispatched, {} queued, latency {} us average, {} us maximum",
+                        statistics.getShard(), statistics.getDispatchedEvents(), statistics.getQueueSize(),
+                        statistics.getAverageLatencyMicros(), statistics.getMaxLatencyMicros());
+            }
+        }
+    }
+
     @Override
     public void handleEvent(org.osgi.service.event.Event osgiEvent) {
         eventHandler.handleEvent(osgiEvent);
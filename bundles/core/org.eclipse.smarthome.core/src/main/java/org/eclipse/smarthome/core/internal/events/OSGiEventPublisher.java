@@ -15,9 +15,12 @@ package org.eclipse.smarthome.core.internal.events;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 
+import org.eclipse.smarthome.core.events.AbstractEvent;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.osgi.service.component.annotations.Component;
@@ -30,12 +33,22 @@ import org.osgi.service.event.EventAdmin;
  *
  * Events are send in an asynchronous way via OSGi Event Admin mechanism.
  *
+ * The event object itself is carried by the OSGi event (see {@link #ESH_EVENT_PROPERTY}), so it does not have to be
+ * serialized and created again by an {@link org.eclipse.smarthome.core.events.EventFactory} on the receiving side.
+ * The payload is not added as a property, as it is serialized lazily by many events. Other OSGi event handlers get
+ * it on demand from the event object.
+ *
  * @author Stefan Bußweiler - Initial contribution
  * @author Simon Kaufmann - separated from OSGiEventManager
  */
 @Component
 public class OSGiEventPublisher implements EventPublisher {
 
+    /**
+     * The name of the OSGi event property holding the Eclipse SmartHome event object.
+     */
+    public static final String ESH_EVENT_PROPERTY = "eshEvent";
+
     private EventAdmin osgiEventAdmin;
 
     @Reference
@@ -52,22 +65,36 @@ public class OSGiEventPublisher implements EventPublisher {
         EventAdmin eventAdmin = this.osgiEventAdmin;
         assertValidArgument(event);
         assertValidState(eventAdmin);
-        postAsOSGiEvent(eventAdmin, event);
+        postAsOSGiEvents(eventAdmin, Collections.singleton(event));
+    }
+
+    @Override
+    public void postAll(Collection<? extends Event> events) throws IllegalArgumentException, IllegalStateException {
+        EventAdmin eventAdmin = this.osgiEventAdmin;
+        // validate all events first, so an invalid event is rejected before any of them is posted
+        for (Event event : events) {
+            assertValidArgument(event);
+        }
+        assertValidState(eventAdmin);
+        postAsOSGiEvents(eventAdmin, events);
     }
 
-    private void postAsOSGiEvent(final EventAdmin eventAdmin, final Event event) throws IllegalStateException {
+    private void postAsOSGiEvents(final EventAdmin eventAdmin, final Collection<? extends Event> events)
+            throws IllegalStateException {
         try {
             AccessController.doPrivileged(new PrivilegedExceptionAction<Void>() {
                 @Override
                 public Void run() throws Exception {
-                    Dictionary<String, Object> properties = new Hashtable<String, Object>(3);
-                    properties.put("type", event.getType());
-                    properties.put("payload", event.getPayload());
-                    properties.put("topic", event.getTopic());
-                    if (event.getSource() != null) {
-                        properties.put("source", event.getSource());
+                    for (Event event : events) {
+                        Dictionary<String, Object> properties = new Hashtable<String, Object>(4);
+                        properties.put("type", event.getType());
+                        properties.put("topic", event.getTopic());
+                        properties.put(ESH_EVENT_PROPERTY, event);
+                        if (event.getSource() != null) {
+                            properties.put("source", event.getSource());
+                        }
+                        eventAdmin.postEvent(new org.osgi.service.event.Event("smarthome", properties));
                     }
-                    eventAdmin.postEvent(new org.osgi.service.event.Event("smarthome", properties));
                     return null;
                 }
             });
@@ -78,6 +105,10 @@ public class OSGiEventPublisher implements EventPublisher {
         }
     }
 
+    /**
+     * Validates the type, the payload and the topic of an event. The payload of an {@link AbstractEvent} is validated
+     * without serializing it (see {@link AbstractEvent#hasPayload()}).
+     */
     private void assertValidArgument(Event event) throws IllegalArgumentException {
         String errorMsg = "The %s of the 'event' argument must not be null or empty.";
         String value;
@@ -88,7 +119,8 @@ public class OSGiEventPublisher implements EventPublisher {
         if ((value = event.getType()) == null || value.isEmpty()) {
             throw new IllegalArgumentException(String.format(errorMsg, "type"));
         }
-        if ((value = event.getPayload()) == null || value.isEmpty()) {
+        if (event instanceof AbstractEvent ? !((AbstractEvent) event).hasPayload()
+                : (value = event.getPayload()) == null || value.isEmpty()) {
             throw new IllegalArgumentException(String.format(errorMsg, "payload"));
         }
         if ((value = event.getTopic()) == null || value.isEmpty()) {
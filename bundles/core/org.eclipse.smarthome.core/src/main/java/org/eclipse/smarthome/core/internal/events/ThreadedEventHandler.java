@@ -13,15 +13,19 @@
 package org.eclipse.smarthome.core.internal.events;
 
 import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.common.SafeCaller;
 import org.eclipse.smarthome.core.events.EventFactory;
 import org.eclipse.smarthome.core.events.EventSubscriber;
@@ -30,68 +34,226 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Handle Eclipse SmartHome events encapsulated by OSGi events in a separate thread.
+ * Handle Eclipse SmartHome events encapsulated by OSGi events in separate threads.
+ *
+ * <p>
+ * By default a single thread handles all events. If more than one dispatch thread is requested, the events are
+ * sharded across the threads by their entity key (see {@link #getShardKey(String)}), so events of the same item or
+ * thing are still handled in the order they have been received, while events of unrelated entities are handled in
+ * parallel.
  *
  * @author Markus Rathgeb - Initial contribution
  */
 @NonNullByDefault
 public class ThreadedEventHandler implements Closeable {
 
+    static final String THREAD_NAME = "ESH-OSGiEventManager";
+
     private final Logger logger = LoggerFactory.getLogger(ThreadedEventHandler.class);
 
-    private final Thread thread;
+    private final Shard[] shards;
 
-    private final Event notifyEvent = new Event("notify", Collections.emptyMap());
-    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
-    private final AtomicBoolean running = new AtomicBoolean(true);
+    /**
+     * Create a new threaded event handler using a single dispatch thread.
+     *
+     * @param typedEventSubscribers the event subscribers
+     * @param typedTopicSubscribers the event subscribers restricted to certain topics indexed by the event type
+     * @param typedEventFactories the event factories indexed by the event type
+     * @param safeCaller the safe caller to use
+     */
+    ThreadedEventHandler(Map<String, Set<EventSubscriber>> typedEventSubscribers,
+            final Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers,
+            final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller) {
+        this(typedEventSubscribers, typedTopicSubscribers, typedEventFactories, safeCaller, 1);
+    }
 
     /**
      * Create a new threaded event handler.
      *
      * @param typedEventSubscribers the event subscribers
+     * @param typedTopicSubscribers the event subscribers restricted to certain topics indexed by the event type
      * @param typedEventFactories the event factories indexed by the event type
      * @param safeCaller the safe caller to use
+     * @param dispatchThreads the number of dispatch threads (values lower than one are treated as one)
      */
     ThreadedEventHandler(Map<String, Set<EventSubscriber>> typedEventSubscribers,
-            final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller) {
-        thread = new Thread(() -> {
-            final EventHandler worker = new EventHandler(typedEventSubscribers, typedEventFactories, safeCaller);
-            while (running.get()) {
-                try {
-                    final Event event = queue.poll(1, TimeUnit.HOURS);
-                    if (event == null) {
-                        logger.debug("Hey, you have really very few events.");
-                    } else if (event == notifyEvent) {
-                        // received an internal notification
-                    } else {
-                        worker.handleEvent(event);
-                    }
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                } catch (RuntimeException ex) {
-                    logger.error("Error on event handling.", ex);
-                }
-            }
-        }, "ESH-OSGiEventManager");
+            final Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers,
+            final Map<String, EventFactory> typedEventFactories, final SafeCaller safeCaller,
+            final int dispatchThreads) {
+        final int count = Math.max(1, dispatchThreads);
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            final String name = count == 1 ? THREAD_NAME : THREAD_NAME + "-" + i;
+            shards[i] = new Shard(i, name, typedEventSubscribers, typedTopicSubscribers, typedEventFactories,
+                    safeCaller);
+        }
     }
 
     void open() {
-        thread.start();
+        for (final Shard shard : shards) {
+            shard.thread.start();
+        }
     }
 
     @Override
     public void close() {
-        running.set(false);
-        queue.add(notifyEvent);
-        thread.interrupt();
-        try {
-            thread.join();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        for (final Shard shard : shards) {
+            shard.stop();
+        }
+        for (final Shard shard : shards) {
+            shard.join();
         }
     }
 
     void handleEvent(Event event) {
-        queue.add(event);
+        shards[getShardIndex(event)].enqueue(event);
+    }
+
+    /**
+     * Returns the number of shards (dispatch threads) used by this handler.
+     *
+     * @return the number of shards
+     */
+    int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns a snapshot of the dispatch statistics of every shard.
+     *
+     * @return the statistics, ordered by the shard index
+     */
+    List<EventDispatchStatistics> getStatistics() {
+        final List<EventDispatchStatistics> statistics = new ArrayList<>(shards.length);
+        for (final Shard shard : shards) {
+            statistics.add(shard.getStatistics());
+        }
+        return Collections.unmodifiableList(statistics);
+    }
+
+    private int getShardIndex(Event event) {
+        if (shards.length == 1) {
+            return 0;
+        }
+        final Object topicObj = event.getProperty("topic");
+        if (!(topicObj instanceof String)) {
+            return 0;
+        }
+        return Math.floorMod(getShardKey((String) topicObj).hashCode(), shards.length);
+    }
+
+    /**
+     * Returns the key the shard of an event is chosen by.
+     *
+     * <p>
+     * ESH topics are structured as {@code smarthome/<namespace>/<entity>/<action>}, e.g.
+     * {@code smarthome/items/MyItem/state}. The key is the topic up to (and including) the entity segment, so all
+     * events of one item, thing, channel etc. end up in the same shard. Topics not following that structure are used
+     * as a whole.
+     *
+     * @param topic the event topic
+     * @return the shard key
+     */
+    static String getShardKey(String topic) {
+        int end = -1;
+        for (int i = 0; i < 3; i++) {
+            end = topic.indexOf('/', end + 1);
+            if (end < 0) {
+                return topic;
+            }
+        }
+        return topic.substring(0, end);
+    }
+
+    /**
+     * A single dispatch thread with its own queue.
+     */
+    private class Shard {
+
+        private final int index;
+        private final Thread thread;
+        private final BlockingQueue<QueuedEvent> queue = new LinkedBlockingQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean(true);
+
+        private final AtomicLong dispatchedEvents = new AtomicLong();
+        private final AtomicLong totalLatencyNanos = new AtomicLong();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        Shard(int index, String name, Map<String, Set<EventSubscriber>> typedEventSubscribers,
+                Map<String, TopicIndex<EventSubscriber>> typedTopicSubscribers,
+                Map<String, EventFactory> typedEventFactories, SafeCaller safeCaller) {
+            this.index = index;
+            this.thread = new Thread(() -> {
+                final EventHandler worker = new EventHandler(typedEventSubscribers, typedTopicSubscribers,
+                        typedEventFactories, safeCaller);
+                while (running.get()) {
+                    try {
+                        final QueuedEvent queuedEvent = queue.poll(1, TimeUnit.HOURS);
+                        if (queuedEvent == null) {
+                            logger.debug("Hey, you have really very few events.");
+                            continue;
+                        }
+                        final Event event = queuedEvent.event;
+                        if (event == null) {
+                            // received an internal notification
+                        } else {
+                            worker.handleEvent(event);
+                            recordLatency(System.nanoTime() - queuedEvent.enqueued);
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (RuntimeException ex) {
+                        logger.error("Error on event handling.", ex);
+                    }
+                }
+            }, name);
+        }
+
+        void enqueue(Event event) {
+            queue.add(new QueuedEvent(event, System.nanoTime()));
+        }
+
+        void stop() {
+            running.set(false);
+            queue.add(new QueuedEvent(null, 0));
+            thread.interrupt();
+        }
+
+        void join() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void recordLatency(long latency) {
+            dispatchedEvents.incrementAndGet();
+            totalLatencyNanos.addAndGet(latency);
+            long max;
+            do {
+                max = maxLatencyNanos.get();
+            } while (latency > max && !maxLatencyNanos.compareAndSet(max, latency));
+        }
+
+        EventDispatchStatistics getStatistics() {
+            return new EventDispatchStatistics(index, queue.size(), dispatchedEvents.get(), totalLatencyNanos.get(),
+                    maxLatencyNanos.get());
+        }
+    }
+
+    /**
+     * An OSGi event together with the time it has been enqueued. A {@code null} event is used as internal
+     * notification.
+     */
+    private static class QueuedEvent {
+
+        private final @Nullable Event event;
+        private final long enqueued;
+
+        QueuedEvent(@Nullable Event event, long enqueued) {
+            this.event = event;
+            this.enqueued = enqueued;
+        }
     }
 }
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.internal.events;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A trie of topic patterns, which returns the values registered for all patterns matching a given topic.
+ *
+ * <p>
+ * Topics and patterns are split into segments by {@code /}. A pattern segment {@code *} matches exactly one topic
+ * segment, except if it is the last segment of the pattern: then it matches one or more remaining segments (like the
+ * OSGi event admin does). All other segments have to match exactly, so the cost of a lookup depends on the number of
+ * topic segments and matching patterns, not on the number of registered patterns.
+ *
+ * <p>
+ * Lookups may be done concurrently to modifications, modifications are synchronized.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <V> the type of the registered values
+ */
+@NonNullByDefault
+public class TopicIndex<V> {
+
+    static final String WILDCARD = "*";
+
+    private static final char SEPARATOR = '/';
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Checks if the given pattern can be indexed. A pattern can be indexed if every segment is either the wildcard or
+     * does not contain a wildcard at all.
+     *
+     * @param pattern the topic pattern
+     * @return true if the pattern can be added to the index
+     */
+    public static boolean isIndexable(String pattern) {
+        if (pattern.isEmpty()) {
+            return false;
+        }
+        for (String segment : split(pattern)) {
+            if (segment.contains(WILDCARD) && !WILDCARD.equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers a value for a topic pattern.
+     *
+     * @param pattern the topic pattern (must be indexable, see {@link #isIndexable(String)})
+     * @param value the value
+     */
+    public synchronized void add(String pattern, V value) {
+        String[] segments = split(pattern);
+        Node<V> node = root;
+        int last = segments.length - 1;
+        for (int i = 0; i < last; i++) {
+            node = node.children.computeIfAbsent(segments[i], k -> new Node<>());
+        }
+        if (WILDCARD.equals(segments[last])) {
+            node.trailingWildcardValues.add(value);
+        } else {
+            node.children.computeIfAbsent(segments[last], k -> new Node<>()).values.add(value);
+        }
+    }
+
+    /**
+     * Removes a value for a topic pattern.
+     *
+     * @param pattern the topic pattern
+     * @param value the value
+     */
+    public synchronized void remove(String pattern, V value) {
+        remove(root, split(pattern), 0, value);
+    }
+
+    private boolean remove(Node<V> node, String[] segments, int index, V value) {
+        int last = segments.length - 1;
+        if (index == last && WILDCARD.equals(segments[last])) {
+            node.trailingWildcardValues.remove(value);
+        } else {
+            Node<V> child = node.children.get(segments[index]);
+            if (child == null) {
+                return false;
+            }
+            boolean childEmpty;
+            if (index == last) {
+                child.values.remove(value);
+                childEmpty = child.isEmpty();
+            } else {
+                childEmpty = remove(child, segments, index + 1, value);
+            }
+            if (childEmpty) {
+                node.children.remove(segments[index]);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    /**
+     * Adds the values of all patterns matching the given topic to the given collection.
+     *
+     * @param topic the topic
+     * @param result the collection the matching values are added to
+     */
+    public void collect(String topic, Collection<V> result) {
+        collect(root, split(topic), 0, result);
+    }
+
+    private void collect(Node<V> node, String[] segments, int index, Collection<V> result) {
+        if (index == segments.length) {
+            result.addAll(node.values);
+            return;
+        }
+        result.addAll(node.trailingWildcardValues);
+        Node<V> child = node.children.get(segments[index]);
+        if (child != null) {
+            collect(child, segments, index + 1, result);
+        }
+        Node<V> wildcardChild = node.children.get(WILDCARD);
+        if (wildcardChild != null && wildcardChild != child) {
+            collect(wildcardChild, segments, index + 1, result);
+        }
+    }
+
+    /**
+     * Checks if no value is registered.
+     *
+     * @return true if the index is empty
+     */
+    public boolean isEmpty() {
+        return root.isEmpty();
+    }
+
+    private static String[] split(String topic) {
+        int count = 1;
+        for (int i = 0; i < topic.length(); i++) {
+            if (topic.charAt(i) == SEPARATOR) {
+                count++;
+            }
+        }
+        String[] segments = new String[count];
+        int start = 0;
+        for (int i = 0; i < count - 1; i++) {
+            int end = topic.indexOf(SEPARATOR, start);
+            segments[i] = topic.substring(start, end);
+            start = end + 1;
+        }
+        segments[count - 1] = topic.substring(start);
+        return segments;
+    }
+
+    private static class Node<V> {
+        private final Map<String, Node<V>> children = new ConcurrentHashMap<>();
+        private final Set<V> values = new CopyOnWriteArraySet<>();
+        private final Set<V> trailingWildcardValues = new CopyOnWriteArraySet<>();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && values.isEmpty() && trailingWildcardValues.isEmpty();
+        }
+    }
+}
@@ -39,8 +39,10 @@ import org.eclipse.smarthome.core.items.ItemUtil;
 import org.eclipse.smarthome.core.items.ManagedItemProvider;
 import org.eclipse.smarthome.core.items.MetadataRegistry;
 import org.eclipse.smarthome.core.items.RegistryHook;
+import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.service.StateDescriptionService;
+import org.eclipse.smarthome.core.types.State;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -55,6 +57,8 @@ import org.slf4j.LoggerFactory;
  * keeps track of all declared items of all item providers and keeps their
  * current state in memory. This is the central point where states are kept and
  * thus it is a core part for all stateful services.
+ * <p>
+ * State changes of the items are recorded in the change log of the registry, too.
  *
  * @author Kai Kreuzer - Initial contribution and API
  * @author Stefan Bußweiler - Migration to new event mechanism
@@ -73,6 +77,18 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
     private UnitProvider unitProvider;
     private ItemStateConverter itemStateConverter;
 
+    private final StateChangeListener stateChangeRecorder = new StateChangeListener() {
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+            getChangeLog().changed(item.getName());
+        }
+
+        @Override
+        public void stateUpdated(Item item, State state) {
+            // the state did not change
+        }
+    };
+
     public ItemRegistryImpl() {
         super(ItemProvider.class);
     }
@@ -199,6 +215,7 @@ public class ItemRegistryImpl extends AbstractRegistry<Item, String, ItemProvide
             genericItem.setStateDescriptionService(stateDescriptionService);
             genericItem.setUnitProvider(unitProvider);
             genericItem.setItemStateConverter(itemStateConverter);
+            genericItem.addStateChangeListener(stateChangeRecorder);
         }
     }
 
@@ -19,10 +19,12 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Queue;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -57,11 +59,26 @@ public abstract class GenericItem implements ActiveItem {
 
     private static final String ITEM_THREADPOOLNAME = "items";
 
+    private static final StateChangeListener[] NO_LISTENERS = new StateChangeListener[0];
+
     protected @Nullable EventPublisher eventPublisher;
 
     protected Set<StateChangeListener> listeners = new CopyOnWriteArraySet<StateChangeListener>(
             Collections.newSetFromMap(new WeakHashMap<StateChangeListener, Boolean>()));
 
+    /**
+     * Immutable snapshot of the {@link #listeners}, which is replaced whenever a listener is added or removed.
+     */
+    private volatile StateChangeListener[] listenerSnapshot = NO_LISTENERS;
+
+    /**
+     * The listener notifications of state updates, which have not been delivered yet. They are delivered in order by a
+     * single task of the item thread pool, which is only scheduled if none is scheduled yet.
+     */
+    private final Queue<Runnable> pendingNotifications = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean notificationScheduled = new AtomicBoolean();
+
     protected List<String> groupNames = new ArrayList<String>();
 
     protected Set<String> tags = new HashSet<String>();
@@ -167,7 +184,10 @@ public abstract class GenericItem implements ActiveItem {
      * member order in case this item is exchanged in a group.
      */
     public void dispose() {
-        this.listeners.clear();
+        synchronized (listeners) {
+            this.listeners.clear();
+            this.listenerSnapshot = NO_LISTENERS;
+        }
         this.eventPublisher = null;
         this.stateDescriptionService = null;
         this.unitProvider = null;
@@ -236,26 +256,49 @@ public abstract class GenericItem implements ActiveItem {
         internalSend(command);
     }
 
+    /**
+     * Notifies the registered listeners about a state update asynchronously.
+     *
+     * All listeners of one update are notified by the same task and the updates of this item are delivered in the
+     * order they have been applied.
+     *
+     * @param oldState the previous state
+     * @param newState the new state
+     */
     protected void notifyListeners(final State oldState, final State newState) {
-        // if nothing has changed, we send update notifications
-        Set<StateChangeListener> clonedListeners = null;
-        clonedListeners = new CopyOnWriteArraySet<StateChangeListener>(listeners);
-        ExecutorService pool = ThreadPoolManager.getPool(ITEM_THREADPOOLNAME);
-        for (final StateChangeListener listener : clonedListeners) {
-            pool.execute(new Runnable() {
-                @Override
-                public void run() {
-                    try {
-                        listener.stateUpdated(GenericItem.this, newState);
-                        if (newState != null && !newState.equals(oldState)) {
-                            listener.stateChanged(GenericItem.this, oldState, newState);
-                        }
-                    } catch (Exception e) {
-                        logger.warn("failed notifying listener '{}' about state update of item {}: {}", listener,
-                                GenericItem.this.getName(), e.getMessage(), e);
-                    }
+        final StateChangeListener[] snapshot = listenerSnapshot;
+        if (snapshot.length == 0) {
+            return;
+        }
+        pendingNotifications.add(() -> deliverNotification(snapshot, oldState, newState));
+        if (notificationScheduled.compareAndSet(false, true)) {
+            ThreadPoolManager.getPool(ITEM_THREADPOOLNAME).execute(this::deliverPendingNotifications);
+        }
+    }
+
+    private void deliverPendingNotifications() {
+        do {
+            Runnable notification;
+            while ((notification = pendingNotifications.poll()) != null) {
+                notification.run();
+            }
+            notificationScheduled.set(false);
+            // a notification might have been added after the queue has been drained but before the flag was reset
+        } while (!pendingNotifications.isEmpty() && notificationScheduled.compareAndSet(false, true));
+    }
+
+    private void deliverNotification(StateChangeListener[] snapshot, State oldState, State newState) {
+        boolean changed = newState != null && !newState.equals(oldState);
+        for (final StateChangeListener listener : snapshot) {
+            try {
+                listener.stateUpdated(this, newState);
+                if (changed) {
+                    listener.stateChanged(this, oldState, newState);
                 }
-            });
+            } catch (Exception e) {
+                logger.warn("failed notifying listener '{}' about state update of item {}: {}", listener, getName(),
+                        e.getMessage(), e);
+            }
         }
     }
 
@@ -294,12 +337,14 @@ public abstract class GenericItem implements ActiveItem {
     public void addStateChangeListener(StateChangeListener listener) {
         synchronized (listeners) {
             listeners.add(listener);
+            listenerSnapshot = listeners.toArray(NO_LISTENERS);
         }
     }
 
     public void removeStateChangeListener(StateChangeListener listener) {
         synchronized (listeners) {
             listeners.remove(listener);
+            listenerSnapshot = listeners.toArray(NO_LISTENERS);
         }
     }
 
@@ -12,7 +12,9 @@
  */
 package org.eclipse.smarthome.core.items;
 
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.smarthome.core.types.State;
@@ -58,7 +60,7 @@ public interface GroupFunction {
      * @author Kai Kreuzer - Initial contribution and API
      *
      */
-    static class Equality implements GroupFunction {
+    static class Equality implements IncrementalGroupFunction {
 
         @Override
         public State calculate(Set<Item> items) {
@@ -86,6 +88,50 @@ public interface GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new GroupStateAggregator<State>() {
+                private final Map<State, Integer> stateCounts = new HashMap<>();
+
+                @Override
+                protected State getContribution(Item item) {
+                    return item.getState();
+                }
+
+                @Override
+                protected void add(State contribution) {
+                    stateCounts.merge(contribution, 1, Integer::sum);
+                }
+
+                @Override
+                protected void remove(State contribution) {
+                    decrement(stateCounts, contribution);
+                }
+
+                @Override
+                protected void clear() {
+                    stateCounts.clear();
+                }
+
+                @Override
+                protected State calculate(int itemCount) {
+                    if (itemCount > 0) {
+                        // states may be equal without sharing a hash code (e.g. decimals of different scale)
+                        Iterator<State> it = stateCounts.keySet().iterator();
+                        State state = it.next();
+                        while (it.hasNext()) {
+                            if (!state.equals(it.next())) {
+                                return UnDefType.UNDEF;
+                            }
+                        }
+                        return state;
+                    } else {
+                        return UnDefType.UNDEF;
+                    }
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
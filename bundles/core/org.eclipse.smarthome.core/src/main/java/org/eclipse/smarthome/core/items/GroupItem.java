@@ -49,6 +49,14 @@ public class GroupItem extends GenericItem implements StateChangeListener {
 
     protected @Nullable GroupFunction function;
 
+    /**
+     * The aggregator maintaining the group state incrementally, null if it has to be (re-)created on the next member
+     * update.
+     */
+    private volatile @Nullable GroupStateAggregator<?> aggregator;
+
+    private final Object aggregatorLock = new Object();
+
     /**
      * Creates a plain GroupItem
      *
@@ -92,6 +100,7 @@ public class GroupItem extends GenericItem implements StateChangeListener {
             unregisterStateListener(member);
         }
         members.clear();
+        invalidateAggregator();
     }
 
     /**
@@ -171,6 +180,9 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         }
 
         boolean added = members.addIfAbsent(item);
+        if (added) {
+            invalidateAggregator();
+        }
 
         // in case membership is constructed programmatically this sanitises
         // the group names on the item:
@@ -202,6 +214,7 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         if (index > -1) {
             Item old = members.set(index, newItem);
             unregisterStateListener(old);
+            invalidateAggregator();
         }
         registerStateListener(newItem);
     }
@@ -216,7 +229,9 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         if (item == null) {
             throw new IllegalArgumentException("Item must not be null!");
         }
-        members.remove(item);
+        if (members.remove(item)) {
+            invalidateAggregator();
+        }
         unregisterStateListener(item);
     }
 
@@ -369,9 +384,12 @@ public class GroupItem extends GenericItem implements StateChangeListener {
     public void stateUpdated(Item item, State state) {
         State oldState = this.state;
         if (function != null && baseItem != null) {
-            State calculatedState = function.calculate(getStateMembers(getMembers()));
-            calculatedState = itemStateConverter.convertToAcceptedState(calculatedState, baseItem);
-            setState(calculatedState);
+            // members are updated concurrently, so make sure the last calculated state is also the one which is set
+            synchronized (aggregatorLock) {
+                State calculatedState = calculateState(function, item);
+                calculatedState = itemStateConverter.convertToAcceptedState(calculatedState, baseItem);
+                setState(calculatedState);
+            }
         }
         if (!oldState.equals(this.state)) {
             sendGroupStateChangedEvent(item.getName(), this.state, oldState);
@@ -390,6 +408,51 @@ public class GroupItem extends GenericItem implements StateChangeListener {
         notifyListeners(oldState, state);
     }
 
+    /**
+     * Calculates the group state after the given member has been updated.
+     *
+     * <p>
+     * If the function supports it and all members contribute their own state (no member is a group without state),
+     * only the difference of the updated member is applied to an {@link GroupStateAggregator}. Otherwise, or if the
+     * membership has changed since the last update, the state is calculated out of all members.
+     *
+     * @param function the group function
+     * @param member the updated member
+     * @return the group state
+     */
+    private State calculateState(GroupFunction function, Item member) {
+        GroupStateAggregator<?> aggregator = this.aggregator;
+        if (aggregator != null && aggregator.update(member)) {
+            return aggregator.getState();
+        }
+        if (function instanceof IncrementalGroupFunction) {
+            synchronized (aggregatorLock) {
+                if (!hasMemberWithoutState()) {
+                    aggregator = ((IncrementalGroupFunction) function).createAggregator();
+                    aggregator.reset(members);
+                    this.aggregator = aggregator;
+                    return aggregator.getState();
+                }
+            }
+        }
+        return function.calculate(getStateMembers(getMembers()));
+    }
+
+    private void invalidateAggregator() {
+        synchronized (aggregatorLock) {
+            aggregator = null;
+        }
+    }
+
+    private boolean hasMemberWithoutState() {
+        for (Item member : members) {
+            if (isGroupItem(member) && !hasOwnState((GroupItem) member)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void sendGroupStateChangedEvent(String memberName, State newState, State oldState) {
         if (eventPublisher != null) {
             eventPublisher.post(
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.items;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.types.State;
+
+/**
+ * Maintains the state of a group incrementally, see {@link IncrementalGroupFunction}.
+ *
+ * <p>
+ * The aggregator remembers the contribution of every member item (e.g. its decimal value). On an update only the old
+ * contribution of the item is removed and the new one is added, so implementations have to keep running values (sums,
+ * counters, sorted multisets) which support both operations.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <C> the type of the contribution of a single item
+ */
+@NonNullByDefault
+public abstract class GroupStateAggregator<C> {
+
+    private final Map<Item, @Nullable C> contributions = new HashMap<>();
+
+    /**
+     * Replaces all items of this aggregator.
+     *
+     * @param items the items the group state is calculated for
+     */
+    public synchronized void reset(Collection<Item> items) {
+        contributions.clear();
+        clear();
+        for (Item item : items) {
+            if (contributions.containsKey(item)) {
+                continue;
+            }
+            C contribution = getContribution(item);
+            contributions.put(item, contribution);
+            if (contribution != null) {
+                add(contribution);
+            }
+        }
+    }
+
+    /**
+     * Applies the current state of the given item.
+     *
+     * @param item the updated item
+     * @return false if the item is not known by this aggregator, true otherwise
+     */
+    public synchronized boolean update(Item item) {
+        if (!contributions.containsKey(item)) {
+            return false;
+        }
+        C oldContribution = contributions.get(item);
+        C newContribution = getContribution(item);
+        if (!Objects.equals(oldContribution, newContribution)) {
+            if (oldContribution != null) {
+                remove(oldContribution);
+            }
+            if (newContribution != null) {
+                add(newContribution);
+            }
+            contributions.put(item, newContribution);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the group state for the current contributions.
+     *
+     * @return the group state
+     */
+    public synchronized State getState() {
+        return calculate(contributions.size());
+    }
+
+    /**
+     * Determines what the given item contributes to the group state.
+     *
+     * @param item the item
+     * @return the contribution or null if the item does not contribute to the group state
+     */
+    protected abstract @Nullable C getContribution(Item item);
+
+    /**
+     * Adds a contribution to the running values.
+     *
+     * @param contribution the contribution
+     */
+    protected abstract void add(C contribution);
+
+    /**
+     * Removes a contribution, which has been added before, from the running values.
+     *
+     * @param contribution the contribution
+     */
+    protected abstract void remove(C contribution);
+
+    /**
+     * Resets the running values.
+     */
+    protected abstract void clear();
+
+    /**
+     * Calculates the group state out of the running values.
+     *
+     * @param itemCount the number of items, including the ones without contribution
+     * @return the group state
+     */
+    protected abstract State calculate(int itemCount);
+
+    /**
+     * Decrements the counter of the given key and removes the key once it reaches zero. Helps implementations keeping
+     * multisets of their contributions.
+     *
+     * @param counters the counters
+     * @param key the key
+     */
+    protected static <K> void decrement(Map<K, Integer> counters, K key) {
+        counters.computeIfPresent(key, (k, v) -> v == 1 ? null : v - 1);
+    }
+
+}
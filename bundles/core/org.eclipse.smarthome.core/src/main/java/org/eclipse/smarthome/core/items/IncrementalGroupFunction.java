@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.items;
+
+/**
+ * A {@link GroupFunction} that is able to maintain the group state incrementally.
+ *
+ * <p>
+ * Instead of calculating the group state out of all member states on every member update, the {@link GroupItem}
+ * keeps a {@link GroupStateAggregator} that only applies the difference of the updated member. A full calculation is
+ * only done if the group membership changes.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public interface IncrementalGroupFunction extends GroupFunction {
+
+    /**
+     * Creates a new, empty aggregator for this function. The state of the aggregator must always be equal to the
+     * result of {@link #calculate(java.util.Set)} for the items it has been given.
+     *
+     * @return a new aggregator
+     */
+    GroupStateAggregator<?> createAggregator();
+
+}
@@ -95,17 +95,16 @@ public class ManagedItemProvider extends AbstractManagedProvider<Item, String, P
      */
     public Item remove(String itemName, boolean recursive) {
         Item item = get(itemName);
-        if (recursive && item instanceof GroupItem) {
-            for (String member : getMemberNamesRecursively((GroupItem) item, getAll())) {
-                this.remove(member);
-            }
-        }
-        if (item != null) {
-            this.remove(item.getName());
-            return item;
-        } else {
+        if (item == null) {
             return null;
         }
+        List<String> itemNames = new ArrayList<>();
+        if (recursive && item instanceof GroupItem) {
+            itemNames.addAll(getMemberNamesRecursively((GroupItem) item, getAll()));
+        }
+        itemNames.add(item.getName());
+        removeAll(itemNames);
+        return item;
     }
 
     private List<@NonNull String> getMemberNamesRecursively(GroupItem groupItem, Collection<Item> allItems) {
@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.items.events;
 
+import java.util.function.Supplier;
+
 import org.eclipse.smarthome.core.events.AbstractEvent;
 import org.eclipse.smarthome.core.types.Command;
 
@@ -47,6 +49,22 @@ public class ItemCommandEvent extends AbstractEvent {
         this.command = command;
     }
 
+    /**
+     * Constructs a new item command event object with a lazily serialized payload.
+     *
+     * @param topic the topic
+     * @param payloadSupplier the supplier creating the payload
+     * @param itemName the item name
+     * @param command the command
+     * @param source the source, can be null
+     */
+    protected ItemCommandEvent(String topic, Supplier<String> payloadSupplier, String itemName, Command command,
+            String source) {
+        super(topic, payloadSupplier, source);
+        this.itemName = itemName;
+        this.command = command;
+    }
+
     @Override
     public String getType() {
         return TYPE;
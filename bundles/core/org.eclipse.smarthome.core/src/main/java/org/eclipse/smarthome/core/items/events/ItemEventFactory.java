@@ -13,7 +13,6 @@
 package org.eclipse.smarthome.core.items.events;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -28,6 +27,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.Type;
+import org.eclipse.smarthome.core.types.TypeParser;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.osgi.service.component.annotations.Component;
 
@@ -164,9 +164,7 @@ public class ItemEventFactory extends AbstractEventFactory {
         }
 
         try {
-            Class<?> stateClass = Class.forName(CORE_LIBRARY_PACKAGE + simpleClassName);
-            Method valueOfMethod = stateClass.getMethod("valueOf", String.class);
-            return valueOfMethod.invoke(null, valueToParse);
+            return TypeParser.getValueOfMethod(simpleClassName).invoke(null, valueToParse);
         } catch (ClassNotFoundException e) {
             throw new IllegalArgumentException("Error getting class for simple name: '" + simpleClassName
                     + "' using package name '" + CORE_LIBRARY_PACKAGE + "'.", e);
@@ -210,9 +208,9 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemCommandEvent createCommandEvent(String itemName, Command command, String source) {
         assertValidArguments(itemName, command, "command");
         String topic = buildTopic(ITEM_COMAND_EVENT_TOPIC, itemName);
-        ItemEventPayloadBean bean = new ItemEventPayloadBean(getCommandType(command), command.toString());
-        String payload = serializePayload(bean);
-        return new ItemCommandEvent(topic, payload, itemName, command, source);
+        return new ItemCommandEvent(topic,
+                () -> serializePayload(new ItemEventPayloadBean(getCommandType(command), command.toString())),
+                itemName, command, source);
     }
 
     /**
@@ -239,9 +237,9 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemStateEvent createStateEvent(String itemName, State state, String source) {
         assertValidArguments(itemName, state, "state");
         String topic = buildTopic(ITEM_STATE_EVENT_TOPIC, itemName);
-        ItemEventPayloadBean bean = new ItemEventPayloadBean(getStateType(state), state.toFullString());
-        String payload = serializePayload(bean);
-        return new ItemStateEvent(topic, payload, itemName, state, source);
+        return new ItemStateEvent(topic,
+                () -> serializePayload(new ItemEventPayloadBean(getStateType(state), state.toFullString())), itemName,
+                state, source);
     }
 
     /**
@@ -268,20 +266,16 @@ public class ItemEventFactory extends AbstractEventFactory {
     public static ItemStateChangedEvent createStateChangedEvent(String itemName, State newState, State oldState) {
         assertValidArguments(itemName, newState, "state");
         String topic = buildTopic(ITEM_STATE_CHANGED_EVENT_TOPIC, itemName);
-        ItemStateChangedEventPayloadBean bean = new ItemStateChangedEventPayloadBean(getStateType(newState),
-                newState.toFullString(), getStateType(oldState), oldState.toFullString());
-        String payload = serializePayload(bean);
-        return new ItemStateChangedEvent(topic, payload, itemName, newState, oldState);
+        return new ItemStateChangedEvent(topic, () -> serializeStateChangedPayload(newState, oldState), itemName,
+                newState, oldState);
     }
 
     public static GroupItemStateChangedEvent createGroupStateChangedEvent(String itemName, String memberName,
             State newState, State oldState) {
         assertValidArguments(itemName, memberName, newState, "state");
         String topic = buildGroupTopic(GROUPITEM_STATE_CHANGED_EVENT_TOPIC, itemName, memberName);
-        ItemStateChangedEventPayloadBean bean = new ItemStateChangedEventPayloadBean(getStateType(newState),
-                newState.toFullString(), getStateType(oldState), oldState.toFullString());
-        String payload = serializePayload(bean);
-        return new GroupItemStateChangedEvent(topic, payload, itemName, memberName, newState, oldState);
+        return new GroupItemStateChangedEvent(topic, () -> serializeStateChangedPayload(newState, oldState), itemName,
+                memberName, newState, oldState);
     }
 
     /**
@@ -335,6 +329,11 @@ public class ItemEventFactory extends AbstractEventFactory {
         return new ItemUpdatedEvent(topic, payload, itemDTO, oldItemDTO);
     }
 
+    private static String serializeStateChangedPayload(State newState, State oldState) {
+        return serializePayload(new ItemStateChangedEventPayloadBean(getStateType(newState), newState.toFullString(),
+                getStateType(oldState), oldState.toFullString()));
+    }
+
     private static String buildTopic(String topic, String itemName) {
         return topic.replace("{itemName}", itemName);
     }
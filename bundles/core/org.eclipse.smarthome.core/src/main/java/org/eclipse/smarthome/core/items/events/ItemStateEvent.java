@@ -12,6 +12,8 @@
  */
 package org.eclipse.smarthome.core.items.events;
 
+import java.util.function.Supplier;
+
 import org.eclipse.smarthome.core.events.AbstractEvent;
 import org.eclipse.smarthome.core.types.State;
 
@@ -47,6 +49,22 @@ public class ItemStateEvent extends AbstractEvent {
         this.itemState = itemState;
     }
 
+    /**
+     * Constructs a new item state event with a lazily serialized payload.
+     *
+     * @param topic the topic
+     * @param payloadSupplier the supplier creating the payload
+     * @param itemName the item name
+     * @param itemState the item state
+     * @param source the source, can be null
+     */
+    protected ItemStateEvent(String topic, Supplier<String> payloadSupplier, String itemName, State itemState,
+            String source) {
+        super(topic, payloadSupplier, source);
+        this.itemName = itemName;
+        this.itemState = itemState;
+    }
+
     @Override
     public String getType() {
         return TYPE;
@@ -19,6 +19,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.smarthome.core.items.GroupFunction;
+import org.eclipse.smarthome.core.items.GroupStateAggregator;
+import org.eclipse.smarthome.core.items.IncrementalGroupFunction;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
@@ -41,7 +43,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Through the getStateAs() method, it can be determined, how many
      * items actually are not in the 'activeState'.
      */
-    static class And implements GroupFunction {
+    static class And implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -100,6 +102,32 @@ public interface ArithmeticGroupFunction extends GroupFunction {
 
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new CountingAggregator() {
+                @Override
+                protected boolean matches(Item item) {
+                    return activeState.equals(item.getStateAs(activeState.getClass()));
+                }
+
+                @Override
+                protected State calculate(int itemCount) {
+                    return aggregate(itemCount, getMatchCount());
+                }
+            };
+        }
+
+        /**
+         * Calculates the state out of the number of items and the number of items in the 'activeState'.
+         *
+         * @param itemCount the number of items
+         * @param activeCount the number of items in the 'activeState'
+         * @return the calculated state
+         */
+        protected State aggregate(int itemCount, int activeCount) {
+            return itemCount > 0 && activeCount == itemCount ? activeState : passiveState;
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { activeState, passiveState };
@@ -113,7 +141,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Through the getStateAs() method, it can be determined, how many
      * items actually are in the 'activeState'.
      */
-    static class Or implements GroupFunction {
+    static class Or implements IncrementalGroupFunction {
 
         protected final State activeState;
         protected final State passiveState;
@@ -164,6 +192,32 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return count;
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new CountingAggregator() {
+                @Override
+                protected boolean matches(Item item) {
+                    return activeState.equals(item.getStateAs(activeState.getClass()));
+                }
+
+                @Override
+                protected State calculate(int itemCount) {
+                    return aggregate(itemCount, getMatchCount());
+                }
+            };
+        }
+
+        /**
+         * Calculates the state out of the number of items and the number of items in the 'activeState'.
+         *
+         * @param itemCount the number of items
+         * @param activeCount the number of items in the 'activeState'
+         * @return the calculated state
+         */
+        protected State aggregate(int itemCount, int activeCount) {
+            return activeCount > 0 ? activeState : passiveState;
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { activeState, passiveState };
@@ -189,6 +243,12 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        protected State aggregate(int itemCount, int activeCount) {
+            State result = super.aggregate(itemCount, activeCount);
+            return result.equals(activeState) ? passiveState : activeState;
+        }
+
     }
 
     /**
@@ -210,12 +270,18 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             return notResult;
         }
 
+        @Override
+        protected State aggregate(int itemCount, int activeCount) {
+            State result = super.aggregate(itemCount, activeCount);
+            return result.equals(activeState) ? passiveState : activeState;
+        }
+
     }
 
     /**
      * This calculates the numeric average over all item states of decimal type.
      */
-    static class Avg implements GroupFunction {
+    static class Avg implements IncrementalGroupFunction {
 
         public Avg() {
         }
@@ -250,6 +316,21 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new DecimalSumAggregator() {
+                @Override
+                protected State calculate(int itemCount) {
+                    if (getCount() > 0) {
+                        return new DecimalType(
+                                getSum().divide(BigDecimal.valueOf(getCount()), RoundingMode.HALF_UP));
+                    } else {
+                        return UnDefType.UNDEF;
+                    }
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -259,7 +340,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the numeric sum over all item states of decimal type.
      */
-    static class Sum implements GroupFunction {
+    static class Sum implements IncrementalGroupFunction {
 
         public Sum() {
         }
@@ -288,6 +369,16 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new DecimalSumAggregator() {
+                @Override
+                protected State calculate(int itemCount) {
+                    return new DecimalType(getSum());
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -297,7 +388,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the minimum value of all item states of decimal type.
      */
-    static class Min implements GroupFunction {
+    static class Min implements IncrementalGroupFunction {
 
         public Min() {
         }
@@ -331,6 +422,17 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new DecimalSortedAggregator() {
+                @Override
+                protected State calculate(int itemCount) {
+                    BigDecimal min = getLowest();
+                    return itemCount > 0 && min != null ? new DecimalType(min) : UnDefType.UNDEF;
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -340,7 +442,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
     /**
      * This calculates the maximum value of all item states of decimal type.
      */
-    static class Max implements GroupFunction {
+    static class Max implements IncrementalGroupFunction {
 
         public Max() {
         }
@@ -374,6 +476,17 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new DecimalSortedAggregator() {
+                @Override
+                protected State calculate(int itemCount) {
+                    BigDecimal max = getHighest();
+                    return itemCount > 0 && max != null ? new DecimalType(max) : UnDefType.UNDEF;
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[0];
@@ -387,7 +500,7 @@ public interface ArithmeticGroupFunction extends GroupFunction {
      * Group:Number:COUNT("[5-9]") will count all items having a string state between 5 and 9
      * ...
      */
-    static class Count implements GroupFunction {
+    static class Count implements IncrementalGroupFunction {
 
         protected final Pattern pattern;
 
@@ -423,6 +536,21 @@ public interface ArithmeticGroupFunction extends GroupFunction {
             }
         }
 
+        @Override
+        public GroupStateAggregator<?> createAggregator() {
+            return new CountingAggregator() {
+                @Override
+                protected boolean matches(Item item) {
+                    return pattern.matcher(item.getState().toString()).matches();
+                }
+
+                @Override
+                protected State calculate(int itemCount) {
+                    return new DecimalType(getMatchCount());
+                }
+            };
+        }
+
         @Override
         public State[] getParameters() {
             return new State[] { new StringType(pattern.pattern()) };
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GroupStateAggregator;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * A {@link GroupStateAggregator} counting the items which match a condition.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+abstract class CountingAggregator extends GroupStateAggregator<Boolean> {
+
+    private int matchCount;
+
+    /**
+     * Checks if the given item matches the condition of this aggregator.
+     *
+     * @param item the item
+     * @return true if the item matches
+     */
+    protected abstract boolean matches(Item item);
+
+    @Override
+    protected @Nullable Boolean getContribution(Item item) {
+        return matches(item) ? Boolean.TRUE : null;
+    }
+
+    @Override
+    protected void add(Boolean contribution) {
+        matchCount++;
+    }
+
+    @Override
+    protected void remove(Boolean contribution) {
+        matchCount--;
+    }
+
+    @Override
+    protected void clear() {
+        matchCount = 0;
+    }
+
+    /**
+     * @return the number of items matching the condition
+     */
+    protected int getMatchCount() {
+        return matchCount;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import java.math.BigDecimal;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GroupStateAggregator;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * A {@link GroupStateAggregator} keeping the decimal states of the items in a sorted multiset, so the lowest and the
+ * highest value are available in logarithmic time after adding or removing a single value.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+abstract class DecimalSortedAggregator extends GroupStateAggregator<BigDecimal> {
+
+    private final TreeMap<BigDecimal, Integer> values = new TreeMap<>();
+
+    @Override
+    protected @Nullable BigDecimal getContribution(Item item) {
+        DecimalType itemState = item.getStateAs(DecimalType.class);
+        return itemState == null ? null : itemState.toBigDecimal();
+    }
+
+    @Override
+    protected void add(BigDecimal contribution) {
+        values.merge(contribution, 1, Integer::sum);
+    }
+
+    @Override
+    protected void remove(BigDecimal contribution) {
+        decrement(values, contribution);
+    }
+
+    @Override
+    protected void clear() {
+        values.clear();
+    }
+
+    /**
+     * @return the lowest value or null if no item has a decimal state
+     */
+    protected @Nullable BigDecimal getLowest() {
+        return values.isEmpty() ? null : values.firstKey();
+    }
+
+    /**
+     * @return the highest value or null if no item has a decimal state
+     */
+    protected @Nullable BigDecimal getHighest() {
+        return values.isEmpty() ? null : values.lastKey();
+    }
+}
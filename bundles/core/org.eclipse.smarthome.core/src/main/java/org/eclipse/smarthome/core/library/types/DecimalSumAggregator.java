@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.library.types;
+
+import java.math.BigDecimal;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.items.GroupStateAggregator;
+import org.eclipse.smarthome.core.items.Item;
+
+/**
+ * A {@link GroupStateAggregator} keeping a running sum and count of the decimal states of the items.
+ *
+ * <p>
+ * The scales of the summands are counted as well, so {@link #getSum()} has the same scale a sum calculated from
+ * scratch would have, even after summands with a bigger scale have been removed.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+abstract class DecimalSumAggregator extends GroupStateAggregator<BigDecimal> {
+
+    private BigDecimal sum = BigDecimal.ZERO;
+    private int count;
+    private final TreeMap<Integer, Integer> scales = new TreeMap<>();
+
+    @Override
+    protected @Nullable BigDecimal getContribution(Item item) {
+        DecimalType itemState = item.getStateAs(DecimalType.class);
+        return itemState == null ? null : itemState.toBigDecimal();
+    }
+
+    @Override
+    protected void add(BigDecimal contribution) {
+        sum = sum.add(contribution);
+        count++;
+        scales.merge(contribution.scale(), 1, Integer::sum);
+    }
+
+    @Override
+    protected void remove(BigDecimal contribution) {
+        sum = sum.subtract(contribution);
+        count--;
+        decrement(scales, contribution.scale());
+    }
+
+    @Override
+    protected void clear() {
+        sum = BigDecimal.ZERO;
+        count = 0;
+        scales.clear();
+    }
+
+    /**
+     * @return the sum of all decimal states
+     */
+    protected BigDecimal getSum() {
+        int scale = scales.isEmpty() ? 0 : Math.max(0, scales.lastKey());
+        // the sum is exact, so lowering its scale to the one of the summands never rounds
+        return sum.setScale(scale);
+    }
+
+    /**
+     * @return the number of items with a decimal state
+     */
+    protected int getCount() {
+        return count;
+    }
+}
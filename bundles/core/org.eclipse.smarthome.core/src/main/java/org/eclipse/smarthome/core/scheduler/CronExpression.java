@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.scheduler;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.LinkedList;
@@ -43,6 +44,9 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
 
     private final Logger logger = LoggerFactory.getLogger(CronExpression.class);
 
+    // not initialized here, as the expression is already parsed by the constructor of the super class
+    private volatile CompiledExpression compiledExpression;
+
     public enum Month {
         JANUARY("JAN", Calendar.JANUARY, 31),
         FEBRUARY("FEB", Calendar.FEBRUARY, 28) {
@@ -209,6 +213,22 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
         return ((timeAfter != null) && (timeAfter.equals(originalDate)));
     }
 
+    @Override
+    public Date getTimeAfter(Date afterTime) {
+        return compiledExpression.getTimeAfter(afterTime, getTimeZone());
+    }
+
+    /**
+     * Calculates the next time after the given date by expanding and pruning candidate dates for each expression
+     * part, as {@link AbstractExpression} does. This is kept to verify the compiled expression against it.
+     *
+     * @param afterTime the date to start the search from
+     * @return the next time satisfying the expression, or null if there is none
+     */
+    Date getTimeAfterByCandidates(Date afterTime) {
+        return super.getTimeAfter(afterTime);
+    }
+
     /**
      * Indicates whether the specified expression can be parsed into a
      * valid expression
@@ -251,6 +271,9 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
             setExpressionParts(parts);
         }
 
+        compiledExpression = new CompiledExpression(getExpressionPart(SecondsExpressionPart.class),
+                getExpressionPart(MinutesExpressionPart.class), getExpressionPart(HoursExpressionPart.class), domPart,
+                getExpressionPart(MonthsExpressionPart.class), dowPart, getExpressionPart(YearsExpressionPart.class));
     }
 
     @Override
@@ -831,8 +854,7 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
                     break;
                 }
                 case "*": {
-                    getValueSet().add(MIN_MONTHDAY,
-                            Calendar.getInstance(getTimeZone()).getActualMaximum(Calendar.DAY_OF_MONTH), 1);
+                    getValueSet().add(MIN_MONTHDAY, MAX_MONTHDAY, 1);
                     break;
                 }
                 case "?": {
@@ -1227,4 +1249,270 @@ public final class CronExpression extends AbstractExpression<CronExpressionPart>
     public boolean hasFloatingStartDate() {
         return true;
     }
+
+    /**
+     * <code>CompiledExpression</code> holds the expression parts compiled into one bit set per field, in which bit
+     * <code>n</code> is set when the value <code>n</code> is allowed. The next time after a given date is found by
+     * jumping from field to field to the next set bit, without creating any candidate dates. The days of a month are
+     * resolved into a bit set per month, which also covers the special day of month and day of week rules.
+     */
+    private static final class CompiledExpression {
+
+        private static final int[] MONTH_OFFSETS = { 0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4 };
+
+        private final long seconds;
+        private final long minutes;
+        private final long hours;
+        private final long daysOfMonth;
+        private final long months;
+        private final long daysOfWeek;
+        private final BitSet years = new BitSet();
+
+        private final boolean lastDayOfMonth;
+        private final int lastDayOfMonthOffset;
+        private final boolean lastWeekDayOfMonth;
+        private final boolean nearestWeekDay;
+        private final int nearestWeekDayOfMonth;
+
+        private final boolean dayOfWeekNotSpecific;
+        private final boolean lastWeekdayOfMonth;
+        private final boolean lastDayOfWeek;
+        private final boolean instanceOfWeekday;
+        private final int weekDay;
+        private final int instanceOfMonth;
+        private final int lastWeekday;
+
+        CompiledExpression(SecondsExpressionPart secondsPart, MinutesExpressionPart minutesPart,
+                HoursExpressionPart hoursPart, DayOfMonthExpressionPart domPart, MonthsExpressionPart monthsPart,
+                DayOfWeekExpressionPart dowPart, YearsExpressionPart yearsPart) {
+            seconds = toBits(secondsPart.getValueSet());
+            minutes = toBits(minutesPart.getValueSet());
+            hours = toBits(hoursPart.getValueSet());
+            daysOfMonth = toBits(domPart.getValueSet());
+            months = toBits(monthsPart.getValueSet());
+            daysOfWeek = toBits(dowPart.getValueSet());
+            for (Integer year : yearsPart.getValueSet()) {
+                years.set(year);
+            }
+
+            lastDayOfMonth = domPart.isLastDayOfMonth();
+            lastDayOfMonthOffset = domPart.monthOffset;
+            lastWeekDayOfMonth = domPart.isLastWeekDayOfMonth();
+            nearestWeekDay = domPart.isNearestWeekDay();
+            nearestWeekDayOfMonth = domPart.weekDay;
+
+            dayOfWeekNotSpecific = dowPart.isNotSpecific();
+            lastWeekdayOfMonth = dowPart.isLastDayOfMonth();
+            lastDayOfWeek = dowPart.isLastDayOfWeek();
+            instanceOfWeekday = dowPart.isInstanceOfWeekday();
+            weekDay = dowPart.weekDay;
+            instanceOfMonth = dowPart.instanceOfMonth;
+            lastWeekday = dowPart.monthOffset;
+        }
+
+        private static long toBits(BoundedIntegerSet valueSet) {
+            long bits = 0;
+            for (Integer value : valueSet) {
+                bits |= 1L << value;
+            }
+            return bits;
+        }
+
+        /**
+         * Returns the lowest set bit that is equal to or greater than the given index.
+         *
+         * @return the index of the bit, or -1 if there is none
+         */
+        private static int nextSetBit(long bits, int fromIndex) {
+            if (fromIndex >= Long.SIZE) {
+                return -1;
+            }
+            long remaining = bits & (-1L << fromIndex);
+            return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+        }
+
+        Date getTimeAfter(Date afterTime, TimeZone timeZone) {
+            Calendar cal = Calendar.getInstance(timeZone);
+            cal.setTime(afterTime);
+            cal.set(Calendar.MILLISECOND, 0);
+            cal.add(Calendar.SECOND, 1);
+
+            int year = cal.get(Calendar.YEAR);
+            int month = cal.get(Calendar.MONTH) + 1;
+            int day = cal.get(Calendar.DAY_OF_MONTH);
+            int hour = cal.get(Calendar.HOUR_OF_DAY);
+            int minute = cal.get(Calendar.MINUTE);
+            int second = cal.get(Calendar.SECOND);
+
+            while (true) {
+                int next = years.nextSetBit(year);
+                if (next < 0) {
+                    return null;
+                }
+                if (next != year) {
+                    year = next;
+                    month = 1;
+                    day = 1;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                }
+
+                next = nextSetBit(months, month);
+                if (next < 0) {
+                    year++;
+                    month = 1;
+                    day = 1;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                    continue;
+                }
+                if (next != month) {
+                    month = next;
+                    day = 1;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                }
+
+                next = nextSetBit(getDays(year, month), day);
+                if (next < 0) {
+                    month++;
+                    day = 1;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                    continue;
+                }
+                if (next != day) {
+                    day = next;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                }
+
+                next = nextSetBit(hours, hour);
+                if (next < 0) {
+                    day++;
+                    hour = 0;
+                    minute = 0;
+                    second = 0;
+                    continue;
+                }
+                if (next != hour) {
+                    hour = next;
+                    minute = 0;
+                    second = 0;
+                }
+
+                next = nextSetBit(minutes, minute);
+                if (next < 0) {
+                    hour++;
+                    minute = 0;
+                    second = 0;
+                    continue;
+                }
+                if (next != minute) {
+                    minute = next;
+                    second = 0;
+                }
+
+                next = nextSetBit(seconds, second);
+                if (next < 0) {
+                    minute++;
+                    second = 0;
+                    continue;
+                }
+                second = next;
+
+                // the local time is resolved by the calendar, which moves times skipped by a daylight saving time
+                // change forward, just like the expression parts do when setting the fields of the candidates
+                cal.clear();
+                cal.set(year, month - 1, day, hour, minute, second);
+                Date time = cal.getTime();
+                if (time.after(afterTime)) {
+                    return time;
+                }
+                second++;
+            }
+        }
+
+        /**
+         * Returns the days of the given month that satisfy the expression. As with the candidate search, the day of
+         * week part takes precedence if both the day of month and day of week parts are specific.
+         *
+         * @param year the year
+         * @param month the month, starting at 1
+         * @return a bit set in which bit <code>n</code> is set if day <code>n</code> of the month is allowed
+         */
+        private long getDays(int year, int month) {
+            int length = Month.getMonth(month - 1).getNumberOfDays(year);
+            int firstWeekday = getWeekday(year, month, 1);
+
+            if (!dayOfWeekNotSpecific) {
+                if (lastWeekdayOfMonth) {
+                    return 1L << getLastWeekday(lastWeekday, firstWeekday, length);
+                } else if (lastDayOfWeek) {
+                    return getWeekdays(1L << Calendar.SATURDAY, firstWeekday, length);
+                } else if (instanceOfWeekday) {
+                    int instance = 1 + (weekDay - firstWeekday + 7) % 7 + 7 * (instanceOfMonth - 1);
+                    return instance <= length ? 1L << instance : 0;
+                } else {
+                    return getWeekdays(daysOfWeek, firstWeekday, length);
+                }
+            }
+
+            if (lastDayOfMonth) {
+                return lastDayOfMonthOffset < length ? 1L << (length - lastDayOfMonthOffset) : 0;
+            } else if (lastWeekDayOfMonth) {
+                int lastWeekday = (firstWeekday + length - 2) % 7 + 1;
+                if (lastWeekday == Calendar.SATURDAY) {
+                    return 1L << (length - 1);
+                } else if (lastWeekday == Calendar.SUNDAY) {
+                    return 1L << (length - 2);
+                }
+                return 1L << length;
+            } else if (nearestWeekDay) {
+                int nearest = nearestWeekDayOfMonth;
+                if (nearest < 1 || nearest > length) {
+                    return 0;
+                }
+                int weekday = (firstWeekday + nearest - 2) % 7 + 1;
+                if (weekday == Calendar.SATURDAY) {
+                    nearest = nearest == 1 ? nearest + 2 : nearest - 1;
+                } else if (weekday == Calendar.SUNDAY) {
+                    nearest = nearest == length ? nearest - 2 : nearest + 1;
+                }
+                return 1L << nearest;
+            } else {
+                return daysOfMonth & ((1L << (length + 1)) - 2);
+            }
+        }
+
+        private static long getWeekdays(long weekdays, int firstWeekday, int length) {
+            long days = 0;
+            for (int day = 1, weekday = firstWeekday; day <= length; day++, weekday = weekday % 7 + 1) {
+                if ((weekdays & (1L << weekday)) != 0) {
+                    days |= 1L << day;
+                }
+            }
+            return days;
+        }
+
+        private static int getLastWeekday(int weekday, int firstWeekday, int length) {
+            int lastWeekday = (firstWeekday + length - 2) % 7 + 1;
+            return length - (lastWeekday - weekday + 7) % 7;
+        }
+
+        /**
+         * Returns the day of the week of a date in the proleptic Gregorian calendar.
+         *
+         * @return the day of the week, from {@link Calendar#SUNDAY} to {@link Calendar#SATURDAY}
+         */
+        private static int getWeekday(int year, int month, int day) {
+            int y = month < 3 ? year - 1 : year;
+            return (y + y / 4 - y / 100 + y / 400 + MONTH_OFFSETS[month - 1] + day) % 7 + 1;
+        }
+    }
 }
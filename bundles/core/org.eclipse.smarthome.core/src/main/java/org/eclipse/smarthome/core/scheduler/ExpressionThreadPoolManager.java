@@ -18,14 +18,10 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.concurrent.CancellationException;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -76,16 +72,32 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
         }
     }
 
+    /**
+     * A scheduled thread pool, which can also execute tasks at the times given by {@link Expression}s.
+     *
+     * <p>
+     * The next execution time of every expression is computed once, when it is scheduled and after each execution,
+     * and kept in a {@link TimingWheel}. A single timer thread expires the wheel tick by tick and submits the due
+     * tasks to the pool, so scheduling and removing an expression takes constant time, independent of the number of
+     * scheduled expressions.
+     */
     public static class ExpressionThreadPoolExecutor extends ScheduledThreadPoolExecutor {
-        private final Map<Expression, RunnableWrapper> scheduled = new ConcurrentHashMap<>();
-        private final Map<RunnableWrapper, List<ScheduledFuture<?>>> futures = Collections
-                .synchronizedMap(new HashMap<>());
-        private final Lock futuresLock = new ReentrantLock();
-        private final Map<Future<?>, Date> timestamps = Collections.synchronizedMap(new HashMap<Future<?>, Date>());
-        private volatile Thread monitor;
+
+        /** the duration of a tick of the timing wheel (in milliseconds), i.e. the maximum delay of an execution */
+        static final long TICK_DURATION = 100;
+
+        /** the number of buckets of the timing wheel */
+        static final int BUCKET_COUNT = 512;
+
+        private final Map<Expression, ScheduledExpression> scheduled = new HashMap<>();
+        private final Map<RunnableWrapper, List<ScheduledExpression>> tasks = new HashMap<>();
+        private final TimingWheel<ScheduledExpression> wheel = new TimingWheel<>(System.currentTimeMillis(),
+                TICK_DURATION, BUCKET_COUNT);
+        private final Lock wheelLock = new ReentrantLock();
+        private final Condition wheelChanged = wheelLock.newCondition();
         private final NamedThreadFactory monitorThreadFactory;
-        private final Lock monitoringLock = new ReentrantLock();
-        private final Condition newExpressionCondition = monitoringLock.newCondition();
+        private Thread monitor;
+        private boolean running = true;
 
         public ExpressionThreadPoolExecutor(final String poolName, int corePoolSize) {
             this(poolName, corePoolSize, new NamedThreadFactory(poolName), new ThreadPoolExecutor.DiscardPolicy() {
@@ -105,287 +117,293 @@ public class ExpressionThreadPoolManager extends ThreadPoolManager {
             this.monitorThreadFactory = new NamedThreadFactory(threadFactory.getName() + "-" + "Monitor");
         }
 
-        @Override
-        protected void afterExecute(Runnable runnable, Throwable throwable) {
-            logger.trace("Cleaning up after the execution of '{}'", runnable);
-            super.afterExecute(runnable, throwable);
+        private final Runnable monitorTask = new Runnable() {
 
-            if (runnable instanceof Future) {
-                Future<?> future = (Future<?>) runnable;
-                try {
-                    futuresLock.lock();
-                    for (Runnable aRunnable : futures.keySet()) {
-                        futures.get(aRunnable).removeIf(entry -> entry == future);
+            @Override
+            public void run() {
+                logger.debug("Starting the monitor thread '{}'", Thread.currentThread().getName());
+                List<ScheduledExpression> executed;
+                while ((executed = executeDue()) != null) {
+                    // the next times are computed without holding the wheel lock, as this can be expensive
+                    List<Date> times = new ArrayList<>(executed.size());
+                    for (ScheduledExpression scheduledExpression : executed) {
+                        times.add(getNextTime(scheduledExpression));
+                    }
+                    wheelLock.lock();
+                    try {
+                        for (int i = 0; i < executed.size(); i++) {
+                            reschedule(executed.get(i), times.get(i));
+                        }
+                    } finally {
+                        wheelLock.unlock();
                     }
-                } finally {
-                    futuresLock.unlock();
                 }
-                timestamps.remove(future);
-            } else {
-                List<ScheduledFuture<?>> obsoleteFutures = new ArrayList<ScheduledFuture<?>>();
-                try {
-                    futuresLock.lock();
-                    List<ScheduledFuture<?>> taskFutures = futures.get(runnable);
-
-                    if (taskFutures != null) {
-                        logger.trace("Runnable '{}' has {} Futures scheduled", runnable, taskFutures.size());
+                logger.debug("Stopped the monitor thread '{}'", Thread.currentThread().getName());
+            }
+        };
 
-                        for (ScheduledFuture<?> future : taskFutures) {
-                            if (future.isDone()) {
-                                obsoleteFutures.add(future);
-                            }
+        /**
+         * Waits until expressions are due and submits their tasks.
+         *
+         * @return the expressions whose tasks have been submitted, or null if the executor has been shut down
+         */
+        private List<ScheduledExpression> executeDue() {
+            wheelLock.lock();
+            try {
+                while (running) {
+                    long now = System.currentTimeMillis();
+                    List<ScheduledExpression> executed = new ArrayList<>();
+                    for (ScheduledExpression scheduledExpression : wheel.expire(now)) {
+                        if (execute(scheduledExpression)) {
+                            executed.add(scheduledExpression);
                         }
-
-                        logger.trace("Runnable '{}' has {} Futures that will be removed", runnable,
-                                obsoleteFutures.size());
-                        for (Future<?> future : obsoleteFutures) {
-                            taskFutures.remove(future);
-                            timestamps.remove(future);
+                    }
+                    if (!executed.isEmpty()) {
+                        return executed;
+                    }
+                    try {
+                        if (wheel.isEmpty()) {
+                            logger.trace("Putting the monitor thread '{}' to sleep until an expression is scheduled",
+                                    Thread.currentThread().getName());
+                            wheelChanged.await();
+                        } else {
+                            wheelChanged.await(wheel.getNextTickTime() - now, TimeUnit.MILLISECONDS);
                         }
-                    } else {
-                        logger.debug("Runnable '{}' has no Futures scheduled", runnable);
+                    } catch (InterruptedException ex) {
+                        logger.trace("The monitor thread was interrupted : '{}'", ex.getMessage());
                     }
-                } finally {
-                    futuresLock.unlock();
                 }
+                return null;
+            } finally {
+                wheelLock.unlock();
             }
+        }
 
-            if (throwable != null) {
-                Throwable cause = throwable.getCause();
-                if (cause instanceof InterruptedException) {
-                    // Ignore this, might happen when we shutdownNow() the executor. We can't
-                    // log at this point as the logging system might be stopped already.
-                    return;
-                }
+        /**
+         * Computes the next execution time of an expression that has just been executed. It is computed from the
+         * scheduled time, not from the current time, as the execution can be up to a tick late and the expression
+         * would drift otherwise. Executions that have been missed entirely, e.g. because the system was suspended, are
+         * skipped.
+         *
+         * @return the next execution time, or null if the expression has no future executions
+         */
+        private Date getNextTime(ScheduledExpression scheduledExpression) {
+            Expression expression = scheduledExpression.expression;
+            Date time = expression.getTimeAfter(new Date(scheduledExpression.time));
+            long now = System.currentTimeMillis();
+            if (time != null && time.getTime() <= now) {
+                time = expression.getTimeAfter(new Date(now));
             }
+            return time;
         }
 
-        Runnable monitorTask = new Runnable() {
-
-            @Override
-            public void run() {
-                logger.debug("Starting the monitor thread '{}'", Thread.currentThread().getName());
-                while (true) {
-                    try {
-                        Date earliestExecution = null;
-                        final Date now = new Date();
-
-                        List<Expression> finishedExpressions = new ArrayList<Expression>();
-
-                        if (logger.isTraceEnabled()) {
-                            logger.trace("There are {} scheduled expressions", scheduled.keySet().size());
-                            for (Entry<Expression, RunnableWrapper> entry : scheduled.entrySet()) {
-                                logger.trace("  Runnable {} with {}", entry.getValue(), entry.getValue());
-                            }
-                        }
-                        for (Expression e : scheduled.keySet()) {
-                            Date time = e.getTimeAfter(now);
-
-                            if (time != null) {
-                                logger.trace("Expression's '{}' next execution time is {}", e, time);
-
-                                final RunnableWrapper task = scheduled.get(e);
-
-                                if (task != null) {
-                                    try {
-                                        futuresLock.lock();
-                                        List<ScheduledFuture<?>> taskFutures = futures.get(task);
-
-                                        if (taskFutures == null) {
-                                            taskFutures = new ArrayList<ScheduledFuture<?>>();
-                                            futures.put(task, taskFutures);
-                                        }
-
-                                        boolean schedule = false;
-
-                                        long delay = time.getTime() - now.getTime();
-                                        if (taskFutures.size() == 0) {
-                                            // if no futures are currently scheduled, we definitely have to schedule the
-                                            // task
-                                            schedule = true;
-                                        } else {
-                                            // check the time stamp of the last scheduled task if an additional task
-                                            // needs
-                                            // to be scheduled
-                                            Date timestamp = timestamps.get(taskFutures.get(taskFutures.size() - 1));
-
-                                            if (time.after(timestamp)) {
-                                                schedule = true;
-                                            } else {
-                                                logger.trace("The task '{}' is already scheduled to execute in {} ms",
-                                                        task, delay);
-                                            }
-                                        }
-
-                                        if (schedule) {
-                                            logger.debug("Scheduling the task '{}' to execute in {} ms", task, delay);
-                                            ScheduledFuture<?> newFuture = ExpressionThreadPoolExecutor.this
-                                                    .schedule(task, delay, TimeUnit.MILLISECONDS);
-                                            taskFutures.add(newFuture);
-                                            logger.trace("Task '{}' has now {} Futures", task, taskFutures.size());
-                                            timestamps.put(newFuture, time);
-                                        }
-                                        if (logger.isTraceEnabled()) {
-                                            for (ScheduledFuture<?> future : taskFutures) {
-                                                logger.trace("Task {} ({}) will run in {}", task,
-                                                        System.identityHashCode(task),
-                                                        future.getDelay(TimeUnit.MILLISECONDS));
-                                            }
-                                        }
-                                    } finally {
-                                        futuresLock.unlock();
-                                    }
-                                } else {
-                                    logger.trace("Expressions without tasks are not valid");
-                                }
+        // called with the wheel lock held
+        private boolean execute(ScheduledExpression scheduledExpression) {
+            Expression expression = scheduledExpression.expression;
+            if (scheduled.get(expression) != scheduledExpression) {
+                return false;
+            }
+            try {
+                logger.trace("Executing the task '{}' of expression '{}'", scheduledExpression.task, expression);
+                scheduledExpression.future = submit(scheduledExpression.task);
+            } catch (RejectedExecutionException ex) {
+                logger.error("The executor has already been shut down : '{}'", ex.getMessage());
+            }
+            return true;
+        }
 
-                                if (earliestExecution == null) {
-                                    earliestExecution = time;
-                                } else {
-                                    if (time.before(earliestExecution)) {
-                                        earliestExecution = time;
-                                    }
-                                }
-                            } else {
-                                logger.debug("Expression '{}' has no future executions anymore", e);
-                                finishedExpressions.add(e);
-                            }
-                        }
+        // called with the wheel lock held
+        private void reschedule(ScheduledExpression scheduledExpression, Date time) {
+            if (scheduled.get(scheduledExpression.expression) != scheduledExpression) {
+                // removed or scheduled again while the next time was computed
+                return;
+            }
+            if (time != null) {
+                scheduleNext(scheduledExpression, time);
+            } else {
+                logger.debug("Expression '{}' has no future executions anymore", scheduledExpression.expression);
+                unschedule(scheduledExpression);
+            }
+        }
 
-                        for (Expression e : finishedExpressions) {
-                            scheduled.remove(e);
-                            logger.trace("Cleaning up finished expression '{}'", e);
-                        }
+        // called with the wheel lock held
+        private void scheduleNext(ScheduledExpression scheduledExpression, Date time) {
+            logger.trace("Expression's '{}' next execution time is {}", scheduledExpression.expression, time);
+            scheduledExpression.time = time.getTime();
+            scheduledExpression.timeout = wheel.add(time.getTime(), scheduledExpression);
+        }
 
-                        if (earliestExecution != null) {
-                            boolean newExpression = false;
-                            while (!newExpression && new Date().before(earliestExecution)) {
-                                if (logger.isTraceEnabled()) {
-                                    logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
-                                            Thread.currentThread().getName(),
-                                            earliestExecution.getTime() - new Date().getTime());
-                                }
-                                try {
-                                    monitoringLock.lock();
-                                    newExpression = newExpressionCondition.await(
-                                            earliestExecution.getTime() - new Date().getTime(), TimeUnit.MILLISECONDS);
-                                    logger.trace("Monitor thread woke again with {}", newExpression);
-                                } finally {
-                                    monitoringLock.unlock();
-                                }
-                            }
-                        } else {
-                            logger.trace("Putting the monitor thread '{}' to sleep for {} ms",
-                                    Thread.currentThread().getName(), THREAD_MONITOR_SLEEP);
-                            try {
-                                monitoringLock.lock();
-                                newExpressionCondition.await(THREAD_MONITOR_SLEEP, TimeUnit.MILLISECONDS);
-                            } finally {
-                                monitoringLock.unlock();
-                            }
-                        }
-                    } catch (RejectedExecutionException ex) {
-                        logger.error("The executor has already been shut down : '{}'", ex.getMessage());
-                    } catch (CancellationException ex) {
-                        logger.error("Non executed tasks are cancelled : '{}'", ex.getMessage());
-                    } catch (InterruptedException ex) {
-                        logger.trace("The monitor thread was interrupted : '{}'", ex.getMessage());
-                    }
+        // called with the wheel lock held
+        private void unschedule(ScheduledExpression scheduledExpression) {
+            scheduled.remove(scheduledExpression.expression);
+            List<ScheduledExpression> expressions = tasks.get(scheduledExpression.task);
+            if (expressions != null) {
+                expressions.remove(scheduledExpression);
+                if (expressions.isEmpty()) {
+                    tasks.remove(scheduledExpression.task);
                 }
             }
-        };
+            if (scheduledExpression.timeout != null) {
+                wheel.cancel(scheduledExpression.timeout);
+            }
+        }
 
         public void schedule(final Runnable task, final Expression expression) {
             if (task == null || expression == null) {
                 throw new IllegalArgumentException("Task cannot be scheduled as task or expression is null.");
             }
             RunnableWrapper wrapper = new RunnableWrapper(task);
-            synchronized (this) {
+            ScheduledExpression scheduledExpression = new ScheduledExpression(expression, wrapper);
+            Date time = expression.getTimeAfter(new Date());
+
+            wheelLock.lock();
+            try {
+                if (!running) {
+                    throw new RejectedExecutionException("The executor has already been shut down.");
+                }
                 if (monitor == null) {
                     monitor = monitorThreadFactory.newThread(monitorTask);
                     monitor.start();
                 }
-            }
-            if (logger.isDebugEnabled()) {
-                if (scheduled.containsValue(wrapper)) {
+                if (logger.isDebugEnabled() && tasks.containsKey(wrapper)) {
                     logger.debug("Task {} is already scheduled (potentially with a different expression).", wrapper);
                 }
-            }
-            scheduled.put(expression, wrapper);
-            logger.debug("Scheduled task '{}' using expression '{}'", wrapper, expression);
-            try {
-                monitoringLock.lock();
-                newExpressionCondition.signalAll();
+                ScheduledExpression previous = scheduled.get(expression);
+                if (previous != null) {
+                    unschedule(previous);
+                }
+                if (time == null) {
+                    logger.debug("Expression '{}' has no future executions anymore", expression);
+                    return;
+                }
+                scheduled.put(expression, scheduledExpression);
+                tasks.computeIfAbsent(wrapper, k -> new ArrayList<>(1)).add(scheduledExpression);
+                scheduleNext(scheduledExpression, time);
+                wheelChanged.signalAll();
             } finally {
-                monitoringLock.unlock();
+                wheelLock.unlock();
             }
+            logger.debug("Scheduled task '{}' using expression '{}'", wrapper, expression);
         }
 
         public boolean remove(Expression expression) {
             logger.debug("Removing the expression '{}' from the scheduler", expression);
-            RunnableWrapper task = scheduled.remove(expression);
-
-            if (task != null) {
-                return doRemoveFutures(task);
-            } else {
-                return false;
+            ScheduledExpression scheduledExpression;
+            wheelLock.lock();
+            try {
+                scheduledExpression = scheduled.get(expression);
+                if (scheduledExpression == null) {
+                    return false;
+                }
+                unschedule(scheduledExpression);
+            } finally {
+                wheelLock.unlock();
             }
+            cancelFuture(scheduledExpression);
+            super.purge();
+            return true;
         }
 
+        /**
+         * Removes all expressions the given task has been scheduled with, or the task itself if it has been submitted
+         * to the executor directly.
+         */
         @Override
         public boolean remove(Runnable task) {
-            RunnableWrapper wrapper = new RunnableWrapper(task);
-            Expression theExpression = null;
-            for (Expression anExpression : scheduled.keySet()) {
-                if (wrapper.equals(scheduled.get(anExpression))) {
-                    theExpression = anExpression;
-                    break;
+            List<ScheduledExpression> expressions;
+            wheelLock.lock();
+            try {
+                expressions = tasks.get(new RunnableWrapper(task));
+                if (expressions == null) {
+                    expressions = Collections.emptyList();
+                } else {
+                    expressions = new ArrayList<>(expressions);
+                    for (ScheduledExpression scheduledExpression : expressions) {
+                        unschedule(scheduledExpression);
+                    }
                 }
+            } finally {
+                wheelLock.unlock();
             }
 
-            if (theExpression != null) {
-                return remove(theExpression);
-            } else {
+            if (expressions.isEmpty()) {
                 return super.remove(task);
             }
+            for (ScheduledExpression scheduledExpression : expressions) {
+                cancelFuture(scheduledExpression);
+            }
+            super.purge();
+            return true;
         }
 
+        /**
+         * Cancels the pending executions of a task, without removing its expressions.
+         *
+         * @param task the task
+         * @return true if the task is scheduled with an expression
+         */
         public boolean removeFutures(Runnable task) {
-            RunnableWrapper wrapper = new RunnableWrapper(task);
-            return doRemoveFutures(wrapper);
+            List<ScheduledExpression> expressions;
+            wheelLock.lock();
+            try {
+                expressions = tasks.get(new RunnableWrapper(task));
+                if (expressions == null) {
+                    return false;
+                }
+                expressions = new ArrayList<>(expressions);
+            } finally {
+                wheelLock.unlock();
+            }
+            for (ScheduledExpression scheduledExpression : expressions) {
+                cancelFuture(scheduledExpression);
+            }
+            super.purge();
+            return true;
+        }
+
+        private void cancelFuture(ScheduledExpression scheduledExpression) {
+            Future<?> future = scheduledExpression.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            stopMonitor();
+            super.shutdown();
         }
 
-        private boolean doRemoveFutures(RunnableWrapper task) {
-            logger.trace("Removing Runnable '{}' from the scheduler", task);
+        @Override
+        public List<Runnable> shutdownNow() {
+            stopMonitor();
+            return super.shutdownNow();
+        }
 
-            List<Future<?>> obsoleteFutures = new ArrayList<Future<?>>();
+        private void stopMonitor() {
+            wheelLock.lock();
             try {
-                futuresLock.lock();
-                List<ScheduledFuture<?>> taskFutures = futures.get(task);
-                if (taskFutures != null) {
-                    if (taskFutures.size() != 0) {
-                        logger.trace("Runnable '{}' has {} Futures to be removed", task, taskFutures.size());
-                        for (Future<?> future : taskFutures) {
-                            future.cancel(false);
-                            timestamps.remove(future);
-                            obsoleteFutures.add(future);
-                        }
-                    }
+                running = false;
+                wheelChanged.signalAll();
+            } finally {
+                wheelLock.unlock();
+            }
+        }
 
-                    for (Future<?> future : obsoleteFutures) {
-                        taskFutures.remove(future);
-                    }
+        /**
+         * An expression together with its task and its next execution.
+         */
+        private static class ScheduledExpression {
 
-                    super.purge();
+            private final Expression expression;
+            private final RunnableWrapper task;
+            private long time;
+            private TimingWheel.Timeout<ScheduledExpression> timeout;
+            private volatile Future<?> future;
 
-                    if (taskFutures.size() == 0) {
-                        futures.remove(task);
-                        return true;
-                    }
-                }
-                return false;
-            } finally {
-                futuresLock.unlock();
+            ScheduledExpression(Expression expression, RunnableWrapper task) {
+                this.expression = expression;
+                this.task = task;
             }
         }
     }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.core.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hashed timing wheel, which keeps values until their deadline has passed.
+ *
+ * <p>
+ * The time is divided into ticks of a fixed duration. The wheel has a power of two number of buckets, and a value is
+ * kept in the bucket of the tick its deadline falls into (modulo the number of buckets) in a doubly linked list, so
+ * adding and cancelling a value takes constant time. Expiring the values of a tick only has to look at the values of
+ * one bucket, whose number is about the number of values divided by the number of buckets.
+ *
+ * <p>
+ * Values never expire before their deadline, but up to one tick after it. The wheel is not thread safe.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> type of the values
+ */
+class TimingWheel<T> {
+
+    private final long startTime;
+    private final long tickDuration;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+
+    // the last tick whose values have been expired
+    private long expiredTick;
+    private int size;
+
+    /**
+     * Creates a timing wheel.
+     *
+     * @param startTime the time of the first tick (in milliseconds)
+     * @param tickDuration the duration of a tick (in milliseconds)
+     * @param bucketCount the minimum number of buckets, which is rounded up to the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(long startTime, long tickDuration, int bucketCount) {
+        if (tickDuration < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("The tick duration and the number of buckets must be positive.");
+        }
+        int length = Integer.highestOneBit(bucketCount);
+        if (length < bucketCount) {
+            length <<= 1;
+        }
+        this.startTime = startTime;
+        this.tickDuration = tickDuration;
+        this.buckets = new Timeout[length];
+        this.mask = length - 1;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param deadline the time (in milliseconds) after which the value expires
+     * @param value the value
+     * @return the timeout, which can be used to cancel it
+     */
+    Timeout<T> add(long deadline, T value) {
+        // round up, so the value does not expire early; deadlines in the past expire with the next tick
+        long tick = Math.max(Math.floorDiv(deadline - startTime + tickDuration - 1, tickDuration), expiredTick + 1);
+        Timeout<T> timeout = new Timeout<>(tick, value);
+        int index = (int) (tick & mask);
+        Timeout<T> head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.previous = timeout;
+        }
+        buckets[index] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a timeout, so its value does not expire.
+     *
+     * @param timeout the timeout returned by {@link #add(long, Object)}
+     * @return true if the timeout has been cancelled, false if it has expired or been cancelled before
+     */
+    boolean cancel(Timeout<T> timeout) {
+        if (!timeout.pending) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Removes and returns all values whose deadlines have passed.
+     *
+     * @param now the current time (in milliseconds)
+     * @return the expired values
+     */
+    List<T> expire(long now) {
+        long nowTick = Math.floorDiv(now - startTime, tickDuration);
+        if (nowTick <= expiredTick) {
+            return new ArrayList<>(0);
+        }
+        List<T> expired = new ArrayList<>();
+        // every bucket has to be visited at most once, even if many ticks have passed
+        long lastTick = Math.min(nowTick, expiredTick + buckets.length);
+        for (long tick = expiredTick + 1; tick <= lastTick; tick++) {
+            Timeout<T> timeout = buckets[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.tick <= nowTick) {
+                    unlink(timeout);
+                    expired.add(timeout.value);
+                }
+                timeout = next;
+            }
+        }
+        expiredTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * Returns the time at which the next tick ends, i.e. when {@link #expire(long)} should be called next.
+     *
+     * @return the time (in milliseconds)
+     */
+    long getNextTickTime() {
+        return startTime + (expiredTick + 1) * tickDuration;
+    }
+
+    /**
+     * Returns the number of pending values.
+     *
+     * @return the number of values
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            buckets[(int) (timeout.tick & mask)] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.pending = false;
+        size--;
+    }
+
+    /**
+     * A value added to the wheel.
+     *
+     * @param <T> type of the value
+     */
+    static class Timeout<T> {
+
+        private final long tick;
+        private final T value;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private boolean pending = true;
+
+        private Timeout(long tick, T value) {
+            this.tick = tick;
+            this.value = value;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        boolean isPending() {
+            return pending;
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipse.smarthome.core.storage;
 
 import java.util.AbstractMap;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -60,6 +61,11 @@ public interface Storage<T> {
     /**
      * Gets the value mapped to the key specified.
      *
+     * <p>
+     * Storages may be configured to cache the values they return (like the JSON storage does if its
+     * {@code cache_values} option is enabled). Then the returned instance is shared with other callers, so it must not
+     * be modified without putting it back.
+     *
      * @param key the key
      * @return the mapped value, null if no match
      */
@@ -74,7 +80,8 @@ public interface Storage<T> {
     Collection<String> getKeys();
 
     /**
-     * Gets all values of this Storage.
+     * Gets all values of this Storage. Like {@link #get(String)}, the returned values might be shared with other
+     * callers.
      *
      * @return the values of this Storage
      */
@@ -89,4 +96,40 @@ public interface Storage<T> {
         return getKeys().stream().map(key -> new AbstractMap.SimpleImmutableEntry<>(key, get(key)));
     }
 
+    /**
+     * Puts several key-value mappings into this Storage at once.
+     *
+     * <p>
+     * Implementations should override this method if they are able to store several mappings more efficiently than
+     * one by one, e.g. by writing them to disk in a single transaction.
+     *
+     * @param values the key-value mappings to add
+     */
+    default void putAll(Map<String, T> values) {
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Removes several mappings from this Storage at once.
+     *
+     * <p>
+     * Implementations should override this method if they are able to remove several mappings more efficiently than
+     * one by one, e.g. by writing the changes to disk in a single transaction.
+     *
+     * @param keys the keys of the mappings to remove
+     * @return the removed values indexed by their keys (keys without a mapping are not contained)
+     */
+    default Map<String, T> removeAll(Collection<String> keys) {
+        Map<String, T> removed = new HashMap<>();
+        for (String key : keys) {
+            T value = remove(key);
+            if (value != null) {
+                removed.put(key, value);
+            }
+        }
+        return removed;
+    }
+
 }
@@ -15,6 +15,8 @@ package org.eclipse.smarthome.core.types;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is a helper class that helps parsing a string into an Eclipse SmartHome type (state or command).
@@ -32,6 +34,11 @@ public final class TypeParser {
 
     private static final String CORE_LIBRARY_PACKAGE = "org.eclipse.smarthome.core.library.types.";
 
+    /**
+     * The #valueOf(String) methods of the core library types indexed by their type name.
+     */
+    private static final Map<String, Method> VALUE_OF_METHODS = new ConcurrentHashMap<>();
+
     /**
      * Parses a string into a type.
      *
@@ -41,9 +48,7 @@ public final class TypeParser {
      */
     public static Type parseType(String typeName, String input) {
         try {
-            Class<?> stateClass = Class.forName(CORE_LIBRARY_PACKAGE + typeName);
-            Method valueOfMethod = stateClass.getMethod("valueOf", String.class);
-            return (Type) valueOfMethod.invoke(stateClass, input);
+            return (Type) getValueOfMethod(typeName).invoke(null, input);
         } catch (ClassNotFoundException e) {
         } catch (NoSuchMethodException e) {
         } catch (IllegalAccessException e) {
@@ -52,6 +57,24 @@ public final class TypeParser {
         return null;
     }
 
+    /**
+     * Returns the #valueOf(String) method of a core library type. The method is looked up only once per type.
+     *
+     * @param typeName name of the type, for example StringType.
+     * @return the #valueOf(String) method of the type
+     * @throws ClassNotFoundException if there is no core library type of the given name
+     * @throws NoSuchMethodException if the type has no #valueOf(String) method
+     */
+    public static Method getValueOfMethod(String typeName) throws ClassNotFoundException, NoSuchMethodException {
+        Method valueOfMethod = VALUE_OF_METHODS.get(typeName);
+        if (valueOfMethod == null) {
+            Class<?> stateClass = Class.forName(CORE_LIBRARY_PACKAGE + typeName);
+            valueOfMethod = stateClass.getMethod("valueOf", String.class);
+            VALUE_OF_METHODS.put(typeName, valueOfMethod);
+        }
+        return valueOfMethod;
+    }
+
     /**
      * <p>
      * Determines a state from a string. Possible state types are passed as a parameter. Note that the order matters
@@ -48,8 +48,10 @@ public class EventLogger implements EventSubscriber {
     @Override
     public void receive(Event event) {
         Logger logger = getLogger(event.getType());
-        logger.trace("Received event of type '{}' under the topic '{}' with payload: '{}'", event.getType(),
-                event.getTopic(), event.getPayload());
+        if (logger.isTraceEnabled()) {
+            logger.trace("Received event of type '{}' under the topic '{}' with payload: '{}'", event.getType(),
+                    event.getTopic(), event.getPayload());
+        }
         logger.info("{}", event);
     }
 
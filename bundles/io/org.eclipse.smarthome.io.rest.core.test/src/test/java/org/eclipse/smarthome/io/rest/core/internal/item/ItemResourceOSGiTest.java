@@ -19,15 +19,20 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.commons.io.IOUtils;
@@ -41,7 +46,9 @@ import org.eclipse.smarthome.core.items.dto.GroupItemDTO;
 import org.eclipse.smarthome.core.items.dto.MetadataDTO;
 import org.eclipse.smarthome.core.library.items.DimmerItem;
 import org.eclipse.smarthome.core.library.items.SwitchItem;
+import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.io.rest.RESTResource;
+import org.eclipse.smarthome.io.rest.core.item.ItemBatchEntryDTO;
 import org.eclipse.smarthome.test.java.JavaOSGiTest;
 import org.junit.Before;
 import org.junit.Test;
@@ -68,6 +75,8 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
 
     private ManagedItemProvider managedItemProvider;
 
+    private Request request;
+
     @Before
     public void setup() {
         initMocks(this);
@@ -76,6 +85,7 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
         assertNotNull(itemResource);
 
         itemResource.uriInfo = mock(UriInfo.class);
+        request = mock(Request.class);
 
         registerVolatileStorageService();
         managedItemProvider = getService(ManagedItemProvider.class);
@@ -95,25 +105,25 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
         item2.addTag("Tag2");
         item3.addTag("Tag2");
 
-        Response response = itemResource.getItems(null, null, "Tag1", null, false, null);
+        Response response = itemResource.getItems(request, null, null, "Tag1", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasItems(ITEM_NAME1, ITEM_NAME2));
 
-        response = itemResource.getItems(null, null, "Tag2", null, false, null);
+        response = itemResource.getItems(request, null, null, "Tag2", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasItems(ITEM_NAME2, ITEM_NAME3));
 
-        response = itemResource.getItems(null, null, "NotExistingTag", null, false, null);
+        response = itemResource.getItems(request, null, null, "NotExistingTag", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasSize(0));
     }
 
     @Test
     public void shouldFilterItemsByType() throws Exception {
-        Response response = itemResource.getItems(null, "Switch", null, null, false, null);
+        Response response = itemResource.getItems(request, null, "Switch", null, null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasItems(ITEM_NAME1, ITEM_NAME2));
 
-        response = itemResource.getItems(null, "Dimmer", null, null, false, null);
+        response = itemResource.getItems(request, null, "Dimmer", null, null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasItems(ITEM_NAME3));
 
-        response = itemResource.getItems(null, "Color", null, null, false, null);
+        response = itemResource.getItems(request, null, "Color", null, null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasSize(0));
     }
 
@@ -121,15 +131,15 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
     public void shouldAddAndRemoveTags() throws Exception {
         managedItemProvider.add(new SwitchItem("Switch"));
 
-        Response response = itemResource.getItems(null, null, "MyTag", null, false, null);
+        Response response = itemResource.getItems(request, null, null, "MyTag", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasSize(0));
 
         itemResource.addTag("Switch", "MyTag");
-        response = itemResource.getItems(null, null, "MyTag", null, false, null);
+        response = itemResource.getItems(request, null, null, "MyTag", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasSize(1));
 
         itemResource.removeTag("Switch", "MyTag");
-        response = itemResource.getItems(null, null, "MyTag", null, false, null);
+        response = itemResource.getItems(request, null, null, "MyTag", null, false, null, null);
         assertThat(readItemNamesFromResponse(response), hasSize(0));
     }
 
@@ -138,9 +148,9 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
         JsonParser parser = new JsonParser();
         managedItemProvider.add(new SwitchItem("Switch"));
         itemResource.addTag("Switch", "MyTag");
-        Response response = itemResource.getItems(null, null, "MyTag", null, false, "type,name");
+        Response response = itemResource.getItems(request, null, null, "MyTag", null, false, "type,name", null);
 
-        JsonElement result = parser.parse(IOUtils.toString((InputStream) response.getEntity()));
+        JsonElement result = parser.parse(readEntity(response));
         JsonElement expected = parser.parse("[{editable: true, type: \"Switch\", name: \"Switch\"}]");
         assertEquals(expected, result);
     }
@@ -161,11 +171,56 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
         assertThat(response.getStatus(), is(Status.METHOD_NOT_ALLOWED.getStatusCode()));
     }
 
-    private List<String> readItemNamesFromResponse(Response response) throws IOException {
+    @Test
+    public void shouldReturnNotModifiedForUnchangedItems() {
+        Response response = itemResource.getItems(request, null, null, null, null, false, null, null);
+        assertThat(response.getStatus(), is(Status.OK.getStatusCode()));
+        EntityTag entityTag = response.getEntityTag();
+        assertNotNull(entityTag);
+
+        when(request.evaluatePreconditions(entityTag)).thenReturn(Response.notModified());
+        response = itemResource.getItems(request, null, null, null, null, false, null, null);
+        assertThat(response.getStatus(), is(Status.NOT_MODIFIED.getStatusCode()));
+
+        item1.setState(OnOffType.ON);
+        response = itemResource.getItems(request, null, null, null, null, false, null, null);
+        assertThat(response.getStatus(), is(Status.OK.getStatusCode()));
+        assertThat(response.getEntityTag().equals(entityTag), is(false));
+    }
+
+    @Test
+    public void shouldReturnItemsChangedSinceVersion() throws IOException {
+        // an unknown version returns all items
+        Response response = itemResource.getItems(request, null, null, null, null, false, null, 0L);
         String jsonResponse = IOUtils.toString((InputStream) response.getEntity());
+        assertThat(JsonPath.<Boolean> read(jsonResponse, "$.complete"), is(true));
+        assertThat(JsonPath.<List<String>> read(jsonResponse, "$.changed[*].name"),
+                hasItems(ITEM_NAME1, ITEM_NAME2, ITEM_NAME3));
+        long version = JsonPath.<Number> read(jsonResponse, "$.version").longValue();
+
+        item1.setState(OnOffType.ON);
+        unregisterService(itemProvider);
+        when(itemProvider.getAll()).thenReturn(Arrays.asList(item1, item3));
+        registerService(itemProvider);
+
+        response = itemResource.getItems(request, null, "Switch", null, null, false, null, version);
+        jsonResponse = IOUtils.toString((InputStream) response.getEntity());
+        assertThat(JsonPath.<Boolean> read(jsonResponse, "$.complete"), is(false));
+        assertThat(JsonPath.<List<String>> read(jsonResponse, "$.changed[*].name"), is(Arrays.asList(ITEM_NAME1)));
+        assertThat(JsonPath.<List<String>> read(jsonResponse, "$.removed"), hasItems(ITEM_NAME2));
+    }
+
+    private List<String> readItemNamesFromResponse(Response response) throws IOException {
+        String jsonResponse = readEntity(response);
         return JsonPath.read(jsonResponse, "$..name");
     }
 
+    private String readEntity(Response response) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     @Test
     public void addMultipleItems() throws IOException {
 
@@ -214,6 +269,34 @@ public class ItemResourceOSGiTest extends JavaOSGiTest {
         assertThat(statusCodes.get(1), is("updated"));
     }
 
+    @Test
+    public void postItemBatch() throws IOException {
+        ItemBatchEntryDTO command = new ItemBatchEntryDTO();
+        command.item = ITEM_NAME1;
+        command.command = "ON";
+        ItemBatchEntryDTO state = new ItemBatchEntryDTO();
+        state.item = ITEM_NAME3;
+        state.state = "50";
+        ItemBatchEntryDTO unknownItem = new ItemBatchEntryDTO();
+        unknownItem.item = "UnknownItem";
+        unknownItem.command = "ON";
+        ItemBatchEntryDTO invalidCommand = new ItemBatchEntryDTO();
+        invalidCommand.item = ITEM_NAME2;
+        invalidCommand.command = "UP";
+        ItemBatchEntryDTO noValue = new ItemBatchEntryDTO();
+        noValue.item = ITEM_NAME2;
+
+        Response response = itemResource
+                .postItemBatch(new ItemBatchEntryDTO[] { command, state, unknownItem, invalidCommand, noValue });
+        assertThat(response.getStatus(), is(Status.OK.getStatusCode()));
+
+        String jsonResponse = IOUtils.toString((InputStream) response.getEntity());
+        List<String> statusCodes = JsonPath.read(jsonResponse, "$..status");
+        assertThat(statusCodes, is(Arrays.asList("accepted", "accepted", "error", "error", "error")));
+
+        assertThat(itemResource.postItemBatch(null).getStatus(), is(Status.BAD_REQUEST.getStatusCode()));
+    }
+
     @Test
     public void testMetadata() {
         MetadataDTO dto = new MetadataDTO();
@@ -44,7 +44,7 @@ import org.eclipse.smarthome.core.binding.BindingInfoRegistry;
 import org.eclipse.smarthome.core.binding.dto.BindingInfoDTO;
 import org.eclipse.smarthome.io.rest.LocaleService;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.Stream2JSONStreamingOutput;
 import org.eclipse.smarthome.io.rest.core.config.ConfigurationService;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
@@ -116,7 +116,7 @@ public class BindingResource implements RESTResource {
         final Locale locale = localeService.getLocale(language);
         Set<BindingInfo> bindingInfos = bindingInfoRegistry.getBindingInfos(locale);
 
-        return Response.ok(new Stream2JSONInputStream(bindingInfos.stream().map(b -> map(b, locale)))).build();
+        return Response.ok(new Stream2JSONStreamingOutput(bindingInfos.stream().map(b -> map(b, locale)))).build();
     }
 
     @GET
@@ -37,7 +37,7 @@ import org.eclipse.smarthome.core.auth.Role;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.LocaleService;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.Stream2JSONStreamingOutput;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -87,7 +87,7 @@ public class ConfigDescriptionResource implements RESTResource {
         Locale locale = localeService.getLocale(language);
         Collection<ConfigDescription> configDescriptions = configDescriptionRegistry.getConfigDescriptions(locale);
 
-        return Response.ok(new Stream2JSONInputStream(configDescriptions.stream().filter(configDescription -> {
+        return Response.ok(new Stream2JSONStreamingOutput(configDescriptions.stream().filter(configDescription -> {
             return scheme == null || scheme.equals(configDescription.getUID().getScheme());
         }).map(ConfigDescriptionDTOMapper::map))).build();
     }
@@ -12,13 +12,19 @@
  */
 package org.eclipse.smarthome.io.rest.core.internal.item;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -37,8 +43,10 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
@@ -47,6 +55,8 @@ import javax.ws.rs.core.UriInfo;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.auth.Role;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeLog;
+import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.ActiveItem;
 import org.eclipse.smarthome.core.items.GenericItem;
@@ -70,14 +80,15 @@ import org.eclipse.smarthome.core.library.types.UpDownType;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.TypeParser;
-import org.eclipse.smarthome.io.rest.DTOMapper;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.LocaleService;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.RegistryDeltaDTO;
+import org.eclipse.smarthome.io.rest.Stream2JSONStreamingOutput;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedGroupItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTOMapper;
+import org.eclipse.smarthome.io.rest.core.item.ItemBatchEntryDTO;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -138,8 +149,6 @@ public class ItemResource implements RESTResource {
     @NonNullByDefault({})
     private ManagedItemProvider managedItemProvider;
     @NonNullByDefault({})
-    private DTOMapper dtoMapper;
-    @NonNullByDefault({})
     private MetadataSelectorMatcher metadataSelectorMatcher;
 
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -191,15 +200,6 @@ public class ItemResource implements RESTResource {
         this.itemFactories.remove(itemFactory);
     }
 
-    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
-    protected void setDTOMapper(DTOMapper dtoMapper) {
-        this.dtoMapper = dtoMapper;
-    }
-
-    protected void unsetDTOMapper(DTOMapper dtoMapper) {
-        this.dtoMapper = dtoMapper;
-    }
-
     @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
     protected void setLocaleService(LocaleService localeService) {
         this.localeService = localeService;
@@ -223,24 +223,106 @@ public class ItemResource implements RESTResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all available items.", response = EnrichedItemDTO.class, responseContainer = "List")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "OK", response = EnrichedItemDTO.class, responseContainer = "List") })
-    public Response getItems(
+            @ApiResponse(code = 200, message = "OK", response = EnrichedItemDTO.class, responseContainer = "List"),
+            @ApiResponse(code = 304, message = "Not Modified") })
+    public Response getItems(@Context Request request,
             @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") @Nullable String language,
             @QueryParam("type") @ApiParam(value = "item type filter", required = false) @Nullable String type,
             @QueryParam("tags") @ApiParam(value = "item tag filter", required = false) @Nullable String tags,
             @QueryParam("metadata") @ApiParam(value = "metadata selector", required = false) @Nullable String namespaceSelector,
             @DefaultValue("false") @QueryParam("recursive") @ApiParam(value = "get member items recursively", required = false) boolean recursive,
-            @QueryParam("fields") @ApiParam(value = "limit output to the given fields (comma separated)", required = false) @Nullable String fields) {
+            @QueryParam("fields") @ApiParam(value = "limit output to the given fields (comma separated)", required = false) @Nullable String fields,
+            @QueryParam("since") @ApiParam(value = "only get the items changed since the given version (returns a delta object, metadata changes are not considered)", required = false) @Nullable Long since) {
         final Locale locale = localeService.getLocale(language);
         final Set<String> namespaces = splitAndFilterNamespaces(namespaceSelector, locale);
         logger.debug("Received HTTP GET request at '{}'", uriInfo.getPath());
 
+        // the versions have to be read before the items, so changes made meanwhile are reported by the next request
+        final RegistryChangeLog<String> changeLog = itemRegistry.getChangeLog();
+        if (since != null) {
+            return getItemsDelta(changeLog, since, type, tags, namespaces, recursive, locale);
+        }
+
+        EntityTag entityTag = null;
+        if (changeLog != null) {
+            StringBuilder version = new StringBuilder().append(changeLog.getVersion());
+            RegistryChangeLog<MetadataKey> metadataChangeLog = metadataRegistry.getChangeLog();
+            if (!namespaces.isEmpty() && metadataChangeLog != null) {
+                version.append('-').append(metadataChangeLog.getVersion());
+            }
+            version.append('-').append(
+                    Integer.toHexString(Objects.hash(locale, type, tags, namespaces, recursive, fields)));
+            // weak, as the representation might be compressed
+            entityTag = new EntityTag(version.toString(), true);
+            ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+        }
+
         Stream<EnrichedItemDTO> itemStream = getItems(type, tags).stream() //
-                .map(item -> EnrichedItemDTOMapper.map(item, recursive, null, uriInfo.getBaseUri(), locale)) //
-                .peek(dto -> addMetadata(dto, namespaces, null)) //
-                .peek(dto -> dto.editable = isEditable(dto.name));
-        itemStream = dtoMapper.limitToFields(itemStream, fields);
-        return Response.ok(new Stream2JSONInputStream(itemStream)).build();
+                .map(item -> createEnrichedItemDTO(item, namespaces, recursive, locale));
+        return Response.ok(new Stream2JSONStreamingOutput(itemStream, fields)).tag(entityTag).build();
+    }
+
+    private Response getItemsDelta(@Nullable RegistryChangeLog<String> changeLog, long since, @Nullable String type,
+            @Nullable String tags, Set<String> namespaces, boolean recursive, Locale locale) {
+        RegistryDeltaDTO<EnrichedItemDTO> delta = new RegistryDeltaDTO<>();
+        delta.changed = new ArrayList<>();
+        delta.removed = new ArrayList<>();
+
+        Set<String> changedItemNames = null;
+        if (changeLog != null) {
+            delta.version = changeLog.getVersion();
+            changedItemNames = changeLog.getChangedSince(since);
+        }
+
+        if (changedItemNames == null) {
+            delta.complete = true;
+            for (Item item : getItems(type, tags)) {
+                delta.changed.add(createEnrichedItemDTO(item, namespaces, recursive, locale));
+            }
+        } else {
+            if (recursive) {
+                // the members are part of their groups then
+                changedItemNames = addGroupNames(changedItemNames);
+            }
+            String[] tagList = tags == null ? new String[0] : tags.split(",");
+            for (String itemName : changedItemNames) {
+                Item item = getItem(itemName);
+                if (item != null && (type == null || type.equals(item.getType()))
+                        && Arrays.stream(tagList).allMatch(item::hasTag)) {
+                    delta.changed.add(createEnrichedItemDTO(item, namespaces, recursive, locale));
+                } else {
+                    delta.removed.add(itemName);
+                }
+            }
+        }
+        return JSONResponse.createResponse(Status.OK, delta, null);
+    }
+
+    private Set<String> addGroupNames(Set<String> itemNames) {
+        Set<String> result = new LinkedHashSet<>(itemNames);
+        Deque<String> pending = new ArrayDeque<>(itemNames);
+        while (!pending.isEmpty()) {
+            Item item = getItem(pending.poll());
+            if (item != null) {
+                for (String groupName : item.getGroupNames()) {
+                    if (result.add(groupName)) {
+                        pending.add(groupName);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private EnrichedItemDTO createEnrichedItemDTO(Item item, Set<String> namespaces, boolean recursive,
+            Locale locale) {
+        EnrichedItemDTO dto = EnrichedItemDTOMapper.map(item, recursive, null, uriInfo.getBaseUri(), locale);
+        addMetadata(dto, namespaces, null);
+        dto.editable = isEditable(dto.name);
+        return dto;
     }
 
     @GET
@@ -359,24 +441,8 @@ public class ItemResource implements RESTResource {
             @PathParam("itemname") @ApiParam(value = "item name", required = true) String itemname,
             @ApiParam(value = "valid item command (e.g. ON, OFF, UP, DOWN, REFRESH)", required = true) String value) {
         Item item = getItem(itemname);
-        Command command = null;
         if (item != null) {
-            if ("toggle".equalsIgnoreCase(value) && (item instanceof SwitchItem || item instanceof RollershutterItem)) {
-                if (OnOffType.ON.equals(item.getStateAs(OnOffType.class))) {
-                    command = OnOffType.OFF;
-                }
-                if (OnOffType.OFF.equals(item.getStateAs(OnOffType.class))) {
-                    command = OnOffType.ON;
-                }
-                if (UpDownType.UP.equals(item.getStateAs(UpDownType.class))) {
-                    command = UpDownType.DOWN;
-                }
-                if (UpDownType.DOWN.equals(item.getStateAs(UpDownType.class))) {
-                    command = UpDownType.UP;
-                }
-            } else {
-                command = TypeParser.parseCommand(item.getAcceptedCommandTypes(), value);
-            }
+            Command command = parseCommand(item, value);
             if (command != null) {
                 logger.debug("Received HTTP POST request at '{}' with value '{}'.", uriInfo.getPath(), value);
                 eventPublisher.post(ItemEventFactory.createCommandEvent(itemname, command));
@@ -394,6 +460,74 @@ public class ItemResource implements RESTResource {
         }
     }
 
+    @POST
+    @RolesAllowed({ Role.USER, Role.ADMIN })
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Sends commands to items or updates their states.")
+    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK", response = String.class),
+            @ApiResponse(code = 400, message = "Entry list is null.") })
+    public Response postItemBatch(
+            @ApiParam(value = "array of item names with a command or a state", required = true) ItemBatchEntryDTO[] entries) {
+        if (entries == null) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+        logger.debug("Received HTTP POST request at '{}' with {} entries.", uriInfo.getPath(), entries.length);
+
+        List<Event> events = new ArrayList<>(entries.length);
+        List<JsonObject> responseList = new ArrayList<>(entries.length);
+        for (ItemBatchEntryDTO entry : entries) {
+            String itemName = entry == null || entry.item == null ? "" : entry.item;
+            Item item = itemName.isEmpty() ? null : getItem(itemName);
+            if (item == null) {
+                responseList.add(buildStatusObject(itemName, "error", "Item " + itemName + " does not exist!"));
+            } else if ((entry.command == null) == (entry.state == null)) {
+                responseList.add(buildStatusObject(itemName, "error", "Either a command or a state has to be given."));
+            } else if (entry.command != null) {
+                Command command = parseCommand(item, entry.command);
+                if (command != null) {
+                    events.add(ItemEventFactory.createCommandEvent(itemName, command));
+                    responseList.add(buildStatusObject(itemName, "accepted", null));
+                } else {
+                    responseList.add(
+                            buildStatusObject(itemName, "error", "Command could not be parsed: " + entry.command));
+                }
+            } else {
+                State state = TypeParser.parseState(item.getAcceptedDataTypes(), entry.state);
+                if (state != null) {
+                    events.add(ItemEventFactory.createStateEvent(itemName, state));
+                    responseList.add(buildStatusObject(itemName, "accepted", null));
+                } else {
+                    responseList.add(buildStatusObject(itemName, "error", "State could not be parsed: " + entry.state));
+                }
+            }
+        }
+
+        eventPublisher.postAll(events);
+        return JSONResponse.createResponse(Status.OK, responseList, null);
+    }
+
+    private @Nullable Command parseCommand(Item item, String value) {
+        Command command = null;
+        if ("toggle".equalsIgnoreCase(value) && (item instanceof SwitchItem || item instanceof RollershutterItem)) {
+            if (OnOffType.ON.equals(item.getStateAs(OnOffType.class))) {
+                command = OnOffType.OFF;
+            }
+            if (OnOffType.OFF.equals(item.getStateAs(OnOffType.class))) {
+                command = OnOffType.ON;
+            }
+            if (UpDownType.UP.equals(item.getStateAs(UpDownType.class))) {
+                command = UpDownType.DOWN;
+            }
+            if (UpDownType.DOWN.equals(item.getStateAs(UpDownType.class))) {
+                command = UpDownType.UP;
+            }
+        } else {
+            command = TypeParser.parseCommand(item.getAcceptedCommandTypes(), value);
+        }
+        return command;
+    }
+
     @PUT
     @RolesAllowed({ Role.ADMIN })
     @Path("/{itemName: [a-zA-Z_0-9]*}/members/{memberItemName: [a-zA-Z_0-9]*}")
@@ -689,12 +823,18 @@ public class ItemResource implements RESTResource {
         List<Item> createdItems = new ArrayList<>();
         List<Item> updatedItems = new ArrayList<>();
         List<Item> failedItems = new ArrayList<>();
+        // the new items are added at once, so they are written to the storage in a single bulk operation
+        Map<String, Item> newItems = new LinkedHashMap<>();
 
         for (Item activeItem : activeItems) {
             String itemName = activeItem.getName();
-            if (getItem(itemName) == null) {
+            if (newItems.containsKey(itemName)) {
+                // item is listed twice, the later one replaces the one to be created
+                newItems.put(itemName, activeItem);
+                updatedItems.add(activeItem);
+            } else if (getItem(itemName) == null) {
                 // item does not yet exist, create it
-                managedItemProvider.add(activeItem);
+                newItems.put(itemName, activeItem);
                 createdItems.add(activeItem);
             } else if (managedItemProvider.get(itemName) != null) {
                 // item already exists as a managed item, update it
@@ -706,6 +846,9 @@ public class ItemResource implements RESTResource {
                 failedItems.add(activeItem);
             }
         }
+        if (!newItems.isEmpty()) {
+            managedItemProvider.addAll(newItems.values());
+        }
 
         // build response
         List<JsonObject> responseList = new ArrayList<>();
@@ -820,7 +963,7 @@ public class ItemResource implements RESTResource {
     @Override
     public boolean isSatisfied() {
         return itemRegistry != null && managedItemProvider != null && eventPublisher != null && !itemFactories.isEmpty()
-                && dtoMapper != null && metadataRegistry != null && metadataSelectorMatcher != null
+                && metadataRegistry != null && metadataSelectorMatcher != null
                 && localeService != null;
     }
 }
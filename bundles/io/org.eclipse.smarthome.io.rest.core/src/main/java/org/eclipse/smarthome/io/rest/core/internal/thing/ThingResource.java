@@ -40,9 +40,12 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
@@ -55,6 +58,7 @@ import org.eclipse.smarthome.config.core.status.ConfigStatusInfo;
 import org.eclipse.smarthome.config.core.status.ConfigStatusService;
 import org.eclipse.smarthome.config.core.validation.ConfigValidationException;
 import org.eclipse.smarthome.core.auth.Role;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeLog;
 import org.eclipse.smarthome.core.items.ItemFactory;
 import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.items.ManagedItemProvider;
@@ -90,7 +94,8 @@ import org.eclipse.smarthome.core.thing.util.ThingHelper;
 import org.eclipse.smarthome.io.rest.JSONResponse;
 import org.eclipse.smarthome.io.rest.LocaleService;
 import org.eclipse.smarthome.io.rest.RESTResource;
-import org.eclipse.smarthome.io.rest.Stream2JSONInputStream;
+import org.eclipse.smarthome.io.rest.RegistryDeltaDTO;
+import org.eclipse.smarthome.io.rest.Stream2JSONStreamingOutput;
 import org.eclipse.smarthome.io.rest.core.thing.EnrichedThingDTO;
 import org.eclipse.smarthome.io.rest.core.thing.EnrichedThingDTOMapper;
 import org.osgi.service.component.annotations.Component;
@@ -241,13 +246,66 @@ public class ThingResource implements RESTResource {
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get all available things.", response = EnrichedThingDTO.class, responseContainer = "Set")
     @ApiResponses(value = {
-            @ApiResponse(code = 200, message = "OK", response = EnrichedThingDTO.class, responseContainer = "Set") })
-    public Response getAll(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language) {
+            @ApiResponse(code = 200, message = "OK", response = EnrichedThingDTO.class, responseContainer = "Set"),
+            @ApiResponse(code = 304, message = "Not Modified") })
+    public Response getAll(@Context Request request,
+            @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language,
+            @QueryParam("since") @ApiParam(value = "only get the things changed since the given version (returns a delta object, link changes are not considered)", required = false) Long since) {
         final Locale locale = localeService.getLocale(language);
 
+        // the versions have to be read before the things, so changes made meanwhile are reported by the next request
+        final RegistryChangeLog<ThingUID> changeLog = thingRegistry.getChangeLog();
+        if (since != null) {
+            return getDelta(changeLog, since, locale);
+        }
+
+        EntityTag entityTag = null;
+        if (changeLog != null) {
+            StringBuilder version = new StringBuilder().append(changeLog.getVersion());
+            RegistryChangeLog<String> linkChangeLog = itemChannelLinkRegistry.getChangeLog();
+            if (linkChangeLog != null) {
+                version.append('-').append(linkChangeLog.getVersion());
+            }
+            version.append('-').append(Integer.toHexString(locale.hashCode()));
+            // weak, as the representation might be compressed
+            entityTag = new EntityTag(version.toString(), true);
+            ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+            if (notModified != null) {
+                return notModified.build();
+            }
+        }
+
         Stream<EnrichedThingDTO> thingStream = thingRegistry.stream().map(t -> convertToEnrichedThingDTO(t, locale))
                 .distinct();
-        return Response.ok(new Stream2JSONInputStream(thingStream)).build();
+        return Response.ok(new Stream2JSONStreamingOutput(thingStream)).tag(entityTag).build();
+    }
+
+    private Response getDelta(RegistryChangeLog<ThingUID> changeLog, long since, Locale locale) {
+        RegistryDeltaDTO<EnrichedThingDTO> delta = new RegistryDeltaDTO<>();
+        delta.changed = new ArrayList<>();
+        delta.removed = new ArrayList<>();
+
+        Set<ThingUID> changedThingUIDs = null;
+        if (changeLog != null) {
+            delta.version = changeLog.getVersion();
+            changedThingUIDs = changeLog.getChangedSince(since);
+        }
+
+        if (changedThingUIDs == null) {
+            delta.complete = true;
+            thingRegistry.stream().map(t -> convertToEnrichedThingDTO(t, locale)).distinct()
+                    .forEach(delta.changed::add);
+        } else {
+            for (ThingUID thingUID : changedThingUIDs) {
+                Thing thing = thingRegistry.get(thingUID);
+                if (thing != null) {
+                    delta.changed.add(convertToEnrichedThingDTO(thing, locale));
+                } else {
+                    delta.removed.add(thingUID.getAsString());
+                }
+            }
+        }
+        return JSONResponse.createResponse(Status.OK, delta, null);
     }
 
     @GET
@@ -574,7 +632,7 @@ public class ThingResource implements RESTResource {
         }
 
         Stream<FirmwareDTO> firmwareStream = firmwares.stream().map(this::convertToFirmwareDTO);
-        return Response.ok().entity(new Stream2JSONInputStream(firmwareStream)).build();
+        return Response.ok().entity(new Stream2JSONStreamingOutput(firmwareStream)).build();
     }
 
     private FirmwareDTO convertToFirmwareDTO(Firmware firmware) {
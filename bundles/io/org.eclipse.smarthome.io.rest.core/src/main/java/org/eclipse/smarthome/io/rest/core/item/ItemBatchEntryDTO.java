@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.core.item;
+
+/**
+ * This is a data transfer object that is used to send a command to an item or to update its state as part of a batch
+ * request. Exactly one of {@link #command} and {@link #state} has to be set.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemBatchEntryDTO {
+
+    public String item;
+    public String command;
+    public String state;
+
+}
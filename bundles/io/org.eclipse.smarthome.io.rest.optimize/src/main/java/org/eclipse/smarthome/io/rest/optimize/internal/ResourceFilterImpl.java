@@ -67,6 +67,7 @@ public class ResourceFilterImpl implements ResourceFilter {
             "javax.ws.rs.ext.MessageBodyReader", "javax.ws.rs.ext.MessageBodyWriter",
             // Eclipse SmartHome
             "org.eclipse.smarthome.io.rest.internal.filter.ProxyFilter",
+            "org.eclipse.smarthome.io.rest.internal.filter.GZipStreamingFilter",
             "org.eclipse.smarthome.io.rest.internal.resources.RootResource",
             "org.eclipse.smarthome.io.rest.JSONResponse$ExceptionMapper", "org.eclipse.smarthome.io.rest.RESTResource",
             "org.eclipse.smarthome.io.rest.sse.internal.async.BlockingAsyncFeature",
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.sitemap.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.smarthome.core.items.GenericItem;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.types.Command;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.io.rest.sitemap.SitemapSubscriptionService.SitemapSubscriptionCallback;
+import org.eclipse.smarthome.model.sitemap.ColorArray;
+import org.eclipse.smarthome.model.sitemap.Frame;
+import org.eclipse.smarthome.model.sitemap.VisibilityRule;
+import org.eclipse.smarthome.model.sitemap.Widget;
+import org.eclipse.smarthome.ui.items.ItemUIRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+/**
+ * Tests for the {@link PageChangeListener}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PageChangeListenerTest {
+
+    private static final String SITEMAP_NAME = "sitemapModel";
+    private static final String PAGE_ID = "defaultSitemap";
+    private static final String UNRELATED_ITEM_NAME = "unrelatedItem";
+    private static final String ITEM_NAME = "item";
+    private static final String VISIBILITY_RULE_ITEM_NAME = "visibilityRuleItem";
+    private static final String OTHER_ITEM_NAME = "otherItem";
+    private static final String WIDGET_IN_FRAME_ID = "0000";
+    private static final String WIDGET_ID = "01";
+
+    @Mock
+    private ItemUIRegistry itemUIRegistry;
+
+    @Mock
+    private SitemapSubscriptionCallback callback;
+
+    private GenericItem item;
+    private GenericItem visibilityRuleItem;
+    private GenericItem otherItem;
+    private GenericItem unrelatedItem;
+
+    private Frame frame;
+    private Widget widgetInFrame;
+    private Widget widget;
+
+    private PageChangeListener listener;
+
+    @Before
+    public void setup() throws Exception {
+        initMocks(this);
+
+        item = new TestItem(ITEM_NAME);
+        visibilityRuleItem = new TestItem(VISIBILITY_RULE_ITEM_NAME);
+        otherItem = new TestItem(OTHER_ITEM_NAME);
+        unrelatedItem = new TestItem(UNRELATED_ITEM_NAME);
+        when(itemUIRegistry.getItem(ITEM_NAME)).thenReturn(item);
+        when(itemUIRegistry.getItem(VISIBILITY_RULE_ITEM_NAME)).thenReturn(visibilityRuleItem);
+        when(itemUIRegistry.getItem(OTHER_ITEM_NAME)).thenReturn(otherItem);
+        when(itemUIRegistry.getItem(UNRELATED_ITEM_NAME)).thenReturn(unrelatedItem);
+
+        // a frame containing a widget of the item and a widget that is visible depending on another item
+        widgetInFrame = mockWidget(Widget.class, ITEM_NAME, WIDGET_IN_FRAME_ID);
+        widget = mockWidget(Widget.class, OTHER_ITEM_NAME, WIDGET_ID);
+        VisibilityRule visibilityRule = mock(VisibilityRule.class);
+        when(visibilityRule.getItem()).thenReturn(VISIBILITY_RULE_ITEM_NAME);
+        when(widget.getVisibility()).thenReturn(new BasicEList<>(Collections.singletonList(visibilityRule)));
+
+        frame = mockWidget(Frame.class, null, "00");
+        EList<Widget> frameChildren = new BasicEList<>(Collections.singletonList(widgetInFrame));
+        when(frame.getChildren()).thenReturn(frameChildren);
+        when(itemUIRegistry.getChildren(frame)).thenReturn(frameChildren);
+
+        EList<Widget> widgets = new BasicEList<>();
+        widgets.add(frame);
+        widgets.add(widget);
+        listener = new PageChangeListener(SITEMAP_NAME, PAGE_ID, itemUIRegistry, widgets);
+        listener.addCallback(callback);
+    }
+
+    @After
+    public void tearDown() {
+        listener.dispose();
+    }
+
+    @Test
+    public void stateChangeShouldCreateEventForWidgetInFrame() {
+        item.setState(new DecimalType(1));
+        listener.stateChanged(item, null, item.getState());
+
+        List<SitemapEvent> events = getEvents(1);
+        SitemapWidgetEvent event = (SitemapWidgetEvent) events.get(0);
+        assertThat(event.sitemapName, is(SITEMAP_NAME));
+        assertThat(event.pageId, is(PAGE_ID));
+        assertThat(event.widgetId, is(WIDGET_IN_FRAME_ID));
+        assertThat(event.item.name, is(ITEM_NAME));
+    }
+
+    @Test
+    public void stateChangeShouldCreateEventForWidgetWithVisibilityRule() {
+        visibilityRuleItem.setState(new DecimalType(1));
+        listener.stateChanged(visibilityRuleItem, null, visibilityRuleItem.getState());
+
+        List<SitemapEvent> events = getEvents(1);
+        assertThat(((SitemapWidgetEvent) events.get(0)).widgetId, is(WIDGET_ID));
+    }
+
+    @Test
+    public void stateChangeShouldNotWalkThePageAgain() {
+        listener.stateChanged(item, null, item.getState());
+        listener.stateChanged(otherItem, null, otherItem.getState());
+        listener.stateChanged(unrelatedItem, null, unrelatedItem.getState());
+
+        // the frame children are only requested when the page is indexed
+        verify(itemUIRegistry, times(1)).getChildren(frame);
+        getEvents(2);
+    }
+
+    @Test
+    public void sitemapContentChangedShouldRebuildTheIndex() {
+        listener.sitemapContentChanged(new BasicEList<>(Collections.singletonList(widget)));
+
+        listener.stateChanged(item, null, item.getState());
+        listener.stateChanged(otherItem, null, otherItem.getState());
+
+        List<SitemapEvent> events = getEvents(2);
+        assertThat(events.get(0), is(instanceOf(SitemapChangedEvent.class)));
+        assertThat(((SitemapWidgetEvent) events.get(1)).widgetId, is(WIDGET_ID));
+    }
+
+    private List<SitemapEvent> getEvents(int count) {
+        ArgumentCaptor<SitemapEvent> captor = ArgumentCaptor.forClass(SitemapEvent.class);
+        verify(callback, times(count)).onEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private <T extends Widget> T mockWidget(Class<T> widgetClass, String itemName, String widgetId) {
+        T w = mock(widgetClass);
+        EClass eClass = mock(EClass.class);
+        when(eClass.getInstanceTypeName()).thenReturn(widgetClass.getName());
+        when(w.eClass()).thenReturn(eClass);
+        when(w.getItem()).thenReturn(itemName);
+        when(w.getVisibility()).thenReturn(new BasicEList<VisibilityRule>());
+        when(w.getLabelColor()).thenReturn(new BasicEList<ColorArray>());
+        when(w.getValueColor()).thenReturn(new BasicEList<ColorArray>());
+        when(itemUIRegistry.getWidgetId(w)).thenReturn(widgetId);
+        when(itemUIRegistry.getVisiblity(w)).thenReturn(true);
+        when(itemUIRegistry.getState(w)).thenAnswer(invocation -> {
+            return itemName == null ? null : itemUIRegistry.getItem(itemName).getState();
+        });
+        return w;
+    }
+
+    private class TestItem extends GenericItem {
+
+        public TestItem(String name) {
+            super("Number", name);
+        }
+
+        @Override
+        public List<Class<? extends State>> getAcceptedDataTypes() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<Class<? extends Command>> getAcceptedCommandTypes() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -26,6 +26,9 @@ import java.util.List;
 import java.util.Locale;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.container.TimeoutHandler;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
@@ -51,6 +54,7 @@ import org.eclipse.smarthome.test.java.JavaTest;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 /**
@@ -98,6 +102,9 @@ public class SitemapResourceTest extends JavaTest {
     @Mock
     private HttpHeaders headers;
 
+    @Mock
+    private AsyncResponse asyncResponse;
+
     private GenericItem item;
     private GenericItem visibilityRuleItem;
     private GenericItem labelColorItem;
@@ -161,74 +168,99 @@ public class SitemapResourceTest extends JavaTest {
 
     @Test
     public void whenLongPolling_ShouldObserveItems() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(STATE_UPDATE_WAIT_TIME); // wait for the #getPageData call and listeners to attach to the
-                                                      // item
-                item.setState(PercentType.ZERO);
-            } catch (InterruptedException e) {
-            }
-        }).start();
-
         // non-null is sufficient here.
         when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
 
-        Response response = sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null);
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+        verify(asyncResponse, never()).resume(any(Response.class));
 
-        PageDTO pageDTO = (PageDTO) response.getEntity();
-        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did trigger the blocking method to
-                                                // return
+        item.setState(PercentType.ZERO);
+
+        PageDTO pageDTO = getResumedPageDTO();
+        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did resume the response
     }
 
     @Test
     public void whenLongPolling_ShouldObserveItemsFromVisibilityRules() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(STATE_UPDATE_WAIT_TIME); // wait for the #getPageData call and listeners to attach to the
-                                                      // item
-                visibilityRuleItem.setState(new DecimalType(BigDecimal.ONE));
-            } catch (InterruptedException e) {
-            }
-        }).start();
-
         // non-null is sufficient here.
         when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
 
-        Response response = sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null);
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+        verify(asyncResponse, never()).resume(any(Response.class));
 
-        PageDTO pageDTO = (PageDTO) response.getEntity();
-        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did trigger the blocking method to
-                                                // return
+        visibilityRuleItem.setState(new DecimalType(BigDecimal.ONE));
+
+        PageDTO pageDTO = getResumedPageDTO();
+        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did resume the response
     }
 
     @Test
     public void whenLongPolling_ShouldObserveItemsFromLabelColorConditions() {
-        new Thread(() -> {
-            try {
-                Thread.sleep(STATE_UPDATE_WAIT_TIME); // wait for the #getPageData call and listeners to attach to the
-                                                      // item
-                labelColorItem.setState(new DecimalType(BigDecimal.ONE));
-            } catch (InterruptedException e) {
-            }
-        }).start();
-
         // non-null is sufficient here.
         when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
 
-        Response response = sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null);
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+        verify(asyncResponse, never()).resume(any(Response.class));
 
-        PageDTO pageDTO = (PageDTO) response.getEntity();
-        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did trigger the blocking method to
-                                                // return
+        labelColorItem.setState(new DecimalType(BigDecimal.ONE));
+
+        PageDTO pageDTO = getResumedPageDTO();
+        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did resume the response
     }
 
     @Test
     public void whenLongPolling_ShouldObserveItemsFromValueColorConditions() {
+        // non-null is sufficient here.
+        when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
+
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+        verify(asyncResponse, never()).resume(any(Response.class));
+
+        valueColorItem.setState(new DecimalType(BigDecimal.ONE));
+
+        PageDTO pageDTO = getResumedPageDTO();
+        assertThat(pageDTO.timeout, is(false)); // assert that the item state change did resume the response
+    }
+
+    @Test
+    public void whenLongPollingTimesOut_ShouldReturnPageBeanWithTimeout() {
+        // non-null is sufficient here.
+        when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
+
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+
+        ArgumentCaptor<TimeoutHandler> timeoutHandler = ArgumentCaptor.forClass(TimeoutHandler.class);
+        verify(asyncResponse).setTimeoutHandler(timeoutHandler.capture());
+        timeoutHandler.getValue().handleTimeout(asyncResponse);
+
+        PageDTO pageDTO = getResumedPageDTO();
+        assertThat(pageDTO.timeout, is(true));
+    }
+
+    @Test
+    public void whenLongPollingDisconnects_ShouldStopObservingItems() {
+        // non-null is sufficient here.
+        when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(Collections.emptyList());
+
+        sitemapResource.getPageData(headers, null, SITEMAP_MODEL_NAME, SITEMAP_NAME, null, asyncResponse);
+
+        ArgumentCaptor<Object> callback = ArgumentCaptor.forClass(Object.class);
+        verify(asyncResponse).register(callback.capture());
+        assertThat(callback.getValue(), is(instanceOf(ConnectionCallback.class)));
+        ((ConnectionCallback) callback.getValue()).onDisconnect(asyncResponse);
+
+        item.setState(PercentType.ZERO);
+
+        verify(asyncResponse, after(STATE_UPDATE_WAIT_TIME).never()).resume(any(Response.class));
+    }
+
+    @Test
+    public void whenLongPollingWithoutAsyncSupport_ShouldBlockUntilItemsChange() {
         new Thread(() -> {
             try {
                 Thread.sleep(STATE_UPDATE_WAIT_TIME); // wait for the #getPageData call and listeners to attach to the
                                                       // item
-                valueColorItem.setState(new DecimalType(BigDecimal.ONE));
+                item.setState(PercentType.ZERO);
             } catch (InterruptedException e) {
             }
         }).start();
@@ -243,6 +275,13 @@ public class SitemapResourceTest extends JavaTest {
                                                 // return
     }
 
+    @Test
+    public void whenNotLongPolling_ShouldServePageSynchronously() {
+        when(headers.getRequestHeader(HTTP_HEADER_X_ATMOSPHERE_TRANSPORT)).thenReturn(null);
+
+        assertThat(sitemapResource.getPageResource(headers), is(instanceOf(SitemapResource.PageResource.class)));
+    }
+
     @Test
     public void whenGetPageData_ShouldReturnPageBean() throws ItemNotFoundException {
         item.setState(new PercentType(50));
@@ -281,6 +320,12 @@ public class SitemapResourceTest extends JavaTest {
         assertThat(pageDTO.widgets.get(1).item.state, is("50"));
     }
 
+    private PageDTO getResumedPageDTO() {
+        ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+        verify(asyncResponse, timeout(DFL_TIMEOUT)).resume(response.capture());
+        return (PageDTO) response.getValue().getEntity();
+    }
+
     private void configureItemUIRegistry(State state1, State state2) throws ItemNotFoundException {
         when(itemUIRegistry.getChildren(defaultSitemap)).thenReturn(widgets);
         when(itemUIRegistry.getItem(ITEM_NAME)).thenReturn(item);
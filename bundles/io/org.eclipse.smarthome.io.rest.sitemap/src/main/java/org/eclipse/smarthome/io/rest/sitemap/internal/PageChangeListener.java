@@ -14,8 +14,10 @@ package org.eclipse.smarthome.io.rest.sitemap.internal;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 
@@ -27,6 +29,7 @@ import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.core.items.StateChangeListener;
 import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTO;
 import org.eclipse.smarthome.io.rest.core.item.EnrichedItemDTOMapper;
 import org.eclipse.smarthome.io.rest.sitemap.SitemapSubscriptionService.SitemapSubscriptionCallback;
 import org.eclipse.smarthome.model.sitemap.Chart;
@@ -49,6 +52,7 @@ public class PageChangeListener implements StateChangeListener {
     private final ItemUIRegistry itemUIRegistry;
     private EList<Widget> widgets;
     private Set<Item> items;
+    private Map<String, List<Widget>> widgetsByItemName = Collections.emptyMap();
     private final List<SitemapSubscriptionCallback> callbacks = Collections
             .synchronizedList(new ArrayList<SitemapSubscriptionCallback>());
     private Set<SitemapSubscriptionCallback> distinctCallbacks = Collections.emptySet();
@@ -81,6 +85,7 @@ public class PageChangeListener implements StateChangeListener {
         }
 
         this.widgets = widgets;
+        widgetsByItemName = indexWidgets(widgets);
         items = getAllItems(widgets);
         for (Item item : items) {
             if (item instanceof GenericItem) {
@@ -164,13 +169,57 @@ public class PageChangeListener implements StateChangeListener {
         }
     }
 
+    /**
+     * Creates the index of the widgets of the page that have to be updated when the state of an item changes. A widget
+     * is indexed under the name of its item (unless it is a chart that refreshes itself) and under the names of all
+     * items used in its visibility and color rules. The children of frames are included.
+     *
+     * @param widgets the widgets of the page
+     * @return the widgets to update for each item name
+     */
+    private Map<String, List<Widget>> indexWidgets(EList<Widget> widgets) {
+        Map<String, List<Widget>> index = new HashMap<>();
+        indexWidgets(index, widgets);
+        return index;
+    }
+
+    private void indexWidgets(Map<String, List<Widget>> index, List<Widget> widgets) {
+        if (itemUIRegistry == null) {
+            return;
+        }
+        for (Widget w : widgets) {
+            if (w instanceof Frame) {
+                indexWidgets(index, itemUIRegistry.getChildren((Frame) w));
+            }
+
+            Set<String> itemNames = new HashSet<>();
+            // We skip the chart widgets having a refresh argument
+            if (w.getItem() != null && !(w instanceof Chart && ((Chart) w).getRefresh() > 0)) {
+                itemNames.add(w.getItem());
+            }
+            for (VisibilityRule rule : w.getVisibility()) {
+                itemNames.add(rule.getItem());
+            }
+            for (ColorArray rule : w.getLabelColor()) {
+                itemNames.add(rule.getItem());
+            }
+            for (ColorArray rule : w.getValueColor()) {
+                itemNames.add(rule.getItem());
+            }
+            itemNames.remove(null);
+            for (String itemName : itemNames) {
+                index.computeIfAbsent(itemName, name -> new ArrayList<>()).add(w);
+            }
+        }
+    }
+
     @Override
     public void stateChanged(Item item, State oldState, State newState) {
         // For all items except group, send an event only when the event state is changed.
         if (item instanceof GroupItem) {
             return;
         }
-        Set<SitemapEvent> events = constructSitemapEvents(item, widgets);
+        Set<SitemapEvent> events = constructSitemapEvents(item);
         for (SitemapEvent event : events) {
             for (SitemapSubscriptionCallback callback : distinctCallbacks) {
                 callback.onEvent(event);
@@ -186,7 +235,7 @@ public class PageChangeListener implements StateChangeListener {
         if (!(item instanceof GroupItem)) {
             return;
         }
-        Set<SitemapEvent> events = constructSitemapEvents(item, widgets);
+        Set<SitemapEvent> events = constructSitemapEvents(item);
         for (SitemapEvent event : events) {
             for (SitemapSubscriptionCallback callback : distinctCallbacks) {
                 callback.onEvent(event);
@@ -194,67 +243,54 @@ public class PageChangeListener implements StateChangeListener {
         }
     }
 
-    private Set<SitemapEvent> constructSitemapEvents(Item item, List<Widget> widgets) {
+    /**
+     * Creates the events for the widgets of the page that are affected by a state change of the given item. The events
+     * are created once per state change and are sent to all subscriptions of the page.
+     *
+     * @param item the item whose state has changed
+     * @return the events to send
+     */
+    private Set<SitemapEvent> constructSitemapEvents(Item item) {
+        List<Widget> affectedWidgets = widgetsByItemName.get(item.getName());
+        if (affectedWidgets == null) {
+            return Collections.emptySet();
+        }
+
         Set<SitemapEvent> events = new HashSet<>();
-        for (Widget w : widgets) {
-            if (w instanceof Frame) {
-                events.addAll(constructSitemapEvents(item, itemUIRegistry.getChildren((Frame) w)));
+        // the item data is the same for all widgets, it only differs in whether group members are included
+        EnrichedItemDTO[] itemDTOs = new EnrichedItemDTO[2];
+        for (Widget w : affectedWidgets) {
+            SitemapWidgetEvent event = new SitemapWidgetEvent();
+            event.sitemapName = sitemapName;
+            event.pageId = pageId;
+            event.label = itemUIRegistry.getLabel(w);
+            event.labelcolor = itemUIRegistry.getLabelColor(w);
+            event.valuecolor = itemUIRegistry.getValueColor(w);
+            event.widgetId = itemUIRegistry.getWidgetId(w);
+            event.visibility = itemUIRegistry.getVisiblity(w);
+            // event.item contains data from the item including its state (in event.item.state)
+            String widgetTypeName = w.eClass().getInstanceTypeName()
+                    .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
+            boolean drillDown = "mapview".equalsIgnoreCase(widgetTypeName);
+            int dtoIndex = drillDown ? 1 : 0;
+            if (itemDTOs[dtoIndex] == null) {
+                Predicate<Item> itemFilter = (i -> i.getType().equals(CoreItemFactory.LOCATION));
+                itemDTOs[dtoIndex] = EnrichedItemDTOMapper.map(item, drillDown, itemFilter, null, null);
             }
+            event.item = itemDTOs[dtoIndex];
 
-            boolean skipWidget = (w.getItem() == null) || !w.getItem().equals(item.getName());
-            // We skip the chart widgets having a refresh argument
-            if (!skipWidget && w instanceof Chart) {
-                Chart chartWidget = (Chart) w;
-                skipWidget = chartWidget.getRefresh() > 0;
+            // event.state is an adjustment of the item state to the widget type.
+            event.state = itemUIRegistry.getState(w).toFullString();
+            // In case this state is identical to the item state, its value is set to null.
+            if (event.state != null && event.state.equals(event.item.state)) {
+                event.state = null;
             }
-            if (!skipWidget || definesVisibilityOrColor(w, item.getName())) {
-                SitemapWidgetEvent event = new SitemapWidgetEvent();
-                event.sitemapName = sitemapName;
-                event.pageId = pageId;
-                event.label = itemUIRegistry.getLabel(w);
-                event.labelcolor = itemUIRegistry.getLabelColor(w);
-                event.valuecolor = itemUIRegistry.getValueColor(w);
-                event.widgetId = itemUIRegistry.getWidgetId(w);
-                event.visibility = itemUIRegistry.getVisiblity(w);
-                // event.item contains data from the item including its state (in event.item.state)
-                String widgetTypeName = w.eClass().getInstanceTypeName()
-                        .substring(w.eClass().getInstanceTypeName().lastIndexOf(".") + 1);
-                boolean drillDown = "mapview".equalsIgnoreCase(widgetTypeName);
-                Predicate<Item> itemFilter = (i -> i.getType().equals(CoreItemFactory.LOCATION));
-                event.item = EnrichedItemDTOMapper.map(item, drillDown, itemFilter, null, null);
-
-                // event.state is an adjustment of the item state to the widget type.
-                event.state = itemUIRegistry.getState(w).toFullString();
-                // In case this state is identical to the item state, its value is set to null.
-                if (event.state != null && event.state.equals(event.item.state)) {
-                    event.state = null;
-                }
 
-                events.add(event);
-            }
+            events.add(event);
         }
         return events;
     }
 
-    private boolean definesVisibilityOrColor(Widget w, String name) {
-        for (VisibilityRule rule : w.getVisibility()) {
-            if (name.equals(rule.getItem())) {
-                return true;
-            }
-        }
-        for (ColorArray rule : w.getLabelColor()) {
-            if (name.equals(rule.getItem())) {
-                return true;
-            }
-        }
-        for (ColorArray rule : w.getValueColor()) {
-            if (name.equals(rule.getItem())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     public void sitemapContentChanged(EList<Widget> widgets) {
         updateItemsAndWidgets(widgets);
 
@@ -24,9 +24,12 @@ import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import javax.annotation.security.RolesAllowed;
+import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.DefaultValue;
@@ -38,6 +41,10 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.container.TimeoutHandler;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
@@ -127,6 +134,21 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
 
     private static final long TIMEOUT_IN_MS = 30000;
 
+    /**
+     * True if the servlet container supports asynchronous requests, so that long polling requests can be suspended.
+     */
+    private static final boolean SERVLET3_SUPPORT;
+
+    static {
+        boolean servlet3 = false;
+        try {
+            servlet3 = ServletRequest.class.getMethod("startAsync") != null;
+        } catch (Exception e) {
+        } finally {
+            SERVLET3_SUPPORT = servlet3;
+        }
+    }
+
     private SseBroadcaster broadcaster;
 
     @Context
@@ -245,18 +267,24 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         return Response.ok(responseObject).build();
     }
 
-    @GET
+    /**
+     * Returns the sub-resource serving the data of a sitemap page. Long-polling requests are served by a sub-resource
+     * that suspends the response if the servlet container supports asynchronous requests; all other requests are
+     * served synchronously.
+     *
+     * @param headers the request headers
+     * @return the sub-resource for the page data
+     */
     @Path("/{sitemapname: [a-zA-Z_0-9]*}/{pageid: [a-zA-Z_0-9]*}")
-    @Produces(MediaType.APPLICATION_JSON)
-    @ApiOperation(value = "Polls the data for a sitemap.", response = PageDTO.class)
-    @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
-            @ApiResponse(code = 404, message = "Sitemap with requested name does not exist or page does not exist, or page refers to a non-linkable widget"),
-            @ApiResponse(code = 400, message = "Invalid subscription id has been provided.") })
-    public Response getPageData(@Context HttpHeaders headers,
-            @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language,
-            @PathParam("sitemapname") @ApiParam(value = "sitemap name") String sitemapname,
-            @PathParam("pageid") @ApiParam(value = "page id") String pageId,
-            @QueryParam("subscriptionid") @ApiParam(value = "subscriptionid", required = false) String subscriptionId) {
+    public Object getPageResource(@Context HttpHeaders headers) {
+        if (SERVLET3_SUPPORT && isLongPolling(headers)) {
+            return new LongPollingPageResource();
+        }
+        return new PageResource();
+    }
+
+    public Response getPageData(HttpHeaders headers, String language, String sitemapname, String pageId,
+            String subscriptionId) {
         final Locale locale = localeService.getLocale(language);
         logger.debug("Received HTTP GET request from IP {} at '{}'", request.getRemoteAddr(), uriInfo.getPath());
 
@@ -269,7 +297,7 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         }
 
         boolean timeout = false;
-        if (headers.getRequestHeader("X-Atmosphere-Transport") != null) {
+        if (isLongPolling(headers)) {
             // Make the REST-API pseudo-compatible with openHAB 1.x
             // The client asks Atmosphere for server push functionality,
             // so we do a simply listening for changes on the appropriate items
@@ -281,6 +309,34 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         return Response.ok(responseObject).build();
     }
 
+    public void getPageData(HttpHeaders headers, String language, String sitemapname, String pageId,
+            String subscriptionId, AsyncResponse asyncResponse) {
+        final Locale locale = localeService.getLocale(language);
+        logger.debug("Received HTTP GET request from IP {} at '{}'", request.getRemoteAddr(), uriInfo.getPath());
+
+        if (subscriptionId != null) {
+            try {
+                subscriptions.setPageId(subscriptionId, sitemapname, pageId);
+            } catch (IllegalArgumentException e) {
+                asyncResponse.resume(JSONResponse.createErrorResponse(Response.Status.BAD_REQUEST, e.getMessage()));
+                return;
+            }
+        }
+
+        // Same as the blocking long polling above, but the response is suspended until a change occurs on the
+        // appropriate items, so that no request thread is held in the meantime.
+        final URI uri = uriInfo.getBaseUriBuilder().build();
+        EList<Widget> widgets = getPageWidgets(sitemapname, pageId);
+        if (widgets != null) {
+            LongPollingListener listener = new LongPollingListener(asyncResponse, getAllItems(widgets),
+                    timeout -> getPageBean(sitemapname, pageId, uri, locale, timeout));
+            listener.suspend();
+        } else {
+            PageDTO responseObject = getPageBean(sitemapname, pageId, uri, locale, false);
+            asyncResponse.resume(Response.ok(responseObject).build());
+        }
+    }
+
     /**
      * Creates a subscription for the stream of sitemap events.
      *
@@ -628,22 +684,13 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         return null;
     }
 
+    private boolean isLongPolling(HttpHeaders headers) {
+        return headers.getRequestHeader("X-Atmosphere-Transport") != null;
+    }
+
     private boolean blockUnlessChangeOccurs(String sitemapname, String pageId) {
-        boolean timeout = false;
-        Sitemap sitemap = getSitemap(sitemapname);
-        if (sitemap != null) {
-            if (pageId.equals(sitemap.getName())) {
-                EList<Widget> children = itemUIRegistry.getChildren(sitemap);
-                timeout = waitForChanges(children);
-            } else {
-                Widget pageWidget = itemUIRegistry.getWidget(sitemap, pageId);
-                if (pageWidget instanceof LinkableWidget) {
-                    EList<Widget> children = itemUIRegistry.getChildren((LinkableWidget) pageWidget);
-                    timeout = waitForChanges(children);
-                }
-            }
-        }
-        return timeout;
+        EList<Widget> widgets = getPageWidgets(sitemapname, pageId);
+        return widgets != null ? waitForChanges(widgets) : false;
     }
 
     /**
@@ -678,6 +725,21 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         return timeout;
     }
 
+    private EList<Widget> getPageWidgets(String sitemapname, String pageId) {
+        Sitemap sitemap = getSitemap(sitemapname);
+        if (sitemap != null) {
+            if (pageId.equals(sitemap.getName())) {
+                return itemUIRegistry.getChildren(sitemap);
+            } else {
+                Widget pageWidget = itemUIRegistry.getWidget(sitemap, pageId);
+                if (pageWidget instanceof LinkableWidget) {
+                    return itemUIRegistry.getChildren((LinkableWidget) pageWidget);
+                }
+            }
+        }
+        return null;
+    }
+
     /**
      * Collects all items that are represented by a given list of widgets
      *
@@ -786,6 +848,119 @@ public class SitemapResource implements RESTResource, SitemapSubscriptionCallbac
         }
     }
 
+    /**
+     * This is a state change listener, which resumes a suspended long polling request as soon as a state change has
+     * occurred on one of a list of items, or with a timeout flag if no change occurred in time. The page is rendered
+     * on the scheduler, so that neither a request thread nor the thread changing the item state is held.
+     *
+     * @author agent - Initial contribution
+     */
+    private class LongPollingListener implements StateChangeListener, TimeoutHandler, ConnectionCallback {
+
+        private final AsyncResponse asyncResponse;
+        private final Set<GenericItem> items;
+        private final Function<Boolean, PageDTO> pageBeanSupplier;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        LongPollingListener(AsyncResponse asyncResponse, Set<GenericItem> items,
+                Function<Boolean, PageDTO> pageBeanSupplier) {
+            this.asyncResponse = asyncResponse;
+            this.items = items;
+            this.pageBeanSupplier = pageBeanSupplier;
+        }
+
+        void suspend() {
+            asyncResponse.register(this);
+            asyncResponse.setTimeoutHandler(this);
+            asyncResponse.setTimeout(TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
+            for (GenericItem item : items) {
+                item.addStateChangeListener(this);
+            }
+        }
+
+        @Override
+        public void stateChanged(Item item, State oldState, State newState) {
+            if (done.compareAndSet(false, true)) {
+                removeListeners();
+                scheduler.execute(() -> resume(false));
+            }
+        }
+
+        @Override
+        public void stateUpdated(Item item, State state) {
+            // ignore if the state did not change
+        }
+
+        @Override
+        public void handleTimeout(AsyncResponse asyncResponse) {
+            if (done.compareAndSet(false, true)) {
+                removeListeners();
+                resume(true);
+            }
+        }
+
+        @Override
+        public void onDisconnect(AsyncResponse disconnected) {
+            if (done.compareAndSet(false, true)) {
+                removeListeners();
+            }
+        }
+
+        private void resume(boolean timeout) {
+            try {
+                asyncResponse.resume(Response.ok(pageBeanSupplier.apply(timeout)).build());
+            } catch (RuntimeException e) {
+                asyncResponse.resume(e);
+            }
+        }
+
+        private void removeListeners() {
+            for (GenericItem item : items) {
+                item.removeStateChangeListener(this);
+            }
+        }
+    }
+
+    /**
+     * Serves the data of a sitemap page synchronously.
+     *
+     * @author agent - Initial contribution
+     */
+    public class PageResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        @ApiOperation(value = "Polls the data for a sitemap.", response = PageDTO.class)
+        @ApiResponses(value = { @ApiResponse(code = 200, message = "OK"),
+                @ApiResponse(code = 404, message = "Sitemap with requested name does not exist or page does not exist, or page refers to a non-linkable widget"),
+                @ApiResponse(code = 400, message = "Invalid subscription id has been provided.") })
+        public Response getPageData(@Context HttpHeaders headers,
+                @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) @ApiParam(value = "language") String language,
+                @PathParam("sitemapname") @ApiParam(value = "sitemap name") String sitemapname,
+                @PathParam("pageid") @ApiParam(value = "page id") String pageId,
+                @QueryParam("subscriptionid") @ApiParam(value = "subscriptionid", required = false) String subscriptionId) {
+            return SitemapResource.this.getPageData(headers, language, sitemapname, pageId, subscriptionId);
+        }
+    }
+
+    /**
+     * Serves the data of a sitemap page to a long polling request by suspending the response until an item of the page
+     * changes.
+     *
+     * @author agent - Initial contribution
+     */
+    public class LongPollingPageResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        public void getPageData(@Context HttpHeaders headers,
+                @HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) String language,
+                @PathParam("sitemapname") String sitemapname, @PathParam("pageid") String pageId,
+                @QueryParam("subscriptionid") String subscriptionId, @Suspended AsyncResponse asyncResponse) {
+            SitemapResource.this.getPageData(headers, language, sitemapname, pageId, subscriptionId, asyncResponse);
+        }
+    }
+
     @Override
     public void onEvent(SitemapEvent event) {
         OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
@@ -16,7 +16,12 @@ import static org.hamcrest.CoreMatchers.*
 import static org.junit.Assert.*
 import static org.junit.matchers.JUnitMatchers.*
 
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil
+import org.glassfish.jersey.media.sse.OutboundEvent
 import org.eclipse.smarthome.test.OSGiTest
 import org.junit.Test
 
@@ -104,4 +109,42 @@ class SseResourceOSGiTest extends OSGiTest {
         assertThat "smarthome/items/anyitem/added".matches(regexes[0]), is(true);
         assertThat "smarthome/items/anyitem/removed".matches(regexes[0]), is(false);
     }
+
+    @Test
+    public void testSseEventOutputMatchesTopics() {
+        def eventOutput = new SseEventOutput("smarthome/items/*/added, smarthome/things")
+
+        assertThat eventOutput.matchesTopic("smarthome/items/anyitem/added"), is(true)
+        assertThat eventOutput.matchesTopic("smarthome/items/anyitem/removed"), is(false)
+        assertThat eventOutput.matchesTopic("smarthome/things/anything/updated"), is(true)
+
+        eventOutput = new SseEventOutput("")
+        assertThat eventOutput.matchesTopic("smarthome/items/anyitem/added"), is(true)
+    }
+
+    @Test
+    public void testSseEventOutputDropsOldestEventsIfBufferIsFull() {
+        def tasks = []
+        def executor = { Runnable task -> tasks.add(task) } as Executor
+        def eventOutput = new SseEventOutput("", 2, executor)
+
+        3.times { eventOutput.enqueue(new OutboundEvent.Builder().data(String.class, "event" + it).build()) }
+
+        // the output is written by a single task, which has not been run yet
+        assertThat tasks.size(), is(1)
+        assertThat eventOutput.getDroppedEvents(), is(1L)
+    }
+
+    @Test
+    public void testSseEventOutputStopsItsWriterWhenClosed() {
+        def writer = Executors.newSingleThreadExecutor()
+        def eventOutput = new SseEventOutput("", 2, writer)
+
+        eventOutput.close()
+
+        assertThat writer.isShutdown(), is(true)
+        // events for a closed output are discarded
+        eventOutput.enqueue(new OutboundEvent.Builder().comment("heartbeat").build())
+        assertThat eventOutput.getDroppedEvents(), is(0L)
+    }
 }
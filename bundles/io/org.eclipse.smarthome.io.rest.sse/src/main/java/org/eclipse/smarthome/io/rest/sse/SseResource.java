@@ -13,8 +13,12 @@
 package org.eclipse.smarthome.io.rest.sse;
 
 import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.security.RolesAllowed;
 import javax.inject.Singleton;
@@ -31,13 +35,16 @@ import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
 
 import org.eclipse.smarthome.core.auth.Role;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.io.rest.sse.internal.SseEventOutput;
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
+import org.glassfish.jersey.media.sse.OutboundEvent;
 import org.glassfish.jersey.media.sse.SseFeature;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -63,10 +70,16 @@ public class SseResource {
 
     private static final String X_ACCEL_BUFFERING_HEADER = "X-Accel-Buffering";
 
-    private final SseBroadcaster broadcaster;
+    private static final String THREAD_POOL_NAME = "sse";
+
+    private static final long HEARTBEAT_INTERVAL_SECONDS = 30;
+
+    private final Set<SseEventOutput> eventOutputs = new CopyOnWriteArraySet<>();
 
     private final ExecutorService executorService;
 
+    private ScheduledFuture<?> heartbeatJob;
+
     @Context
     private UriInfo uriInfo;
 
@@ -78,7 +91,20 @@ public class SseResource {
 
     public SseResource() {
         this.executorService = Executors.newSingleThreadExecutor();
-        this.broadcaster = new SseBroadcaster();
+    }
+
+    @Activate
+    protected void activate() {
+        heartbeatJob = ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME).scheduleWithFixedDelay(this::heartbeat,
+                HEARTBEAT_INTERVAL_SECONDS, HEARTBEAT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        if (heartbeatJob != null) {
+            heartbeatJob.cancel(false);
+            heartbeatJob = null;
+        }
     }
 
     /**
@@ -104,8 +130,8 @@ public class SseResource {
 
         // construct an EventOutput that will only write out events that match
         // the given filter
-        final EventOutput eventOutput = new SseEventOutput(eventFilter);
-        broadcaster.add(eventOutput);
+        final SseEventOutput eventOutput = new SseEventOutput(eventFilter);
+        eventOutputs.add(eventOutput);
 
         // Disables proxy buffering when using an nginx http server proxy for this response.
         // This allows you to not disable proxy buffering in nginx and still have working sse
@@ -134,6 +160,9 @@ public class SseResource {
      * Broadcasts an event described by the given parameter to all currently
      * listening clients.
      *
+     * The event is only serialized if at least one client is interested in its topic, and then only once for all of
+     * them.
+     *
      * @param sseEventType the SSE event type
      * @param event the event
      */
@@ -141,8 +170,38 @@ public class SseResource {
         executorService.execute(new Runnable() {
             @Override
             public void run() {
-                broadcaster.broadcast(SseUtil.buildEvent(event));
+                broadcast(event);
             }
         });
     }
+
+    private void broadcast(Event event) {
+        String topic = event.getTopic();
+        OutboundEvent outboundEvent = null;
+        for (SseEventOutput eventOutput : eventOutputs) {
+            if (eventOutput.isClosed()) {
+                eventOutputs.remove(eventOutput);
+            } else if (eventOutput.matchesTopic(topic)) {
+                if (outboundEvent == null) {
+                    outboundEvent = SseUtil.buildEvent(event);
+                }
+                eventOutput.enqueue(outboundEvent);
+            }
+        }
+    }
+
+    /**
+     * Writes a comment to every client. A client which has disconnected is only noticed when writing to it fails, so
+     * this closes the outputs of disconnected clients even if their filter does not match any event.
+     */
+    private void heartbeat() {
+        OutboundEvent heartbeat = new OutboundEvent.Builder().comment("heartbeat").build();
+        for (SseEventOutput eventOutput : eventOutputs) {
+            if (eventOutput.isClosed()) {
+                eventOutputs.remove(eventOutput);
+            } else {
+                eventOutput.enqueue(heartbeat);
+            }
+        }
+    }
 }
@@ -13,40 +13,188 @@
 package org.eclipse.smarthome.io.rest.sse.internal;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
-import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
+import org.eclipse.smarthome.core.common.ThreadFactoryBuilder;
 import org.eclipse.smarthome.io.rest.sse.internal.util.SseUtil;
 import org.glassfish.jersey.media.sse.EventOutput;
 import org.glassfish.jersey.media.sse.OutboundEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * {@link EventOutput} implementation that takes a filter parameter and only writes out events that match this filter.
- * Should only be used when the {@link OutboundEvent}s sent through this {@link EventOutput} contain a data object of
- * type {@link EventBean}
- * 
+ * {@link EventOutput} implementation that takes a filter parameter and only accepts events whose topic matches this
+ * filter.
+ *
+ * Accepted events are buffered and written out asynchronously by a writer of this client only, so a slow client
+ * neither delays the other clients nor blocks threads shared with them. The buffer is bounded: if it is full, the
+ * oldest buffered event is dropped in favor of the new one. The writer thread is ended when the client has been idle
+ * for {@value #WRITER_KEEP_ALIVE_SECONDS} seconds.
+ *
  * @author Ivan Iliev - Initial contribution and API
- * 
+ *
  */
 public class SseEventOutput extends EventOutput {
 
-    private List<String> regexFilters;
+    /**
+     * The default maximum number of events buffered for a client.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 500;
+
+    private static final long WRITER_KEEP_ALIVE_SECONDS = 60;
+
+    private static final ThreadFactory WRITER_THREAD_FACTORY = ThreadFactoryBuilder.create()
+            .withNamePrefix("ESH-sse-client").withDaemonThreads(true).build();
+
+    private final Logger logger = LoggerFactory.getLogger(SseEventOutput.class);
+
+    private final List<Pattern> topicFilters;
+
+    private final int bufferSize;
+
+    private final Executor writer;
+
+    private final Queue<OutboundEvent> buffer = new ArrayDeque<>();
+
+    private boolean writing;
+
+    private long droppedEvents;
 
     public SseEventOutput(String topicFilter) {
+        this(topicFilter, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SseEventOutput(String topicFilter, int bufferSize) {
+        this(topicFilter, bufferSize, createWriter());
+    }
+
+    /**
+     * Creates an output whose events are written out by tasks of the given executor.
+     *
+     * @param topicFilter the topic filter
+     * @param bufferSize the maximum number of buffered events
+     * @param writer the executor used to write out the buffered events, it should not be shared with other outputs
+     */
+    public SseEventOutput(String topicFilter, int bufferSize, Executor writer) {
         super();
-        this.regexFilters = SseUtil.convertToRegex(topicFilter);
+        this.topicFilters = SseUtil.compileTopicFilter(topicFilter);
+        this.bufferSize = Math.max(1, bufferSize);
+        this.writer = writer;
     }
 
-    @Override
-    public void write(OutboundEvent chunk) throws IOException {
-        EventBean event = (EventBean) chunk.getData();
+    private static ExecutorService createWriter() {
+        ThreadPoolExecutor writer = new ThreadPoolExecutor(1, 1, WRITER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), WRITER_THREAD_FACTORY);
+        writer.allowCoreThreadTimeOut(true);
+        return writer;
+    }
+
+    /**
+     * Checks if the given topic matches the topic filter of this output.
+     *
+     * @param topic the event topic
+     * @return true if events of the given topic should be written to this output
+     */
+    public boolean matchesTopic(String topic) {
+        for (Pattern filter : topicFilters) {
+            if (filter.matcher(topic).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Buffers the given event and makes sure it is written out by the writer of this output.
+     *
+     * @param chunk the event
+     */
+    public void enqueue(OutboundEvent chunk) {
+        if (isClosed()) {
+            return;
+        }
+        synchronized (buffer) {
+            if (buffer.size() >= bufferSize) {
+                buffer.poll();
+                droppedEvents++;
+                if (logger.isDebugEnabled() && (droppedEvents == 1 || droppedEvents % bufferSize == 0)) {
+                    logger.debug("SSE client is too slow, {} events have been dropped so far.", droppedEvents);
+                }
+            }
+            buffer.add(chunk);
+            if (writing) {
+                return;
+            }
+            writing = true;
+        }
+        try {
+            writer.execute(this::writeBuffered);
+        } catch (RejectedExecutionException e) {
+            // the output has been closed concurrently
+            synchronized (buffer) {
+                buffer.clear();
+                writing = false;
+            }
+        }
+    }
 
-        for (String filter : regexFilters) {
-            if (event.topic.matches(filter)) {
-                super.write(chunk);
+    /**
+     * Returns the number of events which have been dropped, because the buffer of this output was full.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedEvents() {
+        synchronized (buffer) {
+            return droppedEvents;
+        }
+    }
+
+    private void writeBuffered() {
+        while (true) {
+            OutboundEvent chunk;
+            synchronized (buffer) {
+                chunk = buffer.poll();
+                if (chunk == null) {
+                    writing = false;
+                    return;
+                }
+            }
+            try {
+                write(chunk);
+            } catch (IOException e) {
+                logger.debug("Writing to the SSE client failed, closing the connection: {}", e.getMessage());
+                synchronized (buffer) {
+                    buffer.clear();
+                    writing = false;
+                }
+                try {
+                    close();
+                } catch (IOException ignored) {
+                }
                 return;
             }
         }
     }
 
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (writer instanceof ExecutorService) {
+                ((ExecutorService) writer).shutdown();
+            }
+        }
+    }
+
 }
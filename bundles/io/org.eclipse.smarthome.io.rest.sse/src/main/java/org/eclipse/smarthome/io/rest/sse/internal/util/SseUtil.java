@@ -15,6 +15,8 @@ package org.eclipse.smarthome.io.rest.sse.internal.util;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.servlet.ServletRequest;
 import javax.ws.rs.core.MediaType;
@@ -24,6 +26,8 @@ import org.eclipse.smarthome.core.events.Event;
 import org.eclipse.smarthome.io.rest.sse.beans.EventBean;
 import org.glassfish.jersey.media.sse.OutboundEvent;
 
+import com.google.gson.Gson;
+
 /**
  * Utility class containing helper methods for the SSE implementation.
  * 
@@ -33,6 +37,8 @@ import org.glassfish.jersey.media.sse.OutboundEvent;
 public class SseUtil {
     static final String TOPIC_VALIDATE_PATTERN = "(\\w*\\*?\\/?,?\\s*)*";
 
+    private static final Gson GSON = new Gson();
+
     static {
         boolean servlet3 = false;
         try {
@@ -52,6 +58,9 @@ public class SseUtil {
     /**
      * Creates a new {@link OutboundEvent} object containing an {@link EventBean} created for the given Eclipse
      * SmartHome {@link Event}.
+     *
+     * The event bean is serialized to JSON right away, so the same OutboundEvent can be written to any number of
+     * clients without serializing it again for each of them.
      * 
      * @param event the event
      * 
@@ -64,8 +73,8 @@ public class SseUtil {
         eventBean.payload = event.getPayload();
 
         OutboundEvent.Builder eventBuilder = new OutboundEvent.Builder();
-        OutboundEvent outboundEvent = eventBuilder.name("message").mediaType(MediaType.APPLICATION_JSON_TYPE)
-                .data(eventBean).build();
+        OutboundEvent outboundEvent = eventBuilder.name("message").mediaType(MediaType.TEXT_PLAIN_TYPE)
+                .data(String.class, GSON.toJson(eventBean)).build();
 
         return outboundEvent;
     }
@@ -131,4 +140,15 @@ public class SseUtil {
 
         return filters;
     }
+
+    /**
+     * Converts the given topicFilter like {@link #convertToRegex(String)} does and compiles the resulting regular
+     * expressions, so they can be matched against any number of topics.
+     *
+     * @param topicFilter
+     * @return the compiled patterns
+     */
+    public static List<Pattern> compileTopicFilter(String topicFilter) {
+        return convertToRegex(topicFilter).stream().map(Pattern::compile).collect(Collectors.toList());
+    }
 }
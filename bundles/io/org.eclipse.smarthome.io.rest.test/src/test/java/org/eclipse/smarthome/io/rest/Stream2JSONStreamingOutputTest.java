@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the {@link Stream2JSONStreamingOutput}.
+ *
+ * @author agent - Initial contribution
+ */
+public class Stream2JSONStreamingOutputTest {
+
+    private final Gson GSON = new GsonBuilder().create();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailForNullSource() {
+        new Stream2JSONStreamingOutput(null);
+    }
+
+    @Test
+    public void shouldWriteEmptyStream() throws IOException {
+        List<Object> emptyList = Collections.emptyList();
+
+        assertThat(write(new Stream2JSONStreamingOutput(emptyList.stream())), is(GSON.toJson(emptyList)));
+    }
+
+    @Test
+    public void shouldWriteCollectionStreamToJSON() throws IOException {
+        List<DummyDTO> dummyCollection = Arrays.asList(new DummyDTO("demoKey1", "demoValue1", "label1"),
+                new DummyDTO("demoKey2", "demoValue2", null));
+
+        assertThat(write(new Stream2JSONStreamingOutput(dummyCollection.stream())), is(GSON.toJson(dummyCollection)));
+        assertThat(write(new Stream2JSONStreamingOutput(dummyCollection.stream(), " ")),
+                is(GSON.toJson(dummyCollection)));
+    }
+
+    @Test
+    public void shouldWriteOnlyGivenFields() throws IOException {
+        DummyDTO dummy1 = new DummyDTO("demoKey1", "demoValue1", "label1");
+        DummyDTO dummy2 = new DummyDTO("demoKey2", "demoValue2", null);
+
+        assertThat(write(new Stream2JSONStreamingOutput(Stream.of(dummy1, dummy2), "key, label")),
+                is("[{\"key\":\"demoKey1\",\"label\":\"label1\"},{\"key\":\"demoKey2\"}]"));
+
+        // the elements are not modified
+        assertThat(dummy1.value, is("demoValue1"));
+    }
+
+    private String write(Stream2JSONStreamingOutput output) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        output.write(outputStream);
+        return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    public static class DummyDTO {
+        public String key;
+        public String value;
+        public String label;
+
+        DummyDTO(String key, String value, String label) {
+            this.key = key;
+            this.value = value;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.internal.filter;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests the Accept-Encoding handling of the {@link GZipStreamingFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class GZipStreamingFilterTest {
+
+    @Test
+    public void testGzipIsAccepted() {
+        assertTrue(GZipStreamingFilter.acceptsGzip("gzip"));
+        assertTrue(GZipStreamingFilter.acceptsGzip("deflate, GZIP"));
+        assertTrue(GZipStreamingFilter.acceptsGzip("x-gzip"));
+        assertTrue(GZipStreamingFilter.acceptsGzip("gzip;q=0.5, deflate"));
+        assertTrue(GZipStreamingFilter.acceptsGzip("deflate, *"));
+    }
+
+    @Test
+    public void testGzipIsNotAccepted() {
+        assertFalse(GZipStreamingFilter.acceptsGzip(null));
+        assertFalse(GZipStreamingFilter.acceptsGzip(""));
+        assertFalse(GZipStreamingFilter.acceptsGzip("deflate, br"));
+        assertFalse(GZipStreamingFilter.acceptsGzip("notgzip"));
+    }
+
+    @Test
+    public void testGzipWithZeroQualityIsRefused() {
+        assertFalse(GZipStreamingFilter.acceptsGzip("gzip;q=0"));
+        assertFalse(GZipStreamingFilter.acceptsGzip("deflate, gzip; q=0.0"));
+        assertFalse(GZipStreamingFilter.acceptsGzip("gzip;q=0, *"));
+        assertFalse(GZipStreamingFilter.acceptsGzip("*;q=0"));
+        assertFalse(GZipStreamingFilter.acceptsGzip("gzip;q=invalid"));
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import java.util.List;
+
+/**
+ * This is a data transfer object that is used to serialize the changes of the elements of a registry since a certain
+ * version of the registry.
+ *
+ * <p>
+ * If the changes since the requested version are not known any more, {@link #complete} is set and {@link #changed}
+ * holds all elements, so the client has to replace its copy instead of updating it.
+ *
+ * @author agent - Initial contribution
+ *
+ * @param <T> type of the element DTOs
+ */
+public class RegistryDeltaDTO<T> {
+
+    /** the version of the registry the delta is based on, which can be used for the next request */
+    public long version;
+
+    /** true if all elements are contained in {@link #changed} */
+    public boolean complete;
+
+    /** the elements which have been added or changed */
+    public List<T> changed;
+
+    /** the UIDs of the elements which have been removed or do not match the filter any more */
+    public List<String> removed;
+
+}
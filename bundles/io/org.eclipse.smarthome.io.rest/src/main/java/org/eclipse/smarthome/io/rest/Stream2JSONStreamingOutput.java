@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.StreamingOutput;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * This {@link StreamingOutput} writes {@link Stream}s as JSON array straight to the output stream of the response, one
+ * element at a time. No intermediate JSON representation of the elements is created, and as the writer blocks while
+ * the client does not consume the response, the elements are only created as fast as they are sent. The response is
+ * sent with chunked transfer encoding and can be compressed by the {@code GZipStreamingFilter}.
+ *
+ * <p>
+ * The output can be limited to certain fields of the elements. Then only the given public fields of the elements are
+ * written, the elements themselves are left untouched.
+ *
+ * @author agent - Initial contribution
+ */
+public class Stream2JSONStreamingOutput implements StreamingOutput {
+
+    private static final Gson GSON = new GsonBuilder().create();
+
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<>();
+
+    private final Stream<?> source;
+
+    private final Set<String> fields;
+
+    /**
+     * Creates a new {@link Stream2JSONStreamingOutput} backed by the given {@link Stream} source.
+     *
+     * @param source the {@link Stream} backing this output. Must not be null.
+     * @throws IllegalArgumentException in case the source is null.
+     */
+    public Stream2JSONStreamingOutput(Stream<?> source) {
+        this(source, null);
+    }
+
+    /**
+     * Creates a new {@link Stream2JSONStreamingOutput} backed by the given {@link Stream} source, which only writes
+     * the given fields of the elements.
+     *
+     * @param source the {@link Stream} backing this output. Must not be null.
+     * @param fields the comma separated names of the fields to write, null or empty to write all fields
+     * @throws IllegalArgumentException in case the source is null.
+     */
+    public Stream2JSONStreamingOutput(Stream<?> source, String fields) {
+        if (source == null) {
+            throw new IllegalArgumentException("The source must not be null!");
+        }
+
+        this.source = source;
+        if (fields == null || fields.trim().isEmpty()) {
+            this.fields = null;
+        } else {
+            this.fields = Stream.of(fields.split(",")).map(String::trim).collect(Collectors.toSet());
+        }
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException, WebApplicationException {
+        JsonWriter jsonWriter = new JsonWriter(
+                new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+        try {
+            jsonWriter.beginArray();
+            Iterator<?> iterator = source.iterator();
+            while (iterator.hasNext()) {
+                Object element = iterator.next();
+                if (element == null) {
+                    jsonWriter.nullValue();
+                } else if (fields == null) {
+                    GSON.toJson(element, element.getClass(), jsonWriter);
+                } else {
+                    writeFields(jsonWriter, element);
+                }
+            }
+            jsonWriter.endArray();
+            jsonWriter.flush();
+        } catch (JsonIOException e) {
+            throw new IOException(e);
+        } finally {
+            source.close();
+        }
+    }
+
+    private void writeFields(JsonWriter jsonWriter, Object element) throws IOException {
+        jsonWriter.beginObject();
+        for (Field field : getFields(element.getClass())) {
+            if (!fields.contains(field.getName())) {
+                continue;
+            }
+            Object value;
+            try {
+                value = field.get(element);
+            } catch (IllegalAccessException e) {
+                continue;
+            }
+            if (value != null) {
+                jsonWriter.name(field.getName());
+                GSON.toJson(value, value.getClass(), jsonWriter);
+            }
+        }
+        jsonWriter.endObject();
+    }
+
+    /**
+     * Returns the public instance fields of the given class in the order Gson serializes them.
+     */
+    private static List<Field> getFields(Class<?> clazz) {
+        return FIELDS.computeIfAbsent(clazz, c -> {
+            List<Field> classFields = new ArrayList<>();
+            for (Class<?> type = c; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers)
+                            && !Modifier.isTransient(modifiers)) {
+                        classFields.add(field);
+                    }
+                }
+            }
+            return classFields;
+        });
+    }
+
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.io.rest.internal.filter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.eclipse.smarthome.io.rest.Stream2JSONStreamingOutput;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Compresses the responses streamed by a {@link Stream2JSONStreamingOutput} with gzip, if the client accepts it.
+ *
+ * @author agent - Initial contribution
+ */
+@Provider
+@Component(immediate = true, service = GZipStreamingFilter.class)
+public class GZipStreamingFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY_ENCODING = "*";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+            throws IOException {
+        if (!(responseContext.getEntity() instanceof Stream2JSONStreamingOutput)) {
+            return;
+        }
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)
+                && !responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+    }
+
+    /**
+     * Determines whether an Accept-Encoding header accepts gzip, i.e. whether it lists gzip (or any encoding, if gzip
+     * is not listed) with a quality value greater than 0.
+     *
+     * @param acceptEncoding the value of the Accept-Encoding header, may be null
+     * @return true if the response may be compressed with gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Float gzipQuality = null;
+        Float anyQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ENGLISH);
+            if (GZIP.equals(coding) || X_GZIP.equals(coding)) {
+                gzipQuality = getQuality(parts);
+            } else if (ANY_ENCODING.equals(coding)) {
+                anyQuality = getQuality(parts);
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return anyQuality != null && anyQuality > 0;
+    }
+
+    private static float getQuality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=") || parameter.startsWith("Q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // an invalid quality value does not accept the encoding
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!(context.getEntity() instanceof Stream2JSONStreamingOutput)
+                || !GZIP.equals(context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+            context.proceed();
+            return;
+        }
+
+        GZIPOutputStream gzipOutputStream = new GZIPOutputStream(context.getOutputStream());
+        context.setOutputStream(gzipOutputStream);
+        context.proceed();
+        gzipOutputStream.finish();
+    }
+
+}
@@ -14,6 +14,7 @@ package org.eclipse.smarthome.model.persistence.extensions;
 
 import static org.junit.Assert.*;
 
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -25,6 +26,7 @@ import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.model.persistence.tests.TestAggregatingPersistenceService;
 import org.eclipse.smarthome.model.persistence.tests.TestPersistenceService;
 import org.joda.time.DateMidnight;
 import org.joda.time.DateTime;
@@ -43,6 +45,7 @@ public class PersistenceExtensionsTest {
     private final PersistenceServiceRegistry registry = new PersistenceServiceRegistry() {
 
         private final PersistenceService testPersistenceService = new TestPersistenceService();
+        private final PersistenceService aggregatingPersistenceService = new TestAggregatingPersistenceService();
 
         @Override
         public String getDefaultId() {
@@ -61,7 +64,7 @@ public class PersistenceExtensionsTest {
 
         @Override
         public PersistenceService get(String serviceId) {
-            return testPersistenceService;
+            return "aggregating".equals(serviceId) ? aggregatingPersistenceService : testPersistenceService;
         }
     };
 
@@ -72,6 +75,7 @@ public class PersistenceExtensionsTest {
     public void setUp() {
         ext = new PersistenceExtensions();
         ext.setPersistenceServiceRegistry(registry);
+        ext.setTimeZoneProvider(() -> ZoneId.systemDefault());
         item = new GenericItem("Test", "Test") {
             @Override
             public List<Class<? extends State>> getAcceptedDataTypes() {
@@ -141,6 +145,32 @@ public class PersistenceExtensionsTest {
         assertEquals(expected, average.doubleValue(), 0.01);
     }
 
+    @Test
+    public void testAggregationsArePushedDown() {
+        item.setState(new DecimalType(3025));
+        DateMidnight start = new DateMidnight(2003, 1, 1);
+
+        assertEquals(PersistenceExtensions.minimumSince(item, start, "test").getState(),
+                PersistenceExtensions.minimumSince(item, start, "aggregating").getState());
+        assertEquals(PersistenceExtensions.minimumSince(item, start, "test").getTimestamp(),
+                PersistenceExtensions.minimumSince(item, start, "aggregating").getTimestamp());
+        assertEquals("3025", PersistenceExtensions.maximumSince(item, start, "aggregating").getState().toString());
+        assertEquals(PersistenceExtensions.sumSince(item, start, "test"),
+                PersistenceExtensions.sumSince(item, start, "aggregating"));
+        assertEquals(PersistenceExtensions.averageSince(item, start, "test").doubleValue(),
+                PersistenceExtensions.averageSince(item, start, "aggregating").doubleValue(), 0.01);
+    }
+
+    @Test
+    public void testAggregationsWithoutPersistedStates() {
+        item.setState(new DecimalType(1));
+        DateMidnight start = new DateMidnight(2020, 1, 1);
+
+        assertEquals("1", PersistenceExtensions.maximumSince(item, start, "aggregating").getState().toString());
+        assertEquals(DecimalType.ZERO, PersistenceExtensions.sumSince(item, start, "aggregating"));
+        assertNull(PersistenceExtensions.averageSince(item, start, "aggregating"));
+    }
+
     @Test
     public void testPreviousStateNoSkip() {
         item.setState(new DecimalType(4321));
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.model.persistence.tests;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.AggregatingPersistenceService;
+import org.eclipse.smarthome.core.persistence.Aggregation;
+import org.eclipse.smarthome.core.persistence.Aggregator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+
+/**
+ * A simple aggregating persistence service used for unit tests, which aggregates the states of the
+ * {@link TestPersistenceService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TestAggregatingPersistenceService extends TestPersistenceService
+        implements AggregatingPersistenceService {
+
+    @Override
+    public String getId() {
+        return "aggregating";
+    }
+
+    @Override
+    public AggregatedItem aggregate(FilterCriteria filter, Aggregation aggregation) {
+        Aggregator aggregator = new Aggregator("Test", aggregation);
+        for (HistoricItem item : query(filter.setOrdering(Ordering.ASCENDING))) {
+            aggregator.add(item);
+        }
+        return aggregator.getResult();
+    }
+
+    @Override
+    public List<AggregatedItem> aggregate(FilterCriteria filter, Aggregation aggregation, Duration bucketSize) {
+        Date begin = filter.getBeginDateZoned() == null ? null : Date.from(filter.getBeginDateZoned().toInstant());
+        return Aggregator.aggregate("Test", query(filter.setOrdering(Ordering.ASCENDING)), aggregation, begin,
+                bucketSize);
+    }
+}
@@ -23,6 +23,9 @@ import java.util.Iterator;
 import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.AggregatingPersistenceService;
+import org.eclipse.smarthome.core.persistence.Aggregation;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
@@ -40,6 +43,10 @@ import org.slf4j.LoggerFactory;
  * This class provides static methods that can be used in automation rules
  * for using persistence services
  *
+ * <p>
+ * The minimum, maximum, average and sum are computed by the persistence service itself if it is an
+ * {@link AggregatingPersistenceService}, otherwise all states of the time range are queried and aggregated here.
+ *
  * @author Kai Kreuzer - Initial contribution and API and refactoring for PersistenceServiceRegistryImpl
  * @author Thomas Eichstaedt-Engelen
  * @author Chris Jackson
@@ -88,6 +95,14 @@ public class PersistenceExtensions {
         return service;
     }
 
+    private static AggregatingPersistenceService getAggregatingService(String serviceId) {
+        PersistenceService service = getService(serviceId);
+        if (service instanceof AggregatingPersistenceService) {
+            return (AggregatingPersistenceService) service;
+        }
+        return null;
+    }
+
     private static String getDefaultServiceId() {
         if (registry != null) {
             String id = registry.getDefaultId();
@@ -285,18 +300,27 @@ public class PersistenceExtensions {
      *         {@link QueryablePersistenceService}
      */
     public static HistoricItem maximumSince(final Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
         HistoricItem maximumHistoricItem = null;
         DecimalType maximum = (DecimalType) item.getStateAs(DecimalType.class);
-        while (it.hasNext()) {
-            HistoricItem historicItem = it.next();
-            State state = historicItem.getState();
-            if (state instanceof DecimalType) {
-                DecimalType value = (DecimalType) state;
-                if (maximum == null || value.compareTo(maximum) > 0) {
-                    maximum = value;
-                    maximumHistoricItem = historicItem;
+        AggregatingPersistenceService aService = getAggregatingService(serviceId);
+        if (aService != null) {
+            AggregatedItem aggregatedItem = aService.aggregate(createFilterSince(item, timestamp), Aggregation.MAX);
+            if (aggregatedItem != null && (maximum == null || aggregatedItem.getState().compareTo(maximum) > 0)) {
+                maximum = aggregatedItem.getState();
+                maximumHistoricItem = aggregatedItem;
+            }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+                State state = historicItem.getState();
+                if (state instanceof DecimalType) {
+                    DecimalType value = (DecimalType) state;
+                    if (maximum == null || value.compareTo(maximum) > 0) {
+                        maximum = value;
+                        maximumHistoricItem = historicItem;
+                    }
                 }
             }
         }
@@ -352,18 +376,27 @@ public class PersistenceExtensions {
      *         the given <code>serviceId</code> does not refer to an available {@link QueryablePersistenceService}
      */
     public static HistoricItem minimumSince(final Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
         HistoricItem minimumHistoricItem = null;
         DecimalType minimum = (DecimalType) item.getStateAs(DecimalType.class);
-        while (it.hasNext()) {
-            HistoricItem historicItem = it.next();
-            State state = historicItem.getState();
-            if (state instanceof DecimalType) {
-                DecimalType value = (DecimalType) state;
-                if (minimum == null || value.compareTo(minimum) < 0) {
-                    minimum = value;
-                    minimumHistoricItem = historicItem;
+        AggregatingPersistenceService aService = getAggregatingService(serviceId);
+        if (aService != null) {
+            AggregatedItem aggregatedItem = aService.aggregate(createFilterSince(item, timestamp), Aggregation.MIN);
+            if (aggregatedItem != null && (minimum == null || aggregatedItem.getState().compareTo(minimum) < 0)) {
+                minimum = aggregatedItem.getState();
+                minimumHistoricItem = aggregatedItem;
+            }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+                State state = historicItem.getState();
+                if (state instanceof DecimalType) {
+                    DecimalType value = (DecimalType) state;
+                    if (minimum == null || value.compareTo(minimum) < 0) {
+                        minimum = value;
+                        minimumHistoricItem = historicItem;
+                    }
                 }
             }
         }
@@ -419,9 +452,6 @@ public class PersistenceExtensions {
      *         refer to an available {@link QueryablePersistenceService}
      */
     public static DecimalType averageSince(Item item, AbstractInstant timestamp, String serviceId) {
-        Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
-        Iterator<HistoricItem> it = result.iterator();
-
         BigDecimal total = BigDecimal.ZERO;
 
         BigDecimal avgValue, timeSpan;
@@ -429,23 +459,40 @@ public class PersistenceExtensions {
         BigDecimal lastTimestamp = null, thisTimestamp = null;
         BigDecimal firstTimestamp = null;
 
-        while (it.hasNext()) {
-            HistoricItem thisItem = it.next();
-            State state = thisItem.getState();
-
-            if (state instanceof DecimalType) {
-                thisState = (DecimalType) state;
-                thisTimestamp = BigDecimal.valueOf(thisItem.getTimestamp().getTime());
-                if (firstTimestamp == null) {
-                    firstTimestamp = thisTimestamp;
-                } else {
-                    avgValue = (thisState.toBigDecimal().add(lastState.toBigDecimal())).divide(BigDecimal.valueOf(2),
-                            MathContext.DECIMAL64);
-                    timeSpan = thisTimestamp.subtract(lastTimestamp);
-                    total = total.add(avgValue.multiply(timeSpan, MathContext.DECIMAL64));
+        AggregatingPersistenceService aService = getAggregatingService(serviceId);
+        if (aService != null) {
+            // the service averages the persisted states, only the time since the last one is added here
+            AggregatedItem average = aService.aggregate(createFilterSince(item, timestamp),
+                    Aggregation.TIME_WEIGHTED_AVG);
+            if (average != null) {
+                firstTimestamp = BigDecimal.valueOf(average.getBegin().getTime());
+                lastTimestamp = BigDecimal.valueOf(average.getEnd().getTime());
+                lastState = average.getLastState();
+                total = average.getState().toBigDecimal().multiply(lastTimestamp.subtract(firstTimestamp),
+                        MathContext.DECIMAL64);
+            }
+        } else {
+            Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
+            Iterator<HistoricItem> it = result.iterator();
+
+            while (it.hasNext()) {
+                HistoricItem thisItem = it.next();
+                State state = thisItem.getState();
+
+                if (state instanceof DecimalType) {
+                    thisState = (DecimalType) state;
+                    thisTimestamp = BigDecimal.valueOf(thisItem.getTimestamp().getTime());
+                    if (firstTimestamp == null) {
+                        firstTimestamp = thisTimestamp;
+                    } else {
+                        avgValue = (thisState.toBigDecimal().add(lastState.toBigDecimal()))
+                                .divide(BigDecimal.valueOf(2), MathContext.DECIMAL64);
+                        timeSpan = thisTimestamp.subtract(lastTimestamp);
+                        total = total.add(avgValue.multiply(timeSpan, MathContext.DECIMAL64));
+                    }
+                    lastTimestamp = thisTimestamp;
+                    lastState = thisState;
                 }
-                lastTimestamp = thisTimestamp;
-                lastState = thisState;
             }
         }
 
@@ -494,6 +541,12 @@ public class PersistenceExtensions {
      *         {@link QueryablePersistenceService}
      */
     public static DecimalType sumSince(Item item, AbstractInstant timestamp, String serviceId) {
+        AggregatingPersistenceService aService = getAggregatingService(serviceId);
+        if (aService != null) {
+            AggregatedItem sum = aService.aggregate(createFilterSince(item, timestamp), Aggregation.SUM);
+            return sum != null ? sum.getState() : new DecimalType(BigDecimal.ZERO);
+        }
+
         Iterable<HistoricItem> result = getAllStatesSince(item, timestamp, serviceId);
         Iterator<HistoricItem> it = result.iterator();
 
@@ -512,12 +565,7 @@ public class PersistenceExtensions {
         PersistenceService service = getService(serviceId);
         if (service instanceof QueryablePersistenceService) {
             QueryablePersistenceService qService = (QueryablePersistenceService) service;
-            FilterCriteria filter = new FilterCriteria();
-            filter.setBeginDate(
-                    ZonedDateTime.ofInstant(timestamp.toDate().toInstant(), timeZoneProvider.getTimeZone()));
-            filter.setItemName(item.getName());
-            filter.setOrdering(Ordering.ASCENDING);
-            return qService.query(filter);
+            return qService.query(createFilterSince(item, timestamp));
         } else {
             LoggerFactory.getLogger(PersistenceExtensions.class)
                     .warn("There is no queryable persistence service registered with the id '{}'", serviceId);
@@ -525,6 +573,14 @@ public class PersistenceExtensions {
         }
     }
 
+    private static FilterCriteria createFilterSince(Item item, AbstractInstant timestamp) {
+        FilterCriteria filter = new FilterCriteria();
+        filter.setBeginDate(ZonedDateTime.ofInstant(timestamp.toDate().toInstant(), timeZoneProvider.getTimeZone()));
+        filter.setItemName(item.getName());
+        filter.setOrdering(Ordering.ASCENDING);
+        return filter;
+    }
+
     /**
      * Query the last update time of a given <code>item</code>. The default persistence service is used.
      *
@@ -126,6 +126,35 @@ public class JSonStorageTest extends JavaTest {
         assertEquals(storageString1, storageString2);
     }
 
+    @Test
+    public void testDeserializedValueIsNotSharedByDefault() {
+        objectStorage.put("DummyObject", new DummyObject());
+        DummyObject dummy = objectStorage.get("DummyObject");
+        dummy.configuration.put("testString", "modified");
+
+        DummyObject otherDummy = objectStorage.get("DummyObject");
+        assertNotSame(dummy, otherDummy);
+        assertEquals("hello world", otherDummy.configuration.get("testString"));
+    }
+
+    @Test
+    public void testDeserializedValueIsCachedUntilChanged() {
+        objectStorage = new JsonStorage<>(tmpFile, this.getClass().getClassLoader(), 0, 0, 0, true);
+        objectStorage.put("DummyObject", new DummyObject());
+        DummyObject dummy = objectStorage.get("DummyObject");
+
+        assertSame(dummy, objectStorage.get("DummyObject"));
+        assertSame(dummy, objectStorage.getValues().iterator().next());
+
+        objectStorage.put("DummyObject", new DummyObject());
+        DummyObject updatedDummy = objectStorage.get("DummyObject");
+        assertNotSame(dummy, updatedDummy);
+        assertSame(updatedDummy, objectStorage.get("DummyObject"));
+
+        objectStorage.remove("DummyObject");
+        assertNull(objectStorage.get("DummyObject"));
+    }
+
     private static class DummyObject {
 
         private final Configuration configuration = new Configuration();
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.json.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the change log of the {@link JsonStorage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class JsonStorageLogTest {
+
+    private static final int DELAY = 60000;
+
+    private File tmpFile;
+    private File logFile;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpFile = File.createTempFile("storage-log", ".json");
+        logFile = new File(tmpFile.getPath() + JsonStorage.LOG_EXTENSION);
+    }
+
+    @After
+    public void tearDown() {
+        tmpFile.delete();
+        logFile.delete();
+        new File(tmpFile.getPath() + JsonStorage.COMPACTING_LOG_EXTENSION).delete();
+    }
+
+    private JsonStorage<String> createStorage() {
+        return new JsonStorage<>(tmpFile, this.getClass().getClassLoader(), 0, DELAY, DELAY);
+    }
+
+    @Test
+    public void changesAreReplayedWithoutCompaction() throws IOException {
+        JsonStorage<String> storage = createStorage();
+        storage.put("a", "1");
+        storage.put("b", "2");
+        storage.put("a", "3");
+        storage.remove("b");
+
+        assertTrue(logFile.exists());
+        assertEquals("", FileUtils.readFileToString(tmpFile));
+
+        storage = createStorage();
+        assertEquals("3", storage.get("a"));
+        assertFalse(storage.containsKey("b"));
+
+        // the replayed log has been compacted into the storage file
+        assertFalse(logFile.exists());
+        assertTrue(FileUtils.readFileToString(tmpFile).contains("\"a\""));
+    }
+
+    @Test
+    public void commitCompactsTheLog() throws IOException {
+        JsonStorage<String> storage = createStorage();
+        storage.put("a", "1");
+        storage.commitDatabase();
+
+        assertFalse(logFile.exists());
+        storage.put("b", "2");
+        assertTrue(logFile.exists());
+
+        storage = createStorage();
+        assertEquals("1", storage.get("a"));
+        assertEquals("2", storage.get("b"));
+    }
+
+    @Test
+    public void incompleteLastRecordIsIgnored() throws IOException {
+        JsonStorage<String> storage = createStorage();
+        storage.put("a", "1");
+        storage.put("b", "2");
+        Files.write(logFile.toPath(), "{\"key\":\"c\",\"class\":\"java.la".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        storage = createStorage();
+        assertEquals("1", storage.get("a"));
+        assertEquals("2", storage.get("b"));
+        assertFalse(storage.containsKey("c"));
+
+        // changes after the recovery are not affected by the corrupt record
+        storage.put("d", "4");
+        storage = createStorage();
+        assertEquals("4", storage.get("d"));
+    }
+}
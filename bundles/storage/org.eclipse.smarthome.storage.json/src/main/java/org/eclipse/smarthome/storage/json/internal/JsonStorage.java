@@ -12,10 +12,21 @@
  */
 package org.eclipse.smarthome.storage.json.internal;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -23,6 +34,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -37,13 +49,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonIOException;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
 
 /**
  * The JsonStorage is concrete implementation of the {@link Storage} interface.
  * It stores the key-value pairs in files. This Storage serializes and deserializes
  * the given values using JSON (generated by {@code Gson}).
- * A deferred write mechanism of WRITE_DELAY milliseconds is used to improve performance.
+ * <p>
+ * Every change is appended to a change log right away (one JSON record per line), so the cost of a change does not
+ * depend on the size of the storage. The log is compacted into the storage file in the background: after
+ * MAX_DEFERRED_PERIOD milliseconds, or WRITE_DELAY milliseconds after the last change once the log holds more records
+ * than the storage has entries. On startup the log is replayed on top of the storage file.
+ * <p>
+ * If enabled, deserialized values are cached (softly referenced) until their entry is changed, so reading unchanged
+ * entries does not parse them again. The cache is disabled by default: with it, callers share the returned objects
+ * and must not modify them without putting them back (see {@link Storage#get(String)}).
+ * <p>
  * The service keeps backups in a /backup folder, and maintains a maximum of MAX_FILES
  * at any time
  *
@@ -59,9 +83,15 @@ public class JsonStorage<T> implements Storage<T> {
     private final int maxBackupFiles;
     private final int writeDelay;
     private final int maxDeferredPeriod;
+    private final boolean cacheValues;
 
     static final String CLASS = "class";
     static final String VALUE = "value";
+    static final String KEY = "key";
+    static final String LOG_EXTENSION = ".log";
+    static final String COMPACTING_LOG_EXTENSION = ".log.compacting";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int MIN_LOG_RECORDS_FOR_COMPACTION = 100;
     private final String BACKUP_EXTENSION = "backup";
     private final String SEPARATOR = "--";
 
@@ -71,24 +101,52 @@ public class JsonStorage<T> implements Storage<T> {
     private long deferredSince = 0;
 
     private final File file;
+    private final File logFile;
+    private final File compactingLogFile;
     private final ClassLoader classLoader;
     private final Map<String, StorageEntry> map = new ConcurrentHashMap<String, StorageEntry>();
+    private final Map<String, DeserializedValue> deserializedValues = new ConcurrentHashMap<>();
+    private final Map<String, Class<?>> entityClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the modifications of the map together with appending them to the log, so the log records are in the
+     * order of the modifications.
+     */
+    private final Object writeLock = new Object();
+    private final Object commitLock = new Object();
+    private @Nullable Writer logWriter;
+    private int logRecords;
 
     private transient Gson internalMapper;
     private transient Gson entityMapper;
+    private transient Gson logMapper;
 
     public JsonStorage(File file, ClassLoader classLoader, int maxBackupFiles, int writeDelay, int maxDeferredPeriod) {
+        this(file, classLoader, maxBackupFiles, writeDelay, maxDeferredPeriod, false);
+    }
+
+    /**
+     * Creates a storage which optionally caches the deserialized values.
+     *
+     * @param cacheValues true to cache the deserialized values, whose instances are then shared by all callers
+     */
+    public JsonStorage(File file, ClassLoader classLoader, int maxBackupFiles, int writeDelay, int maxDeferredPeriod,
+            boolean cacheValues) {
         this.file = file;
+        this.logFile = new File(file.getPath() + LOG_EXTENSION);
+        this.compactingLogFile = new File(file.getPath() + COMPACTING_LOG_EXTENSION);
         this.classLoader = classLoader;
         this.maxBackupFiles = maxBackupFiles;
         this.writeDelay = writeDelay;
         this.maxDeferredPeriod = maxDeferredPeriod;
+        this.cacheValues = cacheValues;
 
         this.internalMapper = new GsonBuilder()
                 .registerTypeHierarchyAdapter(Map.class, new StorageEntryMapDeserializer()).setPrettyPrinting()
                 .create();
         this.entityMapper = new GsonBuilder().registerTypeAdapter(Configuration.class, new ConfigurationDeserializer())
                 .setPrettyPrinting().create();
+        this.logMapper = new Gson();
 
         commitTimer = new Timer();
 
@@ -125,6 +183,13 @@ public class JsonStorage<T> implements Storage<T> {
             map.putAll(inputMap);
             logger.debug("Opened Json storage file at '{}'.", file.getAbsolutePath());
         }
+
+        // Apply the changes which have not been compacted into the storage file yet
+        boolean replayedCompactingLog = replayLog(compactingLogFile);
+        boolean replayedLog = replayLog(logFile);
+        if (replayedCompactingLog || replayedLog) {
+            commitDatabase();
+        }
     }
 
     @Override
@@ -134,7 +199,12 @@ public class JsonStorage<T> implements Storage<T> {
         }
 
         StorageEntry val = new StorageEntry(value.getClass().getName(), entityMapper.toJsonTree(value));
-        StorageEntry previousValue = map.put(key, val);
+        StorageEntry previousValue;
+        synchronized (writeLock) {
+            previousValue = map.put(key, val);
+            deserializedValues.remove(key);
+            appendToLog(key, val);
+        }
         deferredCommit();
 
         if (previousValue == null) {
@@ -146,11 +216,16 @@ public class JsonStorage<T> implements Storage<T> {
 
     @Override
     public @Nullable T remove(String key) {
-        StorageEntry removedElement = map.remove(key);
-        deferredCommit();
-        if (removedElement == null) {
-            return null;
+        StorageEntry removedElement;
+        synchronized (writeLock) {
+            removedElement = map.remove(key);
+            if (removedElement == null) {
+                return null;
+            }
+            deserializedValues.remove(key);
+            appendToLog(key, null);
         }
+        deferredCommit();
         return deserialize(removedElement);
     }
 
@@ -165,7 +240,7 @@ public class JsonStorage<T> implements Storage<T> {
         if (value == null) {
             return null;
         }
-        return deserialize(value);
+        return getDeserialized(key, value);
     }
 
     @Override
@@ -176,12 +251,37 @@ public class JsonStorage<T> implements Storage<T> {
     @Override
     public Collection<@Nullable T> getValues() {
         Collection<@Nullable T> values = new ArrayList<>();
-        for (String key : getKeys()) {
-            values.add(get(key));
+        for (Map.Entry<String, StorageEntry> entry : map.entrySet()) {
+            values.add(getDeserialized(entry.getKey(), entry.getValue()));
         }
         return values;
     }
 
+    /**
+     * Returns the cached value of the given entry, or deserializes and caches it. A cached value is only used if it
+     * has been deserialized from the very same entry, so a value deserialized concurrently to a change of the key is
+     * never returned afterwards. Without caching, every call returns a new instance.
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable T getDeserialized(String key, StorageEntry entry) {
+        if (!cacheValues) {
+            return deserialize(entry);
+        }
+        DeserializedValue cached = deserializedValues.get(key);
+        if (cached != null && cached.entry == entry) {
+            Object value = cached.value.get();
+            if (value != null) {
+                return (T) value;
+            }
+        }
+
+        T value = deserialize(entry);
+        if (value != null) {
+            deserializedValues.put(key, new DeserializedValue(entry, value));
+        }
+        return value;
+    }
+
     /**
      * Deserializes and instantiates an object of type {@code T} out of the
      * given JSON String. A special classloader (other than the one of the
@@ -198,13 +298,7 @@ public class JsonStorage<T> implements Storage<T> {
         @Nullable
         T value = null;
         try {
-            // load required class within the given bundle context
-            Class<T> loadedValueType = null;
-            if (classLoader == null) {
-                loadedValueType = (Class<T>) Class.forName(entry.getEntityClassName());
-            } else {
-                loadedValueType = (Class<T>) classLoader.loadClass(entry.getEntityClassName());
-            }
+            Class<T> loadedValueType = (Class<T>) loadEntityClass(entry.getEntityClassName());
 
             value = entityMapper.fromJson((JsonElement) entry.getValue(), loadedValueType);
             logger.trace("deserialized value '{}' from Json", value);
@@ -215,6 +309,20 @@ public class JsonStorage<T> implements Storage<T> {
         return value;
     }
 
+    private Class<?> loadEntityClass(String entityClassName) throws ClassNotFoundException {
+        Class<?> entityClass = entityClasses.get(entityClassName);
+        if (entityClass == null) {
+            // load required class within the given bundle context
+            if (classLoader == null) {
+                entityClass = Class.forName(entityClassName);
+            } else {
+                entityClass = classLoader.loadClass(entityClassName);
+            }
+            entityClasses.put(entityClassName, entityClass);
+        }
+        return entityClass;
+    }
+
     @SuppressWarnings("unchecked")
     private @Nullable Map<String, StorageEntry> readDatabase(File inputFile) {
         try {
@@ -267,41 +375,190 @@ public class JsonStorage<T> implements Storage<T> {
         return fileTimes;
     }
 
-    private void writeDatabaseFile(File dataFile, String data) {
+    private boolean writeDatabaseFile(File dataFile, String data) {
         try (FileOutputStream outputStream = new FileOutputStream(dataFile, false)) {
             outputStream.write(data.getBytes());
             outputStream.flush();
+            return true;
         } catch (Exception e) {
             logger.error("Error writing JsonDB to {}. Cause {}.", dataFile.getPath(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes the database file by writing a temporary file first, which then replaces the database file. So there
+     * always is a complete database file, even if the system crashes during the write process.
+     */
+    private boolean writeDatabaseFileSafely(String data) {
+        File tempFile = new File(file.getPath() + TEMP_EXTENSION);
+        if (!writeDatabaseFile(tempFile, data)) {
+            return false;
+        }
+        try {
+            try {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error("Error writing JsonDB to {}. Cause {}.", file.getPath(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Appends a record for a put (or a remove if the entry is null) to the log. Must be called with the write lock.
+     */
+    private void appendToLog(String key, @Nullable StorageEntry entry) {
+        JsonObject record = new JsonObject();
+        record.addProperty(KEY, key);
+        if (entry != null) {
+            record.addProperty(CLASS, entry.getEntityClassName());
+            record.add(VALUE, (JsonElement) entry.getValue());
+        }
+        try {
+            Writer writer = logWriter;
+            if (writer == null) {
+                writer = new BufferedWriter(
+                        new OutputStreamWriter(new FileOutputStream(logFile, true), StandardCharsets.UTF_8));
+                logWriter = writer;
+            }
+            writer.write(logMapper.toJson(record));
+            writer.write('\n');
+            writer.flush();
+            logRecords++;
+        } catch (IOException e) {
+            logger.error("Error writing JsonDB log to {}. Cause {}.", logFile.getPath(), e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the records of the given log to the map.
+     *
+     * @return true if the log existed
+     */
+    private boolean replayLog(File log) {
+        if (!log.exists()) {
+            return false;
+        }
+        int records = 0;
+        try (BufferedReader reader = Files.newBufferedReader(log.toPath(), StandardCharsets.UTF_8)) {
+            JsonParser parser = new JsonParser();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                JsonObject record;
+                try {
+                    record = parser.parse(line).getAsJsonObject();
+                } catch (JsonParseException | IllegalStateException e) {
+                    // the last record might not have been written completely
+                    logger.warn("Ignoring the corrupt end of the JsonDB log {} after {} records.", log.getPath(),
+                            records);
+                    break;
+                }
+                String key = record.get(KEY).getAsString();
+                JsonElement entityClassName = record.get(CLASS);
+                if (entityClassName == null) {
+                    map.remove(key);
+                } else {
+                    map.put(key, new StorageEntry(entityClassName.getAsString(), record.get(VALUE)));
+                }
+                records++;
+            }
+        } catch (IOException e) {
+            logger.error("Error reading JsonDB log from {}. Cause {}.", log.getPath(), e.getMessage());
+        }
+        logger.debug("Replayed {} records of the JsonDB log {}.", records, log.getPath());
+        return true;
+    }
+
+    /**
+     * Moves the current log aside, so the changes from now on are written to a new log. Must be called with the write
+     * lock.
+     */
+    private void rotateLog() {
+        Writer writer = logWriter;
+        logWriter = null;
+        logRecords = 0;
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+            if (!logFile.exists()) {
+                return;
+            }
+            if (compactingLogFile.exists()) {
+                // a previous compaction failed, keep its records in front of the current ones
+                Files.write(compactingLogFile.toPath(), Files.readAllBytes(logFile.toPath()),
+                        StandardOpenOption.APPEND);
+                Files.delete(logFile.toPath());
+            } else {
+                Files.move(logFile.toPath(), compactingLogFile.toPath());
+            }
+        } catch (IOException e) {
+            logger.error("Error rotating JsonDB log {}. Cause {}.", logFile.getPath(), e.getMessage());
         }
     }
 
     /**
      * Write out any outstanding data.
      * <p>
-     * This creates the backup copy at the same time as writing the database file. This avoids
-     * having to either rename the file later (which may leave a small window for there to
-     * be no file if the system crashes during the write process), or to copy the file when
-     * writing the backup copy (which would require a read and write, and is thus slower).
+     * This compacts the log into the database file. The log is moved aside first, so changes done during the
+     * compaction go to a new log. The database file is replaced atomically and the old log is only deleted
+     * afterwards, so the changes are never lost if the system crashes during the write process. The backup copy is
+     * written at the same time as the database file.
      */
     public void commitDatabase() {
-        String json = internalMapper.toJson(map);
+        synchronized (commitLock) {
+            Map<String, StorageEntry> snapshot;
+            synchronized (this) {
+                deferredSince = 0;
+            }
+            synchronized (writeLock) {
+                snapshot = new TreeMap<>(map);
+                rotateLog();
+            }
+
+            String json = internalMapper.toJson(snapshot);
 
-        synchronized (map) {
             // Write the database file
-            writeDatabaseFile(file, json);
+            if (writeDatabaseFileSafely(json) && compactingLogFile.exists() && !compactingLogFile.delete()) {
+                logger.warn("Could not delete the compacted JsonDB log {}.", compactingLogFile.getPath());
+            }
 
             // And also write the backup
             writeDatabaseFile(new File(file.getParent() + File.separator + BACKUP_EXTENSION,
                     System.currentTimeMillis() + SEPARATOR + file.getName()), json);
+        }
+    }
+
+    /**
+     * A value deserialized from a certain storage entry.
+     */
+    private static class DeserializedValue {
+        private final StorageEntry entry;
+        private final SoftReference<Object> value;
 
-            deferredSince = 0;
+        DeserializedValue(StorageEntry entry, Object value) {
+            this.entry = entry;
+            this.value = new SoftReference<>(value);
         }
     }
 
     private class CommitTimerTask extends TimerTask {
         @Override
         public void run() {
+            synchronized (JsonStorage.this) {
+                if (commitTimerTask == this) {
+                    commitTimerTask = null;
+                }
+            }
+
             // Save the database
             commitDatabase();
             List<Long> fileTimes = calculateFileTimes();
@@ -317,14 +574,32 @@ public class JsonStorage<T> implements Storage<T> {
         }
     }
 
+    /**
+     * Schedules the compaction of the log after a change.
+     */
     public synchronized void deferredCommit() {
-        // Handle a maximum time for deferring the commit.
-        // This stops a pathological loop preventing saving
-        if (deferredSince != 0 && deferredSince < System.nanoTime() - maxDeferredPeriod) {
-            commitDatabase();
-        }
+        long now = System.currentTimeMillis();
         if (deferredSince == 0) {
-            deferredSince = System.nanoTime();
+            deferredSince = now;
+        }
+
+        int records;
+        synchronized (writeLock) {
+            records = logRecords;
+        }
+        boolean logTooLarge = records > Math.max(map.size(), MIN_LOG_RECORDS_FOR_COMPACTION);
+        if (commitTimerTask != null && !logTooLarge) {
+            // the periodic compaction is scheduled already
+            return;
+        }
+
+        long delay;
+        if (logTooLarge) {
+            // Handle a maximum time for deferring the commit.
+            // This stops a pathological loop preventing saving
+            delay = Math.min(writeDelay, Math.max(0, deferredSince + maxDeferredPeriod - now));
+        } else {
+            delay = maxDeferredPeriod;
         }
 
         // Stop any existing timer
@@ -337,7 +612,7 @@ public class JsonStorage<T> implements Storage<T> {
         commitTimerTask = new CommitTimerTask();
 
         // Start the timer
-        commitTimer.schedule(commitTimerTask, writeDelay);
+        commitTimer.schedule(commitTimerTask, delay);
     }
 
 }
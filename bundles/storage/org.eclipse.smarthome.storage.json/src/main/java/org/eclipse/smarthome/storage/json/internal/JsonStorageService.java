@@ -43,10 +43,12 @@ public class JsonStorageService implements StorageService {
     private final String CFG_MAX_BACKUP_FILES = "backup_files";
     private final String CFG_WRITE_DELAY = "write_delay";
     private final String CFG_MAX_DEFER_DELAY = "max_defer_delay";
+    private final String CFG_CACHE_VALUES = "cache_values";
 
     private int maxBackupFiles = 5;
     private int writeDelay = 500;
     private int maxDeferredPeriod = 60000;
+    private boolean cacheValues = false;
 
     private final Map<String, JsonStorage<Object>> storageList = new HashMap<String, JsonStorage<Object>>();
 
@@ -90,6 +92,9 @@ public class JsonStorageService implements StorageService {
             logger.error("Value {} for {} is invalid. Using {}.", properties.get(CFG_MAX_DEFER_DELAY),
                     CFG_MAX_DEFER_DELAY, maxDeferredPeriod);
         }
+        if (properties.get(CFG_CACHE_VALUES) != null) {
+            cacheValues = Boolean.parseBoolean(properties.get(CFG_CACHE_VALUES).toString());
+        }
     }
 
     protected void deactivate() {
@@ -111,7 +116,7 @@ public class JsonStorageService implements StorageService {
         }
         if (!storageList.containsKey(name)) {
             storageList.put(name, (JsonStorage<Object>) new JsonStorage<T>(file, classLoader, maxBackupFiles,
-                    writeDelay, maxDeferredPeriod));
+                    writeDelay, maxDeferredPeriod, cacheValues));
         }
         return (Storage<T>) storageList.get(name);
     }
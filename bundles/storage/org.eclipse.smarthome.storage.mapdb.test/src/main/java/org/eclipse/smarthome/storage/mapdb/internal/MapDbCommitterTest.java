@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.mapdb.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.DB;
+
+/**
+ * Tests the grouping of commits by the {@link MapDbCommitter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbCommitterTest {
+
+    private static final int THREADS = 8;
+
+    private DB db;
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        db = mock(DB.class);
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void concurrentChangesReachingTheBatchSizeShouldBeCommittedOnce() throws Exception {
+        MapDbCommitter committer = new MapDbCommitter(db, scheduler, 3600000, THREADS);
+
+        changeConcurrently(committer);
+
+        verify(db, times(1)).commit();
+    }
+
+    @Test
+    public void concurrentChangesShouldBeCommittedOnceAfterTheInterval() throws Exception {
+        MapDbCommitter committer = new MapDbCommitter(db, scheduler, 100, 1000);
+
+        changeConcurrently(committer);
+
+        verify(db, timeout(5000)).commit();
+        Thread.sleep(300);
+        verify(db, times(1)).commit();
+    }
+
+    @Test
+    public void commitShouldCommitThePendingChangesOnlyOnce() throws Exception {
+        MapDbCommitter committer = new MapDbCommitter(db, scheduler, 3600000, 1000);
+
+        changeConcurrently(committer);
+        committer.commit();
+        committer.commit();
+
+        verify(db, times(1)).commit();
+    }
+
+    /**
+     * Notifies the committer about one change from each of {@link #THREADS} threads at the same time and waits until
+     * all of them have returned.
+     */
+    private void changeConcurrently(MapDbCommitter committer) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    barrier.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                committer.changed(1);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(5000);
+            assertFalse("A caller was not released", thread.isAlive());
+        }
+    }
+}
@@ -156,6 +156,24 @@ public class StorageServiceOSGiTest extends JavaOSGiTest {
         Assert.assertEquals(0, storage.getKeys().size());
     }
 
+    /**
+     * Assert several elements can be added and removed at once.
+     */
+    @Test
+    public void bulkOperations() {
+        final Map<String, Object> values = new HashMap<>();
+        values.put(KEY_1, new PersistedItem("String", Arrays.asList("LIGHT")));
+        values.put(KEY_2, new PersistedItem("Number", Arrays.asList("TEMPERATURE")));
+        storage.putAll(values);
+        Assert.assertEquals(2, storage.getKeys().size());
+        Assert.assertTrue(storage.get(KEY_2) instanceof PersistedItem);
+
+        final Map<String, Object> removed = storage.removeAll(Arrays.asList(KEY_1, KEY_2, "Key3"));
+        Assert.assertEquals(2, removed.size());
+        Assert.assertEquals("String", ((PersistedItem) removed.get(KEY_1)).itemType);
+        Assert.assertEquals(0, storage.getKeys().size());
+    }
+
     /**
      * Assert storage works without classloader.
      */
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.storage.mapdb.internal;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.mapdb.DB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Commits the changes of all {@link MapDbStorage}s of a MapDB database.
+ *
+ * <p>
+ * If no commit interval is set, every change is committed before the modifying call returns. Otherwise the changes are
+ * committed in groups: at the latest after the commit interval, or as soon as the given number of changes is pending.
+ * In this case the changes of the last interval are lost if the system crashes.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class MapDbCommitter {
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbCommitter.class);
+
+    private final DB db;
+    private final ScheduledExecutorService scheduler;
+    private final int commitInterval;
+    private final int commitBatchSize;
+
+    private int pendingChanges;
+    private @Nullable ScheduledFuture<?> scheduledCommit;
+
+    /**
+     * @param db the database to commit
+     * @param scheduler the scheduler used for the deferred commits
+     * @param commitInterval the maximum time in milliseconds changes are left uncommitted (0 to commit every change
+     *            immediately)
+     * @param commitBatchSize the number of pending changes which causes an immediate commit
+     */
+    MapDbCommitter(DB db, ScheduledExecutorService scheduler, int commitInterval, int commitBatchSize) {
+        this.db = db;
+        this.scheduler = scheduler;
+        this.commitInterval = commitInterval;
+        this.commitBatchSize = commitBatchSize;
+    }
+
+    /**
+     * Notifies about changes of the database, which have to be committed.
+     *
+     * @param changes the number of changes
+     */
+    void changed(int changes) {
+        if (commitInterval <= 0) {
+            db.commit();
+            return;
+        }
+
+        synchronized (this) {
+            pendingChanges += changes;
+            if (pendingChanges >= commitBatchSize) {
+                commit();
+            } else if (scheduledCommit == null) {
+                scheduledCommit = scheduler.schedule(this::commit, commitInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Commits the pending changes immediately.
+     */
+    synchronized void commit() {
+        ScheduledFuture<?> commit = scheduledCommit;
+        if (commit != null) {
+            commit.cancel(false);
+            scheduledCommit = null;
+        }
+        if (pendingChanges == 0 || db.isClosed()) {
+            return;
+        }
+        logger.trace("Committing {} changes to MapDB.", pendingChanges);
+        pendingChanges = 0;
+        db.commit();
+    }
+}
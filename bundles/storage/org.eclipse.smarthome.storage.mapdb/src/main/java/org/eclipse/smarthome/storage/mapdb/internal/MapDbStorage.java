@@ -15,6 +15,7 @@ package org.eclipse.smarthome.storage.mapdb.internal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 
@@ -34,7 +35,7 @@ import com.google.gson.GsonBuilder;
  * It stores the key-value pairs in files. This Storage serializes and deserializes
  * the given values using their JSON representation (generated by {@code Gson}.
  * This transformation should help maintaining version compatibility of the stored
- * data.
+ * data. The changes are committed by a {@link MapDbCommitter}.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial Contribution and API
  * @author Alex Tugarev - Loading with Class.forName() if classLoader is null
@@ -49,14 +50,16 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
 
     private final String name;
     private final DB db;
+    private final MapDbCommitter committer;
     private final ClassLoader classLoader;
     private Map<String, String> map;
 
     private transient Gson mapper;
 
-    public MapDbStorage(DB db, String name, ClassLoader classLoader) {
+    public MapDbStorage(DB db, MapDbCommitter committer, String name, ClassLoader classLoader) {
         this.name = name;
         this.db = db;
+        this.committer = committer;
         this.classLoader = classLoader;
         this.map = db.createTreeMap(name).makeOrGet();
         this.mapper = new GsonBuilder().registerTypeAdapterFactory(new PropertiesTypeAdapterFactory()).create();
@@ -75,17 +78,58 @@ public class MapDbStorage<T> implements DeletableStorage<T> {
             return remove(key);
         }
         String previousValue = map.put(key, serialize(value));
-        db.commit();
+        committer.changed(1);
         return deserialize(previousValue);
     }
 
+    @Override
+    public void putAll(Map<String, T> values) {
+        int changes = 0;
+        for (Map.Entry<String, T> entry : values.entrySet()) {
+            T value = entry.getValue();
+            if (value == null) {
+                if (map.remove(entry.getKey()) == null) {
+                    continue;
+                }
+            } else {
+                map.put(entry.getKey(), serialize(value));
+            }
+            changes++;
+        }
+        if (changes > 0) {
+            committer.changed(changes);
+        }
+    }
+
     @Override
     public @Nullable T remove(String key) {
         String removedElement = map.remove(key);
-        db.commit();
+        if (removedElement != null) {
+            committer.changed(1);
+        }
         return deserialize(removedElement);
     }
 
+    @Override
+    public Map<String, T> removeAll(Collection<String> keys) {
+        Map<String, T> removedValues = new HashMap<>();
+        int changes = 0;
+        for (String key : keys) {
+            String removedElement = map.remove(key);
+            if (removedElement != null) {
+                changes++;
+                T value = deserialize(removedElement);
+                if (value != null) {
+                    removedValues.put(key, value);
+                }
+            }
+        }
+        if (changes > 0) {
+            committer.changed(changes);
+        }
+        return removedValues;
+    }
+
     @Override
     public boolean containsKey(final String key) {
         return map.containsKey(key);
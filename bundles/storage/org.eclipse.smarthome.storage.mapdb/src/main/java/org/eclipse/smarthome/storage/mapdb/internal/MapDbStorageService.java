@@ -13,8 +13,10 @@
 package org.eclipse.smarthome.storage.mapdb.internal;
 
 import java.io.File;
+import java.util.Map;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.DeletableStorage;
 import org.eclipse.smarthome.core.storage.DeletableStorageService;
 import org.eclipse.smarthome.core.storage.StorageService;
@@ -26,6 +28,9 @@ import org.slf4j.LoggerFactory;
 /**
  * This implementation of {@link StorageService} provides abilities to store
  * data in the lightweight key-value-store <a href="http://www.mapdb.org">MapDB</a>.
+ * <p>
+ * By default every change is committed immediately. A commit interval can be configured to commit the changes in
+ * groups instead, which trades the durability of the latest changes for fewer disk writes.
  *
  * @author Thomas.Eichstaedt-Engelen - Initial Contribution and API
  * @author Alex Tugarev - Added getStorage for name only
@@ -38,13 +43,26 @@ public class MapDbStorageService implements DeletableStorageService {
     /** the name of the mapdb database ({@code storage.mapdb}) */
     private static final String DB_FILE_NAME = "storage.mapdb";
 
+    private static final String CFG_COMMIT_INTERVAL = "commit_interval";
+    private static final String CFG_COMMIT_BATCH_SIZE = "commit_batch_size";
+
     /** holds the local instance of the MapDB database */
     private DB db;
 
+    private MapDbCommitter committer;
+
+    private int commitInterval = 0;
+    private int commitBatchSize = 1000;
+
     /** the folder name to store mapdb databases ({@code mapdb} by default) */
     private String dbFolderName = "mapdb";
 
-    public void activate() {
+    public void activate(Map<String, Object> properties) {
+        if (properties != null) {
+            commitInterval = getIntProperty(properties, CFG_COMMIT_INTERVAL, commitInterval);
+            commitBatchSize = getIntProperty(properties, CFG_COMMIT_BATCH_SIZE, commitBatchSize);
+        }
+
         dbFolderName = ConfigConstants.getUserDataFolder() + File.separator + dbFolderName;
         File folder = new File(dbFolderName);
         if (!folder.exists()) {
@@ -53,18 +71,21 @@ public class MapDbStorageService implements DeletableStorageService {
 
         File dbFile = new File(dbFolderName, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
+        committer = new MapDbCommitter(db, ThreadPoolManager.getScheduledPool("storage"), commitInterval,
+                commitBatchSize);
 
         logger.debug("Opened MapDB file at '{}'.", dbFile.getAbsolutePath());
     }
 
     public void deactivate() {
+        committer.commit();
         db.close();
         logger.debug("Deactivated MapDB Storage Service.");
     }
 
     @Override
     public <T> DeletableStorage<T> getStorage(String name, ClassLoader classLoader) {
-        return new MapDbStorage<T>(db, name, classLoader);
+        return new MapDbStorage<T>(db, committer, name, classLoader);
     }
 
     @Override
@@ -72,4 +93,17 @@ public class MapDbStorageService implements DeletableStorageService {
         return getStorage(name, null);
     }
 
+    private int getIntProperty(Map<String, Object> properties, String name, int defaultValue) {
+        Object value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            logger.error("Value {} for {} is invalid. Using {}.", value, name, defaultValue);
+            return defaultValue;
+        }
+    }
+
 }
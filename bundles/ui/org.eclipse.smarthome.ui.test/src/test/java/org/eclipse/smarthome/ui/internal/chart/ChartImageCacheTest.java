@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.chart;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.library.items.NumberItem;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link ChartImageCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ChartImageCacheTest {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private ChartImageCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ChartImageCache();
+    }
+
+    @Test
+    public void cachedImageIsReturnedUntilItExpires() {
+        byte[] image = { 1, 2, 3 };
+        cache.put("a", image, Collections.singleton("Item"), MINUTE);
+        cache.put("b", image, Collections.singleton("Item"), 0);
+
+        assertThat(cache.get("a"), is(sameInstance(image)));
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.get("c"), is(nullValue()));
+    }
+
+    @Test
+    public void persistedStateRemovesImagesOfTheItem() {
+        cache.put("a", new byte[0], new HashSet<>(Arrays.asList("Item1", "Item2")), MINUTE);
+        cache.put("b", new byte[0], Collections.singleton("Item3"), MINUTE);
+
+        cache.stored("test", new NumberItem("Item2"));
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.get("b"), is(notNullValue()));
+    }
+
+    @Test
+    public void changedGroupMembershipRemovesImagesOfTheGroup() {
+        cache.put("a", new byte[0], new HashSet<>(Arrays.asList("Group1", "Item1")), MINUTE);
+        cache.put("b", new byte[0], new HashSet<>(Arrays.asList("Group2", "Item2")), MINUTE);
+
+        NumberItem item = new NumberItem("Item3");
+        item.addGroupName("Group1");
+        cache.added(item);
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.get("b"), is(notNullValue()));
+
+        cache.put("a", new byte[0], new HashSet<>(Arrays.asList("Group1", "Item1", "Item3")), MINUTE);
+        NumberItem movedItem = new NumberItem("Item3");
+        movedItem.addGroupName("Group2");
+        cache.updated(item, movedItem);
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.get("b"), is(nullValue()));
+    }
+
+    @Test
+    public void unchangedGroupMembershipKeepsImages() {
+        cache.put("a", new byte[0], new HashSet<>(Arrays.asList("Group1", "Item1")), MINUTE);
+
+        NumberItem item = new NumberItem("Item1");
+        item.addGroupName("Group1");
+        NumberItem updatedItem = new NumberItem("Item1");
+        updatedItem.addGroupName("Group1");
+        cache.updated(item, updatedItem);
+
+        assertThat(cache.get("a"), is(notNullValue()));
+
+        cache.updated(new GroupItem("Group1"), new GroupItem("Group1"));
+
+        assertThat(cache.get("a"), is(nullValue()));
+    }
+
+    @Test
+    public void leastRecentlyUsedImagesAreEvicted() {
+        for (int i = 0; i < ChartImageCache.MAX_SIZE; i++) {
+            cache.put("chart" + i, new byte[0], Collections.emptySet(), MINUTE);
+        }
+        cache.get("chart0");
+        cache.put("another", new byte[0], Collections.emptySet(), MINUTE);
+
+        assertThat(cache.size(), is(ChartImageCache.MAX_SIZE));
+        assertThat(cache.get("chart0"), is(notNullValue()));
+        assertThat(cache.get("chart1"), is(nullValue()));
+    }
+}
@@ -595,6 +595,43 @@ public class ItemUIRegistryImplTest {
         assertEquals("Memory [State]", label);
     }
 
+    @Test
+    public void getLabel_labelFollowsStateChanges() throws ItemNotFoundException {
+        String testLabel = "Label [%d]";
+
+        when(widget.getLabel()).thenReturn(testLabel);
+        when(item.getState()).thenReturn(new DecimalType(20));
+        assertEquals("Label [20]", uiRegistry.getLabel(widget));
+        when(item.getState()).thenReturn(new DecimalType(21));
+        assertEquals("Label [21]", uiRegistry.getLabel(widget));
+        when(item.getState()).thenReturn(UnDefType.UNDEF);
+        assertEquals("Label [-]", uiRegistry.getLabel(widget));
+    }
+
+    @Test
+    public void getLabel_labelFollowsStateDescriptionPatternChanges() throws ItemNotFoundException {
+        String testLabel = "Label";
+
+        StateDescription stateDescription = mock(StateDescription.class);
+        when(widget.getLabel()).thenReturn(testLabel);
+        when(item.getStateDescription()).thenReturn(stateDescription);
+        when(stateDescription.getPattern()).thenReturn("%s");
+        when(item.getState()).thenReturn(new StringType("State"));
+        assertEquals("Label [State]", uiRegistry.getLabel(widget));
+
+        when(stateDescription.getPattern()).thenReturn("is %s");
+        assertEquals("Label [is State]", uiRegistry.getLabel(widget));
+    }
+
+    @Test
+    public void getLabel_stateLookingLikeTransformationIsNotTransformed() throws ItemNotFoundException {
+        String testLabel = "Label [%s]";
+
+        when(widget.getLabel()).thenReturn(testLabel);
+        when(item.getState()).thenReturn(new StringType("FOO(bar):baz"));
+        assertEquals("Label [FOO(bar):baz]", uiRegistry.getLabel(widget));
+    }
+
     @Test
     public void getLabelColor_labelWithDecimalValue() throws ItemNotFoundException {
         String testLabel = "Label [%.3f]";
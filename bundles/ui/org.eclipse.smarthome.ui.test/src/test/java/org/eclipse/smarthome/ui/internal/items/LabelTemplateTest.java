@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.eclipse.smarthome.core.library.unit.SIUnits;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link LabelTemplate}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LabelTemplateTest {
+
+    @Test
+    public void testLabelWithoutFormatPattern() {
+        LabelTemplate template = new LabelTemplate("Label", pattern -> "-");
+
+        assertThat(template.getLabel(), is("Label"));
+        assertThat(template.getFormatPattern(), is(nullValue()));
+        assertThat(template.getTransformationType(), is(nullValue()));
+        assertThat(template.getUnit(), is(nullValue()));
+    }
+
+    @Test
+    public void testLabelWithFormatPattern() {
+        LabelTemplate template = new LabelTemplate(" Label [%.1f °C] ", pattern -> "undefined " + pattern);
+
+        assertThat(template.getFormatPattern(), is("%.1f °C"));
+        assertThat(template.getPrefix(), is("Label ["));
+        assertThat(template.getText(), is("Label"));
+        assertThat(template.getValuePattern(), is("%.1f °C"));
+        assertThat(template.isDecimal(), is(false));
+        assertThat(template.getUndefinedValue(), is("undefined %.1f °C"));
+        assertThat(template.getUnit(), is(SIUnits.CELSIUS));
+    }
+
+    @Test
+    public void testLabelWithIntegerPattern() {
+        LabelTemplate template = new LabelTemplate("Label [%d]", pattern -> "-");
+
+        assertThat(template.isDecimal(), is(true));
+        assertThat(template.getValuePattern(), is("%.0f"));
+    }
+
+    @Test
+    public void testLabelWithTransformation() {
+        LabelTemplate template = new LabelTemplate("Label [MAP(en.map):%s]", pattern -> "-");
+
+        assertThat(template.getFormatPattern(), is("MAP(en.map):%s"));
+        assertThat(template.getTransformationType(), is("MAP"));
+        assertThat(template.getTransformationFunction(), is("en.map"));
+        assertThat(template.getStaticValue(), is("%s"));
+        assertThat(template.getValuePattern(), is("%s"));
+    }
+
+    @Test
+    public void testLabelWithEmptyPattern() {
+        LabelTemplate template = new LabelTemplate("Label []", pattern -> "-");
+
+        assertThat(template.getFormatPattern(), is(""));
+        assertThat(template.getText(), is("Label"));
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.chart;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.persistence.PersistenceStoreListener;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+
+/**
+ * The {@link ChartImageCache} keeps the most recently rendered chart images, so charts requested again with the same
+ * parameters are not queried and rendered again. An image is removed as soon as a state of one of its items is
+ * persisted, as the chart would show the new data then, when the members of one of its groups change, as the group
+ * members have been resolved when the chart was rendered, or when it expires.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = { ChartImageCache.class, PersistenceStoreListener.class })
+public class ChartImageCache implements PersistenceStoreListener, ItemRegistryChangeListener {
+
+    /** The maximum number of cached images. */
+    static final int MAX_SIZE = 50;
+
+    private final Map<String, CachedImage> images = new LinkedHashMap<String, CachedImage>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedImage> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private ItemRegistry itemRegistry;
+
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL, policy = ReferencePolicy.DYNAMIC)
+    protected void setItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry = itemRegistry;
+        this.itemRegistry.addRegistryChangeListener(this);
+    }
+
+    protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry.removeRegistryChangeListener(this);
+        this.itemRegistry = null;
+    }
+
+    /**
+     * Returns a cached image.
+     *
+     * @param key the key of the image, which identifies all parameters of the chart
+     * @return the encoded image or null if there is no valid image for the key
+     */
+    public synchronized byte[] get(String key) {
+        CachedImage image = images.get(key);
+        if (image == null) {
+            return null;
+        }
+        if (image.expires <= System.currentTimeMillis()) {
+            images.remove(key);
+            return null;
+        }
+        return image.data;
+    }
+
+    /**
+     * Adds an image to the cache.
+     *
+     * @param key the key of the image, which identifies all parameters of the chart
+     * @param data the encoded image
+     * @param itemNames the names of the items shown by the chart
+     * @param maxAge the time in milliseconds the image is valid at most
+     */
+    public synchronized void put(String key, byte[] data, Set<String> itemNames, long maxAge) {
+        images.put(key, new CachedImage(data, itemNames, System.currentTimeMillis() + maxAge));
+    }
+
+    /**
+     * Removes all images showing a given item.
+     *
+     * @param itemName the name of the item
+     */
+    public synchronized void invalidate(String itemName) {
+        images.values().removeIf(image -> image.itemNames.contains(itemName));
+    }
+
+    /**
+     * Removes all images.
+     */
+    public synchronized void clear() {
+        images.clear();
+    }
+
+    synchronized int size() {
+        return images.size();
+    }
+
+    @Override
+    public void stored(String serviceId, Item item) {
+        invalidate(item.getName());
+    }
+
+    @Override
+    public void added(Item element) {
+        invalidateGroups(element.getGroupNames());
+    }
+
+    @Override
+    public void removed(Item element) {
+        invalidate(element.getName());
+        invalidateGroups(element.getGroupNames());
+    }
+
+    @Override
+    public void updated(Item oldElement, Item element) {
+        if (!oldElement.getGroupNames().equals(element.getGroupNames())) {
+            invalidateGroups(oldElement.getGroupNames());
+            invalidateGroups(element.getGroupNames());
+        }
+        if (element instanceof GroupItem) {
+            invalidate(element.getName());
+        }
+    }
+
+    @Override
+    public void allItemsChanged(Collection<String> oldItemNames) {
+        clear();
+    }
+
+    private void invalidateGroups(Collection<String> groupNames) {
+        for (String groupName : groupNames) {
+            invalidate(groupName);
+        }
+    }
+
+    private static class CachedImage {
+
+        private final byte[] data;
+        private final Set<String> itemNames;
+        private final long expires;
+
+        CachedImage(byte[] data, Set<String> itemNames, long expires) {
+            this.data = data;
+            this.itemNames = itemNames;
+            this.expires = expires;
+        }
+    }
+}
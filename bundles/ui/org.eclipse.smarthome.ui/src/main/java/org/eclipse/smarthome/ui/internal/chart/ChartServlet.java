@@ -13,18 +13,19 @@
 package org.eclipse.smarthome.ui.internal.chart;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
-import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
-import javax.imageio.stream.ImageOutputStream;
 import javax.servlet.Servlet;
 import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
@@ -33,6 +34,8 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.apache.commons.lang.BooleanUtils;
+import org.eclipse.smarthome.core.items.GroupItem;
+import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
 import org.eclipse.smarthome.ui.chart.ChartProvider;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
@@ -64,6 +67,9 @@ import org.slf4j.LoggerFactory;
  * <li>legend: Show the legend? If not supplied, the ChartProvider should make his own decision.</li>
  * </ul>
  *
+ * Rendered charts are kept in the {@link ChartImageCache} until a state of one of their items is persisted, the
+ * members of one of their groups change or their period has moved by the duration of one pixel.
+ *
  * @author Chris Jackson
  * @author Holger Reichert - Support for themes, DPI, legend hiding
  *
@@ -109,6 +115,7 @@ public class ChartServlet extends HttpServlet {
 
     protected HttpService httpService;
     protected ItemUIRegistry itemUIRegistry;
+    protected ChartImageCache chartImageCache;
     protected static Map<String, ChartProvider> chartProviders = new HashMap<String, ChartProvider>();
 
     @Reference(policy = ReferencePolicy.DYNAMIC)
@@ -129,13 +136,28 @@ public class ChartServlet extends HttpServlet {
         this.itemUIRegistry = null;
     }
 
+    @Reference
+    protected void setChartImageCache(ChartImageCache chartImageCache) {
+        this.chartImageCache = chartImageCache;
+    }
+
+    protected void unsetChartImageCache(ChartImageCache chartImageCache) {
+        this.chartImageCache = null;
+    }
+
     @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     public void addChartProvider(ChartProvider provider) {
         chartProviders.put(provider.getName(), provider);
+        if (chartImageCache != null) {
+            chartImageCache.clear();
+        }
     }
 
     public void removeChartProvider(ChartProvider provider) {
         chartProviders.remove(provider.getName());
+        if (chartImageCache != null) {
+            chartImageCache.clear();
+        }
     }
 
     public static Map<String, ChartProvider> getChartProviders() {
@@ -177,6 +199,7 @@ public class ChartServlet extends HttpServlet {
         if (config == null) {
             return;
         }
+        chartImageCache.clear();
 
         final String providerNameString = Objects.toString(config.get("provider"), null);
         if (providerNameString != null) {
@@ -311,31 +334,86 @@ public class ChartServlet extends HttpServlet {
 
         // Set the content type to that provided by the chart provider
         res.setContentType("image/" + provider.getChartType());
-        logger.debug("chart building with width {} height {} dpi {}", width, height, dpi);
-        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(res.getOutputStream())) {
-            BufferedImage chart = provider.createChart(serviceName, req.getParameter("theme"), timeBegin, timeEnd,
-                    height, width, req.getParameter("items"), req.getParameter("groups"), dpi, legend);
-            ImageIO.write(chart, provider.getChartType().toString(), imageOutputStream);
-            logger.debug("Chart successfully generated and written to the response.");
-        } catch (ItemNotFoundException e) {
-            logger.debug("{}", e.getMessage());
-            res.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
-        } catch (IllegalArgumentException e) {
-            logger.warn("Illegal argument in chart: {}", e.getMessage());
-            res.sendError(HttpServletResponse.SC_BAD_REQUEST, "Illegal argument in chart: " + e.getMessage());
-        } catch (IIOException e) {
+
+        // The key contains the requested and not the computed period, so charts ending now are cached as well
+        String cacheKey = String.join("|", providerName, serviceName, req.getParameter("theme"),
+                req.getParameter("items"), req.getParameter("groups"), req.getParameter("period"),
+                req.getParameter("begin"), req.getParameter("end"), String.valueOf(width), String.valueOf(height),
+                String.valueOf(dpi), String.valueOf(legend));
+        byte[] image = chartImageCache.get(cacheKey);
+        if (image == null) {
+            logger.debug("chart building with width {} height {} dpi {}", width, height, dpi);
+            try {
+                BufferedImage chart = provider.createChart(serviceName, req.getParameter("theme"), timeBegin,
+                        timeEnd, height, width, req.getParameter("items"), req.getParameter("groups"), dpi, legend);
+                ByteArrayOutputStream imageOutputStream = new ByteArrayOutputStream();
+                ImageIO.write(chart, provider.getChartType().toString(), imageOutputStream);
+                image = imageOutputStream.toByteArray();
+                logger.debug("Chart successfully generated.");
+            } catch (ItemNotFoundException e) {
+                logger.debug("{}", e.getMessage());
+                res.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+                return;
+            } catch (IllegalArgumentException e) {
+                logger.warn("Illegal argument in chart: {}", e.getMessage());
+                res.sendError(HttpServletResponse.SC_BAD_REQUEST, "Illegal argument in chart: " + e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                if (logger.isDebugEnabled()) {
+                    // we also attach the stack trace
+                    logger.warn("Chart generation failed: {}", e.getMessage(), e);
+                } else {
+                    logger.warn("Chart generation failed: {}", e.getMessage());
+                }
+                res.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+                return;
+            }
+            // the chart changes visibly once its period has moved by the duration of a pixel
+            long pixelDuration = (timeEnd.getTime() - timeBegin.getTime()) / Math.max(1, width);
+            chartImageCache.put(cacheKey, image, getItemNames(req), pixelDuration);
+        } else {
+            logger.debug("Chart taken from the cache.");
+        }
+
+        try {
+            res.setContentLength(image.length);
+            res.getOutputStream().write(image);
+            logger.debug("Chart successfully written to the response.");
+        } catch (IOException e) {
             // this can happen if the request is terminated while the image is streamed, see
             // https://github.com/openhab/openhab-distro/issues/684
             logger.debug("Failed writing image to response stream", e);
-        } catch (RuntimeException e) {
-            if (logger.isDebugEnabled()) {
-                // we also attach the stack trace
-                logger.warn("Chart generation failed: {}", e.getMessage(), e);
-            } else {
-                logger.warn("Chart generation failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the names of all items shown by a chart, including the members of the requested groups.
+     */
+    private Set<String> getItemNames(HttpServletRequest req) {
+        Set<String> itemNames = new HashSet<>();
+        String items = req.getParameter("items");
+        if (items != null) {
+            for (String itemName : items.split(",")) {
+                itemNames.add(itemName);
+            }
+        }
+        String groups = req.getParameter("groups");
+        if (groups != null && itemUIRegistry != null) {
+            for (String groupName : groups.split(",")) {
+                itemNames.add(groupName);
+                try {
+                    Item item = itemUIRegistry.getItem(groupName);
+                    if (item instanceof GroupItem) {
+                        for (Item member : ((GroupItem) item).getMembers()) {
+                            itemNames.add(member.getName());
+                        }
+                    }
+                } catch (ItemNotFoundException e) {
+                    // the chart has been rendered, so the group has just been removed
+                }
             }
-            res.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
         }
+        return itemNames;
     }
 
     /**
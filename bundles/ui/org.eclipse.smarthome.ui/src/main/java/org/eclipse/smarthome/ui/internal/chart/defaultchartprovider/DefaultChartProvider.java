@@ -16,15 +16,18 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.StringUtils;
@@ -32,9 +35,13 @@ import org.eclipse.smarthome.core.i18n.TimeZoneProvider;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
+import org.eclipse.smarthome.core.library.CoreItemFactory;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.AggregatingPersistenceService;
+import org.eclipse.smarthome.core.persistence.Aggregation;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
 import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
@@ -61,6 +68,11 @@ import org.slf4j.LoggerFactory;
 /**
  * This default chart provider generates time-series charts for a given set of items.
  *
+ * <p>
+ * If the persistence service is an {@link AggregatingPersistenceService}, numeric series are downsampled by the
+ * service to the minimum and maximum state of every pixel column, so the amount of data read does not depend on the
+ * number of states stored for the period.
+ *
  * See {@link ChartProvider} and {@link ChartServlet} for further details.
  *
  * @author Chris Jackson - Initial contribution
@@ -211,7 +223,8 @@ public class DefaultChartProvider implements ChartProvider {
             String[] itemNames = items.split(",");
             for (String itemName : itemNames) {
                 Item item = itemUIRegistry.getItem(itemName);
-                if (addItem(chart, persistenceService, startTime, endTime, item, seriesCounter, chartTheme, dpi)) {
+                if (addItem(chart, persistenceService, startTime, endTime, item, seriesCounter, chartTheme, dpi,
+                        width)) {
                     seriesCounter++;
                 }
             }
@@ -226,7 +239,7 @@ public class DefaultChartProvider implements ChartProvider {
                     GroupItem groupItem = (GroupItem) item;
                     for (Item member : groupItem.getMembers()) {
                         if (addItem(chart, persistenceService, startTime, endTime, member, seriesCounter, chartTheme,
-                                dpi)) {
+                                dpi, width)) {
                             seriesCounter++;
                         }
                     }
@@ -301,7 +314,7 @@ public class DefaultChartProvider implements ChartProvider {
     }
 
     boolean addItem(Chart chart, QueryablePersistenceService service, Date timeBegin, Date timeEnd, Item item,
-            int seriesCounter, ChartTheme chartTheme, int dpi) {
+            int seriesCounter, ChartTheme chartTheme, int dpi, int width) {
         Color color = chartTheme.getLineColor(seriesCounter);
 
         // Get the item label
@@ -350,27 +363,37 @@ public class DefaultChartProvider implements ChartProvider {
         filter.setPageSize(Integer.MAX_VALUE);
         filter.setOrdering(Ordering.ASCENDING);
 
-        // Get the data from the persistence store
-        result = service.query(filter);
-        Iterator<HistoricItem> it = result.iterator();
-
-        // Iterate through the data
-        while (it.hasNext()) {
-            HistoricItem historicItem = it.next();
-
-            // For 'binary' states, we need to replicate the data
-            // to avoid diagonal lines
-            if (state instanceof OnOffType || state instanceof OpenClosedType) {
-                Calendar cal = Calendar.getInstance();
-                cal.setTime(historicItem.getTimestamp());
-                cal.add(Calendar.MILLISECOND, -1);
-                xData.add(cal.getTime());
+        // Let the service downsample numeric data to the resolution of the chart if it can
+        State lastState = null;
+        if (service instanceof AggregatingPersistenceService && !isBinary(item)) {
+            lastState = addDownsampledData((AggregatingPersistenceService) service, filter, timeBegin, timeEnd, width,
+                    xData, yData);
+        }
+        if (lastState != null) {
+            state = lastState;
+        } else {
+            // Get the data from the persistence store
+            result = service.query(filter);
+            Iterator<HistoricItem> it = result.iterator();
+
+            // Iterate through the data
+            while (it.hasNext()) {
+                HistoricItem historicItem = it.next();
+
+                // For 'binary' states, we need to replicate the data
+                // to avoid diagonal lines
+                if (state instanceof OnOffType || state instanceof OpenClosedType) {
+                    Calendar cal = Calendar.getInstance();
+                    cal.setTime(historicItem.getTimestamp());
+                    cal.add(Calendar.MILLISECOND, -1);
+                    xData.add(cal.getTime());
+                    yData.add(convertData(state));
+                }
+
+                state = historicItem.getState();
+                xData.add(historicItem.getTimestamp());
                 yData.add(convertData(state));
             }
-
-            state = historicItem.getState();
-            xData.add(historicItem.getTimestamp());
-            yData.add(convertData(state));
         }
 
         // Lastly, add the final state at the endtime
@@ -409,6 +432,52 @@ public class DefaultChartProvider implements ChartProvider {
         return true;
     }
 
+    /**
+     * Adds the minimum and maximum state of every pixel column of the chart, which draws the same line as all states
+     * would, and the last state of the period. All of them are aggregated by the service in a single pass.
+     *
+     * @return the last state of the period or null if the service did not aggregate any state
+     */
+    private State addDownsampledData(AggregatingPersistenceService service, FilterCriteria filter, Date timeBegin,
+            Date timeEnd, int width, List<Date> xData, List<Number> yData) {
+        long columnDuration = Math.max(1, (timeEnd.getTime() - timeBegin.getTime()) / Math.max(1, width));
+        Map<Aggregation, List<AggregatedItem>> columns = service.aggregate(filter,
+                EnumSet.of(Aggregation.MIN, Aggregation.MAX), Duration.ofMillis(columnDuration));
+        List<AggregatedItem> minima = columns.get(Aggregation.MIN);
+        List<AggregatedItem> maxima = columns.get(Aggregation.MAX);
+        if (minima == null || minima.isEmpty() || maxima == null) {
+            return null;
+        }
+
+        Map<Date, Number> points = new TreeMap<>();
+        for (AggregatedItem minimum : minima) {
+            points.put(minimum.getTimestamp(), minimum.getState().doubleValue());
+        }
+        for (AggregatedItem maximum : maxima) {
+            points.put(maximum.getTimestamp(), maximum.getState().doubleValue());
+        }
+        // the last state of the period is the last state of the last column
+        AggregatedItem lastColumn = minima.get(minima.size() - 1);
+        points.put(lastColumn.getEnd(), lastColumn.getLastState().doubleValue());
+
+        xData.addAll(points.keySet());
+        yData.addAll(points.values());
+        return lastColumn.getLastState();
+    }
+
+    /**
+     * Checks if the states of an item are charted as steps, which are not downsampled. This is the case for switches
+     * and contacts, but not for dimmers or colors, even though they accept {@link OnOffType} as well.
+     */
+    private boolean isBinary(Item item) {
+        Item baseItem = item instanceof GroupItem ? ((GroupItem) item).getBaseItem() : item;
+        if (baseItem == null) {
+            return false;
+        }
+        String type = baseItem.getType();
+        return CoreItemFactory.SWITCH.equals(type) || CoreItemFactory.CONTACT.equals(type);
+    }
+
     @Override
     public ImageType getChartType() {
         return (ImageType.png);
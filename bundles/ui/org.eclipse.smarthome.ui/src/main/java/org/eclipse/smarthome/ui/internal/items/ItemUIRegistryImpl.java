@@ -17,6 +17,7 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -67,7 +68,6 @@ import org.eclipse.smarthome.core.transform.TransformationService;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.StateDescription;
 import org.eclipse.smarthome.core.types.StateOption;
-import org.eclipse.smarthome.core.types.Type;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.core.types.util.UnitUtils;
 import org.eclipse.smarthome.model.sitemap.ColorArray;
@@ -124,8 +124,20 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
 
     protected ItemRegistry itemRegistry;
 
+    private static final int MAX_LABEL_TEMPLATES = 1000;
+
     private final Map<Widget, Widget> defaultWidgets = Collections.synchronizedMap(new WeakHashMap<Widget, Widget>());
 
+    private final Map<String, LabelTemplate> labelTemplates = new LinkedHashMap<String, LabelTemplate>(16, 0.75f,
+            true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LabelTemplate> eldest) {
+            return size() > MAX_LABEL_TEMPLATES;
+        }
+    };
+
     public ItemUIRegistryImpl() {
     }
 
@@ -296,16 +308,18 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     @Override
     public String getLabel(Widget w) {
         String label = getLabelFromWidget(w);
+        LabelTemplate template = getLabelTemplate(label);
 
         String itemName = w.getItem();
         if (StringUtils.isBlank(itemName)) {
-            return transform(label, null);
+            if (template.getFormatPattern() != null && template.getTransformationType() != null) {
+                return transform(template, template.getStaticValue());
+            }
+            return label;
         }
 
-        String labelMappedOption = null;
         State state = null;
         StateDescription stateDescription = null;
-        String formatPattern = getFormatPattern(label);
 
         // now insert the value, if the state is a string or decimal value and there is some formatting pattern defined
         // in the label
@@ -323,98 +337,96 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
             // returned StateDescription. What is expected is the display of a value using the pattern
             // provided by the channel state description provider.
             stateDescription = item.getStateDescription();
-            if (formatPattern == null && stateDescription != null && stateDescription.getPattern() != null) {
-                label = label + " [" + stateDescription.getPattern() + "]";
+            if (template.getFormatPattern() == null && stateDescription != null
+                    && stateDescription.getPattern() != null) {
+                template = getLabelTemplate(label + " [" + stateDescription.getPattern() + "]");
             }
 
-            String updatedPattern = getFormatPattern(label);
-            if (updatedPattern != null) {
-                formatPattern = updatedPattern;
+            if (template.getFormatPattern() != null) {
                 state = item.getState();
 
-                if (formatPattern.contains("%d")) {
-                    if (!(state instanceof Number)) {
-                        // States which do not provide a Number will be converted to DecimalType.
-                        // e.g.: GroupItem can provide a count of items matching the active state
-                        // for some group functions.
-                        state = item.getStateAs(DecimalType.class);
-                    }
-
-                    // for fraction digits in state we dont want to risk format exceptions,
-                    // so treat everything as floats:
-                    formatPattern = formatPattern.replaceAll("\\%d", "%.0f");
+                if (template.isDecimal() && !(state instanceof Number)) {
+                    // States which do not provide a Number will be converted to DecimalType.
+                    // e.g.: GroupItem can provide a count of items matching the active state
+                    // for some group functions.
+                    state = item.getStateAs(DecimalType.class);
                 }
             }
         } catch (ItemNotFoundException e) {
             logger.error("Cannot retrieve item for widget {}", w.eClass().getInstanceTypeName());
         }
 
-        if (formatPattern != null) {
-            if (formatPattern.isEmpty()) {
-                label = label.substring(0, label.indexOf("[")).trim();
-            } else {
-                if (state == null || state instanceof UnDefType) {
-                    formatPattern = formatUndefined(formatPattern);
-                } else if (state instanceof Type) {
-                    // if the channel contains options, we build a label with the mapped option value
-                    if (stateDescription != null && stateDescription.getOptions() != null) {
-                        for (StateOption option : stateDescription.getOptions()) {
-                            if (option.getValue().equals(state.toString()) && option.getLabel() != null) {
-                                State stateOption = new StringType(option.getLabel());
-                                try {
-                                    String formatPatternOption = stateOption.format(formatPattern);
-                                    labelMappedOption = label.trim();
-                                    labelMappedOption = labelMappedOption.substring(0,
-                                            labelMappedOption.indexOf("[") + 1) + formatPatternOption + "]";
-                                } catch (IllegalArgumentException e) {
-                                    logger.debug(
-                                            "Mapping option value '{}' for item {} using format '{}' failed ({}); mapping is ignored",
-                                            stateOption, itemName, formatPattern, e.getMessage());
-                                    labelMappedOption = null;
-                                }
-                                break;
-                            }
-                        }
-                    }
+        if (template.getFormatPattern() == null) {
+            return template.getLabel();
+        }
+        if (template.getFormatPattern().isEmpty()) {
+            return template.getText();
+        }
 
-                    if (state instanceof QuantityType) {
-                        QuantityType<?> quantityState = (QuantityType<?>) state;
-                        // sanity convert current state to the item state description unit in case it was updated in the
-                        // meantime. The item state is still in the "original" unit while the state description will
-                        // display the new unit:
-                        Unit<?> patternUnit = UnitUtils.parseUnit(formatPattern);
-                        if (patternUnit != null && !quantityState.getUnit().equals(patternUnit)) {
-                            quantityState = quantityState.toUnit(patternUnit);
+        String value;
+        String labelMappedOption = null;
+        if (state == null || state instanceof UnDefType) {
+            value = template.getUndefinedValue();
+        } else {
+            // if the channel contains options, we build a label with the mapped option value
+            if (template.getTransformationType() == null && stateDescription != null
+                    && stateDescription.getOptions() != null) {
+                for (StateOption option : stateDescription.getOptions()) {
+                    if (option.getValue().equals(state.toString()) && option.getLabel() != null) {
+                        State stateOption = new StringType(option.getLabel());
+                        try {
+                            labelMappedOption = template.getPrefix() + stateOption.format(template.getValuePattern())
+                                    + "]";
+                        } catch (IllegalArgumentException e) {
+                            logger.debug(
+                                    "Mapping option value '{}' for item {} using format '{}' failed ({}); mapping is ignored",
+                                    stateOption, itemName, template.getValuePattern(), e.getMessage());
+                            labelMappedOption = null;
                         }
-
-                        // The widget may define its own unit in the widget label. Convert to this unit:
-                        quantityState = convertStateToWidgetUnit(quantityState, w);
-                        state = quantityState;
+                        break;
                     }
+                }
+            }
 
-                    // The following exception handling has been added to work around a Java bug with formatting
-                    // numbers. See http://bugs.sun.com/view_bug.do?bug_id=6476425
-                    // Without this catch, the whole sitemap, or page can not be displayed!
-                    // This also handles IllegalFormatConversionException, which is a subclass of IllegalArgument.
-                    try {
-                        formatPattern = fillFormatPattern(formatPattern, state);
-                    } catch (IllegalArgumentException e) {
-                        logger.warn("Exception while formatting value '{}' of item {} with format '{}': {}", state,
-                                itemName, formatPattern, e.getMessage());
-                        formatPattern = new String("Err");
-                    }
+            if (state instanceof QuantityType) {
+                QuantityType<?> quantityState = (QuantityType<?>) state;
+                // sanity convert current state to the item state description unit in case it was updated in the
+                // meantime. The item state is still in the "original" unit while the state description will
+                // display the new unit:
+                Unit<?> patternUnit = template.getUnit();
+                if (patternUnit != null && !quantityState.getUnit().equals(patternUnit)) {
+                    quantityState = quantityState.toUnit(patternUnit);
                 }
 
-                label = label.trim();
-                label = label.substring(0, label.indexOf("[") + 1) + formatPattern + "]";
+                // The widget may define its own unit in the widget label. Convert to this unit:
+                quantityState = convertStateToWidgetUnit(quantityState, w);
+                state = quantityState;
+            }
+
+            // The following exception handling has been added to work around a Java bug with formatting
+            // numbers. See http://bugs.sun.com/view_bug.do?bug_id=6476425
+            // Without this catch, the whole sitemap, or page can not be displayed!
+            // This also handles IllegalFormatConversionException, which is a subclass of IllegalArgument.
+            try {
+                value = state.format(template.getValuePattern());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Exception while formatting value '{}' of item {} with format '{}': {}", state, itemName,
+                        template.getValuePattern(), e.getMessage());
+                value = null;
             }
         }
 
-        return transform(label, labelMappedOption);
+        if (value == null) {
+            return labelMappedOption != null ? labelMappedOption : template.getPrefix() + "Err]";
+        }
+        if (template.getTransformationType() != null) {
+            return transform(template, value);
+        }
+        return labelMappedOption != null ? labelMappedOption : template.getPrefix() + value + "]";
     }
 
     private QuantityType<?> convertStateToWidgetUnit(QuantityType<?> quantityState, @NonNull Widget w) {
-        Unit<?> widgetUnit = UnitUtils.parseUnit(getFormatPattern(w.getLabel()));
+        Unit<?> widgetUnit = w.getLabel() != null ? getLabelTemplate(w.getLabel()).getUnit() : null;
         if (widgetUnit != null && !widgetUnit.equals(quantityState.getUnit())) {
             return quantityState.toUnit(widgetUnit);
         }
@@ -422,18 +434,22 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
         return quantityState;
     }
 
-    private String getFormatPattern(String label) {
-        if (label == null) {
-            return null;
-        }
-        String pattern = label.trim();
-        int indexOpenBracket = pattern.indexOf("[");
-        int indexCloseBracket = pattern.endsWith("]") ? pattern.length() - 1 : -1;
-
-        if ((indexOpenBracket >= 0) && (indexCloseBracket > indexOpenBracket)) {
-            return pattern.substring(indexOpenBracket + 1, indexCloseBracket);
-        } else {
-            return null;
+    /**
+     * Returns the parsed template of a label. Templates are cached by their label, so a label that has been changed in
+     * the model or extended by another state description pattern is parsed again, while templates that are no longer
+     * used are eventually evicted.
+     *
+     * @param label the label including its format pattern
+     * @return the template of the label
+     */
+    private LabelTemplate getLabelTemplate(String label) {
+        synchronized (labelTemplates) {
+            LabelTemplate template = labelTemplates.get(label);
+            if (template == null) {
+                template = new LabelTemplate(label, this::formatUndefined);
+                labelTemplates.put(label, template);
+            }
+            return template;
         }
     }
 
@@ -478,62 +494,33 @@ public class ItemUIRegistryImpl implements ItemUIRegistry {
     }
 
     /*
-     * check if there is a status value being displayed on the right side of the
-     * label (the right side is signified by being enclosed in square brackets [].
-     * If so, check if the value starts with the call to a transformation service
-     * (e.g. "[MAP(en.map):%s]") and execute the transformation in this case.
-     * If the value does not start with the call to a transformation service,
-     * we return the label with the mapped option value if provided (not null).
+     * execute the transformation that is called by the format pattern of the label (e.g. "[MAP(en.map):%s]") with the
+     * given value and insert the result into the label.
      */
-    private String transform(String label, String labelMappedOption) {
-        String ret = label;
-        if (getFormatPattern(label) != null) {
-            Matcher matcher = EXTRACT_TRANSFORMFUNCTION_PATTERN.matcher(label);
-            if (matcher.find()) {
-                String type = matcher.group(1);
-                String pattern = matcher.group(2);
-                String value = matcher.group(3);
-                TransformationService transformation = TransformationHelper
-                        .getTransformationService(UIActivator.getContext(), type);
-                if (transformation != null) {
-                    try {
-                        String transformationResult = transformation.transform(pattern, value);
-                        if (transformationResult != null) {
-                            ret = label.substring(0, label.indexOf("[") + 1) + transformationResult + "]";
-                        } else {
-                            logger.warn("transformation of type {} did not return a valid result", type);
-                            ret = label.substring(0, label.indexOf("[") + 1) + UnDefType.NULL + "]";
-                        }
-                    } catch (TransformationException e) {
-                        logger.error("transformation throws exception [transformation={}, value={}]", transformation,
-                                value, e);
-                        ret = label.substring(0, label.indexOf("[") + 1) + value + "]";
-                    }
+    private String transform(LabelTemplate template, String value) {
+        String type = template.getTransformationType();
+        String pattern = template.getTransformationFunction();
+        String ret;
+        TransformationService transformation = TransformationHelper
+                .getTransformationService(UIActivator.getContext(), type);
+        if (transformation != null) {
+            try {
+                String transformationResult = transformation.transform(pattern, value);
+                if (transformationResult != null) {
+                    ret = template.getPrefix() + transformationResult + "]";
                 } else {
-                    logger.warn(
-                            "couldn't transform value in label because transformationService of type '{}' is unavailable",
-                            type);
-                    ret = label.substring(0, label.indexOf("[") + 1) + value + "]";
+                    logger.warn("transformation of type {} did not return a valid result", type);
+                    ret = template.getPrefix() + UnDefType.NULL + "]";
                 }
-            } else if (labelMappedOption != null) {
-                ret = labelMappedOption;
-            }
-        }
-        return ret;
-    }
-
-    private String fillFormatPattern(String formatPattern, Type state) throws IllegalArgumentException {
-        String ret = formatPattern;
-        if (ret != null && state != null) {
-            Matcher matcher = EXTRACT_TRANSFORMFUNCTION_PATTERN_WITHOUT_SQUARE_BRACKETS.matcher(ret);
-            if (matcher.find()) {
-                String type = matcher.group(1);
-                String pattern = matcher.group(2);
-                String value = matcher.group(3);
-                ret = type + "(" + pattern + "):" + state.format(value);
-            } else {
-                ret = state.format(formatPattern);
+            } catch (TransformationException e) {
+                logger.error("transformation throws exception [transformation={}, value={}]", transformation, value,
+                        e);
+                ret = template.getPrefix() + value + "]";
             }
+        } else {
+            logger.warn("couldn't transform value in label because transformationService of type '{}' is unavailable",
+                    type);
+            ret = template.getPrefix() + value + "]";
         }
         return ret;
     }
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.ui.internal.items;
+
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+
+import javax.measure.Unit;
+
+import org.eclipse.smarthome.core.types.util.UnitUtils;
+
+/**
+ * A widget label that has been parsed into its parts, so that rendering it only has to substitute the state.
+ * The format pattern is the text in the square brackets at the end of the label. It may call a transformation
+ * (e.g. "[MAP(en.map):%s]"), in which case the value pattern is the part after the colon.
+ *
+ * Templates are immutable and identified by the label text, so a changed label or state description pattern
+ * simply results in a different template.
+ *
+ * @author agent - Initial contribution
+ */
+final class LabelTemplate {
+
+    private final String label;
+    private final String formatPattern;
+    private final String prefix;
+    private final String text;
+    private final String transformationType;
+    private final String transformationFunction;
+    private final String staticValue;
+    private final String valuePattern;
+    private final boolean decimal;
+    private final String undefinedValue;
+    private final Unit<?> unit;
+
+    /**
+     * Parses the given label.
+     *
+     * @param label the label, including the format pattern in square brackets if there is one
+     * @param undefinedFormatter creates the text that is shown instead of the value for an undefined state
+     */
+    LabelTemplate(String label, UnaryOperator<String> undefinedFormatter) {
+        this.label = label;
+
+        String trimmedLabel = label.trim();
+        int indexOpenBracket = trimmedLabel.indexOf("[");
+        int indexCloseBracket = trimmedLabel.endsWith("]") ? trimmedLabel.length() - 1 : -1;
+        if (indexOpenBracket < 0 || indexCloseBracket <= indexOpenBracket) {
+            formatPattern = null;
+            prefix = null;
+            text = null;
+            transformationType = null;
+            transformationFunction = null;
+            staticValue = null;
+            valuePattern = null;
+            decimal = false;
+            undefinedValue = null;
+            unit = null;
+            return;
+        }
+
+        formatPattern = trimmedLabel.substring(indexOpenBracket + 1, indexCloseBracket);
+        prefix = trimmedLabel.substring(0, indexOpenBracket + 1);
+        text = trimmedLabel.substring(0, indexOpenBracket).trim();
+
+        Matcher matcher = ItemUIRegistryImpl.EXTRACT_TRANSFORMFUNCTION_PATTERN_WITHOUT_SQUARE_BRACKETS
+                .matcher(formatPattern);
+        if (matcher.find()) {
+            transformationType = matcher.group(1);
+            transformationFunction = matcher.group(2);
+            staticValue = matcher.group(3);
+        } else {
+            transformationType = null;
+            transformationFunction = null;
+            staticValue = formatPattern;
+        }
+
+        // for fraction digits in state we dont want to risk format exceptions, so treat everything as floats
+        decimal = staticValue.contains("%d");
+        valuePattern = decimal ? staticValue.replaceAll("\\%d", "%.0f") : staticValue;
+        undefinedValue = formatPattern.isEmpty() ? "" : undefinedFormatter.apply(valuePattern);
+        unit = UnitUtils.parseUnit(formatPattern);
+    }
+
+    /**
+     * @return the label as it has been given
+     */
+    String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the text in the square brackets at the end of the label or null, if there is none
+     */
+    String getFormatPattern() {
+        return formatPattern;
+    }
+
+    /**
+     * @return the trimmed label up to and including the opening square bracket of the format pattern
+     */
+    String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * @return the trimmed label without the format pattern
+     */
+    String getText() {
+        return text;
+    }
+
+    /**
+     * @return the type of the transformation called by the format pattern or null, if it does not call one
+     */
+    String getTransformationType() {
+        return transformationType;
+    }
+
+    /**
+     * @return the function that is passed to the transformation called by the format pattern
+     */
+    String getTransformationFunction() {
+        return transformationFunction;
+    }
+
+    /**
+     * @return the value part of the format pattern as it is written in the label
+     */
+    String getStaticValue() {
+        return staticValue;
+    }
+
+    /**
+     * @return the pattern to format the state with
+     */
+    String getValuePattern() {
+        return valuePattern;
+    }
+
+    /**
+     * @return true, if the value pattern formats integers, so that states have to be formatted as decimals
+     */
+    boolean isDecimal() {
+        return decimal;
+    }
+
+    /**
+     * @return the value to show for an undefined state
+     */
+    String getUndefinedValue() {
+        return undefinedValue;
+    }
+
+    /**
+     * @return the unit of the format pattern or null, if it does not define one
+     */
+    Unit<?> getUnit() {
+        return unit;
+    }
+}
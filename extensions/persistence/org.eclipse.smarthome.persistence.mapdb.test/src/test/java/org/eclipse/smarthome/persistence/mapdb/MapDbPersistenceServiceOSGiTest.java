@@ -132,4 +132,20 @@ public class MapDbPersistenceServiceOSGiTest extends JavaOSGiTest {
         assertThat(persistenceService.query(filterByAlias),
                 contains(allOf(hasProperty("name", equalTo(alias)), hasProperty("state", equalTo(state)))));
     }
+
+    @Test
+    public void queryWithoutItemNameShouldFindAllStoredItems() {
+        GenericItem switchItem = new SwitchItem("switch3");
+        switchItem.setState(OnOffType.OFF);
+        GenericItem dimmerItem = new DimmerItem("dimmer2");
+        dimmerItem.setState(PercentType.ZERO);
+
+        persistenceService.store(switchItem);
+        persistenceService.store(dimmerItem);
+
+        assertThat(persistenceService.query(new FilterCriteria()),
+                hasItems(allOf(hasProperty("name", equalTo("switch3")), hasProperty("state", equalTo(OnOffType.OFF))),
+                        allOf(hasProperty("name", equalTo("dimmer2")),
+                                hasProperty("state", equalTo(PercentType.ZERO)))));
+    }
 }
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.Aggregation;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.persistence.mapdb.internal.MapDbTimeSeries;
+import org.junit.Before;
+import org.junit.Test;
+import org.mapdb.Fun;
+
+/**
+ * Tests for the {@link MapDbTimeSeries}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MapDbTimeSeriesTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private TreeMap<Fun.Tuple2<String, Long>, byte[]> chunks;
+    private MapDbTimeSeries timeSeries;
+
+    @Before
+    public void setUp() {
+        chunks = new TreeMap<>();
+        timeSeries = new MapDbTimeSeries(chunks);
+    }
+
+    @Test
+    public void statesShouldBeReadBackInOrder() {
+        State[] states = { new DecimalType(1), new DecimalType("-2.5"),
+                new DecimalType(new BigDecimal("123456789012345678901234567890.1")), PercentType.HUNDRED, OnOffType.ON,
+                StringType.valueOf("test"), HSBType.GREEN };
+        for (int i = 0; i < states.length; i++) {
+            timeSeries.append("item", i * 1000, states[i]);
+        }
+
+        List<HistoricItem> result = timeSeries.query("item", null, null, true, 0, Integer.MAX_VALUE, s -> true);
+
+        assertThat(result.size(), is(states.length));
+        for (int i = 0; i < states.length; i++) {
+            assertThat(result.get(i).getName(), is("item"));
+            assertThat(result.get(i).getState(), is(states[i]));
+            assertThat(result.get(i).getTimestamp(), is(new Date(i * 1000)));
+        }
+    }
+
+    @Test
+    public void statesShouldBeStoredInChunks() {
+        for (int i = 0; i < 10; i++) {
+            timeSeries.append("item", i * HOUR / 2, new DecimalType(i));
+        }
+        timeSeries.append("other", 0, new DecimalType(0));
+        timeSeries.flush();
+
+        assertThat(chunks.size(), is(6));
+    }
+
+    @Test
+    public void queryShouldHonourRangeOrderingAndPaging() {
+        for (int i = 0; i < 100; i++) {
+            timeSeries.append("item", i * HOUR / 4, new DecimalType(i));
+        }
+
+        assertThat(values(timeSeries.query("item", new Date(10 * HOUR / 4), new Date(20 * HOUR / 4), true, 0,
+                Integer.MAX_VALUE, s -> true)).size(), is(11));
+        assertThat(values(timeSeries.query("item", new Date(10 * HOUR / 4), null, true, 0, 3, s -> true)),
+                is(values(10, 11, 12)));
+        assertThat(values(timeSeries.query("item", null, new Date(20 * HOUR / 4), false, 3, 3, s -> true)),
+                is(values(17, 16, 15)));
+        assertThat(values(timeSeries.query("item", null, null, false, 0, 1, s -> true)), is(values(99)));
+        assertThat(values(timeSeries.query("item", null, null, true, 0, 2,
+                s -> ((DecimalType) s).intValue() % 10 == 5)), is(values(5, 15)));
+        assertThat(timeSeries.query("unknown", null, null, true, 0, 10, s -> true).isEmpty(), is(true));
+    }
+
+    @Test
+    public void aggregateShouldComputeAggregationsOverRange() {
+        for (int i = 0; i < 100; i++) {
+            timeSeries.append("item", i * HOUR / 4, new DecimalType(i % 10 == 3 ? 100 - i : i));
+        }
+        timeSeries.append("item", 100 * HOUR / 4, OnOffType.ON);
+        Date begin = new Date(10 * HOUR / 4);
+        Date end = new Date(19 * HOUR / 4);
+
+        assertThat(value(timeSeries.aggregate("item", begin, end, Aggregation.MIN, s -> true)), is("10"));
+        assertThat(value(timeSeries.aggregate("item", begin, end, Aggregation.MAX, s -> true)), is("87"));
+        assertThat(timeSeries.aggregate("item", begin, end, Aggregation.MAX, s -> true).getTimestamp(),
+                is(new Date(13 * HOUR / 4)));
+        assertThat(value(timeSeries.aggregate("item", begin, end, Aggregation.SUM, s -> true)), is("219"));
+        assertThat(value(timeSeries.aggregate("item", begin, end, Aggregation.AVG, s -> true)), is("21.9"));
+        assertThat(value(timeSeries.aggregate("item", null, null, Aggregation.COUNT, s -> true)), is("100"));
+        assertThat(value(timeSeries.aggregate("item", begin, end, Aggregation.FIRST, s -> true)), is("10"));
+        assertThat(value(timeSeries.aggregate("item", null, null, Aggregation.LAST, s -> true)), is("99"));
+        assertThat(timeSeries.aggregate("item", null, null, Aggregation.LAST, s -> true).getEnd(),
+                is(new Date(99 * HOUR / 4)));
+
+        // 10, 11, 12 linearly interpolated over two quarter hours
+        assertThat(value(timeSeries.aggregate("item", begin, new Date(12 * HOUR / 4), Aggregation.TIME_WEIGHTED_AVG,
+                s -> true)), is("11"));
+        assertThat(timeSeries.aggregate("unknown", null, null, Aggregation.SUM, s -> true), is(nullValue()));
+    }
+
+    @Test
+    public void aggregateShouldComputeBuckets() {
+        for (int i = 0; i < 100; i++) {
+            timeSeries.append("item", i * HOUR / 4, new DecimalType(i));
+        }
+
+        List<AggregatedItem> buckets = timeSeries.aggregate("item", new Date(HOUR / 2), null, Aggregation.MAX,
+                Duration.ofHours(6), s -> true);
+
+        assertThat(buckets.size(), is(5));
+        assertThat(buckets.stream().map(AggregatedItem::getCount).collect(Collectors.toList()),
+                is(Arrays.asList(24L, 24L, 24L, 24L, 2L)));
+        assertThat(values(buckets), is(values(25, 49, 73, 97, 99)));
+        assertThat(buckets.get(0).getBegin(), is(new Date(HOUR / 2)));
+    }
+
+    @Test
+    public void aggregateShouldComputeSeveralAggregationsOfBucketsAtOnce() {
+        for (int i = 0; i < 100; i++) {
+            timeSeries.append("item", i * HOUR / 4, new DecimalType(i % 7));
+        }
+
+        Map<Aggregation, List<AggregatedItem>> buckets = timeSeries.aggregate("item", null, null,
+                EnumSet.of(Aggregation.MIN, Aggregation.MAX), Duration.ofHours(6), s -> true);
+
+        for (Aggregation aggregation : Arrays.asList(Aggregation.MIN, Aggregation.MAX)) {
+            List<AggregatedItem> expected = timeSeries.aggregate("item", null, null, aggregation,
+                    Duration.ofHours(6), s -> true);
+            assertThat(values(buckets.get(aggregation)), is(values(expected)));
+            assertThat(buckets.get(aggregation).stream().map(AggregatedItem::getTimestamp)
+                    .collect(Collectors.toList()),
+                    is(expected.stream().map(AggregatedItem::getTimestamp).collect(Collectors.toList())));
+        }
+        List<AggregatedItem> minima = buckets.get(Aggregation.MIN);
+        assertThat(minima.get(minima.size() - 1).getLastState().toString(), is(String.valueOf(99 % 7)));
+    }
+
+    @Test
+    public void appendingShouldContinueAStoredChunk() {
+        timeSeries.append("item", 1000, new DecimalType(1));
+        timeSeries.flush();
+
+        MapDbTimeSeries reopened = new MapDbTimeSeries(chunks);
+        reopened.append("item", 2000, new DecimalType(2));
+
+        assertThat(values(reopened.query("item", null, null, true, 0, 10, s -> true)), is(values(1, 2)));
+        assertThat(reopened.query("item", null, null, true, 0, 10, s -> true).get(1).getTimestamp(),
+                is(new Date(2000)));
+    }
+
+    @Test
+    public void flushShouldOnlyWriteNewStatesAndSealingShouldMergeThem() {
+        timeSeries.append("item", 1000, new DecimalType(1));
+        timeSeries.flush();
+        byte[] firstSegment = chunks.firstEntry().getValue();
+
+        timeSeries.append("item", 2000, new DecimalType(2));
+        timeSeries.append("item", 3000, new DecimalType(3));
+        timeSeries.flush();
+
+        assertThat(chunks.size(), is(2));
+        assertThat(chunks.firstEntry().getValue(), is(sameInstance(firstSegment)));
+        assertThat(values(timeSeries.query("item", null, null, true, 0, 10, s -> true)), is(values(1, 2, 3)));
+        assertThat(values(timeSeries.query("item", new Date(2500), null, false, 0, 10, s -> true)), is(values(3)));
+
+        // moving on to the next chunk merges the segments of the previous one
+        timeSeries.append("item", HOUR, new DecimalType(4));
+        timeSeries.flush();
+
+        assertThat(chunks.size(), is(2));
+        assertThat(chunks.firstKey(), is(Fun.t2("item", 0L)));
+        assertThat(values(timeSeries.query("item", null, null, true, 0, 10, s -> true)), is(values(1, 2, 3, 4)));
+        assertThat(timeSeries.query("item", null, null, true, 0, 10, s -> true).get(2).getTimestamp(),
+                is(new Date(3000)));
+    }
+
+    @Test
+    public void flushShouldContinueASegmentEndingAtItsStart() {
+        timeSeries.append("item", 0, new DecimalType(1));
+        timeSeries.flush();
+        timeSeries.append("item", 0, new DecimalType(2));
+        timeSeries.flush();
+
+        assertThat(chunks.size(), is(1));
+        assertThat(values(timeSeries.query("item", null, null, true, 0, 10, s -> true)), is(values(1, 2)));
+    }
+
+    private static String value(AggregatedItem item) {
+        return item.getState().toBigDecimal().stripTrailingZeros().toPlainString();
+    }
+
+    private static List<Integer> values(List<? extends HistoricItem> items) {
+        return items.stream().map(item -> ((DecimalType) item.getState()).intValue()).collect(Collectors.toList());
+    }
+
+    private static List<Integer> values(Integer... values) {
+        return Arrays.asList(values);
+    }
+}
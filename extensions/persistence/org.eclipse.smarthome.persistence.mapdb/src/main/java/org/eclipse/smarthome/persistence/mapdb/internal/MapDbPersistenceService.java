@@ -13,13 +13,20 @@
 package org.eclipse.smarthome.persistence.mapdb.internal;
 
 import java.io.File;
+import java.time.Duration;
+import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -28,15 +35,24 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.AggregatingPersistenceService;
+import org.eclipse.smarthome.core.persistence.Aggregation;
+import org.eclipse.smarthome.core.persistence.Aggregator;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Operator;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceItemInfo;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.mapdb.BTreeKeySerializer;
 import org.mapdb.DB;
 import org.mapdb.DBMaker;
+import org.mapdb.Serializer;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,15 +65,30 @@ import com.google.gson.GsonBuilder;
  * more about MapDB please visit their <a
  * href="http://www.mapdb.org/">website</a>.
  *
+ * <p>
+ * By default only the last state of every item is kept. If the {@code mode} is configured to
+ * {@value #MODE_TIME_SERIES}, all states are additionally appended to a {@link MapDbTimeSeries}, so the service can
+ * answer historic queries and aggregate the states of an item without reading all of them. Commits are grouped: a
+ * store only schedules a commit, which is executed after {@code commitInterval} milliseconds together with all other
+ * stores in the meantime.
+ *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to Eclipse SmartHome
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class })
-public class MapDbPersistenceService implements QueryablePersistenceService {
+@Component(service = { PersistenceService.class, QueryablePersistenceService.class,
+        AggregatingPersistenceService.class }, configurationPid = "org.eclipse.smarthome.mapdb")
+public class MapDbPersistenceService implements AggregatingPersistenceService {
 
     private static final String SERVICE_NAME = "mapdb";
 
+    static final String CONFIG_MODE = "mode";
+    static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+
+    static final String MODE_TIME_SERIES = "timeseries";
+
+    private static final long DEFAULT_COMMIT_INTERVAL = 1000;
+
     private static final String DB_FOLDER_NAME = ConfigConstants.getUserDataFolder() + File.separator + "persistence" + File.separator + "mapdb";
 
     private static final String DB_FILE_NAME = "storage.mapdb";
@@ -65,7 +96,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
     @NonNullByDefault({})
-    private ExecutorService threadPool;
+    private ScheduledExecutorService scheduler;
 
     /** holds the local instance of the MapDB database */
     @NonNullByDefault({})
@@ -73,14 +104,22 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
     @NonNullByDefault({})
     private Map<String, String> map;
 
+    /** the time series of all items, null if only the last state is kept */
+    private @Nullable MapDbTimeSeries timeSeries;
+
+    private long commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    private final AtomicBoolean commitPending = new AtomicBoolean();
+
     private transient Gson mapper = new GsonBuilder()
             .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter())
             .create();
 
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
 
-        threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+        scheduler = ThreadPoolManager.getScheduledPool(getClass().getSimpleName());
+        commitInterval = getCommitInterval(config.get(CONFIG_COMMIT_INTERVAL));
 
         File folder = new File(DB_FOLDER_NAME);
         if (!folder.exists()) {
@@ -94,15 +133,19 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         File dbFile = new File(DB_FOLDER_NAME, DB_FILE_NAME);
         db = DBMaker.newFileDB(dbFile).closeOnJvmShutdown().make();
         map = db.createTreeMap("itemStore").makeOrGet();
+        if (MODE_TIME_SERIES.equals(config.get(CONFIG_MODE))) {
+            timeSeries = new MapDbTimeSeries(db.createTreeMap("timeSeries").keySerializer(BTreeKeySerializer.TUPLE2)
+                    .valueSerializer(Serializer.BYTE_ARRAY).makeOrGet());
+        }
         logger.debug("MapDB persistence service is now activated");
     }
 
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            doCommit();
             db.close();
         }
-        threadPool.shutdown();
     }
 
     @Override
@@ -147,13 +190,27 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(new Date());
         String json = serialize(mItem);
         map.put(alias, json);
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        if (timeSeries != null) {
+            timeSeries.append(alias, mItem.getTimestamp().getTime(), state);
+        }
         commit();
         logger.debug("Stored '{}' with state '{}' in MapDB database", alias, state.toString());
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            return queryAll(filter);
+        }
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        if (timeSeries != null) {
+            return timeSeries.query(itemName, toDate(filter.getBeginDateZoned()), toDate(filter.getEndDateZoned()),
+                    filter.getOrdering() == Ordering.ASCENDING, (long) filter.getPageNumber() * filter.getPageSize(),
+                    filter.getPageSize(), getStatePredicate(filter));
+        }
+        String json = map.get(itemName);
         if (json == null) {
             return Collections.emptyList();
         }
@@ -164,6 +221,75 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Collections.singletonList(item.get());
     }
 
+    /**
+     * Queries the states of all items, if the filter criteria do not name an item.
+     */
+    private List<HistoricItem> queryAll(FilterCriteria filter) {
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        if (timeSeries == null) {
+            return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
+                    .collect(Collectors.toList());
+        }
+        Date begin = toDate(filter.getBeginDateZoned());
+        Date end = toDate(filter.getEndDateZoned());
+        boolean ascending = filter.getOrdering() == Ordering.ASCENDING;
+        long offset = (long) filter.getPageNumber() * filter.getPageSize();
+        Predicate<State> statePredicate = getStatePredicate(filter);
+        // the requested page can contain at most offset + page size states of every single series
+        int limit = (int) Math.min(Integer.MAX_VALUE, offset + filter.getPageSize());
+        Comparator<HistoricItem> ordering = Comparator.comparing(HistoricItem::getTimestamp);
+        return map.keySet().stream()
+                .flatMap(name -> timeSeries.query(name, begin, end, ascending, 0, limit, statePredicate).stream())
+                .sorted(ascending ? ordering : ordering.reversed()).skip(offset).limit(filter.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public @Nullable AggregatedItem aggregate(FilterCriteria filter, Aggregation aggregation) {
+        String itemName = getItemName(filter);
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        if (timeSeries != null) {
+            return timeSeries.aggregate(itemName, toDate(filter.getBeginDateZoned()),
+                    toDate(filter.getEndDateZoned()), aggregation, getStatePredicate(filter));
+        }
+        Aggregator aggregator = new Aggregator(itemName, aggregation);
+        query(filter).forEach(aggregator::add);
+        return aggregator.getResult();
+    }
+
+    @Override
+    public List<AggregatedItem> aggregate(FilterCriteria filter, Aggregation aggregation, Duration bucketSize) {
+        String itemName = getItemName(filter);
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        Date begin = toDate(filter.getBeginDateZoned());
+        if (timeSeries != null) {
+            return timeSeries.aggregate(itemName, begin, toDate(filter.getEndDateZoned()), aggregation, bucketSize,
+                    getStatePredicate(filter));
+        }
+        return Aggregator.aggregate(itemName, query(filter), aggregation, begin, bucketSize);
+    }
+
+    @Override
+    public Map<Aggregation, List<AggregatedItem>> aggregate(FilterCriteria filter, Set<Aggregation> aggregations,
+            Duration bucketSize) {
+        String itemName = getItemName(filter);
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        Date begin = toDate(filter.getBeginDateZoned());
+        if (timeSeries != null) {
+            return timeSeries.aggregate(itemName, begin, toDate(filter.getEndDateZoned()), aggregations, bucketSize,
+                    getStatePredicate(filter));
+        }
+        return Aggregator.aggregate(itemName, query(filter), aggregations, begin, bucketSize);
+    }
+
+    private static String getItemName(FilterCriteria filter) {
+        String itemName = filter.getItemName();
+        if (itemName == null) {
+            throw new IllegalArgumentException("The filter criteria of an aggregation must name an item.");
+        }
+        return itemName;
+    }
+
     private String serialize(MapDbItem item) {
         return mapper.toJson(item);
     }
@@ -177,8 +303,80 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         return Optional.of(item);
     }
 
+    /**
+     * Schedules a commit, unless one is already pending. All stores until the commit is executed are committed
+     * together.
+     */
     private void commit() {
-        threadPool.submit(() -> db.commit());
+        if (commitPending.compareAndSet(false, true)) {
+            scheduler.schedule(this::doCommit, commitInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void doCommit() {
+        commitPending.set(false);
+        if (db == null || db.isClosed()) {
+            return;
+        }
+        MapDbTimeSeries timeSeries = this.timeSeries;
+        if (timeSeries != null) {
+            timeSeries.flush();
+        }
+        db.commit();
+    }
+
+    private static @Nullable Date toDate(@Nullable ZonedDateTime dateTime) {
+        return dateTime == null ? null : Date.from(dateTime.toInstant());
+    }
+
+    private long getCommitInterval(@Nullable Object value) {
+        if (value != null) {
+            try {
+                return Math.max(0, Long.parseLong(value.toString()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid commit interval '{}'", value);
+            }
+        }
+        return DEFAULT_COMMIT_INTERVAL;
+    }
+
+    private static Predicate<State> getStatePredicate(FilterCriteria filter) {
+        State filterState = filter.getState();
+        if (filterState == null) {
+            return state -> true;
+        }
+        Operator operator = filter.getOperator();
+        switch (operator) {
+            case EQ:
+                return state -> filterState.equals(state);
+            case NEQ:
+                return state -> !filterState.equals(state);
+            default:
+                DecimalType filterValue = filterState.as(DecimalType.class);
+                if (filterValue == null) {
+                    return state -> false;
+                }
+                return state -> {
+                    DecimalType value = state.as(DecimalType.class);
+                    return value != null
+                            && matches(operator, value.toBigDecimal().compareTo(filterValue.toBigDecimal()));
+                };
+        }
+    }
+
+    private static boolean matches(Operator operator, int comparison) {
+        switch (operator) {
+            case GT:
+                return comparison > 0;
+            case LT:
+                return comparison < 0;
+            case GTE:
+                return comparison >= 0;
+            case LTE:
+                return comparison <= 0;
+            default:
+                return comparison == 0;
+        }
     }
 
     private static <T> Stream<T> streamOptional(Optional<T> opt) {
@@ -0,0 +1,416 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.AggregatedItem;
+import org.eclipse.smarthome.core.persistence.Aggregation;
+import org.eclipse.smarthome.core.persistence.Aggregator;
+import org.eclipse.smarthome.core.persistence.BucketAggregator;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.mapdb.Fun;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only time-series store on top of a sorted MapDB map.
+ *
+ * <p>
+ * The states of an item are stored in chunks covering {@link #CHUNK_DURATION} each, keyed by the item name and the
+ * start of the chunk. A chunk is a sequence of records encoded by the {@link StateCodec}: the time elapsed since the
+ * previous record (or the chunk start) followed by the state. The records appended to the chunk an item is currently
+ * written to are kept in memory and are only written to the map by {@link #flush()}, so many stores result in one map
+ * update. Every flush only writes the new records, as a segment keyed by the time of the record preceding it (or the
+ * chunk start). When an item moves on to the next chunk, the segments of its previous chunk are merged into one entry.
+ *
+ * <p>
+ * Queries only read the chunks overlapping the requested time range and stop as soon as the requested page is
+ * complete. Aggregations decode the records of these chunks one by one, without keeping them in memory.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbTimeSeries {
+
+    /** The time span covered by a single chunk. */
+    static final long CHUNK_DURATION = TimeUnit.HOURS.toMillis(1);
+
+    /** The maximum number of chunks kept open, the least recently written ones are flushed and closed beyond. */
+    static final int MAX_OPEN_CHUNKS = 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(MapDbTimeSeries.class);
+
+    private final NavigableMap<Fun.Tuple2<String, Long>, byte[]> chunks;
+
+    private final Map<String, OpenChunk> openChunks = new LinkedHashMap<String, OpenChunk>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, OpenChunk> eldest) {
+            if (size() > MAX_OPEN_CHUNKS) {
+                // a closed chunk is opened again by the next append, so only its pending records have to be written
+                flush(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Creates a time-series store.
+     *
+     * @param chunks the sorted map the chunks are stored in
+     */
+    public MapDbTimeSeries(NavigableMap<Fun.Tuple2<String, Long>, byte[]> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Appends a state to the series of an item.
+     *
+     * @param name the name of the series (the item name or alias)
+     * @param timestamp the time of the state in milliseconds since the epoch
+     * @param state the state
+     */
+    public synchronized void append(String name, long timestamp, State state) {
+        long start = getChunkStart(timestamp);
+        OpenChunk chunk = openChunks.get(name);
+        if (chunk == null || chunk.start != start) {
+            if (chunk != null) {
+                seal(name, chunk);
+            }
+            chunk = open(name, start);
+            openChunks.put(name, chunk);
+        }
+        try {
+            chunk.append(timestamp, state);
+        } catch (IOException e) {
+            logger.warn("Failed to encode state '{}' of '{}': {}", state, name, e.getMessage());
+        }
+    }
+
+    /**
+     * Writes all chunks with pending records to the map. The caller is responsible for committing the database.
+     *
+     * @return true if anything has been written
+     */
+    public synchronized boolean flush() {
+        boolean flushed = false;
+        for (Map.Entry<String, OpenChunk> entry : openChunks.entrySet()) {
+            flushed |= flush(entry.getKey(), entry.getValue());
+        }
+        return flushed;
+    }
+
+    /**
+     * Queries the series of an item.
+     *
+     * @param name the name of the series
+     * @param begin the begin of the time range (inclusive) or null for no lower bound
+     * @param end the end of the time range (inclusive) or null for no upper bound
+     * @param ascending true to return the oldest states first, false to return the newest states first
+     * @param offset the number of matching states to skip
+     * @param limit the maximum number of states to return
+     * @param statePredicate a predicate the returned states have to match
+     * @return the matching states
+     */
+    public List<HistoricItem> query(String name, @Nullable Date begin, @Nullable Date end, boolean ascending,
+            long offset, int limit, Predicate<State> statePredicate) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        long from = begin == null ? Long.MIN_VALUE : begin.getTime();
+        long to = end == null ? Long.MAX_VALUE : end.getTime();
+        NavigableMap<Fun.Tuple2<String, Long>, byte[]> range = getChunks(name, from, to);
+        if (!ascending) {
+            range = range.descendingMap();
+        }
+
+        List<HistoricItem> result = new ArrayList<>();
+        long skip = offset;
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> entry : range.entrySet()) {
+            List<MapDbItem> records = decode(name, entry.getKey().b, entry.getValue());
+            if (!ascending) {
+                Collections.reverse(records);
+            }
+            for (MapDbItem record : records) {
+                long timestamp = record.getTimestamp().getTime();
+                if (timestamp < from || timestamp > to || !statePredicate.test(record.getState())) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                result.add(record);
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Aggregates the states of the series of an item.
+     *
+     * @param name the name of the series
+     * @param begin the begin of the time range (inclusive) or null for no lower bound
+     * @param end the end of the time range (inclusive) or null for no upper bound
+     * @param aggregation the aggregation to compute
+     * @param statePredicate a predicate the aggregated states have to match
+     * @return the aggregated item or null if there is no numeric state in the time range
+     */
+    public @Nullable AggregatedItem aggregate(String name, @Nullable Date begin, @Nullable Date end,
+            Aggregation aggregation, Predicate<State> statePredicate) {
+        Aggregator aggregator = new Aggregator(name, aggregation);
+        if (aggregation == Aggregation.FIRST || aggregation == Aggregation.LAST) {
+            // the first or last state is found at one end of the time range, so only the chunks up to it are read
+            Predicate<State> numeric = statePredicate.and(state -> state instanceof DecimalType);
+            for (HistoricItem item : query(name, begin, end, aggregation == Aggregation.FIRST, 0, 1, numeric)) {
+                aggregator.add(item);
+            }
+        } else {
+            forEach(name, begin, end, statePredicate, aggregator::add);
+        }
+        return aggregator.getResult();
+    }
+
+    /**
+     * Aggregates the states of the series of an item separately for consecutive buckets of the given duration.
+     *
+     * @param name the name of the series
+     * @param begin the begin of the time range (inclusive) and the start of the first bucket, or null for no lower
+     *            bound and buckets starting at the epoch
+     * @param end the end of the time range (inclusive) or null for no upper bound
+     * @param aggregation the aggregation to compute for each bucket
+     * @param bucketSize the duration of a bucket, must be positive
+     * @param statePredicate a predicate the aggregated states have to match
+     * @return the aggregated items of all buckets containing a numeric state, in ascending order
+     */
+    public List<AggregatedItem> aggregate(String name, @Nullable Date begin, @Nullable Date end,
+            Aggregation aggregation, Duration bucketSize, Predicate<State> statePredicate) {
+        return aggregate(name, begin, end, EnumSet.of(aggregation), bucketSize, statePredicate).get(aggregation);
+    }
+
+    /**
+     * Computes several aggregations of the states of the series of an item at once, separately for consecutive
+     * buckets of the given duration.
+     *
+     * @param name the name of the series
+     * @param begin the begin of the time range (inclusive) and the start of the first bucket, or null for no lower
+     *            bound and buckets starting at the epoch
+     * @param end the end of the time range (inclusive) or null for no upper bound
+     * @param aggregations the aggregations to compute for each bucket
+     * @param bucketSize the duration of a bucket, must be positive
+     * @param statePredicate a predicate the aggregated states have to match
+     * @return the aggregated items of all buckets containing a numeric state in ascending order, for each aggregation
+     */
+    public Map<Aggregation, List<AggregatedItem>> aggregate(String name, @Nullable Date begin, @Nullable Date end,
+            Set<Aggregation> aggregations, Duration bucketSize, Predicate<State> statePredicate) {
+        BucketAggregator aggregator = new BucketAggregator(name, aggregations, begin, bucketSize);
+        forEach(name, begin, end, statePredicate, aggregator::add);
+        return aggregator.getResults();
+    }
+
+    private void forEach(String name, @Nullable Date begin, @Nullable Date end, Predicate<State> statePredicate,
+            RecordConsumer consumer) {
+        long from = begin == null ? Long.MIN_VALUE : begin.getTime();
+        long to = end == null ? Long.MAX_VALUE : end.getTime();
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> entry : getChunks(name, from, to).entrySet()) {
+            decode(name, entry.getKey().b, entry.getValue(), (timestamp, state) -> {
+                if (timestamp >= from && timestamp <= to && statePredicate.test(state)) {
+                    consumer.accept(timestamp, state);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the chunks of a series overlapping a time range, after writing pending records of the series.
+     */
+    private NavigableMap<Fun.Tuple2<String, Long>, byte[]> getChunks(String name, long from, long to) {
+        synchronized (this) {
+            OpenChunk chunk = openChunks.get(name);
+            if (chunk != null) {
+                flush(name, chunk);
+            }
+        }
+        if (from > to) {
+            return Collections.emptyNavigableMap();
+        }
+        long firstChunk = from == Long.MIN_VALUE ? Long.MIN_VALUE : getChunkStart(from);
+        return chunks.subMap(Fun.t2(name, firstChunk), true, Fun.t2(name, to), true);
+    }
+
+    /**
+     * Returns all entries (the merged chunk or its segments) of the chunk starting at the given time.
+     */
+    private NavigableMap<Fun.Tuple2<String, Long>, byte[]> getSegments(String name, long start) {
+        return chunks.subMap(Fun.t2(name, start), true, Fun.t2(name, start + CHUNK_DURATION), false);
+    }
+
+    private boolean flush(String name, OpenChunk chunk) {
+        if (chunk.bytes.size() == 0) {
+            return false;
+        }
+        Fun.Tuple2<String, Long> key = Fun.t2(name, chunk.segmentStart);
+        byte[] existing = chunks.get(key);
+        if (existing == null) {
+            chunks.put(key, chunk.bytes.toByteArray());
+        } else {
+            // the previous segment ended at the time it started, so the new records simply continue it
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(existing.length + chunk.bytes.size());
+            bytes.write(existing, 0, existing.length);
+            bytes.write(chunk.bytes.toByteArray(), 0, chunk.bytes.size());
+            chunks.put(key, bytes.toByteArray());
+        }
+        chunk.bytes.reset();
+        return true;
+    }
+
+    /**
+     * Writes the pending records of a chunk no longer written to and merges its segments into one entry.
+     */
+    private void seal(String name, OpenChunk chunk) {
+        flush(name, chunk);
+        NavigableMap<Fun.Tuple2<String, Long>, byte[]> segments = getSegments(name, chunk.start);
+        if (segments.size() < 2) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        long[] lastTimestamp = { chunk.start };
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> segment : segments.entrySet()) {
+            decode(name, segment.getKey().b, segment.getValue(), (timestamp, state) -> {
+                try {
+                    StateCodec.writeVarLong(out, timestamp - lastTimestamp[0]);
+                    StateCodec.write(out, state);
+                    lastTimestamp[0] = timestamp;
+                } catch (IOException e) {
+                    logger.warn("Failed to encode state '{}' of '{}': {}", state, name, e.getMessage());
+                }
+            });
+        }
+        segments.clear();
+        chunks.put(Fun.t2(name, chunk.start), bytes.toByteArray());
+    }
+
+    private OpenChunk open(String name, long start) {
+        OpenChunk chunk = new OpenChunk(start);
+        // continue an existing chunk (e.g. after a restart or after the chunk has been closed) after its last record
+        for (Map.Entry<Fun.Tuple2<String, Long>, byte[]> segment : getSegments(name, start).entrySet()) {
+            chunk.lastTimestamp = decode(name, segment.getKey().b, segment.getValue(), (timestamp, state) -> {
+            });
+        }
+        return chunk;
+    }
+
+    private List<MapDbItem> decode(String name, long start, byte[] bytes) {
+        List<MapDbItem> records = new ArrayList<>();
+        decode(name, start, bytes, (timestamp, state) -> {
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setState(state);
+            item.setTimestamp(new Date(timestamp));
+            records.add(item);
+        });
+        return records;
+    }
+
+    /**
+     * Decodes the records of a chunk or segment.
+     *
+     * @return the time of the last record, or the given start if there is none
+     */
+    private long decode(String name, long start, byte[] bytes, RecordConsumer consumer) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        long timestamp = start;
+        long lastTimestamp = start;
+        try {
+            while (in.available() > 0) {
+                timestamp += StateCodec.readVarLong(in);
+                State state = StateCodec.read(in);
+                lastTimestamp = timestamp;
+                if (state != null) {
+                    consumer.accept(timestamp, state);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Skipping corrupted records of '{}' in chunk starting at {}: {}", name, start,
+                    e.getMessage());
+        }
+        return lastTimestamp;
+    }
+
+    private static long getChunkStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, CHUNK_DURATION);
+    }
+
+    /**
+     * Receives the decoded records of a chunk.
+     */
+    @FunctionalInterface
+    private interface RecordConsumer {
+
+        void accept(long timestamp, State state);
+    }
+
+    /**
+     * The chunk an item is currently written to, with the records not yet written to the map.
+     */
+    private static class OpenChunk {
+
+        private final long start;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private long lastTimestamp;
+        private long segmentStart;
+
+        OpenChunk(long start) {
+            this.start = start;
+            this.lastTimestamp = start;
+        }
+
+        void append(long timestamp, State state) throws IOException {
+            if (bytes.size() == 0) {
+                segmentStart = lastTimestamp;
+            }
+            StateCodec.writeVarLong(out, timestamp - lastTimestamp);
+            StateCodec.write(out, state);
+            lastTimestamp = timestamp;
+        }
+    }
+}
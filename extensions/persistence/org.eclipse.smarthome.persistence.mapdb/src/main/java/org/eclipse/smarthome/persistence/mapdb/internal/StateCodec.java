@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.persistence.mapdb.internal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.OpenClosedType;
+import org.eclipse.smarthome.core.library.types.PercentType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.types.State;
+import org.eclipse.smarthome.core.types.TypeParser;
+
+/**
+ * A compact binary encoding of Eclipse SmartHome {@link State}s used by the time-series mode.
+ *
+ * <p>
+ * Every state starts with a type tag. The common types are encoded natively (decimals as scale and unscaled value,
+ * switch and contact states by their tag only); all other states are encoded like the {@link StateTypeAdapter} does,
+ * by their class name and their full string representation.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class StateCodec {
+
+    private static final int TAG_DECIMAL = 0;
+    private static final int TAG_BIG_DECIMAL = 1;
+    private static final int TAG_PERCENT = 2;
+    private static final int TAG_ON = 3;
+    private static final int TAG_OFF = 4;
+    private static final int TAG_OPEN = 5;
+    private static final int TAG_CLOSED = 6;
+    private static final int TAG_STRING = 7;
+    private static final int TAG_OTHER = 8;
+
+    private StateCodec() {
+    }
+
+    /**
+     * Writes a state.
+     *
+     * @param out the output to write to
+     * @param state the state
+     * @throws IOException if the state could not be written
+     */
+    public static void write(DataOutput out, State state) throws IOException {
+        if (state.getClass() == DecimalType.class) {
+            writeDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (state.getClass() == PercentType.class) {
+            out.writeByte(TAG_PERCENT);
+            writeDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (state == OnOffType.ON) {
+            out.writeByte(TAG_ON);
+        } else if (state == OnOffType.OFF) {
+            out.writeByte(TAG_OFF);
+        } else if (state == OpenClosedType.OPEN) {
+            out.writeByte(TAG_OPEN);
+        } else if (state == OpenClosedType.CLOSED) {
+            out.writeByte(TAG_CLOSED);
+        } else if (state.getClass() == StringType.class) {
+            out.writeByte(TAG_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TAG_OTHER);
+            writeString(out, state.getClass().getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    /**
+     * Reads a state.
+     *
+     * @param in the input to read from
+     * @return the state or null if a state of an unknown type has been read
+     * @throws IOException if the input is malformed
+     */
+    public static @Nullable State read(DataInput in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_DECIMAL:
+                return new DecimalType(readDecimal(in, false));
+            case TAG_BIG_DECIMAL:
+                return new DecimalType(readDecimal(in, true));
+            case TAG_PERCENT:
+                return new PercentType(readDecimal(in, in.readUnsignedByte() == TAG_BIG_DECIMAL));
+            case TAG_ON:
+                return OnOffType.ON;
+            case TAG_OFF:
+                return OnOffType.OFF;
+            case TAG_OPEN:
+                return OpenClosedType.OPEN;
+            case TAG_CLOSED:
+                return OpenClosedType.CLOSED;
+            case TAG_STRING:
+                return new StringType(readString(in));
+            case TAG_OTHER:
+                String typeName = readString(in);
+                String value = readString(in);
+                return parse(typeName, value);
+            default:
+                throw new IOException("Unknown state tag " + tag);
+        }
+    }
+
+    /**
+     * Writes a long as a variable length, zig-zag encoded value, so small positive and negative values take few
+     * bytes.
+     *
+     * @param out the output to write to
+     * @param value the value
+     * @throws IOException if the value could not be written
+     */
+    public static void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        out.writeByte((int) zigZag);
+    }
+
+    /**
+     * Reads a long written by {@link #writeVarLong(DataOutput, long)}.
+     *
+     * @param in the input to read from
+     * @return the value
+     * @throws IOException if the input is malformed
+     */
+    public static long readVarLong(DataInput in) throws IOException {
+        long zigZag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigZag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigZag >>> 1) ^ -(zigZag & 1);
+            }
+        }
+        throw new IOException("Malformed variable length value");
+    }
+
+    /**
+     * Writes a decimal, preceded by {@link #TAG_DECIMAL} if the unscaled value fits into a long and
+     * {@link #TAG_BIG_DECIMAL} otherwise.
+     */
+    private static void writeDecimal(DataOutput out, BigDecimal value) throws IOException {
+        BigInteger unscaled = value.unscaledValue();
+        boolean big = unscaled.bitLength() > 63;
+        out.writeByte(big ? TAG_BIG_DECIMAL : TAG_DECIMAL);
+        writeVarLong(out, value.scale());
+        if (big) {
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        } else {
+            writeVarLong(out, unscaled.longValue());
+        }
+    }
+
+    private static BigDecimal readDecimal(DataInput in, boolean big) throws IOException {
+        int scale = (int) readVarLong(in);
+        if (big) {
+            byte[] bytes = new byte[(int) readVarLong(in)];
+            in.readFully(bytes);
+            return new BigDecimal(new BigInteger(bytes), scale);
+        } else {
+            return BigDecimal.valueOf(readVarLong(in), scale);
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static @Nullable State parse(String typeName, String value) {
+        try {
+            @SuppressWarnings("unchecked")
+            Class<? extends State> type = (Class<? extends State>) Class.forName(typeName);
+            List<Class<? extends State>> types = Collections.singletonList(type);
+            return TypeParser.parseState(types, value);
+        } catch (ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.transform.javascript.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import javax.script.ScriptEngine;
+
+import org.eclipse.smarthome.core.transform.TransformationException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the scripts evaluated by a pooled script engine do not share their global variables.
+ *
+ * @author agent - Initial contribution
+ */
+public class CompiledJavaScriptTest {
+
+    private static final String READ_GLOBAL = "typeof counter === 'undefined' ? 'unset' : String(counter)";
+
+    private final ScriptEnginePool enginePool = new ScriptEnginePool("javascript", 1);
+
+    private ScriptEngine engine;
+
+    @Before
+    public void setUp() throws TransformationException {
+        engine = enginePool.borrow();
+    }
+
+    @After
+    public void tearDown() {
+        enginePool.release(engine);
+    }
+
+    @Test
+    public void testInputIsPassedToTheScript() throws TransformationException {
+        CompiledJavaScript script = new CompiledJavaScript("input + '!'");
+
+        assertEquals("a!", script.eval(engine, "a"));
+        assertEquals("b!", script.eval(engine, "b"));
+    }
+
+    @Test
+    public void testGlobalsOfAScriptAreNotSeenByAnotherScript() throws TransformationException {
+        CompiledJavaScript setGlobal = new CompiledJavaScript("var counter = 1; String(counter)");
+        CompiledJavaScript readGlobal = new CompiledJavaScript(READ_GLOBAL);
+
+        assertEquals("1", setGlobal.eval(engine, "a"));
+        assertEquals("unset", readGlobal.eval(engine, "a"));
+    }
+
+    @Test
+    public void testGlobalsAreKeptBetweenCallsOfTheSameScriptOnly() throws TransformationException {
+        CompiledJavaScript script = new CompiledJavaScript(
+                "var previous = " + READ_GLOBAL + "; counter = input; previous");
+        CompiledJavaScript readGlobal = new CompiledJavaScript(READ_GLOBAL);
+
+        assertEquals("unset", script.eval(engine, "a"));
+        assertEquals("a", script.eval(engine, "b"));
+        assertEquals("unset", readGlobal.eval(engine, "c"));
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.transform.javascript.internal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * A Java Script transformation read from a file. The script is compiled once for every script engine it is evaluated
+ * by, as a {@link CompiledScript} is bound to the engine that has compiled it. The script also gets its own
+ * {@link Bindings} for every engine, so its global variables are not seen by other scripts evaluated by the same
+ * engine. The bindings are reused for later evaluations, as creating them is expensive (Nashorn creates and
+ * initializes a new global object for them), and only the 'input' variable is replaced.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class CompiledJavaScript {
+
+    private final String script;
+    private final Map<ScriptEngine, CompiledScript> compiledScripts = new ConcurrentHashMap<>();
+    private final Map<ScriptEngine, Bindings> engineBindings = new ConcurrentHashMap<>();
+
+    CompiledJavaScript(String script) {
+        this.script = script;
+    }
+
+    /**
+     * Evaluates the script by the given engine, which must not be used by another thread at the same time.
+     *
+     * @param engine the script engine
+     * @param input the value of the 'input' variable
+     * @return the result of the script
+     * @throws TransformationException if the script cannot be compiled or executed
+     */
+    @Nullable
+    Object eval(ScriptEngine engine, String input) throws TransformationException {
+        try {
+            Bindings bindings = engineBindings.get(engine);
+            if (bindings == null) {
+                bindings = engine.createBindings();
+                engineBindings.put(engine, bindings);
+            }
+            bindings.put("input", input);
+            if (!(engine instanceof Compilable)) {
+                return engine.eval(script, bindings);
+            }
+
+            CompiledScript compiledScript = compiledScripts.get(engine);
+            if (compiledScript == null) {
+                compiledScript = ((Compilable) engine).compile(script);
+                compiledScripts.put(engine, compiledScript);
+            }
+            return compiledScript.eval(bindings);
+        } catch (ScriptException e) {
+            throw new TransformationException("An error occurred while executing script.", e);
+        }
+    }
+}
@@ -12,20 +12,16 @@
  */
 package org.eclipse.smarthome.transform.javascript.internal;
 
-import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
 
 import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
-import javax.script.ScriptException;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
-import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.AbstractFileTransformationService;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -36,11 +32,21 @@ import org.slf4j.LoggerFactory;
  * The implementation of {@link TransformationService} which transforms the
  * input by Java Script.
  *
+ * <p>
+ * The scripts are compiled once and cached, and they are evaluated by a small pool of script engines that is shared by
+ * all transformations.
+ *
  * @author Pauli Anttila
  */
 @NonNullByDefault
-@Component(immediate = true, property = { "smarthome.transform=JS" })
-public class JavaScriptTransformationService implements TransformationService {
+@Component(immediate = true, service = TransformationService.class, property = { "smarthome.transform=JS" })
+public class JavaScriptTransformationService extends AbstractFileTransformationService<CompiledJavaScript> {
+
+    private static final int ENGINE_POOL_SIZE = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(JavaScriptTransformationService.class);
+
+    private final ScriptEnginePool enginePool = new ScriptEnginePool("javascript", ENGINE_POOL_SIZE);
 
     /**
      * Transforms the input <code>source</code> by Java Script. It expects the
@@ -48,45 +54,22 @@ public class JavaScriptTransformationService implements TransformationService {
      * 'configurations/transform' folder. To organize the various
      * transformations one should use subfolders.
      *
-     * @param filename the name of the file which contains the Java script
-     *            transformation rule. Transformation service inject input
+     * @param script the Java script transformation rule. Transformation service inject input
      *            (source) to 'input' variable.
      * @param source the input to transform
      */
     @Override
-    public @Nullable String transform(String filename, String source) throws TransformationException {
-        Logger logger = LoggerFactory.getLogger(JavaScriptTransformationService.class);
-        if (filename == null || source == null) {
-            throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
-        }
-
-        logger.debug("about to transform '{}' by the Java Script '{}'", source, filename);
-
-        Reader reader;
-
-        try {
-            String path = ConfigConstants.getConfigFolder() + File.separator
-                    + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            reader = new InputStreamReader(new FileInputStream(path));
-        } catch (FileNotFoundException e) {
-            throw new TransformationException("An error occurred while loading script.", e);
-        }
-
-        ScriptEngineManager manager = new ScriptEngineManager();
-
-        ScriptEngine engine = manager.getEngineByName("javascript");
-        engine.put("input", source);
-
-        Object result = null;
+    protected String internalTransform(CompiledJavaScript script, String source) throws TransformationException {
+        logger.debug("about to transform '{}' by Java Script", source);
 
         long startTime = System.currentTimeMillis();
 
+        ScriptEngine engine = enginePool.borrow();
+        Object result;
         try {
-            result = engine.eval(reader);
-        } catch (ScriptException e) {
-            throw new TransformationException("An error occurred while executing script.", e);
+            result = script.eval(engine, source);
         } finally {
-            IOUtils.closeQuietly(reader);
+            enginePool.release(engine);
         }
 
         logger.trace("JavaScript execution elapsed {} ms", System.currentTimeMillis() - startTime);
@@ -94,4 +77,13 @@ public class JavaScriptTransformationService implements TransformationService {
         return String.valueOf(result);
     }
 
+    @Override
+    protected CompiledJavaScript internalLoadTransform(String filename) throws TransformationException {
+        try (Reader reader = new InputStreamReader(new FileInputStream(filename))) {
+            return new CompiledJavaScript(IOUtils.toString(reader));
+        } catch (IOException e) {
+            throw new TransformationException("An error occurred while loading script.", e);
+        }
+    }
+
 }
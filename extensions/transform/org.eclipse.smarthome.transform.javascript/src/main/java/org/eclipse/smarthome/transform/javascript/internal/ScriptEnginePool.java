@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2014,2018 Contributors to the Eclipse Foundation
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.smarthome.transform.javascript.internal;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.transform.TransformationException;
+
+/**
+ * A pool of script engines, which are created on demand up to a maximum number and reused afterwards. Script engines
+ * are not thread-safe, so an engine is used by only one thread at a time: it has to be borrowed from the pool and
+ * released again when the script has been evaluated.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScriptEnginePool {
+
+    private final String engineName;
+    private final int maximumSize;
+
+    private final BlockingQueue<ScriptEngine> idleEngines = new LinkedBlockingQueue<>();
+
+    private @Nullable ScriptEngineManager manager;
+    private int size;
+
+    /**
+     * Creates a new pool.
+     *
+     * @param engineName the name of the script engines
+     * @param maximumSize the maximum number of script engines
+     */
+    ScriptEnginePool(String engineName, int maximumSize) {
+        this.engineName = engineName;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Takes an idle script engine from the pool. If there is none, a new engine is created as long as the maximum
+     * size of the pool has not been reached, otherwise it waits until another engine is released.
+     *
+     * @return the script engine
+     * @throws TransformationException if the script engine cannot be created or the thread is interrupted
+     */
+    ScriptEngine borrow() throws TransformationException {
+        ScriptEngine engine = idleEngines.poll();
+        if (engine == null) {
+            engine = createEngine();
+        }
+        if (engine == null) {
+            try {
+                engine = idleEngines.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransformationException("Interrupted while waiting for a script engine.", e);
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Returns a script engine taken by {@link #borrow()} to the pool.
+     *
+     * @param engine the script engine
+     */
+    void release(ScriptEngine engine) {
+        idleEngines.offer(engine);
+    }
+
+    private synchronized @Nullable ScriptEngine createEngine() throws TransformationException {
+        if (size >= maximumSize) {
+            return null;
+        }
+
+        ScriptEngineManager manager = this.manager;
+        if (manager == null) {
+            manager = this.manager = new ScriptEngineManager();
+        }
+
+        ScriptEngine engine = manager.getEngineByName(engineName);
+        if (engine == null) {
+            throw new TransformationException("No script engine for '" + engineName + "' is available.");
+        }
+        size++;
+        return engine;
+    }
+}
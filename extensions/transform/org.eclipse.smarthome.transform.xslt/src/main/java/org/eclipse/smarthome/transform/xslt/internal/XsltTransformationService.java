@@ -16,8 +16,9 @@ import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
 
-import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -25,6 +26,7 @@ import javax.xml.transform.stream.StreamSource;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.core.transform.TransformationCache;
 import org.eclipse.smarthome.core.transform.TransformationException;
 import org.eclipse.smarthome.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
@@ -43,6 +45,8 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformationCache<Stylesheet> stylesheetCache = new TransformationCache<>();
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,12 +64,12 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
+        File xsl = null;
 
         try {
             String path = ConfigConstants.getConfigFolder() + File.separator
                     + TransformationService.TRANSFORM_FOLDER_NAME + File.separator + filename;
-            xsl = new StreamSource(new File(path));
+            xsl = new File(path);
         } catch (Exception e) {
             String message = "opening file '" + filename + "' throws exception";
 
@@ -81,7 +85,7 @@ public class XsltTransformationService implements TransformationService {
         Transformer transformer;
 
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            transformer = getTemplates(xsl).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -93,4 +97,42 @@ public class XsltTransformationService implements TransformationService {
         return out.toString();
     }
 
+    /**
+     * Returns the compiled style sheet of the given file, which is compiled again if the file has been modified since
+     * it has been added to the cache.
+     */
+    private Templates getTemplates(File xsl) throws TransformationException {
+        String path = xsl.getPath();
+        long lastModified = xsl.lastModified();
+
+        Stylesheet stylesheet = stylesheetCache.get(path, p -> compile(xsl, lastModified));
+        if (stylesheet.lastModified != lastModified) {
+            stylesheetCache.invalidate(path);
+            stylesheet = stylesheetCache.get(path, p -> compile(xsl, lastModified));
+        }
+        return stylesheet.templates;
+    }
+
+    private Stylesheet compile(File xsl, long lastModified) throws TransformationException {
+        try {
+            return new Stylesheet(TransformerFactory.newInstance().newTemplates(new StreamSource(xsl)), lastModified);
+        } catch (TransformerConfigurationException e) {
+            throw new TransformationException("compiling '" + xsl + "' throws exception", e);
+        }
+    }
+
+    /**
+     * A compiled style sheet together with the modification time of the file it has been compiled from.
+     */
+    private static class Stylesheet {
+
+        private final Templates templates;
+        private final long lastModified;
+
+        Stylesheet(Templates templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
+
 }